@@ -0,0 +1,63 @@
+package DataStructures_Implementations.Cache_Custom;
+
+/**
+ * An immutable snapshot of a cache's hit, miss and eviction counters.
+ */
+public final class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+
+    /**
+     * Constructs a snapshot with the given counter values.
+     *
+     * @param hitCount      the number of lookups that found a cached value
+     * @param missCount     the number of lookups that found nothing
+     * @param evictionCount the number of entries evicted to respect the size bound
+     */
+    public CacheStats(long hitCount, long missCount, long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /** @return the number of lookups that found a cached value */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /** @return the number of lookups that found nothing */
+    public long missCount() {
+        return missCount;
+    }
+
+    /** @return the number of entries evicted to respect the size bound */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /** @return the total number of lookups, hits plus misses */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Returns the fraction of lookups that were hits, or {@code 1.0} if there were none.
+     *
+     * @return the hit rate, between {@code 0.0} and {@code 1.0}
+     */
+    public double hitRate() {
+        long requests = requestCount();
+        return (requests == 0) ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Returns a string of the form {@code CacheStats{hits=.., misses=.., evictions=..}}.
+     *
+     * @return a string representing the counters
+     */
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + "}";
+    }
+}
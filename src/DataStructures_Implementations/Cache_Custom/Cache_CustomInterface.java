@@ -0,0 +1,93 @@
+package DataStructures_Implementations.Cache_Custom;
+
+/**
+ * A custom interface that defines the contract for a bounded in-memory cache.
+ * <p>
+ * A cache maps keys to values like a hash map, but holds at most {@link #maxSize()}
+ * entries. Once it is full, adding an entry evicts another one chosen by the
+ * implementation's policy, and a registered {@link EvictionListener} is told about it.
+ * Lookups are counted so the effectiveness of the cache can be read from {@link #stats()}.
+ * </p>
+ *
+ * <h2>Expected Features:</h2>
+ * <ul>
+ *   <li>Unique keys — putting an existing key replaces its value</li>
+ *   <li>{@code null} keys and values are not supported</li>
+ *   <li>O(1) average-case lookup, insertion and eviction</li>
+ *   <li>Hit, miss and eviction counters</li>
+ * </ul>
+ *
+ * @param <K> the type of keys maintained by this cache
+ * @param <V> the type of cached values
+ */
+public interface Cache_CustomInterface<K, V> {
+
+    /**
+     * Returns the value cached for the specified key, or {@code null} if there is none.
+     * The lookup is recorded as a hit or a miss and may update the eviction order.
+     *
+     * @param key the key whose cached value is to be returned
+     * @return the cached value, or {@code null} if the key is not cached
+     */
+    V get(K key);
+
+    /**
+     * Caches the specified value for the specified key, replacing any previous value.
+     * If the cache grows beyond its maximum size, an entry is evicted.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be cached
+     */
+    void put(K key, V value);
+
+    /**
+     * Removes the entry for the specified key if present. Explicit removal is not
+     * counted as an eviction and does not notify the eviction listener.
+     *
+     * @param key the key to remove
+     * @return the previously cached value, or {@code null} if there was none
+     */
+    V remove(K key);
+
+    /**
+     * Checks whether an entry for the specified key is cached, without recording a
+     * hit or miss or changing the eviction order.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key is cached, otherwise {@code false}
+     */
+    boolean containsKey(K key);
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the current size of the cache
+     */
+    int size();
+
+    /**
+     * Returns {@code true} if this cache holds no entries.
+     *
+     * @return {@code true} if empty, otherwise {@code false}
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns the maximum number of entries this cache holds.
+     *
+     * @return the maximum size
+     */
+    int maxSize();
+
+    /**
+     * Removes all entries from this cache. The statistics are kept.
+     */
+    void clear();
+
+    /**
+     * Returns a snapshot of the hit, miss and eviction counters.
+     *
+     * @return the current statistics
+     */
+    CacheStats stats();
+}
@@ -0,0 +1,519 @@
+package DataStructures_Implementations.Cache_Custom;
+
+import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+import DataStructures_Implementations.HashMap_Custom.HashMap_CustomInterface;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A hash map whose entries expire after a per-entry time-to-live.
+ * <p>
+ * Entries are indexed by a {@link Custom_HashMap} and, in addition, registered in a
+ * <em>hierarchical timing wheel</em>: five levels of buckets whose spans grow from about
+ * a second to a few days. An entry is placed in the finest level whose range covers its
+ * remaining lifetime, and when the wheel advances past a coarse bucket its entries are
+ * re-registered in finer levels. Finding the expired entries therefore only visits
+ * buckets whose time has come, never the whole table, and each entry is handled O(1)
+ * times (at most once per level) before it expires.
+ * </p>
+ * <p>
+ * Expiry happens in three ways:
+ * </p>
+ * <ul>
+ *   <li><b>Lazily on read</b>: {@code get}, {@code containsKey} and {@code remove} compare
+ *       the entry's deadline with the clock and drop it if it has passed;</li>
+ *   <li><b>On write</b>: {@code put} advances the wheel and removes a few due entries;</li>
+ *   <li><b>By sweeping</b>: {@link #sweep()} removes at most {@code sweepLimit} due entries
+ *       per call, so it can run periodically in the background through
+ *       {@link #scheduleSweep(ScheduledExecutorService, long, TimeUnit)} without long pauses.</li>
+ * </ul>
+ * <p>
+ * Because expired entries are removed lazily, {@link #size()} may still count entries whose
+ * deadline has passed but that have not been swept yet. All public methods are
+ * {@code synchronized}, which makes a background sweep safe.
+ * </p>
+ *
+ * <p><strong>Time Complexity (Average Case):</strong> O(1) for insertion, lookup, deletion
+ * and the expiry of each entry.</p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class Custom_ExpiringHashMap<K, V> implements HashMap_CustomInterface<K, V> {
+
+    /** Number of buckets on each level of the wheel. */
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+
+    /** Time span of one bucket on each level, in nanoseconds (about 1s, 1m, 1h, 1.6d, 6.5d). */
+    private static final long[] SPANS = {
+            1L << 30, 1L << 36, 1L << 42, 1L << 47, 4L << 47
+    };
+
+    /** Shift turning a time into a tick count on each level. */
+    private static final long[] SHIFT = {
+            Long.numberOfTrailingZeros(SPANS[0]), Long.numberOfTrailingZeros(SPANS[1]),
+            Long.numberOfTrailingZeros(SPANS[2]), Long.numberOfTrailingZeros(SPANS[3]),
+            Long.numberOfTrailingZeros(SPANS[4])
+    };
+
+    /** Default maximum number of entries removed by one call to {@link #sweep()}. */
+    private static final int DEFAULT_SWEEP_LIMIT = 1024;
+
+    /** Maximum number of due entries removed by each {@code put}. */
+    private static final int WRITE_SWEEP_LIMIT = 4;
+
+    /**
+     * An entry, linked into a circular list: a wheel bucket or the due list.
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private V value;
+        private long expiresAt;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        /** Creates an empty list head that links to itself. */
+        static <K, V> Node<K, V> sentinel() {
+            Node<K, V> sentinel = new Node<>(null, null);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+    }
+
+    private final Custom_HashMap<K, Node<K, V>> map = new Custom_HashMap<>();
+    private final Node<K, V>[][] wheel;
+
+    /** Entries whose deadline has passed, waiting to be removed. */
+    private final Node<K, V> due = Node.sentinel();
+
+    private final long defaultTtlNanos;
+    private final int sweepLimit;
+    private final LongSupplier ticker;
+    private final EvictionListener<? super K, ? super V> listener;
+
+    /** Time the wheel has advanced to, in the ticker's nanoseconds. */
+    private long nanos;
+
+    private long expiredCount;
+
+    /**
+     * Constructs an empty map whose entries expire after the given default time-to-live.
+     *
+     * @param defaultTtl the time-to-live used by {@link #put(Object, Object)}
+     * @param unit       the unit of {@code defaultTtl}
+     * @throws IllegalArgumentException if {@code defaultTtl} is negative
+     */
+    public Custom_ExpiringHashMap(long defaultTtl, TimeUnit unit) {
+        this(defaultTtl, unit, null);
+    }
+
+    /**
+     * Constructs an empty map that reports expired entries to the given listener.
+     *
+     * @param defaultTtl the time-to-live used by {@link #put(Object, Object)}
+     * @param unit       the unit of {@code defaultTtl}
+     * @param listener   the listener notified of expired entries, or {@code null} for none
+     * @throws IllegalArgumentException if {@code defaultTtl} is negative
+     */
+    public Custom_ExpiringHashMap(long defaultTtl, TimeUnit unit, EvictionListener<? super K, ? super V> listener) {
+        this(defaultTtl, unit, listener, DEFAULT_SWEEP_LIMIT, System::nanoTime);
+    }
+
+    /**
+     * Constructs an empty map with full control over sweeping and the clock.
+     *
+     * @param defaultTtl the time-to-live used by {@link #put(Object, Object)}
+     * @param unit       the unit of {@code defaultTtl}
+     * @param listener   the listener notified of expired entries, or {@code null} for none
+     * @param sweepLimit the maximum number of entries removed by one {@link #sweep()}
+     * @param ticker     the time source, in nanoseconds (such as {@code System::nanoTime})
+     * @throws IllegalArgumentException if {@code defaultTtl} is negative or {@code sweepLimit}
+     *                                  is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public Custom_ExpiringHashMap(long defaultTtl, TimeUnit unit, EvictionListener<? super K, ? super V> listener,
+                                  int sweepLimit, LongSupplier ticker) {
+        if (defaultTtl < 0) {
+            throw new IllegalArgumentException("defaultTtl must not be negative: " + defaultTtl);
+        }
+        if (sweepLimit <= 0) {
+            throw new IllegalArgumentException("sweepLimit must be positive: " + sweepLimit);
+        }
+        this.defaultTtlNanos = unit.toNanos(defaultTtl);
+        this.sweepLimit = sweepLimit;
+        this.ticker = ticker;
+        this.listener = listener;
+        this.nanos = ticker.getAsLong();
+        this.wheel = new Node[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new Node[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                wheel[i][j] = Node.sentinel();
+            }
+        }
+    }
+
+    /**
+     * Associates the value with the key, expiring after the default time-to-live.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     */
+    @Override
+    public synchronized void put(K key, V value) {
+        putWithTtl(key, value, defaultTtlNanos);
+    }
+
+    /**
+     * Associates the value with the key, expiring after the given time-to-live. Replacing
+     * an existing mapping also replaces its deadline.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     * @param ttl   how long the mapping stays visible
+     * @param unit  the unit of {@code ttl}
+     * @throws IllegalArgumentException if {@code ttl} is negative
+     */
+    public synchronized void put(K key, V value, long ttl, TimeUnit unit) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("ttl must not be negative: " + ttl);
+        }
+        putWithTtl(key, value, unit.toNanos(ttl));
+    }
+
+    private void putWithTtl(K key, V value, long ttlNanos) {
+        long now = ticker.getAsLong();
+        advance(now);
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            node = new Node<>(key, value);
+            map.put(key, node);
+        } else {
+            unlink(node);
+            node.value = value;
+        }
+        node.expiresAt = now + ttlNanos;
+        schedule(node);
+        drainDue(WRITE_SWEEP_LIMIT);
+    }
+
+    /**
+     * Returns the value mapped to the key, or {@code null} if there is none or it has expired.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the associated value, or {@code null}
+     */
+    @Override
+    public synchronized V get(K key) {
+        Node<K, V> node = liveNode(key);
+        return (node == null) ? null : node.value;
+    }
+
+    /**
+     * Removes the mapping for the key if present.
+     *
+     * @param key the key to remove
+     * @return the previous value, or {@code null} if there was none or it had expired
+     */
+    @Override
+    public synchronized V remove(K key) {
+        Node<K, V> node = liveNode(key);
+        if (node == null) {
+            return null;
+        }
+        map.remove(key);
+        unlink(node);
+        return node.value;
+    }
+
+    @Override
+    public synchronized boolean containsKey(K key) {
+        return liveNode(key) != null;
+    }
+
+    /**
+     * Returns the value mapped to the key, or {@code defaultValue} if there is none or it
+     * has expired.
+     *
+     * @param key          the key whose associated value is to be returned
+     * @param defaultValue the value returned when the key is absent
+     * @return the associated value, or {@code defaultValue}
+     */
+    @Override
+    public synchronized V getOrDefault(K key, V defaultValue) {
+        Node<K, V> node = liveNode(key);
+        return (node == null) ? defaultValue : node.value;
+    }
+
+    /**
+     * Atomically associates the value with the key, expiring after the default
+     * time-to-live, if the key is absent or has expired.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     * @return the current value, or {@code null} if the value was stored
+     */
+    @Override
+    public synchronized V putIfAbsent(K key, V value) {
+        return HashMap_CustomInterface.super.putIfAbsent(key, value);
+    }
+
+    /**
+     * Atomically computes a value for a key that is absent or has expired; a stored
+     * value expires after the default time-to-live.
+     *
+     * @param key             the key whose value is to be computed
+     * @param mappingFunction the function computing the value
+     * @return the current or computed value
+     */
+    @Override
+    public synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return HashMap_CustomInterface.super.computeIfAbsent(key, mappingFunction);
+    }
+
+    /**
+     * Atomically recomputes the value of a live key. The new value starts a fresh default
+     * time-to-live.
+     *
+     * @param key               the key whose value is to be recomputed
+     * @param remappingFunction the function computing the new value
+     * @return the new value, or {@code null} if the mapping was removed or absent
+     */
+    @Override
+    public synchronized V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return HashMap_CustomInterface.super.computeIfPresent(key, remappingFunction);
+    }
+
+    /**
+     * Atomically computes a new value for the key. The new value starts a fresh default
+     * time-to-live.
+     *
+     * @param key               the key whose value is to be computed
+     * @param remappingFunction the function computing the new value
+     * @return the new value, or {@code null} if the mapping was removed
+     */
+    @Override
+    public synchronized V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return HashMap_CustomInterface.super.compute(key, remappingFunction);
+    }
+
+    /**
+     * Atomically merges the value into the key's mapping. The new value starts a fresh
+     * default time-to-live.
+     *
+     * @param key               the key to merge into
+     * @param value             the value to merge
+     * @param remappingFunction the function combining the old and new values
+     * @return the new value, or {@code null} if the mapping was removed
+     */
+    @Override
+    public synchronized V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return HashMap_CustomInterface.super.merge(key, value, remappingFunction);
+    }
+
+    /**
+     * Returns the number of mappings, which may include expired ones not yet swept.
+     *
+     * @return the current size of the map
+     */
+    @Override
+    public synchronized int size() {
+        return map.size();
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Removes all mappings without notifying the listener.
+     */
+    @Override
+    public synchronized void clear() {
+        map.clear();
+        for (Node<K, V>[] level : wheel) {
+            for (Node<K, V> sentinel : level) {
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+            }
+        }
+        due.prev = due;
+        due.next = due;
+    }
+
+    /**
+     * Advances the timing wheel to the current time and removes at most {@code sweepLimit}
+     * expired entries. Entries left over are removed by later sweeps, writes or reads.
+     *
+     * @return the number of entries removed
+     */
+    public synchronized int sweep() {
+        advance(ticker.getAsLong());
+        return drainDue(sweepLimit);
+    }
+
+    /**
+     * Runs {@link #sweep()} periodically on the given executor. The executor is owned by
+     * the caller; cancel the returned future to stop sweeping.
+     *
+     * @param executor the executor running the sweeps
+     * @param period   the delay between the end of one sweep and the start of the next
+     * @param unit     the unit of {@code period}
+     * @return the future controlling the periodic sweep
+     */
+    public ScheduledFuture<?> scheduleSweep(ScheduledExecutorService executor, long period, TimeUnit unit) {
+        return executor.scheduleWithFixedDelay(this::sweep, period, period, unit);
+    }
+
+    /**
+     * Returns the number of entries removed because they expired.
+     *
+     * @return the expired entry count
+     */
+    public synchronized long expiredCount() {
+        return expiredCount;
+    }
+
+    /**
+     * Looks up a node, expiring it if its deadline has passed.
+     */
+    private Node<K, V> liveNode(K key) {
+        Node<K, V> node = map.get(key);
+        if (node != null && node.expiresAt - ticker.getAsLong() <= 0) {
+            unlink(node);
+            expire(node);
+            return null;
+        }
+        return node;
+    }
+
+    /**
+     * Moves the wheel forward to {@code now}, visiting on each level only the buckets whose
+     * ticks have elapsed. Due entries go to the due list, the rest move to finer levels.
+     */
+    private void advance(long now) {
+        long previous = nanos;
+        nanos = now;
+        for (int level = 0; level < SHIFT.length; level++) {
+            long previousTicks = previous >>> SHIFT[level];
+            long currentTicks = now >>> SHIFT[level];
+            long delta = currentTicks - previousTicks;
+            if (delta <= 0) {
+                break;
+            }
+            expireBuckets(level, previousTicks, delta);
+        }
+    }
+
+    private void expireBuckets(int level, long previousTicks, long delta) {
+        Node<K, V>[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(1 + delta, buckets.length);
+        int start = (int) (previousTicks & mask);
+        for (int i = start; i < start + steps; i++) {
+            Node<K, V> sentinel = buckets[i & mask];
+            Node<K, V> node = sentinel.next;
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            while (node != sentinel) {
+                Node<K, V> next = node.next;
+                node.prev = null;
+                node.next = null;
+                schedule(node);
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * Links a node into the bucket covering its deadline, or into the due list.
+     */
+    private void schedule(Node<K, V> node) {
+        long duration = node.expiresAt - nanos;
+        Node<K, V> sentinel;
+        if (duration <= 0) {
+            sentinel = due;
+        } else {
+            sentinel = wheel[BUCKETS.length - 1][0];
+            for (int level = 0; level < BUCKETS.length - 1; level++) {
+                if (duration < SPANS[level + 1]) {
+                    long ticks = node.expiresAt >>> SHIFT[level];
+                    sentinel = wheel[level][(int) (ticks & (BUCKETS[level] - 1))];
+                    break;
+                }
+            }
+        }
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.next != null) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+    }
+
+    /**
+     * Removes at most {@code limit} entries from the due list.
+     */
+    private int drainDue(int limit) {
+        int removed = 0;
+        while (removed < limit && due.next != due) {
+            Node<K, V> node = due.next;
+            unlink(node);
+            expire(node);
+            removed++;
+        }
+        return removed;
+    }
+
+    private void expire(Node<K, V> node) {
+        map.remove(node.key);
+        expiredCount++;
+        if (listener != null) {
+            listener.onEviction(node.key, node.value);
+        }
+    }
+
+    /**
+     * Returns a string representation of the unexpired mappings in the form:
+     * <pre>
+     * {key1=value1, key2=value2, ...}
+     * </pre>
+     *
+     * @return a string representing the map entries
+     */
+    @Override
+    public synchronized String toString() {
+        long now = ticker.getAsLong();
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        map.forEach((key, node) -> {
+            if (node.expiresAt - now > 0) {
+                if (sb.length() > 1) {
+                    sb.append(", ");
+                }
+                sb.append(key).append("=").append(node.value);
+            }
+        });
+        sb.append("}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,247 @@
+package DataStructures_Implementations.Cache_Custom;
+
+import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+
+/**
+ * A bounded cache that evicts the least recently used entry.
+ * <p>
+ * Entries are indexed by a {@link Custom_HashMap} from key to entry node, and the nodes
+ * are also kept on a doubly linked list in access order: the head is the least recently
+ * used entry and the tail the most recently used one. A hit unlinks its node and appends
+ * it at the tail, and an insertion beyond {@link #maxSize()} removes the head, so
+ * {@code get}, {@code put} and eviction all take O(1) time.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *   <li>Least-recently-used eviction with a fixed maximum size</li>
+ *   <li>Optional {@link EvictionListener} notified of every eviction</li>
+ *   <li>Hit, miss and eviction counters through {@link #stats()}</li>
+ * </ul>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @param <K> the type of keys maintained by this cache
+ * @param <V> the type of cached values
+ */
+public class Custom_LRUCache<K, V> implements Cache_CustomInterface<K, V> {
+
+    /**
+     * Cache entry, linked into the access-order list.
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private V value;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final Custom_HashMap<K, Node<K, V>> map = new Custom_HashMap<>();
+    private final int maxSize;
+    private final EvictionListener<? super K, ? super V> listener;
+
+    /** Least recently used entry, evicted first. */
+    private Node<K, V> head;
+
+    /** Most recently used entry. */
+    private Node<K, V> tail;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructs an empty cache holding at most {@code maxSize} entries.
+     *
+     * @param maxSize the maximum number of entries
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     */
+    public Custom_LRUCache(int maxSize) {
+        this(maxSize, null);
+    }
+
+    /**
+     * Constructs an empty cache holding at most {@code maxSize} entries that reports
+     * evictions to the given listener.
+     *
+     * @param maxSize  the maximum number of entries
+     * @param listener the listener notified of evictions, or {@code null} for none
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     */
+    public Custom_LRUCache(int maxSize, EvictionListener<? super K, ? super V> listener) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the cached value for the key and marks the entry as most recently used.
+     *
+     * @param key the key whose cached value is to be returned
+     * @return the cached value, or {@code null} if the key is not cached
+     */
+    @Override
+    public V get(K key) {
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        moveToTail(node);
+        return node.value;
+    }
+
+    /**
+     * Caches the value for the key as the most recently used entry, evicting the least
+     * recently used entry if the cache is full.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be cached
+     * @throws NullPointerException if the key or value is {@code null}
+     */
+    @Override
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException("key and value must not be null");
+        }
+        Node<K, V> node = map.get(key);
+        if (node != null) {
+            node.value = value;
+            moveToTail(node);
+            return;
+        }
+        node = new Node<>(key, value);
+        map.put(key, node);
+        linkLast(node);
+        if (map.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Removes the entry for the key if present, without notifying the listener.
+     *
+     * @param key the key to remove
+     * @return the previously cached value, or {@code null} if there was none
+     */
+    @Override
+    public V remove(K key) {
+        Node<K, V> node = map.remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Removes all entries without notifying the listener. The statistics are kept.
+     */
+    @Override
+    public void clear() {
+        map.clear();
+        head = null;
+        tail = null;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(hitCount, missCount, evictionCount);
+    }
+
+    /**
+     * Removes the least recently used entry and reports it to the listener.
+     */
+    private void evict() {
+        Node<K, V> eldest = head;
+        map.remove(eldest.key);
+        unlink(eldest);
+        evictionCount++;
+        if (listener != null) {
+            listener.onEviction(eldest.key, eldest.value);
+        }
+    }
+
+    private void linkLast(Node<K, V> node) {
+        node.prev = tail;
+        node.next = null;
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private void moveToTail(Node<K, V> node) {
+        if (node != tail) {
+            unlink(node);
+            linkLast(node);
+        }
+    }
+
+    /**
+     * Returns a string representation of this cache from least to most recently used:
+     * <pre>
+     * {key1=value1, key2=value2, ...}
+     * </pre>
+     *
+     * @return a string representing the cache entries
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (Node<K, V> node = head; node != null; node = node.next) {
+            sb.append(node.key).append("=").append(node.value);
+            if (node.next != null) {
+                sb.append(", ");
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+}
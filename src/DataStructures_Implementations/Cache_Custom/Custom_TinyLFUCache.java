@@ -0,0 +1,356 @@
+package DataStructures_Implementations.Cache_Custom;
+
+import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+
+/**
+ * A bounded cache using the W-TinyLFU policy, which keeps frequently used entries even
+ * under scans of keys that are used once.
+ * <p>
+ * Entries are indexed by a {@link Custom_HashMap} and live in one of three LRU queues:
+ * </p>
+ * <ul>
+ *   <li><b>window</b> (about 1% of the capacity): every new entry starts here, so a burst
+ *       of new keys is absorbed by plain LRU;</li>
+ *   <li><b>probation</b>: entries admitted from the window, and entries demoted from the
+ *       protected queue;</li>
+ *   <li><b>protected</b> (80% of the main region): entries hit again while on probation.</li>
+ * </ul>
+ * <p>
+ * When the window overflows, its least recently used entry becomes a <em>candidate</em>
+ * for the main region. If the main region is full, the candidate is compared with the
+ * eldest probation entry (the <em>victim</em>) using a {@link FrequencySketch} of recent
+ * accesses, and only the more frequent of the two is kept. A key seen once therefore
+ * cannot displace an established hot key. The sketch ages periodically, so entries that
+ * have stopped being used lose their advantage.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *   <li>Frequency-based admission with O(1) {@code get}, {@code put} and eviction</li>
+ *   <li>Optional {@link EvictionListener} notified of every eviction</li>
+ *   <li>Hit, miss and eviction counters through {@link #stats()}</li>
+ * </ul>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @param <K> the type of keys maintained by this cache
+ * @param <V> the type of cached values
+ */
+public class Custom_TinyLFUCache<K, V> implements Cache_CustomInterface<K, V> {
+
+    /** Share of the capacity given to the admission window, in percent. */
+    private static final int WINDOW_PERCENT = 1;
+
+    /** Share of the main region given to the protected queue, in percent. */
+    private static final int PROTECTED_PERCENT = 80;
+
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    /**
+     * Cache entry, linked into the queue it currently belongs to.
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private V value;
+        private byte queue;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Doubly linked LRU queue; the head is the least recently used entry.
+     */
+    private static final class AccessQueue<K, V> {
+        private Node<K, V> head;
+        private Node<K, V> tail;
+        private int size;
+
+        void linkLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        void unlink(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToTail(Node<K, V> node) {
+            if (node != tail) {
+                unlink(node);
+                linkLast(node);
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+
+    private final Custom_HashMap<K, Node<K, V>> map = new Custom_HashMap<>();
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+    private final FrequencySketch sketch;
+    private final EvictionListener<? super K, ? super V> listener;
+
+    private final int maxSize;
+    private final int maxWindow;
+    private final int maxProtected;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructs an empty cache holding at most {@code maxSize} entries.
+     *
+     * @param maxSize the maximum number of entries
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     */
+    public Custom_TinyLFUCache(int maxSize) {
+        this(maxSize, null);
+    }
+
+    /**
+     * Constructs an empty cache holding at most {@code maxSize} entries that reports
+     * evictions to the given listener.
+     *
+     * @param maxSize  the maximum number of entries
+     * @param listener the listener notified of evictions, or {@code null} for none
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     */
+    public Custom_TinyLFUCache(int maxSize, EvictionListener<? super K, ? super V> listener) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.maxWindow = Math.max(1, (int) ((long) maxSize * WINDOW_PERCENT / 100));
+        this.maxProtected = (int) ((long) (maxSize - maxWindow) * PROTECTED_PERCENT / 100);
+        this.sketch = new FrequencySketch(maxSize);
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the cached value for the key, recording the access in the frequency sketch.
+     *
+     * @param key the key whose cached value is to be returned
+     * @return the cached value, or {@code null} if the key is not cached
+     */
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            missCount++;
+            return null;
+        }
+        sketch.increment(key);
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * Caches the value for the key. A new entry enters the admission window, which may
+     * push an entry into the main region and evict either it or the main region's victim.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be cached
+     * @throws NullPointerException if the key or value is {@code null}
+     */
+    @Override
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException("key and value must not be null");
+        }
+        sketch.increment(key);
+        Node<K, V> node = map.get(key);
+        if (node != null) {
+            node.value = value;
+            onAccess(node);
+            return;
+        }
+        node = new Node<>(key, value);
+        node.queue = WINDOW;
+        map.put(key, node);
+        window.linkLast(node);
+        if (window.size > maxWindow) {
+            admitFromWindow();
+        }
+    }
+
+    /**
+     * Removes the entry for the key if present, without notifying the listener.
+     *
+     * @param key the key to remove
+     * @return the previously cached value, or {@code null} if there was none
+     */
+    @Override
+    public V remove(K key) {
+        Node<K, V> node = map.remove(key);
+        if (node == null) {
+            return null;
+        }
+        queueOf(node).unlink(node);
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Removes all entries without notifying the listener. The statistics and the
+     * frequency history are kept.
+     */
+    @Override
+    public void clear() {
+        map.clear();
+        window.clear();
+        probation.clear();
+        protectedQueue.clear();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(hitCount, missCount, evictionCount);
+    }
+
+    private AccessQueue<K, V> queueOf(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                return window;
+            case PROBATION:
+                return probation;
+            default:
+                return protectedQueue;
+        }
+    }
+
+    /**
+     * Updates the recency of a hit entry; a probation hit is promoted to the protected
+     * queue, demoting the protected queue's eldest entry if it is full.
+     */
+    private void onAccess(Node<K, V> node) {
+        if (node.queue == PROBATION && maxProtected > 0) {
+            probation.unlink(node);
+            node.queue = PROTECTED;
+            protectedQueue.linkLast(node);
+            if (protectedQueue.size > maxProtected) {
+                Node<K, V> demoted = protectedQueue.head;
+                protectedQueue.unlink(demoted);
+                demoted.queue = PROBATION;
+                probation.linkLast(demoted);
+            }
+        } else {
+            queueOf(node).moveToTail(node);
+        }
+    }
+
+    /**
+     * Moves the window's eldest entry into the main region, or evicts it or the main
+     * region's victim when the cache is over capacity.
+     */
+    private void admitFromWindow() {
+        Node<K, V> candidate = window.head;
+        window.unlink(candidate);
+        if (map.size() <= maxSize) {
+            candidate.queue = PROBATION;
+            probation.linkLast(candidate);
+            return;
+        }
+        Node<K, V> victim = (probation.head != null) ? probation.head : protectedQueue.head;
+        if (victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            queueOf(victim).unlink(victim);
+            candidate.queue = PROBATION;
+            probation.linkLast(candidate);
+            evict(victim);
+        } else {
+            evict(candidate);
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        map.remove(node.key);
+        evictionCount++;
+        if (listener != null) {
+            listener.onEviction(node.key, node.value);
+        }
+    }
+
+    /**
+     * Returns a string representation of the cached entries, listing the window, then
+     * probation, then protected entries, each from least to most recently used:
+     * <pre>
+     * {key1=value1, key2=value2, ...}
+     * </pre>
+     *
+     * @return a string representing the cache entries
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        appendQueue(sb, window);
+        appendQueue(sb, probation);
+        appendQueue(sb, protectedQueue);
+        sb.append("}");
+        return sb.toString();
+    }
+
+    private void appendQueue(StringBuilder sb, AccessQueue<K, V> queue) {
+        for (Node<K, V> node = queue.head; node != null; node = node.next) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(node.key).append("=").append(node.value);
+        }
+    }
+}
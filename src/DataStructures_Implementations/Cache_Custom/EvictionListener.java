@@ -0,0 +1,23 @@
+package DataStructures_Implementations.Cache_Custom;
+
+/**
+ * Callback notified when a cache evicts an entry to stay within its size bound.
+ * <p>
+ * The listener runs synchronously on the thread that caused the eviction, after the
+ * entry has been removed, so it should be quick and must not modify the cache.
+ * </p>
+ *
+ * @param <K> the type of keys maintained by the cache
+ * @param <V> the type of cached values
+ */
+@FunctionalInterface
+public interface EvictionListener<K, V> {
+
+    /**
+     * Called after an entry has been evicted.
+     *
+     * @param key   the key of the evicted entry
+     * @param value the value of the evicted entry
+     */
+    void onEviction(K key, V value);
+}
@@ -0,0 +1,122 @@
+package DataStructures_Implementations.Cache_Custom;
+
+import java.util.Arrays;
+
+/**
+ * A Count-Min sketch estimating how often each key has been seen recently.
+ * <p>
+ * The sketch keeps a table of 4-bit counters packed sixteen to a {@code long}. Each key
+ * selects four counters through four independent hashes; recording the key
+ * increments those counters (saturating at 15) and its estimated frequency is the
+ * smallest of the four. Collisions can only inflate an estimate, never lower it.
+ * </p>
+ * <p>
+ * To let old popularity fade, the sketch <em>ages</em>: after a sample of
+ * {@code 10 * maximumSize} recordings every counter is halved, so the estimates track
+ * the recent access history instead of all time.
+ * </p>
+ *
+ * <p><strong>Space:</strong> about eight bytes per expected entry, independent of key size.</p>
+ */
+public final class FrequencySketch {
+
+    /** Largest value a 4-bit counter can hold. */
+    private static final int MAX_COUNT = 15;
+
+    /** Number of recordings per expected entry between two aging passes. */
+    private static final int SAMPLE_FACTOR = 10;
+
+    /** Mask that keeps the low three bits of every counter when halving. */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /** Seeds of the per-row hash functions. */
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    private final long[] table;
+    private final int counterMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Constructs a sketch sized for a cache of the given maximum size.
+     *
+     * @param maximumSize the expected number of distinct hot keys
+     */
+    public FrequencySketch(int maximumSize) {
+        int length = Integer.highestOneBit(Math.max(2, Math.min(maximumSize, 1 << 26)) - 1) << 1;
+        this.table = new long[length];
+        this.counterMask = (length << 4) - 1;
+        this.sampleSize = (int) Math.min((long) SAMPLE_FACTOR * Math.max(1, maximumSize), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated number of recent occurrences of the key, from {@code 0} to {@code 15}.
+     *
+     * @param key the key to look up
+     * @return the estimated frequency
+     */
+    public int frequency(Object key) {
+        int h = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int index = counterIndex(h, row);
+            int count = (int) ((table[index >>> 4] >>> ((index & 15) << 2)) & 0xF);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an occurrence of the key, aging the sketch when the sample is full.
+     *
+     * @param key the key that was seen
+     */
+    public void increment(Object key) {
+        int h = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int index = counterIndex(h, row);
+            int slot = index >>> 4;
+            int shift = (index & 15) << 2;
+            if (((table[slot] >>> shift) & 0xF) < MAX_COUNT) {
+                table[slot] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Halves every counter.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    /**
+     * Forgets all recorded occurrences.
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        additions = 0;
+    }
+
+    private int counterIndex(int h, int row) {
+        long hash = (h + SEEDS[row]) * SEEDS[row];
+        hash += hash >>> 32;
+        return (int) hash & counterMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
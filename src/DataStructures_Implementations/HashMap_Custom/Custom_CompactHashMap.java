@@ -0,0 +1,320 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A map for small entry counts that stores its entries in one flat array and switches to
+ * a {@link Custom_LinkedHashMap} once it grows beyond a limit.
+ * <p>
+ * Up to {@code compactLimit} entries (default {@value DEFAULT_COMPACT_LIMIT}) are kept as
+ * alternating keys and values in a single {@code Object[]}, sized to the entries actually
+ * stored, and found by a linear scan. For a handful of entries the scan costs about as
+ * much as hashing, while the map needs no table and no node per entry, so millions of tiny
+ * maps (per-object attributes, say) take a fraction of the memory of as many
+ * {@code Custom_HashMap}s. An empty map allocates no array at all.
+ * </p>
+ * <p>
+ * Adding an entry beyond the limit moves every entry into a {@code Custom_LinkedHashMap},
+ * which from then on serves all operations. When removals bring a hashed map down to half
+ * the limit it is converted back; the gap keeps a map whose size hovers around the limit
+ * from converting on every operation. Both forms keep entries in insertion order, and
+ * converting in either direction preserves it.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *   <li>Key-value mapping with unique keys</li>
+ *   <li>Flat-array storage for small maps, hashed storage for large ones</li>
+ *   <li>Predictable insertion-order iteration</li>
+ *   <li>Supports {@code null} keys and values</li>
+ * </ul>
+ *
+ * <p><strong>Time Complexity:</strong> O(compactLimit) in the compact form, then the
+ * average-case O(1) of {@link Custom_LinkedHashMap}.</p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class Custom_CompactHashMap<K, V> implements HashMap_CustomInterface<K, V> {
+
+    /** Default number of entries kept in the flat array before switching to a hash table. */
+    private static final int DEFAULT_COMPACT_LIMIT = 8;
+
+    /** Number of entries the flat array is first allocated for. */
+    private static final int INITIAL_ENTRIES = 2;
+
+    /** Largest number of entries stored in the flat array. */
+    private final int compactLimit;
+
+    /** Alternating keys and values of the compact form, or {@code null} while empty or hashed. */
+    private Object[] entries;
+
+    /** Number of entries in the compact form. */
+    private int compactSize;
+
+    /** Table holding the entries once the map has outgrown the compact form. */
+    private Custom_LinkedHashMap<K, V> hashed;
+
+    /**
+     * Constructs an empty map that stays compact up to {@value DEFAULT_COMPACT_LIMIT} entries.
+     */
+    public Custom_CompactHashMap() {
+        this(DEFAULT_COMPACT_LIMIT);
+    }
+
+    /**
+     * Constructs an empty map that stays compact up to the given number of entries.
+     *
+     * @param compactLimit the largest number of entries kept in the flat array
+     * @throws IllegalArgumentException if {@code compactLimit} is less than {@code 1}
+     */
+    public Custom_CompactHashMap(int compactLimit) {
+        if (compactLimit < 1) {
+            throw new IllegalArgumentException("compactLimit must be at least 1: " + compactLimit);
+        }
+        this.compactLimit = compactLimit;
+    }
+
+    /**
+     * Returns the array index of the given key in the compact form.
+     *
+     * @return the index of the key, or {@code -1} if it is not present
+     */
+    private int indexOf(Object key) {
+        Object[] array = entries;
+        int end = 2 * compactSize;
+        if (key == null) {
+            for (int i = 0; i < end; i += 2) {
+                if (array[i] == null) return i;
+            }
+        } else {
+            for (int i = 0; i < end; i += 2) {
+                Object k = array[i];
+                if (k == key || key.equals(k)) return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Moves every entry, in order, into a new {@link Custom_LinkedHashMap}.
+     */
+    @SuppressWarnings("unchecked")
+    private void upgrade() {
+        Custom_LinkedHashMap<K, V> table = new Custom_LinkedHashMap<>();
+        for (int i = 0; i < 2 * compactSize; i += 2) {
+            table.put((K) entries[i], (V) entries[i + 1]);
+        }
+        this.hashed = table;
+        this.entries = null;
+        this.compactSize = 0;
+    }
+
+    /**
+     * Moves every entry of the hash table back into a flat array, in insertion order.
+     */
+    private void downgrade() {
+        int n = hashed.size();
+        Object[] array = (n == 0) ? null : new Object[2 * n];
+        int[] next = {0};
+        hashed.forEach((k, v) -> {
+            array[next[0]++] = k;
+            array[next[0]++] = v;
+        });
+        this.entries = array;
+        this.compactSize = n;
+        this.hashed = null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * <p>
+     * In the compact form the array grows by doubling, up to the compact limit; one
+     * more entry converts the map into a hash table.
+     * </p>
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     */
+    @Override
+    public void put(K key, V value) {
+        if (hashed != null) {
+            hashed.put(key, value);
+            return;
+        }
+        if (entries != null) {
+            int i = indexOf(key);
+            if (i >= 0) {
+                entries[i + 1] = value;
+                return;
+            }
+        }
+        if (compactSize == compactLimit) {
+            upgrade();
+            hashed.put(key, value);
+            return;
+        }
+        if (entries == null) {
+            entries = new Object[2 * Math.min(INITIAL_ENTRIES, compactLimit)];
+        } else if (2 * compactSize == entries.length) {
+            entries = Arrays.copyOf(entries, 2 * Math.min(2 * compactSize, compactLimit));
+        }
+        entries[2 * compactSize] = key;
+        entries[2 * compactSize + 1] = value;
+        compactSize++;
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code null} if no mapping exists.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the key, or {@code null} if none exists
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) {
+        if (hashed != null) {
+            return hashed.get(key);
+        }
+        if (entries == null) {
+            return null;
+        }
+        int i = indexOf(key);
+        return (i < 0) ? null : (V) entries[i + 1];
+    }
+
+    /**
+     * Removes the mapping for the specified key if present. The remaining entries of the
+     * compact form keep their order; a hash table left with at most half the compact
+     * limit is converted back into the compact form.
+     *
+     * @param key the key to remove
+     * @return the previous value associated with the key, or {@code null} if none
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(K key) {
+        if (hashed != null) {
+            int before = hashed.size();
+            V oldValue = hashed.remove(key);
+            if (hashed.size() < before && hashed.size() <= compactLimit / 2) {
+                downgrade();
+            }
+            return oldValue;
+        }
+        if (entries == null) {
+            return null;
+        }
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        V oldValue = (V) entries[i + 1];
+        int end = 2 * compactSize;
+        System.arraycopy(entries, i + 2, entries, i, end - i - 2);
+        entries[end - 2] = null;
+        entries[end - 1] = null;
+        compactSize--;
+        if (compactSize == 0) {
+            entries = null;
+        }
+        return oldValue;
+    }
+
+    /**
+     * Checks if this map contains a mapping for the specified key.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key exists, otherwise {@code false}
+     */
+    @Override
+    public boolean containsKey(K key) {
+        if (hashed != null) {
+            return hashed.containsKey(key);
+        }
+        return entries != null && indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the current size of the map
+     */
+    @Override
+    public int size() {
+        return (hashed != null) ? hashed.size() : compactSize;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if empty, otherwise {@code false}
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all key-value mappings from this map and returns to the compact form,
+     * releasing all storage.
+     */
+    @Override
+    public void clear() {
+        this.entries = null;
+        this.compactSize = 0;
+        this.hashed = null;
+    }
+
+    /**
+     * Returns {@code true} while the entries are stored in the flat array rather than a
+     * hash table.
+     *
+     * @return whether the map is in its compact form
+     */
+    public boolean isCompact() {
+        return hashed == null;
+    }
+
+    /**
+     * Performs the given action for each entry in this map, in insertion order.
+     *
+     * @param action the action to be performed for each key-value pair
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        if (hashed != null) {
+            hashed.forEach(action);
+            return;
+        }
+        for (int i = 0; i < 2 * compactSize; i += 2) {
+            action.accept((K) entries[i], (V) entries[i + 1]);
+        }
+    }
+
+    /**
+     * Returns a string representation of this map in the form:
+     * <pre>
+     * {key1=value1, key2=value2, ...}
+     * </pre>
+     *
+     * @return a string representing the map entries
+     */
+    @Override
+    public String toString() {
+        if (hashed != null) {
+            return hashed.toString();
+        }
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < 2 * compactSize; i += 2) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(entries[i]).append("=").append(entries[i + 1]);
+        }
+        return sb.append("}").toString();
+    }
+}
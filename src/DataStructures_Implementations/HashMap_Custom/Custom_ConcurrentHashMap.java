@@ -0,0 +1,948 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A thread-safe hash map with per-bin locking and lock-free reads
+ * (similar to {@link java.util.concurrent.ConcurrentHashMap}).
+ * <p>
+ * Each bucket ("bin") is a singly linked list. Inserting into an empty bin is a single
+ * compare-and-set; every other update locks only the first node of its bin, so writers
+ * to different bins never contend. Reads take no lock at all: node values and links
+ * are volatile and nodes are never re-linked once published.
+ * </p>
+ * <p>
+ * Resizing is cooperative. The thread that crosses the size threshold allocates the
+ * doubled table and starts moving bins; every other thread that runs into a moved bin
+ * (marked with a forwarding node) claims a range of bins and helps until the whole
+ * table is migrated. Readers that hit a forwarding node simply continue their lookup
+ * in the new table.
+ * </p>
+ * <p>
+ * The compound operations ({@code putIfAbsent}, {@code computeIfAbsent},
+ * {@code computeIfPresent}, {@code compute} and {@code merge}) run atomically while
+ * holding the bin lock; an empty bin is locked by installing a temporary reservation
+ * node. Their functions should therefore be short and must not update this map; an
+ * update that reaches a bin still reserved by the same thread fails with an
+ * {@link IllegalStateException} instead of being silently lost.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *   <li>Lock-free {@code get} and {@code containsKey}</li>
+ *   <li>Per-bin locking for updates</li>
+ *   <li>Multi-threaded, incremental resizing</li>
+ *   <li>Striped size counter ({@link LongAdder})</li>
+ *   <li>Does <strong>not</strong> permit {@code null} keys or values</li>
+ * </ul>
+ *
+ * <p>{@link #size()} and {@link #toString()} are only weakly consistent while other
+ * threads are updating the map.</p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class Custom_ConcurrentHashMap<K, V> implements HashMap_CustomInterface<K, V> {
+
+    /** Default initial capacity of the hash table. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Largest possible table capacity. */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** Hash value of forwarding nodes. Normal node hashes are non-negative. */
+    private static final int MOVED = -1;
+
+    /** Hash value of reservation nodes. */
+    private static final int RESERVED = -3;
+
+    /** Mask clearing the sign bit of normal node hashes. */
+    private static final int HASH_BITS = 0x7fffffff;
+
+    /** Minimum number of bins a thread claims at once while resizing. */
+    private static final int MIN_TRANSFER_STRIDE = 16;
+
+    /** Number of bits of {@link #sizeCtl} used for the resize stamp. */
+    private static final int RESIZE_STAMP_BITS = 16;
+
+    /** Shift placing the resize stamp in the upper bits of {@link #sizeCtl}. */
+    private static final int RESIZE_STAMP_SHIFT = 32 - RESIZE_STAMP_BITS;
+
+    /** Maximum number of threads that can help with one resize. */
+    private static final int MAX_RESIZERS = (1 << (32 - RESIZE_STAMP_BITS)) - 1;
+
+    /** Number of available processors, used to size transfer strides. */
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    private static final VarHandle BINS = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle SIZE_CTL;
+    private static final VarHandle TRANSFER_INDEX;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SIZE_CTL = lookup.findVarHandle(Custom_ConcurrentHashMap.class, "sizeCtl", int.class);
+            TRANSFER_INDEX = lookup.findVarHandle(Custom_ConcurrentHashMap.class, "transferIndex", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Array of bins. Replaced as a whole once a resize completes. */
+    private volatile Node<K, V>[] table;
+
+    /** Table being filled by an in-progress resize, otherwise {@code null}. */
+    private volatile Node<K, V>[] nextTable;
+
+    /**
+     * Resize control. When positive, the size at which the next resize starts. When
+     * negative, a resize is running: the upper bits hold a stamp identifying the table
+     * being resized and the lower bits hold {@code 1 + number of active resizing threads}.
+     */
+    private volatile int sizeCtl;
+
+    /** Upper bound (exclusive) of the bins not yet claimed by a resizing thread. */
+    private volatile int transferIndex;
+
+    /** Number of key-value mappings. */
+    private final LongAdder counter = new LongAdder();
+
+    /**
+     * Constructs an empty map with the default capacity ({@value DEFAULT_CAPACITY}).
+     */
+    public Custom_ConcurrentHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty map able to hold the given number of entries without resizing.
+     *
+     * @param initialCapacity the expected number of entries
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    @SuppressWarnings("unchecked")
+    public Custom_ConcurrentHashMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        int capacity = tableSizeFor(initialCapacity + (initialCapacity >>> 1) + 1);
+        this.table = (Node<K, V>[]) new Node[capacity];
+        this.sizeCtl = capacity - (capacity >>> 2);
+    }
+
+    /**
+     * Node class representing an entry in a bin.
+     */
+    private static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        /**
+         * Searches the chain starting at this node.
+         */
+        Node<K, V> find(int h, Object k) {
+            Node<K, V> e = this;
+            do {
+                if (e.hash == h && (e.key == k || k.equals(e.key))) {
+                    return e;
+                }
+            } while ((e = e.next) != null);
+            return null;
+        }
+    }
+
+    /**
+     * Placeholder installed at the head of a bin whose contents have moved to the
+     * next table.
+     */
+    private static final class ForwardingNode<K, V> extends Node<K, V> {
+        final Node<K, V>[] nextTable;
+
+        ForwardingNode(Node<K, V>[] nextTable) {
+            super(MOVED, null, null, null);
+            this.nextTable = nextTable;
+        }
+
+        @Override
+        Node<K, V> find(int h, Object k) {
+            // Loop instead of recursing to avoid deep stacks across repeated resizes
+            outer:
+            for (Node<K, V>[] tab = nextTable; ; ) {
+                Node<K, V> e = tabAt(tab, (tab.length - 1) & h);
+                if (e == null) {
+                    return null;
+                }
+                for (; ; ) {
+                    if (e.hash == h && (e.key == k || k.equals(e.key))) {
+                        return e;
+                    }
+                    if (e instanceof ForwardingNode) {
+                        tab = ((ForwardingNode<K, V>) e).nextTable;
+                        continue outer;
+                    }
+                    if (e.hash < 0) {
+                        return e.find(h, k);
+                    }
+                    if ((e = e.next) == null) {
+                        return null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Placeholder installed (and locked) in an empty bin while a value for it is
+     * being computed.
+     */
+    private static final class ReservationNode<K, V> extends Node<K, V> {
+        ReservationNode() {
+            super(RESERVED, null, null, null);
+        }
+
+        @Override
+        Node<K, V> find(int h, Object k) {
+            return null;
+        }
+    }
+
+    /**
+     * Spreads the higher bits of the hash code downwards and clears the sign bit.
+     */
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) & HASH_BITS;
+    }
+
+    /**
+     * Returns the smallest power of two that is at least {@code c}.
+     */
+    private static int tableSizeFor(int c) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(c, 2) - 1);
+        return (n >= MAXIMUM_CAPACITY) ? MAXIMUM_CAPACITY : n + 1;
+    }
+
+    /**
+     * Returns the stamp identifying a resize of a table of the given capacity.
+     */
+    private static int resizeStamp(int n) {
+        return Integer.numberOfLeadingZeros(n) | (1 << (RESIZE_STAMP_BITS - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V> tabAt(Node<K, V>[] tab, int i) {
+        return (Node<K, V>) BINS.getAcquire(tab, i);
+    }
+
+    private static <K, V> boolean casTabAt(Node<K, V>[] tab, int i, Node<K, V> expected, Node<K, V> value) {
+        return BINS.compareAndSet(tab, i, expected, value);
+    }
+
+    private static <K, V> void setTabAt(Node<K, V>[] tab, int i, Node<K, V> value) {
+        BINS.setRelease(tab, i, value);
+    }
+
+    private static void requireNonNull(Object o, String what) {
+        if (o == null) {
+            throw new NullPointerException(what + " must not be null");
+        }
+    }
+
+    /**
+     * Finds the node holding the given key without taking any lock.
+     */
+    private Node<K, V> findNode(Object key) {
+        int h = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        Node<K, V> e = tabAt(tab, (tab.length - 1) & h);
+        return (e == null) ? null : e.find(h, key);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     * @throws NullPointerException if the key or value is {@code null}
+     */
+    @Override
+    public void put(K key, V value) {
+        putVal(key, value, false);
+    }
+
+    /**
+     * Shared implementation of the put operations.
+     *
+     * @return the previous value, or {@code null} if the key was absent
+     */
+    private V putVal(K key, V value, boolean onlyIfAbsent) {
+        requireNonNull(key, "key");
+        requireNonNull(value, "value");
+        int h = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        for (; ; ) {
+            int i = (tab.length - 1) & h;
+            Node<K, V> f = tabAt(tab, i);
+            if (f == null) {
+                if (casTabAt(tab, i, null, new Node<>(h, key, value, null))) {
+                    break;
+                }
+            } else if (f.hash == MOVED) {
+                tab = helpTransfer(tab, f);
+            } else {
+                V oldValue = null;
+                boolean locked = false;
+                synchronized (f) {
+                    // The head may have been replaced while we waited for the lock
+                    if (tabAt(tab, i) == f) {
+                        if (f instanceof ReservationNode) {
+                            throw new IllegalStateException("Recursive update");
+                        }
+                        locked = true;
+                        for (Node<K, V> e = f; ; ) {
+                            if (e.hash == h && (e.key == key || key.equals(e.key))) {
+                                oldValue = e.value;
+                                if (!onlyIfAbsent) {
+                                    e.value = value;
+                                }
+                                break;
+                            }
+                            Node<K, V> pred = e;
+                            if ((e = e.next) == null) {
+                                pred.next = new Node<>(h, key, value, null);
+                                break;
+                            }
+                        }
+                    }
+                }
+                if (locked) {
+                    if (oldValue != null) {
+                        return oldValue;
+                    }
+                    break;
+                }
+            }
+        }
+        addCount(1L, true);
+        return null;
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code null} if no mapping exists.
+     * This method never blocks.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the key, or {@code null} if none exists
+     * @throws NullPointerException if the key is {@code null}
+     */
+    @Override
+    public V get(K key) {
+        requireNonNull(key, "key");
+        Node<K, V> node = findNode(key);
+        return (node == null) ? null : node.value;
+    }
+
+    /**
+     * Removes the mapping for the specified key if present.
+     *
+     * @param key the key to remove
+     * @return the previous value associated with the key, or {@code null} if none
+     * @throws NullPointerException if the key is {@code null}
+     */
+    @Override
+    public V remove(K key) {
+        requireNonNull(key, "key");
+        int h = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        for (; ; ) {
+            int i = (tab.length - 1) & h;
+            Node<K, V> f = tabAt(tab, i);
+            if (f == null) {
+                return null;
+            }
+            if (f.hash == MOVED) {
+                tab = helpTransfer(tab, f);
+                continue;
+            }
+            V oldValue = null;
+            boolean locked = false;
+            synchronized (f) {
+                if (tabAt(tab, i) == f) {
+                    if (f instanceof ReservationNode) {
+                        throw new IllegalStateException("Recursive update");
+                    }
+                    locked = true;
+                    for (Node<K, V> e = f, pred = null; e != null; pred = e, e = e.next) {
+                        if (e.hash == h && (e.key == key || key.equals(e.key))) {
+                            oldValue = e.value;
+                            if (pred == null) {
+                                setTabAt(tab, i, e.next);
+                            } else {
+                                pred.next = e.next;
+                            }
+                            break;
+                        }
+                    }
+                }
+            }
+            if (locked) {
+                if (oldValue != null) {
+                    addCount(-1L, false);
+                }
+                return oldValue;
+            }
+        }
+    }
+
+    /**
+     * Checks if this map contains a mapping for the specified key. This method never blocks.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key exists, otherwise {@code false}
+     * @throws NullPointerException if the key is {@code null}
+     */
+    @Override
+    public boolean containsKey(K key) {
+        requireNonNull(key, "key");
+        return findNode(key) != null;
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code defaultValue} if no
+     * mapping exists. This method never blocks.
+     *
+     * @param key          the key whose associated value is to be returned
+     * @param defaultValue the value to return when no mapping exists
+     * @return the associated value, or {@code defaultValue}
+     * @throws NullPointerException if the key is {@code null}
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return (value == null) ? defaultValue : value;
+    }
+
+    /**
+     * Atomically associates the value with the key if the key is absent.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     * @return the current value, or {@code null} if the value was stored
+     * @throws NullPointerException if the key or value is {@code null}
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return putVal(key, value, true);
+    }
+
+    /**
+     * Atomically computes and stores a value for the key if it is absent. Concurrent
+     * callers for the same key wait, so the function runs at most once per absent key.
+     *
+     * @param key             the key whose value is to be computed
+     * @param mappingFunction the function computing a value from the key
+     * @return the current (existing or computed) value, or {@code null} if none
+     * @throws NullPointerException if the key or function is {@code null}
+     * @throws IllegalStateException if the function updates this map in a way that
+     *                               reaches the bin reserved for the key
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        requireNonNull(key, "key");
+        requireNonNull(mappingFunction, "mappingFunction");
+        int h = spread(key.hashCode());
+        V value = null;
+        boolean added = false;
+        Node<K, V>[] tab = table;
+        for (; ; ) {
+            int i = (tab.length - 1) & h;
+            Node<K, V> f = tabAt(tab, i);
+            if (f == null) {
+                Node<K, V> reservation = new ReservationNode<>();
+                boolean locked = false;
+                synchronized (reservation) {
+                    if (casTabAt(tab, i, null, reservation)) {
+                        locked = true;
+                        Node<K, V> node = null;
+                        try {
+                            if ((value = mappingFunction.apply(key)) != null) {
+                                node = new Node<>(h, key, value, null);
+                                added = true;
+                            }
+                        } finally {
+                            setTabAt(tab, i, node);
+                        }
+                    }
+                }
+                if (locked) {
+                    break;
+                }
+            } else if (f.hash == MOVED) {
+                tab = helpTransfer(tab, f);
+            } else if (f.hash == h && key.equals(f.key) && (value = f.value) != null) {
+                // Fast path: present at the head of the bin, no lock needed
+                return value;
+            } else {
+                boolean locked = false;
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        if (f instanceof ReservationNode) {
+                            throw new IllegalStateException("Recursive update");
+                        }
+                        locked = true;
+                        Node<K, V> e = f;
+                        Node<K, V> pred = null;
+                        for (; e != null; pred = e, e = e.next) {
+                            if (e.hash == h && (e.key == key || key.equals(e.key))) {
+                                value = e.value;
+                                break;
+                            }
+                        }
+                        if (e == null && (value = mappingFunction.apply(key)) != null) {
+                            pred.next = new Node<>(h, key, value, null);
+                            added = true;
+                        }
+                    }
+                }
+                if (locked) {
+                    break;
+                }
+            }
+        }
+        if (added) {
+            addCount(1L, true);
+        }
+        return value;
+    }
+
+    /**
+     * Atomically recomputes the value of a present key; a {@code null} result removes
+     * the mapping.
+     *
+     * @param key               the key whose value is to be recomputed
+     * @param remappingFunction the function computing the new value
+     * @return the new value, or {@code null} if there is none
+     * @throws NullPointerException if the key or function is {@code null}
+     */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(key, "key");
+        requireNonNull(remappingFunction, "remappingFunction");
+        int h = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        for (; ; ) {
+            int i = (tab.length - 1) & h;
+            Node<K, V> f = tabAt(tab, i);
+            if (f == null) {
+                return null;
+            }
+            if (f.hash == MOVED) {
+                tab = helpTransfer(tab, f);
+                continue;
+            }
+            V value = null;
+            boolean locked = false;
+            boolean removed = false;
+            synchronized (f) {
+                if (tabAt(tab, i) == f) {
+                    if (f instanceof ReservationNode) {
+                        throw new IllegalStateException("Recursive update");
+                    }
+                    locked = true;
+                    for (Node<K, V> e = f, pred = null; e != null; pred = e, e = e.next) {
+                        if (e.hash == h && (e.key == key || key.equals(e.key))) {
+                            value = remappingFunction.apply(key, e.value);
+                            if (value != null) {
+                                e.value = value;
+                            } else {
+                                removed = true;
+                                if (pred == null) {
+                                    setTabAt(tab, i, e.next);
+                                } else {
+                                    pred.next = e.next;
+                                }
+                            }
+                            break;
+                        }
+                    }
+                }
+            }
+            if (locked) {
+                if (removed) {
+                    addCount(-1L, false);
+                }
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Atomically computes a new value from the key and its current value ({@code null}
+     * if absent); a {@code null} result removes the mapping.
+     *
+     * @param key               the key whose value is to be computed
+     * @param remappingFunction the function computing the new value
+     * @return the new value, or {@code null} if there is none
+     * @throws NullPointerException if the key or function is {@code null}
+     * @throws IllegalStateException if the function updates this map in a way that
+     *                               reaches the bin reserved for the key
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(key, "key");
+        requireNonNull(remappingFunction, "remappingFunction");
+        int h = spread(key.hashCode());
+        V value = null;
+        int delta = 0;
+        Node<K, V>[] tab = table;
+        for (; ; ) {
+            int i = (tab.length - 1) & h;
+            Node<K, V> f = tabAt(tab, i);
+            if (f == null) {
+                Node<K, V> reservation = new ReservationNode<>();
+                boolean locked = false;
+                synchronized (reservation) {
+                    if (casTabAt(tab, i, null, reservation)) {
+                        locked = true;
+                        Node<K, V> node = null;
+                        try {
+                            if ((value = remappingFunction.apply(key, null)) != null) {
+                                delta = 1;
+                                node = new Node<>(h, key, value, null);
+                            }
+                        } finally {
+                            setTabAt(tab, i, node);
+                        }
+                    }
+                }
+                if (locked) {
+                    break;
+                }
+            } else if (f.hash == MOVED) {
+                tab = helpTransfer(tab, f);
+            } else {
+                boolean locked = false;
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        if (f instanceof ReservationNode) {
+                            throw new IllegalStateException("Recursive update");
+                        }
+                        locked = true;
+                        Node<K, V> e = f;
+                        Node<K, V> pred = null;
+                        for (; e != null; pred = e, e = e.next) {
+                            if (e.hash == h && (e.key == key || key.equals(e.key))) {
+                                break;
+                            }
+                        }
+                        if (e != null) {
+                            value = remappingFunction.apply(key, e.value);
+                            if (value != null) {
+                                e.value = value;
+                            } else {
+                                delta = -1;
+                                if (pred == null) {
+                                    setTabAt(tab, i, e.next);
+                                } else {
+                                    pred.next = e.next;
+                                }
+                            }
+                        } else if ((value = remappingFunction.apply(key, null)) != null) {
+                            delta = 1;
+                            pred.next = new Node<>(h, key, value, null);
+                        }
+                    }
+                }
+                if (locked) {
+                    break;
+                }
+            }
+        }
+        if (delta != 0) {
+            addCount(delta, delta > 0);
+        }
+        return value;
+    }
+
+    /**
+     * Atomically stores the value if the key is absent, otherwise replaces the current
+     * value with {@code remappingFunction(current, value)}; a {@code null} result removes
+     * the mapping.
+     *
+     * @param key               the key with which the value is to be merged
+     * @param value             the value to merge
+     * @param remappingFunction the function combining the current and given values
+     * @return the new value, or {@code null} if the mapping was removed
+     * @throws NullPointerException if the key, value or function is {@code null}
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        requireNonNull(value, "value");
+        requireNonNull(remappingFunction, "remappingFunction");
+        return compute(key, (k, oldValue) -> (oldValue == null) ? value : remappingFunction.apply(oldValue, value));
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map. The value is exact only
+     * when no other thread is updating the map.
+     *
+     * @return the current size of the map
+     */
+    @Override
+    public int size() {
+        long n = counter.sum();
+        return (n < 0L) ? 0 : (n > Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int) n;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if empty, otherwise {@code false}
+     */
+    @Override
+    public boolean isEmpty() {
+        return counter.sum() <= 0L;
+    }
+
+    /**
+     * Removes all key-value mappings from this map, one bin at a time. Mappings added
+     * concurrently to bins that were already cleared are kept.
+     */
+    @Override
+    public void clear() {
+        long delta = 0L;
+        Node<K, V>[] tab = table;
+        int i = 0;
+        while (i < tab.length) {
+            Node<K, V> f = tabAt(tab, i);
+            if (f == null) {
+                i++;
+            } else if (f.hash == MOVED) {
+                tab = helpTransfer(tab, f);
+                i = 0;
+            } else {
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        if (f instanceof ReservationNode) {
+                            throw new IllegalStateException("Recursive update");
+                        }
+                        for (Node<K, V> p = f; p != null; p = p.next) {
+                            delta--;
+                        }
+                        setTabAt(tab, i++, null);
+                    }
+                }
+            }
+        }
+        if (delta != 0L) {
+            addCount(delta, false);
+        }
+    }
+
+    /**
+     * Updates the size counter and, for insertions, starts or joins a resize once the
+     * threshold has been reached.
+     */
+    private void addCount(long delta, boolean checkResize) {
+        counter.add(delta);
+        if (!checkResize) {
+            return;
+        }
+        long s = counter.sum();
+        int sc;
+        Node<K, V>[] tab;
+        while (s >= (long) (sc = sizeCtl) && (tab = table).length < MAXIMUM_CAPACITY) {
+            int n = tab.length;
+            int rs = resizeStamp(n);
+            if (sc < 0) {
+                Node<K, V>[] nt = nextTable;
+                if ((sc >>> RESIZE_STAMP_SHIFT) != rs || sc == (rs << RESIZE_STAMP_SHIFT) + 1
+                        || sc == (rs << RESIZE_STAMP_SHIFT) + MAX_RESIZERS
+                        || nt == null || transferIndex <= 0) {
+                    break;
+                }
+                if (SIZE_CTL.compareAndSet(this, sc, sc + 1)) {
+                    transfer(tab, nt);
+                }
+            } else if (SIZE_CTL.compareAndSet(this, sc, (rs << RESIZE_STAMP_SHIFT) + 2)) {
+                transfer(tab, null);
+            }
+            s = counter.sum();
+        }
+    }
+
+    /**
+     * Joins the resize that moved the bin {@code f}, then returns the table the caller
+     * should retry on.
+     */
+    private Node<K, V>[] helpTransfer(Node<K, V>[] tab, Node<K, V> f) {
+        Node<K, V>[] nextTab = ((ForwardingNode<K, V>) f).nextTable;
+        int rs = resizeStamp(tab.length) << RESIZE_STAMP_SHIFT;
+        int sc;
+        while (nextTab == nextTable && table == tab && (sc = sizeCtl) < 0) {
+            if (sc == rs + MAX_RESIZERS || sc == rs + 1 || transferIndex <= 0) {
+                break;
+            }
+            if (SIZE_CTL.compareAndSet(this, sc, sc + 1)) {
+                transfer(tab, nextTab);
+                break;
+            }
+        }
+        return nextTab;
+    }
+
+    /**
+     * Moves bins from {@code tab} into {@code nextTab}, allocating {@code nextTab} when
+     * called by the thread that starts the resize.
+     * <p>
+     * Threads claim ranges of bins from {@link #transferIndex} (highest first) and process
+     * them one by one. Each bin is split into the nodes staying at index {@code i} and the
+     * nodes moving to {@code i + n}; nodes are copied rather than re-linked so concurrent
+     * readers of the old bin never see a broken chain. The longest trailing run of nodes
+     * that go to the same half is reused as-is. The last thread to finish re-scans the
+     * table and publishes the new one.
+     * </p>
+     */
+    @SuppressWarnings("unchecked")
+    private void transfer(Node<K, V>[] tab, Node<K, V>[] nextTab) {
+        int n = tab.length;
+        int stride = (NCPU > 1) ? (n >>> 3) / NCPU : n;
+        if (stride < MIN_TRANSFER_STRIDE) {
+            stride = MIN_TRANSFER_STRIDE;
+        }
+        if (nextTab == null) {
+            nextTab = (Node<K, V>[]) new Node[n << 1];
+            nextTable = nextTab;
+            transferIndex = n;
+        }
+        ForwardingNode<K, V> fwd = new ForwardingNode<>(nextTab);
+        boolean advance = true;
+        boolean finishing = false;
+        for (int i = 0, bound = 0; ; ) {
+            while (advance) {
+                int nextIndex;
+                if (--i >= bound || finishing) {
+                    advance = false;
+                } else if ((nextIndex = transferIndex) <= 0) {
+                    i = -1;
+                    advance = false;
+                } else {
+                    int nextBound = (nextIndex > stride) ? nextIndex - stride : 0;
+                    if (TRANSFER_INDEX.compareAndSet(this, nextIndex, nextBound)) {
+                        bound = nextBound;
+                        i = nextIndex - 1;
+                        advance = false;
+                    }
+                }
+            }
+            if (i < 0) {
+                if (finishing) {
+                    nextTable = null;
+                    table = nextTab;
+                    sizeCtl = (n << 1) - (n >>> 1);
+                    return;
+                }
+                int sc = sizeCtl;
+                if (SIZE_CTL.compareAndSet(this, sc, sc - 1)) {
+                    if ((sc - 2) != resizeStamp(n) << RESIZE_STAMP_SHIFT) {
+                        return;
+                    }
+                    // Last thread out: re-check every bin before publishing the new table
+                    finishing = advance = true;
+                    i = n;
+                }
+                continue;
+            }
+            Node<K, V> f = tabAt(tab, i);
+            if (f == null) {
+                advance = casTabAt(tab, i, null, fwd);
+            } else if (f.hash == MOVED) {
+                advance = true;
+            } else {
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        if (f instanceof ReservationNode) {
+                            throw new IllegalStateException("Recursive update");
+                        }
+                        int runBit = f.hash & n;
+                        Node<K, V> lastRun = f;
+                        for (Node<K, V> p = f.next; p != null; p = p.next) {
+                            int b = p.hash & n;
+                            if (b != runBit) {
+                                runBit = b;
+                                lastRun = p;
+                            }
+                        }
+                        Node<K, V> lo = (runBit == 0) ? lastRun : null;
+                        Node<K, V> hi = (runBit == 0) ? null : lastRun;
+                        for (Node<K, V> p = f; p != lastRun; p = p.next) {
+                            if ((p.hash & n) == 0) {
+                                lo = new Node<>(p.hash, p.key, p.value, lo);
+                            } else {
+                                hi = new Node<>(p.hash, p.key, p.value, hi);
+                            }
+                        }
+                        setTabAt(nextTab, i, lo);
+                        setTabAt(nextTab, i + n, hi);
+                        setTabAt(tab, i, fwd);
+                        advance = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the entries of bin {@code i}, following forwarding nodes into the tables
+     * that replaced it.
+     */
+    private boolean appendBin(StringBuilder sb, Node<K, V>[] tab, int i, boolean firstEntry) {
+        Node<K, V> e = tabAt(tab, i);
+        if (e != null && e.hash == MOVED) {
+            Node<K, V>[] nextTab = ((ForwardingNode<K, V>) e).nextTable;
+            firstEntry = appendBin(sb, nextTab, i, firstEntry);
+            return appendBin(sb, nextTab, i + tab.length, firstEntry);
+        }
+        for (; e != null && e.hash >= 0; e = e.next) {
+            if (!firstEntry) {
+                sb.append(", ");
+            }
+            sb.append(e.key).append("=").append(e.value);
+            firstEntry = false;
+        }
+        return firstEntry;
+    }
+
+    /**
+     * Returns a string representation of this map in the form:
+     * <pre>
+     * {key1=value1, key2=value2, ...}
+     * </pre>
+     *
+     * @return a string representing the map entries
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        Node<K, V>[] tab = table;
+        boolean firstEntry = true;
+        for (int i = 0; i < tab.length; i++) {
+            firstEntry = appendBin(sb, tab, i, firstEntry);
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,527 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map using bucketized cuckoo hashing, for constant worst-case
+ * lookups.
+ * <p>
+ * The table is divided into buckets of {@value SLOTS_PER_BUCKET} slots, and every key has
+ * exactly two candidate buckets chosen by two independent hash functions. A key is always
+ * stored in one of them, so a lookup inspects at most {@code 2 * SLOTS_PER_BUCKET} slots
+ * plus a small stash of at most {@value STASH_CAPACITY} entries, however the keys are
+ * distributed. Keys, values and hashes are stored in flat parallel arrays, so each bucket
+ * occupies contiguous memory.
+ * </p>
+ * <p>
+ * When both buckets of a new key are full, a resident of one of them is evicted to its
+ * own alternate bucket, possibly evicting another entry in turn, for at most
+ * {@value MAX_KICKS} steps. An entry still homeless after that goes to the stash, and only
+ * a full stash forces the table to grow. Removing an entry from a bucket moves a stashed
+ * entry belonging to that bucket back into the table.
+ * </p>
+ * <p>
+ * The worst-case bound relies on keys having distinct hash codes: keys with <em>equal</em>
+ * hash codes share both buckets, and more of them than the buckets and stash can hold
+ * overflow into a stash that is searched linearly.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *   <li>Key-value mapping with unique keys</li>
+ *   <li>Worst-case constant-time lookups (two buckets plus a bounded stash)</li>
+ *   <li>High load factor ({@value MAX_LOAD_FACTOR}) thanks to four-slot buckets</li>
+ *   <li>Supports {@code null} keys and values</li>
+ * </ul>
+ *
+ * <p><strong>Time Complexity:</strong> O(1) worst case for lookup and deletion; O(1)
+ * expected, amortized for insertion.</p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class Custom_CuckooHashMap<K, V> implements HashMap_CustomInterface<K, V> {
+
+    /** Number of slots in each bucket. */
+    private static final int SLOTS_PER_BUCKET = 4;
+
+    /** Default initial number of buckets (must be a power of two, at least 2). */
+    private static final int DEFAULT_BUCKETS = 4;
+
+    /** Load factor threshold beyond which the table grows before inserting. */
+    private static final float MAX_LOAD_FACTOR = 0.90f;
+
+    /** Maximum number of evictions tried before an entry is stashed. */
+    private static final int MAX_KICKS = 256;
+
+    /** Number of entries the stash holds before the table grows. */
+    private static final int STASH_CAPACITY = 4;
+
+    /** Placeholder stored in the key array for the {@code null} key. */
+    private static final Object NULL_KEY = new Object();
+
+    /** Hashes of the stored keys; {@code 0} marks an empty slot. */
+    private int[] hashes;
+
+    /** Keys of the stored entries, with {@code null} replaced by {@link #NULL_KEY}. */
+    private Object[] keys;
+
+    /** Values of the stored entries. */
+    private Object[] values;
+
+    /** Hashes of the stashed entries. */
+    private int[] stashHashes = new int[STASH_CAPACITY];
+
+    /** Keys of the stashed entries. */
+    private Object[] stashKeys = new Object[STASH_CAPACITY];
+
+    /** Values of the stashed entries. */
+    private Object[] stashValues = new Object[STASH_CAPACITY];
+
+    /** Number of entries in the stash. */
+    private int stashSize;
+
+    /** Current number of key-value mappings in the map. */
+    private int size;
+
+    /** Current number of buckets. */
+    private int buckets;
+
+    /** Bit mask used to turn a hash into a bucket index ({@code buckets - 1}). */
+    private int mask;
+
+    /** Shift selecting the top bits of a product as the second bucket index. */
+    private int altShift;
+
+    /** State of the generator choosing which resident to evict. */
+    private int kickSeed = 0x2545F491;
+
+    /**
+     * Constructs an empty map with {@value DEFAULT_BUCKETS} buckets.
+     */
+    public Custom_CuckooHashMap() {
+        allocate(DEFAULT_BUCKETS);
+    }
+
+    /**
+     * Allocates empty arrays for the given number of buckets.
+     */
+    private void allocate(int newBuckets) {
+        this.buckets = newBuckets;
+        this.mask = newBuckets - 1;
+        this.altShift = 32 - Integer.numberOfTrailingZeros(newBuckets);
+        this.hashes = new int[newBuckets * SLOTS_PER_BUCKET];
+        this.keys = new Object[newBuckets * SLOTS_PER_BUCKET];
+        this.values = new Object[newBuckets * SLOTS_PER_BUCKET];
+    }
+
+    /**
+     * Computes a well-mixed, non-zero hash for a key.
+     *
+     * @param key the key (already mapped to {@link #NULL_KEY} if {@code null})
+     * @return the hash, never {@code 0}
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        h ^= (h >>> 16);
+        return (h == 0) ? 1 : h;
+    }
+
+    private static Object maskNull(Object key) {
+        return (key == null) ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K unmaskNull(Object key) {
+        return (key == NULL_KEY) ? null : (K) key;
+    }
+
+    /**
+     * Returns the first candidate bucket of a hash, taken from its low bits.
+     */
+    private int bucket1(int h) {
+        return h & mask;
+    }
+
+    /**
+     * Returns the second candidate bucket of a hash, taken from the top bits of a second
+     * multiplicative hash so that it is independent of the first. It is forced to differ
+     * from the first bucket.
+     */
+    private int bucket2(int h) {
+        int b = (h * 0x85EBCA6B) >>> altShift;
+        return (b == bucket1(h)) ? b ^ 1 : b;
+    }
+
+    /**
+     * Returns the other candidate bucket of an entry stored in {@code bucket}.
+     */
+    private int alternate(int h, int bucket) {
+        int b1 = bucket1(h);
+        return (bucket == b1) ? bucket2(h) : b1;
+    }
+
+    /**
+     * Searches one bucket for a key.
+     *
+     * @return the slot index, or {@code -1} if the key is not in this bucket
+     */
+    private int findInBucket(int bucket, int h, Object key) {
+        int start = bucket * SLOTS_PER_BUCKET;
+        for (int slot = start; slot < start + SLOTS_PER_BUCKET; slot++) {
+            if (hashes[slot] == h && keys[slot].equals(key)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the slot holding the given key in its two buckets.
+     *
+     * @param key the key (already masked)
+     * @return the slot index, or {@code -1} if the key is not in the table
+     */
+    private int findIndex(int h, Object key) {
+        int slot = findInBucket(bucket1(h), h, key);
+        return (slot >= 0) ? slot : findInBucket(bucket2(h), h, key);
+    }
+
+    /**
+     * Finds the given key in the stash.
+     *
+     * @return the stash index, or {@code -1} if the key is not stashed
+     */
+    private int findInStash(int h, Object key) {
+        for (int i = 0; i < stashSize; i++) {
+            if (stashHashes[i] == h && stashKeys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the first free slot of a bucket, or {@code -1} if it is full.
+     */
+    private int freeSlot(int bucket) {
+        int start = bucket * SLOTS_PER_BUCKET;
+        for (int slot = start; slot < start + SLOTS_PER_BUCKET; slot++) {
+            if (hashes[slot] == 0) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void store(int slot, int h, Object key, Object value) {
+        hashes[slot] = h;
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    /**
+     * Places an entry known to be absent into the table, evicting residents along a
+     * random walk when both of its buckets are full.
+     *
+     * @return {@code true} if every entry found a slot, {@code false} if the last entry
+     *         evicted could not be placed and was stashed instead
+     */
+    private boolean insertNew(int h, Object key, Object value) {
+        int slot = freeSlot(bucket1(h));
+        if (slot < 0) slot = freeSlot(bucket2(h));
+        if (slot >= 0) {
+            store(slot, h, key, value);
+            return true;
+        }
+
+        int bucket = (nextRandom() & 1) == 0 ? bucket1(h) : bucket2(h);
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int victim = bucket * SLOTS_PER_BUCKET + (nextRandom() & (SLOTS_PER_BUCKET - 1));
+            int victimHash = hashes[victim];
+            Object victimKey = keys[victim];
+            Object victimValue = values[victim];
+            store(victim, h, key, value);
+            h = victimHash;
+            key = victimKey;
+            value = victimValue;
+
+            bucket = alternate(h, bucket);
+            slot = freeSlot(bucket);
+            if (slot >= 0) {
+                store(slot, h, key, value);
+                return true;
+            }
+        }
+        stash(h, key, value);
+        return false;
+    }
+
+    private int nextRandom() {
+        int x = kickSeed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        kickSeed = x;
+        return x >>> 8;
+    }
+
+    /**
+     * Appends an entry to the stash, growing the stash arrays if an earlier failed
+     * resize left it over capacity.
+     */
+    private void stash(int h, Object key, Object value) {
+        if (stashSize == stashHashes.length) {
+            stashHashes = Arrays.copyOf(stashHashes, stashSize * 2);
+            stashKeys = Arrays.copyOf(stashKeys, stashSize * 2);
+            stashValues = Arrays.copyOf(stashValues, stashSize * 2);
+        }
+        stashHashes[stashSize] = h;
+        stashKeys[stashSize] = key;
+        stashValues[stashSize] = value;
+        stashSize++;
+    }
+
+    /**
+     * Removes the stash entry at index {@code i} by moving the last entry into its place.
+     */
+    private void unstash(int i) {
+        stashSize--;
+        stashHashes[i] = stashHashes[stashSize];
+        stashKeys[i] = stashKeys[stashSize];
+        stashValues[i] = stashValues[stashSize];
+        stashHashes[stashSize] = 0;
+        stashKeys[stashSize] = null;
+        stashValues[stashSize] = null;
+    }
+
+    /**
+     * Grows the table until every entry fits with at most {@value STASH_CAPACITY} of
+     * them stashed.
+     * <p>
+     * Growing only helps while the stashed keys can still be told apart by their hashes.
+     * Once the table is less than a quarter full, a stash overflow is blamed on keys with
+     * equal hash codes, and the stash is allowed to grow instead.
+     * </p>
+     */
+    private void resize() {
+        int[] oldHashes = hashes;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldStashHashes = Arrays.copyOf(stashHashes, stashSize);
+        Object[] oldStashKeys = Arrays.copyOf(stashKeys, stashSize);
+        Object[] oldStashValues = Arrays.copyOf(stashValues, stashSize);
+
+        int newBuckets = buckets * 2;
+        while (true) {
+            allocate(newBuckets);
+            stashSize = 0;
+            Arrays.fill(stashHashes, 0);
+            Arrays.fill(stashKeys, null);
+            Arrays.fill(stashValues, null);
+            for (int i = 0; i < oldHashes.length; i++) {
+                if (oldHashes[i] != 0) {
+                    insertNew(oldHashes[i], oldKeys[i], oldValues[i]);
+                }
+            }
+            for (int i = 0; i < oldStashHashes.length; i++) {
+                insertNew(oldStashHashes[i], oldStashKeys[i], oldStashValues[i]);
+            }
+            if (stashSize <= STASH_CAPACITY || !loadAllowsGrowth()) {
+                return;
+            }
+            newBuckets *= 2;
+        }
+    }
+
+    /**
+     * Whether the table is full enough that a stash overflow is worth fixing by growing.
+     */
+    private boolean loadAllowsGrowth() {
+        return size >= (long) buckets * SLOTS_PER_BUCKET / 4;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * <p>
+     * If the key already exists, its value is updated. The table grows when the load
+     * factor threshold is exceeded or when the stash overflows.
+     * </p>
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     */
+    @Override
+    public void put(K key, V value) {
+        Object k = maskNull(key);
+        int h = hash(k);
+        int slot = findIndex(h, k);
+        if (slot >= 0) {
+            values[slot] = value;
+            return;
+        }
+        int stashed = findInStash(h, k);
+        if (stashed >= 0) {
+            stashValues[stashed] = value;
+            return;
+        }
+        if (size + 1 > buckets * SLOTS_PER_BUCKET * MAX_LOAD_FACTOR) {
+            resize();
+        }
+        insertNew(h, k, value);
+        size++;
+        if (stashSize > STASH_CAPACITY && loadAllowsGrowth()) {
+            resize();
+        }
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code null} if no mapping exists.
+     * At most two buckets and the stash are inspected.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the key, or {@code null} if none exists
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) {
+        Object k = maskNull(key);
+        int h = hash(k);
+        int slot = findIndex(h, k);
+        if (slot >= 0) {
+            return (V) values[slot];
+        }
+        if (stashSize == 0) {
+            return null;
+        }
+        int stashed = findInStash(h, k);
+        return (stashed < 0) ? null : (V) stashValues[stashed];
+    }
+
+    /**
+     * Removes the mapping for the specified key if present. A stashed entry whose bucket
+     * now has a free slot is moved back into the table.
+     *
+     * @param key the key to remove
+     * @return the previous value associated with the key, or {@code null} if none
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(K key) {
+        Object k = maskNull(key);
+        int h = hash(k);
+        int slot = findIndex(h, k);
+        if (slot < 0) {
+            int stashed = findInStash(h, k);
+            if (stashed < 0) {
+                return null;
+            }
+            V oldValue = (V) stashValues[stashed];
+            unstash(stashed);
+            size--;
+            return oldValue;
+        }
+        V oldValue = (V) values[slot];
+        store(slot, 0, null, null);
+        size--;
+
+        int bucket = slot / SLOTS_PER_BUCKET;
+        for (int i = 0; i < stashSize; i++) {
+            int sh = stashHashes[i];
+            if (bucket1(sh) == bucket || bucket2(sh) == bucket) {
+                store(slot, sh, stashKeys[i], stashValues[i]);
+                unstash(i);
+                break;
+            }
+        }
+        return oldValue;
+    }
+
+    /**
+     * Checks if this map contains a mapping for the specified key.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key exists, otherwise {@code false}
+     */
+    @Override
+    public boolean containsKey(K key) {
+        Object k = maskNull(key);
+        int h = hash(k);
+        return findIndex(h, k) >= 0 || (stashSize > 0 && findInStash(h, k) >= 0);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the current size of the map
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if empty, otherwise {@code false}
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes all key-value mappings from this map, keeping the current capacity.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(hashes, 0);
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        Arrays.fill(stashHashes, 0);
+        Arrays.fill(stashKeys, null);
+        Arrays.fill(stashValues, null);
+        this.stashSize = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns a string representation of this map in the form:
+     * <pre>
+     * {key1=value1, key2=value2, ...}
+     * </pre>
+     *
+     * @return a string representing the map entries
+     */
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "{}";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        boolean firstEntry = true;
+
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] == 0) continue;
+            if (!firstEntry) {
+                sb.append(", ");
+            }
+            K key = unmaskNull(keys[i]);
+            sb.append(key).append("=").append(values[i]);
+            firstEntry = false;
+        }
+        for (int i = 0; i < stashSize; i++) {
+            if (!firstEntry) {
+                sb.append(", ");
+            }
+            K key = unmaskNull(stashKeys[i]);
+            sb.append(key).append("=").append(stashValues[i]);
+            firstEntry = false;
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,777 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+/**
+ * A thread-safe {@link Custom_HashMap} whose changes survive crashes, kept in a directory
+ * as a checkpoint plus a write-ahead log.
+ * <p>
+ * Every {@code put}, {@code remove}, {@code clear} and compound update is applied to the
+ * in-memory map and appended to the log, and the call returns only once the log record
+ * has been flushed to the storage device. Flushes are shared through <em>group commit</em>:
+ * the first caller to wait becomes the leader and writes and {@code fsync}s every record
+ * appended so far, while callers arriving in the meantime queue their records for the next
+ * flush. Under concurrent load one {@code fsync} therefore covers many updates, and
+ * throughput grows with the number of writers instead of being capped by the latency of a
+ * single flush. Reads never touch the disk.
+ * </p>
+ * <p>
+ * Once the log grows beyond a threshold (see {@link #open(Path, SnapshotCodec, SnapshotCodec, long)})
+ * the map is checkpointed: the whole map is written with {@link HashMapSnapshot} and the log
+ * is truncated. {@link #checkpoint()} does the same on demand. Writers are blocked while a
+ * checkpoint runs. Opening the directory restores the checkpoint and replays the log on
+ * top of it. Records carry a CRC-32C checksum, so a record torn by a crash is detected and
+ * the log is cut off before it. Replaying a record that the checkpoint already contains
+ * leaves the same result, so a crash between writing a checkpoint and truncating the log
+ * is harmless.
+ * </p>
+ * <p>
+ * A put becomes visible to readers as soon as it is applied, slightly before it is
+ * durable. If writing the log fails, the map stops accepting updates and every further
+ * update throws {@link UncheckedIOException}, because its in-memory state may no longer
+ * match the log.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *   <li>Key-value mapping with unique keys, backed by a {@link Custom_HashMap}</li>
+ *   <li>Write-ahead logging with group commit</li>
+ *   <li>Checkpointing with log truncation, and replay on open</li>
+ *   <li>Supports {@code null} keys and values</li>
+ * </ul>
+ *
+ * <p><strong>Time Complexity:</strong> as {@link Custom_HashMap} for reads; an update adds
+ * the cost of encoding its record and waiting for the next group flush.</p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public final class Custom_DurableHashMap<K, V> implements HashMap_CustomInterface<K, V>, Closeable {
+
+    /** Log size beyond which the map is checkpointed when no threshold is given. */
+    private static final long DEFAULT_CHECKPOINT_BYTES = 64L << 20;
+
+    /** Initial size of the buffers records are appended to. */
+    private static final int BUFFER_BYTES = 1 << 18;
+
+    /** Bytes of a log record before the encoded key: length, checksum, type and flags. */
+    private static final int RECORD_HEADER_BYTES = 10;
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte CLEAR = 3;
+
+    private static final byte NULL_KEY = 1;
+    private static final byte NULL_VALUE = 2;
+
+    private static final String CHECKPOINT_FILE = "checkpoint.snap";
+    private static final String LOG_FILE = "wal.log";
+
+    private final Path checkpointFile;
+    private final SnapshotCodec<K> keyCodec;
+    private final SnapshotCodec<V> valueCodec;
+    private final long checkpointBytes;
+    private final FileChannel log;
+    private final CRC32C checksum = new CRC32C();
+
+    /** Guards the map, the append buffer and the log size. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Guards the group commit state below; never held together with {@link #lock}. */
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final Condition committed = commitLock.newCondition();
+
+    private Custom_HashMap<K, V> map;
+
+    /** Records appended but not yet handed to a flush. */
+    private ByteBuffer pending = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /** Emptied buffer from the previous flush, reused as the next {@link #pending}. */
+    private ByteBuffer spare = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /** Bytes in the log file plus those in {@link #pending}. */
+    private long logBytes;
+
+    /** Sequence number of the last appended record. */
+    private long appendedSeq;
+
+    /** Sequence number of the last record known to be on the storage device. */
+    private long durableSeq;
+
+    /** Whether a flush or checkpoint is in progress. */
+    private boolean flushing;
+
+    /** First failure to write the log; once set, updates are refused. */
+    private volatile IOException failure;
+
+    private volatile boolean closed;
+
+    private Custom_DurableHashMap(Path directory, SnapshotCodec<K> keyCodec, SnapshotCodec<V> valueCodec,
+                                  long checkpointBytes, FileChannel log) {
+        this.checkpointFile = directory.resolve(CHECKPOINT_FILE);
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.checkpointBytes = checkpointBytes;
+        this.log = log;
+    }
+
+    /**
+     * Opens the durable map stored in the given directory, creating it if necessary, and
+     * checkpoints once the log exceeds 64 MB.
+     *
+     * @param directory  the directory holding the checkpoint and the log
+     * @param keyCodec   the codec for keys
+     * @param valueCodec the codec for values
+     * @param <K>        the type of keys
+     * @param <V>        the type of values
+     * @return the opened map, holding every update that was made durable before
+     * @throws IOException if the directory cannot be read or the checkpoint is corrupt
+     */
+    public static <K, V> Custom_DurableHashMap<K, V> open(Path directory, SnapshotCodec<K> keyCodec,
+                                                         SnapshotCodec<V> valueCodec) throws IOException {
+        return open(directory, keyCodec, valueCodec, DEFAULT_CHECKPOINT_BYTES);
+    }
+
+    /**
+     * Opens the durable map stored in the given directory, creating it if necessary.
+     *
+     * @param directory       the directory holding the checkpoint and the log
+     * @param keyCodec        the codec for keys
+     * @param valueCodec      the codec for values
+     * @param checkpointBytes the log size beyond which the map is checkpointed
+     * @param <K>             the type of keys
+     * @param <V>             the type of values
+     * @return the opened map, holding every update that was made durable before
+     * @throws IOException              if the directory cannot be read or the checkpoint
+     *                                  is corrupt
+     * @throws IllegalArgumentException if {@code checkpointBytes} is not positive
+     */
+    public static <K, V> Custom_DurableHashMap<K, V> open(Path directory, SnapshotCodec<K> keyCodec,
+                                                         SnapshotCodec<V> valueCodec, long checkpointBytes) throws IOException {
+        Objects.requireNonNull(keyCodec, "keyCodec must not be null");
+        Objects.requireNonNull(valueCodec, "valueCodec must not be null");
+        if (checkpointBytes <= 0) {
+            throw new IllegalArgumentException("checkpointBytes must be positive: " + checkpointBytes);
+        }
+        Files.createDirectories(directory);
+        FileChannel log = FileChannel.open(directory.resolve(LOG_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // Make a newly created log's directory entry durable before anything is logged to it
+            syncDirectory(directory);
+            Custom_DurableHashMap<K, V> durable =
+                    new Custom_DurableHashMap<>(directory, keyCodec, valueCodec, checkpointBytes, log);
+            durable.recover();
+            return durable;
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Forces the entries of the given directory to disk, so files created in it or
+     * renamed into it survive a crash.
+     */
+    private static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Restores the checkpoint and replays the valid prefix of the log, cutting off a torn
+     * record left by a crash.
+     */
+    private void recover() throws IOException {
+        map = Files.exists(checkpointFile)
+                ? HashMapSnapshot.restore(checkpointFile, keyCodec, valueCodec)
+                : new Custom_HashMap<>();
+
+        long size = log.size();
+        long valid = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).flip();
+        log.position(0);
+        while (valid < size) {
+            if (size - valid < RECORD_HEADER_BYTES) break;
+            buffer = fill(buffer, RECORD_HEADER_BYTES);
+            int start = buffer.position();
+            int length = buffer.getInt(start);
+            if (length < RECORD_HEADER_BYTES || length > size - valid) break;
+            buffer = fill(buffer, length);
+            start = buffer.position();
+            if (!replay(buffer, start, length)) break;
+            buffer.position(start + length);
+            valid += length;
+        }
+        if (valid < size) {
+            log.truncate(valid);
+            log.force(true);
+        }
+        log.position(valid);
+        logBytes = valid;
+    }
+
+    /**
+     * Applies the record at {@code start} to the map.
+     *
+     * @return {@code false} if the record is corrupt
+     */
+    private boolean replay(ByteBuffer buffer, int start, int length) {
+        int limit = buffer.limit();
+        checksum.reset();
+        checksum.update(buffer.position(start + 8).limit(start + length));
+        buffer.limit(limit);
+        if ((int) checksum.getValue() != buffer.getInt(start + Integer.BYTES)) {
+            return false;
+        }
+        byte type = buffer.get(start + 8);
+        byte flags = buffer.get(start + 9);
+        buffer.position(start + RECORD_HEADER_BYTES).limit(start + length);
+        try {
+            if (type == CLEAR) {
+                map.clear();
+            } else {
+                K key = ((flags & NULL_KEY) != 0) ? null : keyCodec.decode(buffer);
+                if (type == PUT) {
+                    map.put(key, ((flags & NULL_VALUE) != 0) ? null : valueCodec.decode(buffer));
+                } else if (type == REMOVE) {
+                    map.remove(key);
+                } else {
+                    return false;
+                }
+            }
+            return !buffer.hasRemaining();
+        } catch (RuntimeException e) {
+            return false;
+        } finally {
+            buffer.limit(limit);
+        }
+    }
+
+    /**
+     * Makes sure at least {@code needed} unread bytes of the log are in the buffer.
+     */
+    private ByteBuffer fill(ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        if (needed > buffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocate(needed);
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < needed) {
+            if (log.read(buffer) < 0) {
+                throw new IOException("log ended inside a record");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private void ensureWritable() {
+        if (closed) {
+            throw new IllegalStateException("map is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("write-ahead log failed", failure);
+        }
+    }
+
+    /**
+     * Appends a record to {@link #pending}; the caller holds the write lock.
+     *
+     * @return the sequence number of the record
+     */
+    private long append(byte type, K key, V value) {
+        int length = RECORD_HEADER_BYTES;
+        byte flags = 0;
+        if (type != CLEAR) {
+            if (key == null) {
+                flags |= NULL_KEY;
+            } else {
+                length += keyCodec.encodedSize(key);
+            }
+        }
+        if (type == PUT) {
+            if (value == null) {
+                flags |= NULL_VALUE;
+            } else {
+                length += valueCodec.encodedSize(value);
+            }
+        }
+        if (length > pending.remaining()) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(pending.capacity() * 2, pending.position() + length));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+        ByteBuffer buffer = pending;
+        int start = buffer.position();
+        buffer.putInt(length).putInt(0).put(type).put(flags);
+        if ((flags & NULL_KEY) == 0 && type != CLEAR) {
+            keyCodec.encode(key, buffer);
+        }
+        if ((flags & NULL_VALUE) == 0 && type == PUT) {
+            valueCodec.encode(value, buffer);
+        }
+        if (buffer.position() - start != length) {
+            buffer.position(start);
+            throw new IllegalStateException("codec wrote a different number of bytes than it reported");
+        }
+        checksum.reset();
+        checksum.update(buffer.position(start + 8).limit(start + length));
+        buffer.limit(buffer.capacity());
+        buffer.putInt(start + Integer.BYTES, (int) checksum.getValue());
+        logBytes += length;
+        return ++appendedSeq;
+    }
+
+    /**
+     * Returns once every record up to {@code seq} is on the storage device, flushing the
+     * pending records itself if no other thread is doing so.
+     */
+    private void awaitDurable(long seq) {
+        commitLock.lock();
+        try {
+            while (durableSeq < seq) {
+                if (failure != null) {
+                    throw new UncheckedIOException("write-ahead log failed", failure);
+                }
+                if (flushing) {
+                    committed.awaitUninterruptibly();
+                    continue;
+                }
+                flushing = true;
+                commitLock.unlock();
+                long flushedSeq = 0;
+                IOException error = null;
+                try {
+                    flushedSeq = flushPending();
+                } catch (IOException e) {
+                    error = e;
+                } finally {
+                    commitLock.lock();
+                    flushing = false;
+                    if (error == null) {
+                        durableSeq = Math.max(durableSeq, flushedSeq);
+                    } else if (failure == null) {
+                        failure = error;
+                    }
+                    committed.signalAll();
+                }
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Writes and flushes every pending record. Called by the one thread that set
+     * {@link #flushing}.
+     *
+     * @return the sequence number of the last record written
+     */
+    private long flushPending() throws IOException {
+        ByteBuffer batch;
+        long batchSeq;
+        lock.writeLock().lock();
+        try {
+            batch = pending;
+            batchSeq = appendedSeq;
+            pending = spare;
+            spare = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            batch.flip();
+            while (batch.hasRemaining()) {
+                log.write(batch);
+            }
+            log.force(false);
+        } finally {
+            batch.clear();
+            lock.writeLock().lock();
+            try {
+                spare = batch;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return batchSeq;
+    }
+
+    /**
+     * Writes the whole map to the checkpoint file and truncates the log. Writers are
+     * blocked until it completes.
+     *
+     * @throws UncheckedIOException  if writing the checkpoint fails
+     * @throws IllegalStateException if the map is closed
+     */
+    public void checkpoint() {
+        checkpoint(false);
+    }
+
+    private void checkpointIfLogIsLarge() {
+        lock.readLock().lock();
+        boolean large;
+        try {
+            large = logBytes >= checkpointBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (large) {
+            checkpoint(true);
+        }
+    }
+
+    private void checkpoint(boolean onlyIfLarge) {
+        commitLock.lock();
+        try {
+            while (flushing) {
+                committed.awaitUninterruptibly();
+            }
+            flushing = true;
+        } finally {
+            commitLock.unlock();
+        }
+        long seq = -1;
+        IOException error = null;
+        lock.writeLock().lock();
+        try {
+            ensureWritable();
+            if (!onlyIfLarge || logBytes >= checkpointBytes) {
+                // write() syncs the rename, so the checkpoint is durable before the log is cut
+                HashMapSnapshot.write(map, checkpointFile, keyCodec, valueCodec);
+                // Everything appended so far is in the checkpoint, flushed or not
+                log.truncate(0);
+                log.position(0);
+                log.force(true);
+                pending.clear();
+                logBytes = 0;
+                seq = appendedSeq;
+            }
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            lock.writeLock().unlock();
+            commitLock.lock();
+            try {
+                flushing = false;
+                durableSeq = Math.max(durableSeq, seq);
+                if (error != null && failure == null) {
+                    failure = error;
+                }
+                committed.signalAll();
+            } finally {
+                commitLock.unlock();
+            }
+        }
+        if (error != null) {
+            throw new UncheckedIOException("checkpoint failed", error);
+        }
+    }
+
+    /**
+     * Waits for the record and checkpoints if the log has grown too large.
+     */
+    private void commit(long seq) {
+        awaitDurable(seq);
+        checkpointIfLogIsLarge();
+    }
+
+    /**
+     * Associates the specified value with the specified key and returns once the change is
+     * durable.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     * @throws UncheckedIOException  if the change cannot be logged
+     * @throws IllegalStateException if the map is closed
+     */
+    @Override
+    public void put(K key, V value) {
+        long seq;
+        lock.writeLock().lock();
+        try {
+            ensureWritable();
+            seq = append(PUT, key, value);
+            map.put(key, value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(seq);
+    }
+
+    /**
+     * Removes the mapping for the specified key if present and returns once the removal is
+     * durable.
+     *
+     * @param key the key to remove
+     * @return the previous value associated with the key, or {@code null} if none
+     * @throws UncheckedIOException  if the change cannot be logged
+     * @throws IllegalStateException if the map is closed
+     */
+    @Override
+    public V remove(K key) {
+        long seq;
+        V oldValue;
+        lock.writeLock().lock();
+        try {
+            ensureWritable();
+            if (!map.containsKey(key)) {
+                return null;
+            }
+            seq = append(REMOVE, key, null);
+            oldValue = map.remove(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(seq);
+        return oldValue;
+    }
+
+    /**
+     * Removes all mappings and returns once the change is durable.
+     *
+     * @throws UncheckedIOException  if the change cannot be logged
+     * @throws IllegalStateException if the map is closed
+     */
+    @Override
+    public void clear() {
+        long seq;
+        lock.writeLock().lock();
+        try {
+            ensureWritable();
+            seq = append(CLEAR, null, null);
+            map.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(seq);
+    }
+
+    /**
+     * Applies a compound update to the map under the write lock and logs the resulting
+     * state of the key, if the update changed anything.
+     */
+    private <R> R update(K key, Function<Custom_HashMap<K, V>, R> operation) {
+        long seq;
+        R result;
+        lock.writeLock().lock();
+        try {
+            ensureWritable();
+            boolean hadKey = map.containsKey(key);
+            V before = map.get(key);
+            result = operation.apply(map);
+            boolean hasKey = map.containsKey(key);
+            V after = map.get(key);
+            if (hadKey == hasKey && before == after) {
+                return result;
+            }
+            seq = hasKey ? append(PUT, key, after) : append(REMOVE, key, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        commit(seq);
+        return result;
+    }
+
+    /**
+     * Atomically stores the value if the key has no non-{@code null} value.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     * @return the current value, or {@code null} if the value was stored
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return update(key, m -> m.putIfAbsent(key, value));
+    }
+
+    /**
+     * Atomically computes a value for an absent key; see {@link Custom_HashMap#computeIfAbsent}.
+     *
+     * @param key             the key whose value is to be computed
+     * @param mappingFunction the function computing the value
+     * @return the current or computed value
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return update(key, m -> m.computeIfAbsent(key, mappingFunction));
+    }
+
+    /**
+     * Atomically recomputes the value of a present key; see {@link Custom_HashMap#computeIfPresent}.
+     *
+     * @param key               the key whose value is to be recomputed
+     * @param remappingFunction the function computing the new value
+     * @return the new value, or {@code null} if the mapping was removed or absent
+     */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return update(key, m -> m.computeIfPresent(key, remappingFunction));
+    }
+
+    /**
+     * Atomically computes a new value for the key; see {@link Custom_HashMap#compute}.
+     *
+     * @param key               the key whose value is to be computed
+     * @param remappingFunction the function computing the new value
+     * @return the new value, or {@code null} if the mapping was removed
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return update(key, m -> m.compute(key, remappingFunction));
+    }
+
+    /**
+     * Atomically merges the value into the key's mapping; see {@link Custom_HashMap#merge}.
+     *
+     * @param key               the key to merge into
+     * @param value             the value to merge
+     * @param remappingFunction the function combining the old and new values
+     * @return the new value, or {@code null} if the mapping was removed
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return update(key, m -> m.merge(key, value, remappingFunction));
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code null} if no mapping exists.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the key, or {@code null} if none exists
+     */
+    @Override
+    public V get(K key) {
+        lock.readLock().lock();
+        try {
+            return map.get(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if this map contains a mapping for the specified key.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key exists, otherwise {@code false}
+     */
+    @Override
+    public boolean containsKey(K key) {
+        lock.readLock().lock();
+        try {
+            return map.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the current size of the map
+     */
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return map.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if empty, otherwise {@code false}
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of bytes in the write-ahead log, including records not yet flushed.
+     *
+     * @return the log size in bytes
+     */
+    public long logSize() {
+        lock.readLock().lock();
+        try {
+            return logBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes any pending records and closes the log. The log is not checkpointed, so the
+     * next {@code open} replays it; call {@link #checkpoint()} first for a faster reopen.
+     * Closing a closed map has no effect.
+     *
+     * @throws IOException if the pending records cannot be flushed
+     */
+    @Override
+    public void close() throws IOException {
+        long seq;
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            seq = appendedSeq;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            if (failure == null) {
+                awaitDurable(seq);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            log.close();
+        }
+    }
+
+    /**
+     * Returns a string representation of this map in the form:
+     * <pre>
+     * {key1=value1, key2=value2, ...}
+     * </pre>
+     *
+     * @return a string representing the map entries
+     */
+    @Override
+    public String toString() {
+        lock.readLock().lock();
+        try {
+            return map.toString();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
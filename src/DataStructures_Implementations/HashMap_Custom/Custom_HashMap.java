@@ -1,5 +1,21 @@
 package DataStructures_Implementations.HashMap_Custom;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 /**
  * A custom implementation of a hash-based map (similar to {@link java.util.HashMap}).
  * <p>
@@ -7,12 +23,57 @@ package DataStructures_Implementations.HashMap_Custom;
  * (separate chaining) to handle hash collisions. The internal array dynamically
  * resizes when the load factor threshold is exceeded.
  * </p>
+ * <p>
+ * A bucket whose chain grows beyond {@value TREEIFY_THRESHOLD} nodes is converted
+ * into a balanced (AVL) tree ordered by hash code, then by class name and natural
+ * ordering for {@link Comparable} keys. When removals or a resize bring the bucket
+ * back down to {@value UNTREEIFY_THRESHOLD} nodes it is converted back into a plain
+ * chain. Tree buckets keep their nodes threaded on the {@code next} links as well,
+ * so code that only walks chains (such as {@link #toString()}) works on both forms.
+ * </p>
+ * <p>
+ * Entries can be visited with {@link #forEach(BiConsumer)}, the {@link #keyIterator()},
+ * {@link #valueIterator()} and {@link #entryIterator()} iterators, or a reusable
+ * {@link Cursor}. All of them walk the buckets directly and hand out the internal nodes
+ * (which implement {@link Map.Entry}), so no per-entry object is allocated. They are
+ * fail-fast: a structural modification made other than through the iterator itself
+ * causes a {@link ConcurrentModificationException}.
+ * </p>
+ * <p>
+ * Large maps can be scanned on all cores through {@link #spliterator()} or the parallel
+ * bulk operations {@link #forEach(long, BiConsumer)}, {@link #reduce(long, BiFunction, BiFunction)}
+ * and {@link #search(long, BiFunction)}, which split the bucket range across the common
+ * {@link ForkJoinPool}. The map must not be modified while they run.
+ * </p>
+ * <p>
+ * In <em>incremental resize</em> mode (see {@link #Custom_HashMap(boolean)}) growing or
+ * automatically shrinking the table does not rehash every entry at once. The old and new
+ * tables co-exist while
+ * {@code put}, {@code get}, {@code remove} and {@code containsKey} each migrate the bucket
+ * of the key they touch plus up to {@value MIGRATION_STEP} further buckets, so no single
+ * operation pays the full O(n) rehash cost.
+ * </p>
+ * <p>
+ * The table also shrinks: when {@link #remove(Object)} leaves it less than a quarter as
+ * full as the load factor allows, its capacity is halved, but never below the capacity
+ * it was created with. The gap between the grow and shrink thresholds keeps a map whose
+ * size hovers around one of them from resizing back and forth. {@link #trimToSize()}
+ * shrinks the table to the smallest capacity that fits the current entries, while
+ * {@link #clear()} keeps the capacity so refilling the map does not resize again.
+ * </p>
  *
  * <h2>Features:</h2>
  * <ul>
  *   <li>Key-value mapping with unique keys</li>
  *   <li>Collision handling using separate chaining</li>
- *   <li>Automatic resizing when {@code size > capacity * LOAD_FACTOR}</li>
+ *   <li>Long chains are converted into balanced trees</li>
+ *   <li>Power-of-two capacity with mask indexing</li>
+ *   <li>Automatic resizing when {@code size > capacity * loadFactor}</li>
+ *   <li>Shrinking after mass removals, with hysteresis</li>
+ *   <li>Optional incremental (amortized) rehashing</li>
+ *   <li>Optional seeded, flood-resistant hashing ({@link SeededHasher})</li>
+ *   <li>Allocation-free, fail-fast iteration</li>
+ *   <li>Opt-in chain, resize and probe statistics ({@link #stats()})</li>
  *   <li>Supports {@code null} keys (stored at index 0)</li>
  * </ul>
  *
@@ -23,21 +84,58 @@ package DataStructures_Implementations.HashMap_Custom;
  *   <li>Deletion: O(1)</li>
  * </ul>
  *
- * <p><strong>Time Complexity (Worst Case):</strong> O(n) — when all keys hash to the same bucket.</p>
+ * <p><strong>Time Complexity (Worst Case):</strong> O(log n) when all keys hash to the same
+ * bucket and are {@link Comparable}; O(n) when they share a hash code and cannot be ordered.</p>
  *
  * @param <K> the type of keys maintained by this map
  * @param <V> the type of mapped values
  */
 public class Custom_HashMap<K, V> implements HashMap_CustomInterface<K, V> {
 
-    /** Default initial capacity of the hash table. */
+    /** Default initial capacity of the hash table (must be a power of two). */
     private static final int DEFAULT_CAPACITY = 16;
 
-    /** Growth factor used when resizing the hash table. */
+    /** Growth factor used when resizing; must stay 2 so entries split into lo/hi buckets. */
     private static final int INCREASE_FACTOR = 2;
 
-    /** Load factor threshold beyond which resizing occurs. */
-    private static final float LOAD_FACTOR = 0.70f;
+    /** Default load factor threshold beyond which resizing occurs. */
+    private static final float DEFAULT_LOAD_FACTOR = 0.70f;
+
+    /** Largest capacity the table is pre-sized to. */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The table is halved once it is less than {@code 1 / SHRINK_DIVISOR} as full as the
+     * load factor allows, which leaves it at most half full afterwards.
+     */
+    private static final int SHRINK_DIVISOR = 4;
+
+    /** Chain length beyond which a bucket is converted into a tree. */
+    private static final int TREEIFY_THRESHOLD = 8;
+
+    /** Bucket size at or below which a tree bucket is converted back into a chain. */
+    private static final int UNTREEIFY_THRESHOLD = 6;
+
+    /**
+     * Smallest table capacity for which buckets are treeified. Below this a long
+     * chain is more likely caused by a crowded table, so the table is resized instead.
+     */
+    private static final int MIN_TREEIFY_CAPACITY = 64;
+
+    /**
+     * Number of old buckets migrated per operation in incremental resize mode. The whole
+     * old table is migrated well before the new table reaches its own threshold.
+     */
+    private static final int MIGRATION_STEP = 4;
+
+    /** Estimated size of a {@link Node}: header, hash, key, value and next. */
+    private static final int NODE_BYTES = 32;
+
+    /** Estimated size of a {@link Custom_LinkedHashMap.Entry}, which adds two links. */
+    private static final int LINKED_NODE_BYTES = 40;
+
+    /** Estimated size of a {@link TreeNode}, which adds tree links, a sequence and a height. */
+    private static final int TREE_NODE_BYTES = 64;
 
     /** Array of buckets storing linked lists of nodes. */
     private Node<K, V>[] table;
@@ -48,248 +146,2029 @@ public class Custom_HashMap<K, V> implements HashMap_CustomInterface<K, V> {
     /** Current capacity of the hash table. */
     private int capacity;
 
+    /** Load factor threshold beyond which resizing occurs. */
+    private final float loadFactor;
+
+    /** Capacity the table was created with; removals never shrink it below this. */
+    private final int minCapacity;
+
+    /** Sequence number handed to each new tree node, used to break ordering ties. */
+    private int treeSequence;
+
+    /** Number of structural modifications, used by iterators to detect concurrent changes. */
+    int modCount;
+
+    /** Whether resizes migrate buckets gradually instead of all at once. */
+    private final boolean incrementalResize;
+
+    /** Keyed hash function of the flood-resistant mode, or {@code null} to use {@code hashCode()}. */
+    private final SeededHasher hasher;
+
+    /** Table being drained during an incremental resize, or {@code null} when none is in progress. */
+    private Node<K, V>[] oldTable;
+
+    /** Capacity of {@link #oldTable}. */
+    private int oldCapacity;
+
+    /** Next old bucket to be migrated by the background step of an incremental resize. */
+    private int migrateIndex;
+
+    /** Activity counters while stats are recorded, or {@code null} when they are not. */
+    private StatsCounters stats;
+
     /**
      * Constructs an empty map with the default capacity ({@value DEFAULT_CAPACITY}).
      */
-    @SuppressWarnings("unchecked")
     public Custom_HashMap() {
-        table = new Node[DEFAULT_CAPACITY];
-        this.capacity = DEFAULT_CAPACITY;
+        this(false);
+    }
+
+    /**
+     * Constructs an empty map with the default capacity ({@value DEFAULT_CAPACITY}).
+     *
+     * @param incrementalResize if {@code true}, resizes migrate a bounded number of buckets
+     *                          on each operation instead of rehashing every entry at once
+     */
+    public Custom_HashMap(boolean incrementalResize) {
+        this(incrementalResize, null);
+    }
+
+    /**
+     * Constructs an empty map that places keys with the given keyed hash function, so
+     * that colliding keys cannot be crafted without knowing its seed.
+     *
+     * @param hasher the seeded hash function, usually {@code new SeededHasher()}
+     * @see SeededHasher
+     */
+    public Custom_HashMap(SeededHasher hasher) {
+        this(false, hasher);
+    }
+
+    /**
+     * Constructs an empty map with the default capacity ({@value DEFAULT_CAPACITY}).
+     *
+     * @param incrementalResize if {@code true}, resizes migrate a bounded number of buckets
+     *                          on each operation instead of rehashing every entry at once
+     * @param hasher            the seeded hash function for flood-resistant mode, or
+     *                          {@code null} to hash keys by {@code hashCode()}
+     */
+    public Custom_HashMap(boolean incrementalResize, SeededHasher hasher) {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, incrementalResize, hasher);
+    }
+
+    /**
+     * Constructs an empty map whose table is large enough to hold {@code expectedSize}
+     * entries without resizing. Removals never shrink the table below that capacity.
+     *
+     * @param expectedSize the number of entries the map is expected to hold
+     * @param loadFactor   the fill ratio beyond which the table grows; values above
+     *                     {@code 1} trade longer chains for a smaller table
+     * @throws IllegalArgumentException if {@code expectedSize} is negative or
+     *                                  {@code loadFactor} is not positive
+     */
+    public Custom_HashMap(int expectedSize, float loadFactor) {
+        this(tableSizeFor(expectedSize, loadFactor), loadFactor, false, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Custom_HashMap(int capacity, float loadFactor, boolean incrementalResize, SeededHasher hasher) {
+        this.table = new Node[capacity];
+        this.capacity = capacity;
+        this.minCapacity = capacity;
+        this.loadFactor = loadFactor;
         this.size = 0;
+        this.incrementalResize = incrementalResize;
+        this.hasher = hasher;
+    }
+
+    /**
+     * Returns the smallest power-of-two capacity that holds {@code expectedSize} entries
+     * without exceeding the load factor.
+     *
+     * @throws IllegalArgumentException if {@code expectedSize} is negative or
+     *                                  {@code loadFactor} is not positive
+     */
+    private static int tableSizeFor(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+        }
+        if (!(loadFactor > 0)) {
+            throw new IllegalArgumentException("loadFactor must be positive: " + loadFactor);
+        }
+        double needed = Math.ceil(expectedSize / (double) loadFactor);
+        int capacity = 1;
+        while (capacity < needed && capacity < MAXIMUM_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
     }
 
     /**
-     * Node class representing an entry in the hash table.
+     * Node class representing an entry in the hash table. Nodes are handed out directly
+     * as {@link Map.Entry} instances by the entry iterator.
      */
-    private static class Node<K, V> {
-        private K key;
-        private V value;
-        private Node<K, V> next;
+    static class Node<K, V> implements Map.Entry<K, V> {
+        /** Cached {@link #spread(Object) spread} hash of the key. */
+        final int hash;
+        K key;
+        V value;
+        Node<K, V> next;
 
-        Node(K key, V value) {
+        Node(int hash, K key, V value) {
+            this.hash = hash;
             this.key = key;
             this.value = value;
             this.next = null;
         }
 
-        Node(K key, V value, Node<K, V> next) {
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
             this.key = key;
             this.value = value;
             this.next = next;
         }
 
-        void setValue(V value) {
+        @Override
+        public V setValue(V value) {
+            V oldValue = this.value;
             this.value = value;
+            return oldValue;
         }
 
-        K getKey() {
+        @Override
+        public K getKey() {
             return this.key;
         }
 
-        V getValue() {
+        @Override
+        public V getValue() {
             return this.value;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (!(o instanceof Map.Entry)) return false;
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Node of a tree bucket.
+     * <p>
+     * Tree nodes form an AVL tree through {@code left}/{@code right} and are also kept
+     * on a doubly linked list through {@code next}/{@code prev}. The first node of that
+     * list is stored in the table slot and records the current tree root, so rotations
+     * never reorder the list and iterators can keep walking it across removals.
+     * </p>
+     * <p>
+     * Tree nodes extend {@link Custom_LinkedHashMap.Entry} so that a linked map can keep
+     * them on its iteration-order list as well; a plain map leaves those links unused.
+     * </p>
+     */
+    static final class TreeNode<K, V> extends Custom_LinkedHashMap.Entry<K, V> {
+        private final int seq;
+        private TreeNode<K, V> left;
+        private TreeNode<K, V> right;
+        private TreeNode<K, V> prev;
+        private int height = 1;
+
+        /** Root of the bucket's tree; only maintained on the first node of the list. */
+        private TreeNode<K, V> root;
+
+        TreeNode(int hash, K key, V value, int seq) {
+            super(hash, key, value, null);
+            this.seq = seq;
+        }
+    }
+
+    /*
+     * Hooks for Custom_LinkedHashMap. Every node is created through one of the factory
+     * methods below, and the after* callbacks run once an entry has been read, added or
+     * removed, so a subclass can keep its own bookkeeping in step with the table.
+     */
+
+    /** Creates the node for a new mapping at the head of a chain. */
+    Node<K, V> newNode(int hash, K key, V value, Node<K, V> next) {
+        return new Node<>(hash, key, value, next);
+    }
+
+    /** Creates the node for a new mapping in a tree bucket. */
+    TreeNode<K, V> newTreeNode(int hash, K key, V value) {
+        return new TreeNode<>(hash, key, value, treeSequence++);
+    }
+
+    /** Creates a plain node that takes the place of {@code p} when a tree bucket is dissolved. */
+    Node<K, V> replacementNode(Node<K, V> p) {
+        return new Node<>(p.hash, p.key, p.value);
+    }
+
+    /** Creates a tree node that takes the place of {@code p} when a chain is treeified. */
+    TreeNode<K, V> replacementTreeNode(Node<K, V> p) {
+        return new TreeNode<>(p.hash, p.key, p.value, treeSequence++);
+    }
+
+    /** Called after an existing mapping was read or updated. */
+    void afterNodeAccess(Node<K, V> p) {
+    }
+
+    /** Called after a new mapping was added. */
+    void afterNodeInsertion() {
+    }
+
+    /** Called after a mapping was unlinked from the table. */
+    void afterNodeRemoval(Node<K, V> p) {
+    }
+
+    /**
+     * Returns {@code true} if iterators and cursors follow an order kept by the subclass
+     * through {@link #firstInOrder()} and {@link #nextInOrder(Node)} instead of walking
+     * the buckets.
+     */
+    boolean hasIterationOrder() {
+        return false;
+    }
+
+    /**
+     * Returns the first node in the subclass's iteration order, or {@code null} if there
+     * is none; a map without its own order has none.
+     */
+    Node<K, V> firstInOrder() {
+        return null;
+    }
+
+    /**
+     * Returns the node following {@code p} in the subclass's iteration order, or
+     * {@code null} if {@code p} is the last; a map without its own order has none.
+     */
+    Node<K, V> nextInOrder(Node<K, V> p) {
+        return null;
     }
 
     /**
-     * Computes the hash index for a given key.
+     * Computes the hash of a key ({@code 0} for {@code null}). It is computed once per
+     * operation and cached in the node, so resizing never calls {@code hashCode()} again
+     * and a chain walk calls {@code equals} only on keys with the same hash.
+     * <p>
+     * Bucket indexes only use the low bits of the hash, so the high half is folded into
+     * the low half; otherwise hash codes that differ only in their upper bits (such as
+     * {@code Float} keys or small multiples of a large power of two) would all collide.
+     * In flood-resistant mode the {@link SeededHasher} computes the hash instead.
+     * </p>
      *
      * @param key the key
+     * @return the hash stored in the key's node
+     */
+    private int spread(Object key) {
+        if (hasher != null) {
+            return hasher.hash(key);
+        }
+        int h;
+        return (key == null) ? 0 : (h = key.hashCode()) ^ (h >>> 16);
+    }
+
+    /**
+     * Computes the bucket index of a hash in the current table by masking, which works
+     * because the capacity is always a power of two.
+     *
+     * @param h the spread hash of a key
      * @return the bucket index
      */
-    private int hash(K key) {
-        if (key == null) return 0;
-        return Math.abs(key.hashCode() % this.capacity);
+    private int indexFor(int h) {
+        return h & (this.capacity - 1);
     }
 
     /**
-     * Computes the hash index for a given key in a new capacity.
+     * Computes the bucket index of a hash in a table of the given power-of-two capacity.
      *
-     * @param key         the key
-     * @param newCapacity the capacity of the new table
+     * @param h           the spread hash of a key
+     * @param newCapacity the capacity of the table
      * @return the bucket index
      */
-    private int hash(K key, int newCapacity) {
-        if (key == null) return 0;
-        return Math.abs(key.hashCode() % newCapacity);
+    private static int indexFor(int h, int newCapacity) {
+        return h & (newCapacity - 1);
     }
 
     /**
      * Resizes the hash table when load factor threshold is exceeded.
      * <p>
-     * All entries are rehashed into the new table of size {@code capacity * INCREASE_FACTOR}.
+     * All entries are moved into the new table of size {@code capacity * INCREASE_FACTOR},
+     * using their cached hashes.
+     * In incremental resize mode the new table is installed immediately and the old one is
+     * drained by later operations; any migration still pending from a previous resize is
+     * completed first.
      * </p>
      */
-    @SuppressWarnings("unchecked")
     private void resize() {
-        Node<K, V>[] newTable = (Node<K, V>[]) new Node[capacity * INCREASE_FACTOR];
+        resize(capacity * INCREASE_FACTOR);
+    }
 
-        for (int i = 0; i < capacity; i++) {
-            Node<K, V> temp = table[i];
-            while (temp != null) {
-                Node<K, V> nextNode = temp.next;
-                int index = hash(temp.key, capacity * INCREASE_FACTOR);
-                temp.next = newTable[index];
-                newTable[index] = temp;
-                temp = nextNode;
-            }
+    /**
+     * Installs a table of the given capacity, double or half the current one, and moves
+     * the entries into it at once or, in incremental resize mode, over later operations.
+     */
+    @SuppressWarnings("unchecked")
+    private void resize(int newCapacity) {
+        completeMigration();
+
+        long start = resizeStart();
+        this.oldTable = table;
+        this.oldCapacity = capacity;
+        this.migrateIndex = 0;
+        this.capacity = newCapacity;
+        this.table = (Node<K, V>[]) new Node[capacity];
+        if (stats != null) {
+            stats.resizeCount++;
         }
+        resizeDone(start);
 
-        this.capacity *= INCREASE_FACTOR;
-        this.table = newTable;
+        if (!incrementalResize) {
+            completeMigration();
+        }
     }
 
     /**
-     * Associates the specified value with the specified key in this map.
+     * Moves one bucket of the old table into the current table.
      * <p>
-     * If the key already exists, its value is updated. If the load factor
-     * threshold is exceeded, the table is resized.
+     * Since the capacity doubles, the nodes of old bucket {@code i} can only land in bucket
+     * {@code i} ("lo") or {@code i + oldCapacity} ("hi"), decided by the single hash bit
+     * {@code hash & oldCapacity}; no index is recomputed. Chains are split in place and
+     * keep their order. Every operation migrates the old bucket of its key before touching
+     * the new table, so both target buckets are still empty here. Tree buckets are split
+     * the same way and each half is rebuilt or converted back into a chain.
+     * </p>
+     * <p>
+     * When the table is being halved, old bucket {@code i} is merged into bucket
+     * {@code i & (capacity - 1)} instead, which may already hold entries.
      * </p>
-     *
-     * @param key   the key with which the value is to be associated
-     * @param value the value to be associated
      */
-    @Override
-    public void put(K key, V value) {
-        int index = hash(key);
+    private void migrateBucket(int index) {
+        Node<K, V> first = oldTable[index];
+        if (first == null) return;
+        oldTable[index] = null;
 
-        if (table[index] == null) {
-            table[index] = new Node<>(key, value);
-            size++;
-        } else {
-            Node<K, V> temp = table[index];
-            while (temp != null) {
-                if ((temp.key == null && key == null) || (temp.key != null && temp.key.equals(key))) {
-                    temp.setValue(value);
-                    return;
-                }
-                temp = temp.next;
+        if (capacity < oldCapacity) {
+            mergeBin(indexFor(first.hash), first);
+            return;
+        }
+        if (first instanceof TreeNode) {
+            splitTreeBin(index, (TreeNode<K, V>) first);
+            return;
+        }
+        Node<K, V> loHead = null, loTail = null, hiHead = null, hiTail = null;
+        for (Node<K, V> temp = first; temp != null; temp = temp.next) {
+            if ((temp.hash & oldCapacity) == 0) {
+                if (loTail == null) loHead = temp;
+                else loTail.next = temp;
+                loTail = temp;
+            } else {
+                if (hiTail == null) hiHead = temp;
+                else hiTail.next = temp;
+                hiTail = temp;
             }
-            table[index] = new Node<>(key, value, table[index]);
-            size++;
         }
+        if (loTail != null) loTail.next = null;
+        if (hiTail != null) hiTail.next = null;
+        table[index] = loHead;
+        table[index + oldCapacity] = hiHead;
+    }
 
-        if (size > capacity * LOAD_FACTOR) {
-            resize();
+    /**
+     * Puts the nodes of an old bucket in front of the given bucket of a smaller table, as
+     * chains, and treeifies the result if it grew too long and the table is large enough.
+     */
+    private void mergeBin(int index, Node<K, V> first) {
+        Node<K, V> head = (first instanceof TreeNode) ? untreeify(first) : first;
+        Node<K, V> existing = table[index];
+        if (existing instanceof TreeNode) {
+            existing = untreeify(existing);
+        }
+        int binCount = 1;
+        Node<K, V> tail = head;
+        while (tail.next != null) {
+            tail = tail.next;
+            binCount++;
+        }
+        tail.next = existing;
+        for (Node<K, V> temp = existing; temp != null; temp = temp.next) {
+            binCount++;
+        }
+        table[index] = head;
+        if (binCount > TREEIFY_THRESHOLD && capacity >= MIN_TREEIFY_CAPACITY) {
+            treeifyBin(index);
         }
     }
 
     /**
-     * Returns the value mapped to the specified key, or {@code null} if no mapping exists.
-     *
-     * @param key the key whose associated value is to be returned
-     * @return the value associated with the key, or {@code null} if none exists
+     * Performs one bounded step of an incremental resize on behalf of an operation on
+     * a key with hash {@code h}: its own old bucket is migrated first, then up to
+     * {@value MIGRATION_STEP} further buckets in table order.
      */
-    @Override
-    public V get(K key) {
-        int index = hash(key);
-        Node<K, V> temp = table[index];
+    private void advanceMigration(int h) {
+        if (oldTable == null) return;
+        long start = resizeStart();
+        migrateBucket(indexFor(h, oldCapacity));
+        for (int step = 0; step < MIGRATION_STEP && migrateIndex < oldCapacity; step++) {
+            migrateBucket(migrateIndex++);
+        }
+        if (migrateIndex == oldCapacity) {
+            oldTable = null;
+        }
+        resizeDone(start);
+    }
+
+    /**
+     * Migrates every remaining bucket of an in-progress incremental resize.
+     */
+    private void completeMigration() {
+        if (oldTable == null) return;
+        long start = resizeStart();
+        while (migrateIndex < oldCapacity) {
+            migrateBucket(migrateIndex++);
+        }
+        oldTable = null;
+        resizeDone(start);
+    }
+
+    /**
+     * Returns the start time of a piece of resize work if stats are recorded.
+     */
+    private long resizeStart() {
+        return (stats == null) ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Adds the time since {@code start} to the recorded resize time. Every piece of resize
+     * work, including the bucket migrations of an incremental resize, is timed exactly once.
+     */
+    private void resizeDone(long start) {
+        if (stats != null) {
+            stats.resizeNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Distributes the nodes of an old tree bucket into the lower and upper buckets of
+     * the current table.
+     */
+    private void splitTreeBin(int index, TreeNode<K, V> first) {
+        TreeNode<K, V> loHead = null, hiHead = null;
+        int loCount = 0, hiCount = 0;
+        Node<K, V> temp = first;
         while (temp != null) {
-            if ((temp.key == null && key == null) || (temp.key != null && temp.key.equals(key))) {
-                return temp.getValue();
+            TreeNode<K, V> node = (TreeNode<K, V>) temp;
+            temp = node.next;
+            if ((node.hash & oldCapacity) == 0) {
+                node.next = loHead;
+                loHead = node;
+                loCount++;
+            } else {
+                node.next = hiHead;
+                hiHead = node;
+                hiCount++;
             }
-            temp = temp.next;
         }
-        return null;
+        table[index] = rebuildBin(loHead, loCount);
+        table[index + oldCapacity] = rebuildBin(hiHead, hiCount);
     }
 
     /**
-     * Removes the mapping for the specified key if present.
+     * Turns a list of tree nodes into a valid bucket: a chain if it is small enough,
+     * otherwise a freshly balanced tree.
      *
-     * @param key the key to remove
-     * @return the previous value associated with the key, or {@code null} if none
+     * @return the new bucket head
      */
-    @Override
-    public V remove(K key) {
-        int index = hash(key);
-        Node<K, V> node = table[index];
-        Node<K, V> prevNode = null;
+    private Node<K, V> rebuildBin(TreeNode<K, V> head, int count) {
+        if (head == null) return null;
+        if (count <= UNTREEIFY_THRESHOLD) {
+            return untreeify(head);
+        }
+        TreeNode<K, V> root = null;
+        TreeNode<K, V> prev = null;
+        for (Node<K, V> temp = head; temp != null; temp = temp.next) {
+            TreeNode<K, V> node = (TreeNode<K, V>) temp;
+            node.prev = prev;
+            node.left = null;
+            node.right = null;
+            node.height = 1;
+            root = treeInsert(root, node);
+            prev = node;
+        }
+        head.root = root;
+        return head;
+    }
 
-        while (node != null) {
-            if ((node.key == null && key == null) || (node.key != null && node.key.equals(key))) {
-                if (prevNode == null) {
-                    table[index] = node.next;
-                } else {
-                    prevNode.next = node.next;
-                }
-                size--;
-                return node.getValue();
+    /**
+     * Converts the chain in the given bucket into a tree, or grows the table when it
+     * is still too small for treeification to pay off.
+     */
+    private void treeifyBin(int index) {
+        if (capacity < MIN_TREEIFY_CAPACITY) {
+            resize();
+            return;
+        }
+        TreeNode<K, V> head = null, tail = null, root = null;
+        for (Node<K, V> temp = table[index]; temp != null; temp = temp.next) {
+            TreeNode<K, V> node = replacementTreeNode(temp);
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+                node.prev = tail;
             }
-            prevNode = node;
-            node = node.next;
+            tail = node;
+            root = treeInsert(root, node);
         }
-        return null;
+        head.root = root;
+        table[index] = head;
     }
 
     /**
-     * Checks if this map contains a mapping for the specified key.
+     * Converts a list of tree nodes back into a chain of plain nodes, keeping their order.
      *
-     * @param key the key to check
-     * @return {@code true} if the key exists, otherwise {@code false}
+     * @return the head of the new chain
      */
-    @Override
-    public boolean containsKey(K key) {
-        int index = hash(key);
-        Node<K, V> temp = table[index];
-        while (temp != null) {
-            if ((temp.key == null && key == null) || (temp.key != null && temp.key.equals(key))) {
-                return true;
+    private Node<K, V> untreeify(Node<K, V> head) {
+        Node<K, V> newHead = null, tail = null;
+        for (Node<K, V> temp = head; temp != null; temp = temp.next) {
+            Node<K, V> node = replacementNode(temp);
+            if (tail == null) {
+                newHead = node;
+            } else {
+                tail.next = node;
             }
-            temp = temp.next;
+            tail = node;
         }
-        return false;
+        return newHead;
     }
 
     /**
-     * Returns the number of key-value mappings in this map.
+     * Orders two keys that share a hash code: by class name first, then by natural
+     * ordering when both are instances of the same {@link Comparable} class.
      *
-     * @return the current size of the map
+     * @return a negative, zero or positive value; zero means the keys cannot be ordered
      */
-    @Override
-    public int size() {
-        return this.size;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(Object a, Object b) {
+        if (a == null || b == null) {
+            return (a == b) ? 0 : (a == null ? -1 : 1);
+        }
+        Class<?> classA = a.getClass();
+        Class<?> classB = b.getClass();
+        if (classA != classB) {
+            return classA.getName().compareTo(classB.getName());
+        }
+        if (a instanceof Comparable) {
+            try {
+                return ((Comparable) a).compareTo(b);
+            } catch (ClassCastException e) {
+                return 0;
+            }
+        }
+        return 0;
     }
 
     /**
-     * Returns {@code true} if this map contains no key-value mappings.
-     *
-     * @return {@code true} if empty, otherwise {@code false}
+     * Total order used to place nodes in a tree bucket. Ties left by the hash and the
+     * key comparison are broken by insertion sequence.
      */
-    @Override
-    public boolean isEmpty() {
-        return this.size == 0;
+    private static int compareNodes(TreeNode<?, ?> a, TreeNode<?, ?> b) {
+        if (a.hash != b.hash) {
+            return (a.hash < b.hash) ? -1 : 1;
+        }
+        int cmp = compareKeys(a.key, b.key);
+        if (cmp != 0) return cmp;
+        return Integer.compare(a.seq, b.seq);
     }
 
     /**
-     * Removes all key-value mappings from this map.
+     * Searches a tree bucket for the given key.
      * <p>
-     * After calling this, {@link #size()} will return {@code 0}.
+     * When two keys share a hash code and cannot be ordered, both subtrees must be searched.
      * </p>
      */
-    @SuppressWarnings("unchecked")
-    @Override
-    public void clear() {
-        this.capacity = DEFAULT_CAPACITY;
-        this.table = new Node[capacity];
-        this.size = 0;
+    private static <K, V> TreeNode<K, V> findTreeNode(TreeNode<K, V> node, int h, Object key) {
+        return findTreeNode(node, h, key, null);
     }
 
     /**
-     * Returns a string representation of this map in the form:
-     * <pre>
-     * {key1=value1, key2=value2, ...}
-     * </pre>
-     *
-     * @return a string representing the map entries
+     * Searches a subtree for the given key, adding every node compared to the probe count
+     * of {@code counters} unless it is {@code null}.
      */
-    @Override
-    public String toString() {
-        if (size == 0) {
-            return "{}";
-        }
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
+    private static <K, V> TreeNode<K, V> findTreeNode(TreeNode<K, V> node, int h, Object key,
+                                                      StatsCounters counters) {
+        while (node != null) {
+            if (counters != null) {
+                counters.probeCount++;
+            }
+            if (h < node.hash) {
+                node = node.left;
+            } else if (h > node.hash) {
+                node = node.right;
+            } else if (node.key == key || (key != null && key.equals(node.key))) {
+                return node;
+            } else {
+                int cmp = compareKeys(key, node.key);
+                if (cmp < 0) {
+                    node = node.left;
+                } else if (cmp > 0) {
+                    node = node.right;
+                } else {
+                    TreeNode<K, V> found = findTreeNode(node.right, h, key, counters);
+                    if (found != null) return found;
+                    node = node.left;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int height(TreeNode<?, ?> node) {
+        return (node == null) ? 0 : node.height;
+    }
+
+    private static void updateHeight(TreeNode<?, ?> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    private static <K, V> TreeNode<K, V> rotateLeft(TreeNode<K, V> node) {
+        TreeNode<K, V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    private static <K, V> TreeNode<K, V> rotateRight(TreeNode<K, V> node) {
+        TreeNode<K, V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    /**
+     * Restores the AVL balance invariant at the given node.
+     *
+     * @return the root of the rebalanced subtree
+     */
+    private static <K, V> TreeNode<K, V> rebalance(TreeNode<K, V> node) {
+        updateHeight(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static <K, V> TreeNode<K, V> treeInsert(TreeNode<K, V> root, TreeNode<K, V> node) {
+        if (root == null) return node;
+        if (compareNodes(node, root) < 0) {
+            root.left = treeInsert(root.left, node);
+        } else {
+            root.right = treeInsert(root.right, node);
+        }
+        return rebalance(root);
+    }
+
+    private static <K, V> TreeNode<K, V> treeDelete(TreeNode<K, V> root, TreeNode<K, V> node) {
+        if (root == null) return null;
+        if (root == node) {
+            if (root.left == null) return root.right;
+            if (root.right == null) return root.left;
+            TreeNode<K, V> successor = root.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(root.right);
+            successor.left = root.left;
+            return rebalance(successor);
+        }
+        if (compareNodes(node, root) < 0) {
+            root.left = treeDelete(root.left, node);
+        } else {
+            root.right = treeDelete(root.right, node);
+        }
+        return rebalance(root);
+    }
+
+    private static <K, V> TreeNode<K, V> removeMin(TreeNode<K, V> node) {
+        if (node.left == null) return node.right;
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    /**
+     * Adds a mapping for a key known to be absent to a tree bucket. The new node is
+     * linked right after the first node so the table slot does not change.
+     */
+    private void addTreeNode(TreeNode<K, V> first, int h, K key, V value) {
+        TreeNode<K, V> node = newTreeNode(h, key, value);
+        node.next = first.next;
+        node.prev = first;
+        if (first.next != null) ((TreeNode<K, V>) first.next).prev = node;
+        first.next = node;
+        first.root = treeInsert(first.root, node);
+    }
+
+    /**
+     * Unlinks a node from a tree bucket, converting the bucket back into a chain
+     * when it has become small.
+     */
+    private void removeTreeNode(int index, TreeNode<K, V> first, TreeNode<K, V> node) {
+        TreeNode<K, V> prev = node.prev;
+        Node<K, V> next = node.next;
+        if (prev != null) prev.next = next;
+        if (next != null) ((TreeNode<K, V>) next).prev = prev;
+
+        TreeNode<K, V> newRoot = treeDelete(first.root, node);
+        if (newRoot == null) {
+            table[index] = null;
+            return;
+        }
+        TreeNode<K, V> head = (node == first) ? (TreeNode<K, V>) next : first;
+        int count = 0;
+        for (Node<K, V> temp = head; temp != null && count <= UNTREEIFY_THRESHOLD; temp = temp.next) {
+            count++;
+        }
+        if (count <= UNTREEIFY_THRESHOLD) {
+            table[index] = untreeify(head);
+        } else {
+            head.root = newRoot;
+            table[index] = head;
+        }
+    }
+
+    /**
+     * Searches a bucket known to be a tree for the given key.
+     */
+    private static <K, V> TreeNode<K, V> findInTreeBin(Node<K, V> first, int h, Object key) {
+        return findTreeNode(((TreeNode<K, V>) first).root, h, key);
+    }
+
+    /**
+     * Adds a mapping for a key known to be absent from the given bucket, then treeifies
+     * the bucket or resizes the table if needed.
+     *
+     * @param binCount the chain length of the bucket before insertion (ignored for trees)
+     */
+    private void linkNewNode(int index, int h, K key, V value, int binCount) {
+        Node<K, V> first = table[index];
+        if (first instanceof TreeNode) {
+            addTreeNode((TreeNode<K, V>) first, h, key, value);
+        } else {
+            table[index] = newNode(h, key, value, first);
+            if (binCount >= TREEIFY_THRESHOLD) {
+                treeifyBin(index);
+            }
+        }
+        size++;
+        modCount++;
+        if (size > capacity * loadFactor) {
+            resize();
+        }
+        afterNodeInsertion();
+    }
+
+    /**
+     * Halves the table if a removal left it sparse enough, never going below
+     * {@link #minCapacity}. Called after removals, but not from iterators, whose
+     * position depends on the table staying put. In incremental resize mode the entries
+     * are migrated over later operations, and no shrink starts while a resize is still
+     * migrating.
+     */
+    private void shrinkIfSparse() {
+        if (capacity > minCapacity && size < capacity * loadFactor / SHRINK_DIVISOR) {
+            if (!incrementalResize) {
+                shrinkTo(capacity >>> 1);
+            } else if (oldTable == null) {
+                resize(capacity >>> 1);
+            }
+        }
+    }
+
+    /**
+     * Moves every entry into a smaller table of the given power-of-two capacity.
+     * <p>
+     * Each new bucket {@code j} collects the old buckets {@code j}, {@code j + newCapacity},
+     * {@code j + 2 * newCapacity}, ... in that order, so no index is recomputed beyond a
+     * mask of the cached hash. Nodes of tree buckets are copied into plain chains, and
+     * merged chains longer than {@value TREEIFY_THRESHOLD} are treeified again when the
+     * new table is large enough. A pending incremental resize is completed first.
+     * </p>
+     */
+    @SuppressWarnings("unchecked")
+    private void shrinkTo(int newCapacity) {
+        completeMigration();
+        long start = resizeStart();
+        Node<K, V>[] old = table;
+        Node<K, V>[] tails = (Node<K, V>[]) new Node[newCapacity];
+        this.table = (Node<K, V>[]) new Node[newCapacity];
+        this.capacity = newCapacity;
+
+        for (Node<K, V> first : old) {
+            boolean tree = first instanceof TreeNode;
+            Node<K, V> temp = first;
+            while (temp != null) {
+                Node<K, V> next = temp.next;
+                Node<K, V> node = tree ? replacementNode(temp) : temp;
+                node.next = null;
+                int index = indexFor(node.hash);
+                if (tails[index] == null) table[index] = node;
+                else tails[index].next = node;
+                tails[index] = node;
+                temp = next;
+            }
+        }
+
+        if (newCapacity >= MIN_TREEIFY_CAPACITY) {
+            for (int i = 0; i < newCapacity; i++) {
+                int binCount = 0;
+                for (Node<K, V> temp = table[i]; temp != null && binCount <= TREEIFY_THRESHOLD; temp = temp.next) {
+                    binCount++;
+                }
+                if (binCount > TREEIFY_THRESHOLD) {
+                    treeifyBin(i);
+                }
+            }
+        }
+        modCount++;
+        if (stats != null) {
+            stats.resizeCount++;
+        }
+        resizeDone(start);
+    }
+
+    /**
+     * Unlinks a node found in the given bucket.
+     *
+     * @param prev the node preceding {@code node} in its chain, or {@code null} if it
+     *             is the head (ignored for trees)
+     */
+    private void unlinkNode(int index, Node<K, V> prev, Node<K, V> node) {
+        if (node instanceof TreeNode) {
+            removeTreeNode(index, (TreeNode<K, V>) table[index], (TreeNode<K, V>) node);
+        } else if (prev == null) {
+            table[index] = node.next;
+        } else {
+            prev.next = node.next;
+        }
+        size--;
+        modCount++;
+        afterNodeRemoval(node);
+    }
+
+    /**
+     * Finds the node holding the given key.
+     *
+     * @return the node, or {@code null} if the key is not present
+     */
+    Node<K, V> getNode(K key) {
+        return getNode(key, null);
+    }
+
+    /**
+     * Finds the node holding the given key, recording the lookup and the entries it
+     * compared in {@code counters} unless it is {@code null}.
+     *
+     * @return the node, or {@code null} if the key is not present
+     */
+    private Node<K, V> getNode(K key, StatsCounters counters) {
+        int h = spread(key);
+        advanceMigration(h);
+        int index = indexFor(h);
+        Node<K, V> temp = table[index];
+        if (temp instanceof TreeNode) {
+            if (counters != null) {
+                counters.getCount++;
+            }
+            return findTreeNode(((TreeNode<K, V>) temp).root, h, key, counters);
+        }
+        int probes = 0;
+        while (temp != null) {
+            probes++;
+            if (temp.hash == h && (temp.key == key || (key != null && key.equals(temp.key)))) {
+                break;
+            }
+            temp = temp.next;
+        }
+        if (counters != null) {
+            counters.recordGet(probes);
+        }
+        return temp;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * <p>
+     * If the key already exists, its value is updated. If the load factor
+     * threshold is exceeded, the table is resized. A chain that grows beyond
+     * {@value TREEIFY_THRESHOLD} nodes is converted into a tree.
+     * </p>
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     */
+    @Override
+    public void put(K key, V value) {
+        int h = spread(key);
+        advanceMigration(h);
+        int index = indexFor(h);
+        Node<K, V> temp = table[index];
+        int binCount = 0;
+
+        if (temp instanceof TreeNode) {
+            temp = findInTreeBin(temp, h, key);
+        } else {
+            while (temp != null) {
+                if (temp.hash == h && (temp.key == key || (key != null && key.equals(temp.key)))) {
+                    break;
+                }
+                binCount++;
+                temp = temp.next;
+            }
+        }
+
+        if (temp != null) {
+            temp.setValue(value);
+            afterNodeAccess(temp);
+            return;
+        }
+        linkNewNode(index, h, key, value, binCount);
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code null} if no mapping exists.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the key, or {@code null} if none exists
+     */
+    @Override
+    public V get(K key) {
+        Node<K, V> node = getNode(key, stats);
+        if (node == null) {
+            return null;
+        }
+        afterNodeAccess(node);
+        return node.getValue();
+    }
+
+    /**
+     * Removes the mapping for the specified key if present.
+     *
+     * @param key the key to remove
+     * @return the previous value associated with the key, or {@code null} if none
+     */
+    @Override
+    public V remove(K key) {
+        Node<K, V> node = removeNode(key);
+        if (node == null) {
+            return null;
+        }
+        shrinkIfSparse();
+        return node.getValue();
+    }
+
+    /**
+     * Unlinks the node holding the given key without shrinking the table.
+     *
+     * @return the removed node, or {@code null} if the key was not present
+     */
+    Node<K, V> removeNode(K key) {
+        int h = spread(key);
+        advanceMigration(h);
+        int index = indexFor(h);
+        Node<K, V> node = table[index];
+
+        if (node instanceof TreeNode) {
+            TreeNode<K, V> found = findInTreeBin(node, h, key);
+            if (found != null) {
+                unlinkNode(index, null, found);
+            }
+            return found;
+        }
+
+        Node<K, V> prevNode = null;
+        while (node != null) {
+            if (node.hash == h && (node.key == key || (key != null && key.equals(node.key)))) {
+                unlinkNode(index, prevNode, node);
+                return node;
+            }
+            prevNode = node;
+            node = node.next;
+        }
+        return null;
+    }
+
+    /**
+     * Checks if this map contains a mapping for the specified key.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key exists, otherwise {@code false}
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return getNode(key) != null;
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code defaultValue} if no mapping exists.
+     *
+     * @param key          the key whose associated value is to be returned
+     * @param defaultValue the value to return when no mapping exists
+     * @return the associated value, or {@code defaultValue}
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Node<K, V> node = getNode(key);
+        if (node == null) {
+            return defaultValue;
+        }
+        afterNodeAccess(node);
+        return node.getValue();
+    }
+
+    /**
+     * Associates the value with the key unless the key is already mapped to a
+     * non-{@code null} value. The bucket is searched only once.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     * @return the current value, or {@code null} if the value was stored
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        int h = spread(key);
+        advanceMigration(h);
+        int index = indexFor(h);
+        Node<K, V> node = table[index];
+        int binCount = 0;
+        if (node instanceof TreeNode) {
+            node = findInTreeBin(node, h, key);
+        } else {
+            while (node != null && !(node.hash == h && (node.key == key || (key != null && key.equals(node.key))))) {
+                binCount++;
+                node = node.next;
+            }
+        }
+
+        if (node != null) {
+            V current = node.getValue();
+            if (current == null) {
+                node.setValue(value);
+            }
+            afterNodeAccess(node);
+            return current;
+        }
+        linkNewNode(index, h, key, value, binCount);
+        return null;
+    }
+
+    /**
+     * Computes and stores a value for the key if it is absent or mapped to {@code null}.
+     * The bucket is searched only once; the function must not modify this map
+     * ({@link ConcurrentModificationException} is thrown if it does).
+     *
+     * @param key             the key whose value is to be computed
+     * @param mappingFunction the function computing a value from the key
+     * @return the current (existing or computed) value, or {@code null} if none
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        int h = spread(key);
+        advanceMigration(h);
+        int index = indexFor(h);
+        Node<K, V> node = table[index];
+        int binCount = 0;
+        if (node instanceof TreeNode) {
+            node = findInTreeBin(node, h, key);
+        } else {
+            while (node != null && !(node.hash == h && (node.key == key || (key != null && key.equals(node.key))))) {
+                binCount++;
+                node = node.next;
+            }
+        }
+
+        if (node != null && node.getValue() != null) {
+            afterNodeAccess(node);
+            return node.getValue();
+        }
+        int mc = modCount;
+        V newValue = mappingFunction.apply(key);
+        checkNotModified(mc);
+        if (newValue == null) {
+            return null;
+        }
+        if (node != null) {
+            node.setValue(newValue);
+            afterNodeAccess(node);
+        } else {
+            linkNewNode(index, h, key, newValue, binCount);
+        }
+        return newValue;
+    }
+
+    /**
+     * Recomputes the value of a key mapped to a non-{@code null} value; a {@code null}
+     * result removes the mapping. The bucket is searched only once; the function must
+     * not modify this map ({@link ConcurrentModificationException} is thrown if it does).
+     *
+     * @param key               the key whose value is to be recomputed
+     * @param remappingFunction the function computing the new value
+     * @return the new value, or {@code null} if there is none
+     */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int h = spread(key);
+        advanceMigration(h);
+        int index = indexFor(h);
+        Node<K, V> node = table[index];
+        Node<K, V> prev = null;
+        if (node instanceof TreeNode) {
+            node = findInTreeBin(node, h, key);
+        } else {
+            while (node != null && !(node.hash == h && (node.key == key || (key != null && key.equals(node.key))))) {
+                prev = node;
+                node = node.next;
+            }
+        }
+
+        if (node == null || node.getValue() == null) {
+            return null;
+        }
+        int mc = modCount;
+        V newValue = remappingFunction.apply(key, node.getValue());
+        checkNotModified(mc);
+        if (newValue == null) {
+            unlinkNode(index, prev, node);
+            shrinkIfSparse();
+        } else {
+            node.setValue(newValue);
+            afterNodeAccess(node);
+        }
+        return newValue;
+    }
+
+    /**
+     * Computes a new value from the key and its current value ({@code null} if absent);
+     * a {@code null} result removes the mapping. The bucket is searched only once; the
+     * function must not modify this map ({@link ConcurrentModificationException} is
+     * thrown if it does).
+     *
+     * @param key               the key whose value is to be computed
+     * @param remappingFunction the function computing the new value
+     * @return the new value, or {@code null} if there is none
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int h = spread(key);
+        advanceMigration(h);
+        int index = indexFor(h);
+        Node<K, V> node = table[index];
+        Node<K, V> prev = null;
+        int binCount = 0;
+        if (node instanceof TreeNode) {
+            node = findInTreeBin(node, h, key);
+        } else {
+            while (node != null && !(node.hash == h && (node.key == key || (key != null && key.equals(node.key))))) {
+                binCount++;
+                prev = node;
+                node = node.next;
+            }
+        }
+
+        int mc = modCount;
+        V newValue = remappingFunction.apply(key, (node == null) ? null : node.getValue());
+        checkNotModified(mc);
+        if (node != null) {
+            if (newValue == null) {
+                unlinkNode(index, prev, node);
+                shrinkIfSparse();
+            } else {
+                node.setValue(newValue);
+                afterNodeAccess(node);
+            }
+        } else if (newValue != null) {
+            linkNewNode(index, h, key, newValue, binCount);
+        }
+        return newValue;
+    }
+
+    /**
+     * Stores the value if the key is absent or mapped to {@code null}, otherwise replaces
+     * the current value with {@code remappingFunction(current, value)}; a {@code null}
+     * result removes the mapping. The bucket is searched only once; the function must
+     * not modify this map ({@link ConcurrentModificationException} is thrown if it does).
+     *
+     * @param key               the key with which the value is to be merged
+     * @param value             the non-{@code null} value to merge
+     * @param remappingFunction the function combining the current and given values
+     * @return the new value, or {@code null} if the mapping was removed
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null) {
+            throw new NullPointerException("value must not be null");
+        }
+        int h = spread(key);
+        advanceMigration(h);
+        int index = indexFor(h);
+        Node<K, V> node = table[index];
+        Node<K, V> prev = null;
+        int binCount = 0;
+        if (node instanceof TreeNode) {
+            node = findInTreeBin(node, h, key);
+        } else {
+            while (node != null && !(node.hash == h && (node.key == key || (key != null && key.equals(node.key))))) {
+                binCount++;
+                prev = node;
+                node = node.next;
+            }
+        }
+
+        if (node == null) {
+            linkNewNode(index, h, key, value, binCount);
+            return value;
+        }
+        int mc = modCount;
+        V newValue = (node.getValue() == null) ? value : remappingFunction.apply(node.getValue(), value);
+        checkNotModified(mc);
+        if (newValue == null) {
+            unlinkNode(index, prev, node);
+            shrinkIfSparse();
+        } else {
+            node.setValue(newValue);
+            afterNodeAccess(node);
+        }
+        return newValue;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the current size of the map
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if empty, otherwise {@code false}
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes all key-value mappings from this map.
+     * <p>
+     * After calling this, {@link #size()} will return {@code 0}. The table keeps its
+     * current capacity, so refilling the map to a similar size does not resize; call
+     * {@link #trimToSize()} afterwards to release it.
+     * </p>
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(table, null);
+        this.oldTable = null;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    /**
+     * Shrinks the table to the smallest power-of-two capacity that holds the current
+     * entries without exceeding the load factor. Unlike the automatic shrinking after
+     * removals, this may go below the capacity the map was created with.
+     */
+    public void trimToSize() {
+        int target = tableSizeFor(size, loadFactor);
+        if (target < capacity) {
+            shrinkTo(target);
+        }
+    }
+
+    /**
+     * Returns the number of buckets in the table.
+     *
+     * @return the current capacity
+     */
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Returns the load factor threshold beyond which the table grows.
+     *
+     * @return the load factor
+     */
+    public float loadFactor() {
+        return this.loadFactor;
+    }
+
+    /**
+     * Starts or stops recording the activity counters reported by {@link #stats()}: the
+     * number of resizes and the time spent in them, and the number of lookups and the
+     * entries they compared. Starting resets the counters. While recording is off, the
+     * only cost left on the hot paths is a {@code null} check.
+     *
+     * @param enabled whether to record
+     */
+    public void recordStats(boolean enabled) {
+        this.stats = enabled ? new StatsCounters() : null;
+    }
+
+    /**
+     * Returns a snapshot of the table's shape and, if recording, its activity.
+     * <p>
+     * The chain length histogram, the number of tree buckets and the estimated size are
+     * measured by walking every bucket, so this takes time proportional to the capacity.
+     * A tree bucket counts the entries it holds as its chain length, and a lookup in a tree
+     * bucket probes the tree nodes it compares on its way down. Lookups are calls to
+     * {@code get}; the other operations that search a bucket are not recorded.
+     * </p>
+     *
+     * @return the statistics
+     */
+    public HashTableStats stats() {
+        long[] histogram = new long[1];
+        int treeBins = 0;
+        long bytes = arrayBytes(table.length) + ((oldTable == null) ? 0 : arrayBytes(oldTable.length));
+        for (int t = 0; t < 2; t++) {
+            Node<K, V>[] tab = (t == 0) ? table : oldTable;
+            if (tab == null) continue;
+            for (Node<K, V> first : tab) {
+                if (first instanceof TreeNode) {
+                    treeBins++;
+                }
+                int length = 0;
+                for (Node<K, V> node = first; node != null; node = node.next) {
+                    length++;
+                    bytes += (node instanceof TreeNode) ? TREE_NODE_BYTES
+                            : (node instanceof Custom_LinkedHashMap.Entry) ? LINKED_NODE_BYTES : NODE_BYTES;
+                }
+                if (length >= histogram.length) {
+                    histogram = Arrays.copyOf(histogram, length + 1);
+                }
+                histogram[length]++;
+            }
+        }
+        StatsCounters counters = (stats == null) ? new StatsCounters() : stats;
+        return new HashTableStats(size, capacity, loadFactor, histogram, treeBins, counters.resizeCount,
+                counters.resizeNanos, counters.getCount, counters.probeCount, bytes);
+    }
+
+    /**
+     * Size of a reference array of the given length: a 16-byte header plus 4 bytes per
+     * compressed reference, rounded up to 8 bytes.
+     */
+    private static long arrayBytes(int length) {
+        return (16 + 4L * length + 7) & ~7L;
+    }
+
+    /**
+     * Activity counters kept while stats are recorded.
+     */
+    private static final class StatsCounters {
+        long resizeCount;
+        long resizeNanos;
+        long getCount;
+        long probeCount;
+
+        void recordGet(int probes) {
+            getCount++;
+            probeCount += probes;
+        }
+    }
+
+    /**
+     * Throws if the map was structurally modified since {@code expectedModCount} was read.
+     */
+    void checkNotModified(int expectedModCount) {
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Performs the given action for each entry in this map, walking the buckets directly
+     * without creating any entry objects.
+     *
+     * @param action the action to be performed for each key-value pair
+     * @throws ConcurrentModificationException if the action structurally modifies the map
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action, "action must not be null");
+        completeMigration();
+        int mc = modCount;
+        Node<K, V>[] tab = table;
+        for (int i = 0; i < tab.length; i++) {
+            for (Node<K, V> node = tab[i]; node != null; node = node.next) {
+                action.accept(node.key, node.value);
+            }
+            checkNotModified(mc);
+        }
+    }
+
+    /**
+     * Returns an iterator over the keys of this map. Its {@code remove} method is supported.
+     *
+     * @return a fail-fast iterator over the keys
+     */
+    public Iterator<K> keyIterator() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Returns an iterator over the values of this map. Its {@code remove} method is supported.
+     *
+     * @return a fail-fast iterator over the values
+     */
+    public Iterator<V> valueIterator() {
+        return new ValueIterator();
+    }
+
+    /**
+     * Returns an iterator over the entries of this map. The returned entries are the map's
+     * own nodes, so {@link Map.Entry#setValue(Object)} writes through and no entry object is
+     * allocated; an entry should not be used after it has been removed.
+     *
+     * @return a fail-fast iterator over the entries
+     */
+    public Iterator<Map.Entry<K, V>> entryIterator() {
+        return new EntryIterator();
+    }
+
+    /**
+     * Returns a new cursor positioned before the first entry of this map.
+     *
+     * @return a cursor over the entries
+     * @see Cursor
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Shared bucket-walking state of the iterators and the cursor.
+     * <p>
+     * A subclass that keeps its own iteration order (see {@link #hasIterationOrder()})
+     * is walked along that order instead of the buckets.
+     * </p>
+     * <p>
+     * The walk keeps a reference to the next node and the bucket it lives in. Removing
+     * the current node leaves that reference valid, except when the removal turned a tree
+     * bucket back into a chain of fresh nodes; the next node is then looked up again.
+     * </p>
+     */
+    private abstract class HashIterator {
+        Node<K, V> next;
+        Node<K, V> current;
+        int nextBucket;
+        int currentBucket;
+        int expectedModCount;
+        boolean ordered;
+
+        HashIterator() {
+            reset();
+        }
+
+        /**
+         * Moves back before the first entry, picking up any changes made to the map.
+         */
+        void reset() {
+            completeMigration();
+            expectedModCount = modCount;
+            current = null;
+            ordered = hasIterationOrder();
+            if (ordered) {
+                next = firstInOrder();
+                return;
+            }
+            next = null;
+            nextBucket = 0;
+            findNext();
+        }
+
+        private void findNext() {
+            Node<K, V>[] tab = table;
+            while (next == null && nextBucket < tab.length) {
+                next = tab[nextBucket++];
+            }
+        }
+
+        final Node<K, V> nextNode() {
+            checkNotModified(expectedModCount);
+            Node<K, V> node = next;
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+            current = node;
+            if (ordered) {
+                next = nextInOrder(node);
+                return node;
+            }
+            currentBucket = nextBucket - 1;
+            next = node.next;
+            if (next == null) {
+                findNext();
+            }
+            return node;
+        }
+
+        final void removeCurrent() {
+            Node<K, V> node = current;
+            if (node == null) {
+                throw new IllegalStateException();
+            }
+            checkNotModified(expectedModCount);
+            current = null;
+            removeNode(node.key);
+            if (ordered) {
+                if (next instanceof TreeNode) {
+                    // Its bucket may have been converted back into a chain of new nodes
+                    next = getNode(next.key);
+                }
+            } else if (next instanceof TreeNode && next == node.next && !(table[currentBucket] instanceof TreeNode)) {
+                // The bucket was converted back into a chain of new nodes
+                next = getNode(next.key);
+            }
+            expectedModCount = modCount;
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public void remove() {
+            removeCurrent();
+        }
+    }
+
+    private final class KeyIterator extends HashIterator implements Iterator<K> {
+        @Override
+        public K next() {
+            return nextNode().key;
+        }
+    }
+
+    private final class ValueIterator extends HashIterator implements Iterator<V> {
+        @Override
+        public V next() {
+            return nextNode().value;
+        }
+    }
+
+    private final class EntryIterator extends HashIterator implements Iterator<Map.Entry<K, V>> {
+        @Override
+        public Map.Entry<K, V> next() {
+            return nextNode();
+        }
+    }
+
+    /**
+     * A reusable, allocation-free cursor over the entries of this map.
+     * <p>
+     * Call {@link #advance()} to move to the next entry and read it through {@link #key()}
+     * and {@link #value()}. Once a walk is finished the same cursor can be rewound with
+     * {@link #reset()}, so repeated scans allocate nothing at all. Like the iterators, the
+     * cursor is fail-fast.
+     * </p>
+     * <pre>
+     * Custom_HashMap&lt;String, Integer&gt;.Cursor c = map.cursor();
+     * while (c.advance()) {
+     *     total += c.value();
+     * }
+     * </pre>
+     */
+    public final class Cursor extends HashIterator {
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves to the next entry.
+         *
+         * @return {@code true} if the cursor now points at an entry, {@code false} at the end
+         * @throws ConcurrentModificationException if the map was modified outside this cursor
+         */
+        public boolean advance() {
+            if (next == null) {
+                checkNotModified(expectedModCount);
+                current = null;
+                return false;
+            }
+            nextNode();
+            return true;
+        }
+
+        /**
+         * Returns the key of the current entry.
+         *
+         * @return the current key
+         * @throws IllegalStateException if the cursor is not on an entry
+         */
+        public K key() {
+            return currentNode().key;
+        }
+
+        /**
+         * Returns the value of the current entry.
+         *
+         * @return the current value
+         * @throws IllegalStateException if the cursor is not on an entry
+         */
+        public V value() {
+            return currentNode().value;
+        }
+
+        /**
+         * Replaces the value of the current entry.
+         *
+         * @param value the new value
+         * @return the previous value
+         * @throws IllegalStateException if the cursor is not on an entry
+         */
+        public V setValue(V value) {
+            return currentNode().setValue(value);
+        }
+
+        /**
+         * Removes the current entry; the cursor then sits between entries until the next
+         * call to {@link #advance()}.
+         *
+         * @throws IllegalStateException if the cursor is not on an entry
+         */
+        @Override
+        public void remove() {
+            removeCurrent();
+        }
+
+        /**
+         * Rewinds the cursor to before the first entry so it can be reused.
+         */
+        @Override
+        public void reset() {
+            super.reset();
+        }
+
+        private Node<K, V> currentNode() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            return current;
+        }
+    }
+    /**
+     * Returns a spliterator over the entries of this map. It splits by halving the range
+     * of table buckets, so {@code StreamSupport.stream(map.spliterator(), true)} spreads
+     * a scan over all cores. Like the iterators it hands out the map's own nodes and is
+     * fail-fast.
+     *
+     * @return a spliterator over the entries
+     */
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        completeMigration();
+        return new EntrySpliterator(0, table.length, size, modCount);
+    }
+
+    /**
+     * Performs the given action for each entry, in parallel on the common
+     * {@link ForkJoinPool} once the map holds at least {@code parallelismThreshold}
+     * entries. The action may run concurrently on several threads and must not modify
+     * this map.
+     *
+     * @param parallelismThreshold the number of entries needed to run in parallel;
+     *                             {@code Long.MAX_VALUE} runs sequentially
+     * @param action               the action to be performed for each key-value pair
+     * @throws ConcurrentModificationException if the map was modified during the scan
+     */
+    public void forEach(long parallelismThreshold, BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action, "action must not be null");
+        completeMigration();
+        int mc = modCount;
+        Node<K, V>[] tab = table;
+        new ForEachTask(tab, 0, tab.length, leafSize(parallelismThreshold), action).invoke();
+        checkNotModified(mc);
+    }
+
+    /**
+     * Returns the result of combining the transformation of every entry with the given
+     * reducer, computed in parallel once the map holds at least {@code parallelismThreshold}
+     * entries. Entries for which the transformer returns {@code null} are skipped. The
+     * reducer should be associative, as partial results are combined in no fixed order.
+     *
+     * @param parallelismThreshold the number of entries needed to run in parallel;
+     *                             {@code Long.MAX_VALUE} runs sequentially
+     * @param transformer          a function returning the transformation of an entry
+     * @param reducer              a function combining two transformed results
+     * @param <U>                  the type of the result
+     * @return the combined result, or {@code null} if there was nothing to combine
+     * @throws ConcurrentModificationException if the map was modified during the scan
+     */
+    public <U> U reduce(long parallelismThreshold, BiFunction<? super K, ? super V, ? extends U> transformer,
+                        BiFunction<? super U, ? super U, ? extends U> reducer) {
+        Objects.requireNonNull(transformer, "transformer must not be null");
+        Objects.requireNonNull(reducer, "reducer must not be null");
+        completeMigration();
+        int mc = modCount;
+        Node<K, V>[] tab = table;
+        U result = new ReduceTask<U>(tab, 0, tab.length, leafSize(parallelismThreshold), transformer, reducer).invoke();
+        checkNotModified(mc);
+        return result;
+    }
+
+    /**
+     * Returns a non-{@code null} result of applying the search function to some entry, or
+     * {@code null} if it returns {@code null} for every entry. The search runs in parallel
+     * once the map holds at least {@code parallelismThreshold} entries, and all subtasks
+     * stop as soon as one of them finds a result; which match is returned is then
+     * unspecified.
+     *
+     * @param parallelismThreshold the number of entries needed to run in parallel;
+     *                             {@code Long.MAX_VALUE} runs sequentially
+     * @param searchFunction       a function returning a non-{@code null} result on success
+     * @param <U>                  the type of the result
+     * @return a result of the search function, or {@code null} if none matched
+     * @throws ConcurrentModificationException if the map was modified during the scan
+     */
+    public <U> U search(long parallelismThreshold, BiFunction<? super K, ? super V, ? extends U> searchFunction) {
+        Objects.requireNonNull(searchFunction, "searchFunction must not be null");
+        completeMigration();
+        int mc = modCount;
+        Node<K, V>[] tab = table;
+        AtomicReference<U> result = new AtomicReference<>();
+        new SearchTask<U>(tab, 0, tab.length, leafSize(parallelismThreshold), searchFunction, result).invoke();
+        checkNotModified(mc);
+        return result.get();
+    }
+
+    /**
+     * Returns how many buckets a bulk task processes without splitting further: the whole
+     * table below the threshold, otherwise a share sized to give each pool thread a few
+     * tasks while keeping roughly {@code parallelismThreshold} entries per task.
+     */
+    private int leafSize(long parallelismThreshold) {
+        int length = table.length;
+        if (parallelismThreshold <= 0) {
+            parallelismThreshold = 1;
+        }
+        if (size < parallelismThreshold) {
+            return length;
+        }
+        long tasks = Math.min(size / parallelismThreshold, (long) ForkJoinPool.getCommonPoolParallelism() << 2);
+        return (int) Math.max(1, length / Math.max(1, tasks));
+    }
+
+    /**
+     * Splits a bucket range in half until it is no larger than {@code leaf} buckets.
+     */
+    private final class ForEachTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Node<K, V>[] tab;
+        private final int lo;
+        private final int hi;
+        private final int leaf;
+        private final BiConsumer<? super K, ? super V> action;
+
+        ForEachTask(Node<K, V>[] tab, int lo, int hi, int leaf, BiConsumer<? super K, ? super V> action) {
+            this.tab = tab;
+            this.lo = lo;
+            this.hi = hi;
+            this.leaf = leaf;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > leaf) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ForEachTask(tab, lo, mid, leaf, action), new ForEachTask(tab, mid, hi, leaf, action));
+                return;
+            }
+            for (int i = lo; i < hi; i++) {
+                for (Node<K, V> node = tab[i]; node != null; node = node.next) {
+                    action.accept(node.key, node.value);
+                }
+            }
+        }
+    }
+
+    private final class ReduceTask<U> extends RecursiveTask<U> {
+        private static final long serialVersionUID = 1L;
+
+        private final Node<K, V>[] tab;
+        private final int lo;
+        private final int hi;
+        private final int leaf;
+        private final BiFunction<? super K, ? super V, ? extends U> transformer;
+        private final BiFunction<? super U, ? super U, ? extends U> reducer;
+
+        ReduceTask(Node<K, V>[] tab, int lo, int hi, int leaf, BiFunction<? super K, ? super V, ? extends U> transformer,
+                   BiFunction<? super U, ? super U, ? extends U> reducer) {
+            this.tab = tab;
+            this.lo = lo;
+            this.hi = hi;
+            this.leaf = leaf;
+            this.transformer = transformer;
+            this.reducer = reducer;
+        }
+
+        @Override
+        protected U compute() {
+            if (hi - lo > leaf) {
+                int mid = (lo + hi) >>> 1;
+                ReduceTask<U> right = new ReduceTask<>(tab, mid, hi, leaf, transformer, reducer);
+                right.fork();
+                U l = new ReduceTask<>(tab, lo, mid, leaf, transformer, reducer).compute();
+                return combine(l, right.join());
+            }
+            U result = null;
+            for (int i = lo; i < hi; i++) {
+                for (Node<K, V> node = tab[i]; node != null; node = node.next) {
+                    result = combine(result, transformer.apply(node.key, node.value));
+                }
+            }
+            return result;
+        }
+
+        private U combine(U a, U b) {
+            return (a == null) ? b : (b == null) ? a : reducer.apply(a, b);
+        }
+    }
+
+    private final class SearchTask<U> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Node<K, V>[] tab;
+        private final int lo;
+        private final int hi;
+        private final int leaf;
+        private final BiFunction<? super K, ? super V, ? extends U> searchFunction;
+        private final AtomicReference<U> result;
+
+        SearchTask(Node<K, V>[] tab, int lo, int hi, int leaf, BiFunction<? super K, ? super V, ? extends U> searchFunction,
+                   AtomicReference<U> result) {
+            this.tab = tab;
+            this.lo = lo;
+            this.hi = hi;
+            this.leaf = leaf;
+            this.searchFunction = searchFunction;
+            this.result = result;
+        }
+
+        @Override
+        protected void compute() {
+            if (result.get() != null) {
+                return;
+            }
+            if (hi - lo > leaf) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new SearchTask<>(tab, lo, mid, leaf, searchFunction, result),
+                        new SearchTask<>(tab, mid, hi, leaf, searchFunction, result));
+                return;
+            }
+            for (int i = lo; i < hi && result.get() == null; i++) {
+                for (Node<K, V> node = tab[i]; node != null; node = node.next) {
+                    U u = searchFunction.apply(node.key, node.value);
+                    if (u != null) {
+                        result.compareAndSet(null, u);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Spliterator over a range of table buckets. Splitting halves the remaining bucket
+     * range; the size estimate is halved along with it, so only an unsplit spliterator
+     * reports an exact size.
+     */
+    private final class EntrySpliterator implements Spliterator<Map.Entry<K, V>> {
+        private final Node<K, V>[] tab;
+        private int index;
+        private final int fence;
+        private long est;
+        private final int expectedModCount;
+        private Node<K, V> current;
+        private boolean split;
+
+        EntrySpliterator(int origin, int fence, long est, int expectedModCount) {
+            this.tab = table;
+            this.index = origin;
+            this.fence = fence;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private EntrySpliterator(EntrySpliterator parent, int origin, int fence) {
+            this(origin, fence, parent.est, parent.expectedModCount);
+            this.split = true;
+        }
+
+        @Override
+        public Spliterator<Map.Entry<K, V>> trySplit() {
+            int lo = index, mid = (lo + fence) >>> 1;
+            if (lo >= mid || current != null) {
+                return null;
+            }
+            index = mid;
+            split = true;
+            est >>>= 1;
+            return new EntrySpliterator(this, lo, mid);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+            Objects.requireNonNull(action, "action must not be null");
+            while (current != null || index < fence) {
+                if (current == null) {
+                    current = tab[index++];
+                } else {
+                    Node<K, V> node = current;
+                    current = current.next;
+                    action.accept(node);
+                    checkNotModified(expectedModCount);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Map.Entry<K, V>> action) {
+            Objects.requireNonNull(action, "action must not be null");
+            Node<K, V> node = current;
+            current = null;
+            int i = index;
+            index = fence;
+            while (node != null || i < fence) {
+                if (node == null) {
+                    node = tab[i++];
+                } else {
+                    action.accept(node);
+                    node = node.next;
+                }
+            }
+            checkNotModified(expectedModCount);
+        }
+
+        @Override
+        public long estimateSize() {
+            return est;
+        }
+
+        @Override
+        public int characteristics() {
+            return split ? Spliterator.DISTINCT | Spliterator.NONNULL
+                    : Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.SIZED;
+        }
+    }
+
+    /**
+     * Returns a string representation of this map in the form:
+     * <pre>
+     * {key1=value1, key2=value2, ...}
+     * </pre>
+     *
+     * @return a string representing the map entries
+     */
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "{}";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
         boolean firstEntry = true;
 
         for (int i = 0; i < capacity; i++) {
@@ -304,6 +2183,19 @@ public class Custom_HashMap<K, V> implements HashMap_CustomInterface<K, V> {
             }
         }
 
+        // Buckets not yet migrated by an incremental resize
+        for (int i = migrateIndex; oldTable != null && i < oldCapacity; i++) {
+            Node<K, V> temp = oldTable[i];
+            while (temp != null) {
+                if (!firstEntry) {
+                    sb.append(", ");
+                }
+                sb.append(temp.getKey()).append("=").append(temp.getValue());
+                firstEntry = false;
+                temp = temp.next;
+            }
+        }
+
         sb.append("}");
         return sb.toString();
     }
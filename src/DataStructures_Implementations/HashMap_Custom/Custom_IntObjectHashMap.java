@@ -0,0 +1,288 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive {@code int} keys to object values.
+ * <p>
+ * This is the unboxed counterpart of {@code Custom_HashMap<Integer, V>}. Keys live in a
+ * flat {@code int[]} array and values in a parallel {@code Object[]} array using open
+ * addressing with linear probing, so no {@link Integer} or node object is ever allocated
+ * and a key lookup reads contiguous memory. Key {@code 0} marks a free slot, so a mapping for key {@code 0} is kept in
+ * separate fields. Removal shifts the following probe cluster back instead of leaving
+ * tombstones.
+ * </p>
+ *
+ * <p><strong>Time Complexity (Average Case):</strong> O(1) for insertion, lookup and deletion.</p>
+ *
+ * @param <V> the type of mapped values
+ */
+public class Custom_IntObjectHashMap<V> {
+
+    /** Default initial capacity of the hash table (must be a power of two). */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Load factor threshold beyond which resizing occurs. */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /** Keys of the stored entries; {@code 0} marks an empty slot. */
+    private int[] keys;
+
+    /** Values of the stored entries. */
+    private Object[] values;
+
+    /** Whether a mapping for key {@code 0} exists. */
+    private boolean hasZeroKey;
+
+    /** Value mapped to key {@code 0}, if any. */
+    private V zeroValue;
+
+    /** Current number of key-value mappings in the map. */
+    private int size;
+
+    /** Current capacity of the hash table. */
+    private int capacity;
+
+    /** Bit mask used to turn a hash into a slot index ({@code capacity - 1}). */
+    private int mask;
+
+    /**
+     * Constructs an empty map with the default capacity ({@value DEFAULT_CAPACITY}).
+     */
+    public Custom_IntObjectHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    private void allocate(int newCapacity) {
+        this.capacity = newCapacity;
+        this.mask = newCapacity - 1;
+        this.keys = new int[newCapacity];
+        this.values = new Object[newCapacity];
+    }
+
+    /**
+     * Computes the home slot of a key by multiplicative (Fibonacci) hashing.
+     */
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Finds the slot holding a non-zero key.
+     *
+     * @return the slot index, or {@code -1} if the key is not present
+     */
+    private int findIndex(int key) {
+        int index = slot(key);
+        int k;
+        while ((k = keys[index]) != 0) {
+            if (k == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Doubles the capacity and re-inserts all entries.
+     */
+    private void resize() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int index = slot(key);
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Closes the gap left at {@code pos} by moving back later entries of the same
+     * probe cluster that would otherwise become unreachable.
+     */
+    private void shiftKeys(int pos) {
+        for (; ; ) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            int key;
+            for (; ; ) {
+                if ((key = keys[pos]) == 0) {
+                    keys[last] = 0;
+                    values[last] = null;
+                    return;
+                }
+                int home = slot(key);
+                // The entry may move to 'last' only if its home is not in (last, pos]
+                if (last <= pos ? (last >= home || home > pos) : (last >= home && home > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = key;
+            values[last] = values[pos];
+        }
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     */
+    public void put(int key, V value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int index = slot(key);
+        int k;
+        while ((k = keys[index]) != 0) {
+            if (k == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if (size > capacity * LOAD_FACTOR) {
+            resize();
+        }
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code null} if no mapping exists.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the associated value, or {@code null} if none exists
+     */
+    public V get(int key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code defaultValue} if none exists.
+     *
+     * @param key          the key whose associated value is to be returned
+     * @param defaultValue the value to return for a missing key
+     * @return the associated value, or {@code defaultValue}
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(int key, V defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int index = findIndex(key);
+        return (index < 0) ? defaultValue : (V) values[index];
+    }
+
+    /**
+     * Removes the mapping for the specified key if present.
+     *
+     * @param key the key to remove
+     * @return the previous value, or {@code null} if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return null;
+            }
+            V oldValue = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return oldValue;
+        }
+        int index = findIndex(key);
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = (V) values[index];
+        shiftKeys(index);
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * Checks if this map contains a mapping for the specified key.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key exists, otherwise {@code false}
+     */
+    public boolean containsKey(int key) {
+        return (key == 0) ? hasZeroKey : findIndex(key) >= 0;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the current size of the map
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if empty, otherwise {@code false}
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes all key-value mappings from this map, keeping the current capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * Returns a string representation of this map in the form:
+     * <pre>
+     * {key1=value1, key2=value2, ...}
+     * </pre>
+     *
+     * @return a string representing the map entries
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        boolean firstEntry = true;
+        if (hasZeroKey) {
+            sb.append(0).append("=").append(zeroValue);
+            firstEntry = false;
+        }
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] == 0) continue;
+            if (!firstEntry) {
+                sb.append(", ");
+            }
+            sb.append(keys[i]).append("=").append(values[i]);
+            firstEntry = false;
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,307 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link Custom_HashMap} that remembers the order of its entries (similar to
+ * {@link java.util.LinkedHashMap}).
+ * <p>
+ * Every entry is also threaded on a doubly linked list, in the order the keys were first
+ * inserted. Iterators, the {@link Custom_HashMap.Cursor cursor}, {@link #forEach(BiConsumer)},
+ * {@link #spliterator()} and {@link #toString()} follow that list, so an ordered scan costs
+ * O(size) regardless of the table capacity and needs no sorting or copying. Replacing the
+ * value of an existing key does not change its position; removing and re-inserting it
+ * moves it to the end.
+ * </p>
+ * <p>
+ * In <em>access-order</em> mode (see {@link #Custom_LinkedHashMap(boolean)}) every read or
+ * update of an entry ({@code get}, {@code getOrDefault}, {@code put} and the compound
+ * operations) moves it to the end of the list, so iteration runs from the least to the
+ * most recently used entry. Together with {@link #removeEldestEntry(Map.Entry)} this gives
+ * a simple bounded LRU cache. Because reads reorder the list, a read counts as a
+ * structural modification for the fail-fast iterators in this mode.
+ * </p>
+ * <p>
+ * Resizing, shrinking, treeification and incremental rehashing all work as in
+ * {@code Custom_HashMap}; they move nodes between buckets but never change their place in
+ * the list. The parallel bulk operations still split the bucket range and do not follow
+ * the list order.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *   <li>Everything {@link Custom_HashMap} offers</li>
+ *   <li>Predictable insertion-order or access-order iteration</li>
+ *   <li>Optional eviction of the eldest entry on insertion</li>
+ * </ul>
+ *
+ * <p><strong>Time Complexity:</strong> as {@link Custom_HashMap}; maintaining the list
+ * adds O(1) to every insertion, removal and (in access-order mode) access.</p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class Custom_LinkedHashMap<K, V> extends Custom_HashMap<K, V> {
+
+    /**
+     * Node of a linked map: a hash table node with links to the previous and next entry
+     * in iteration order.
+     */
+    static class Entry<K, V> extends Custom_HashMap.Node<K, V> {
+        Entry<K, V> before;
+        Entry<K, V> after;
+
+        Entry(int hash, K key, V value, Custom_HashMap.Node<K, V> next) {
+            super(hash, key, value, next);
+        }
+    }
+
+    /** Eldest entry, first in iteration order. */
+    private Entry<K, V> head;
+
+    /** Youngest entry, last in iteration order. */
+    private Entry<K, V> tail;
+
+    /** Whether reads move entries to the end of the list. */
+    private final boolean accessOrder;
+
+    /**
+     * Constructs an empty map iterated in insertion order.
+     */
+    public Custom_LinkedHashMap() {
+        this(false);
+    }
+
+    /**
+     * Constructs an empty map with the given iteration order.
+     *
+     * @param accessOrder {@code true} to iterate from least to most recently accessed,
+     *                    {@code false} to iterate in insertion order
+     */
+    public Custom_LinkedHashMap(boolean accessOrder) {
+        super();
+        this.accessOrder = accessOrder;
+    }
+
+    /**
+     * Constructs an empty map sized to hold {@code expectedSize} entries without resizing.
+     *
+     * @param expectedSize the number of entries the map is expected to hold
+     * @param loadFactor   the load factor threshold beyond which the table grows
+     * @param accessOrder  {@code true} for access order, {@code false} for insertion order
+     * @throws IllegalArgumentException if {@code expectedSize} is negative or
+     *                                  {@code loadFactor} is not positive
+     */
+    public Custom_LinkedHashMap(int expectedSize, float loadFactor, boolean accessOrder) {
+        super(expectedSize, loadFactor);
+        this.accessOrder = accessOrder;
+    }
+
+    /**
+     * Returns {@code true} if this map should remove its eldest entry after an insertion.
+     * The default never removes anything; a subclass can override it to bound the map,
+     * for example {@code return size() > MAX_ENTRIES;}. It is called once after each new
+     * mapping is added, and the map removes the eldest entry when it returns {@code true}.
+     *
+     * @param eldest the first entry in iteration order
+     * @return {@code true} if the eldest entry should be removed
+     */
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if this map iterates in access order.
+     *
+     * @return whether reads move entries to the end of the iteration order
+     */
+    public boolean isAccessOrder() {
+        return accessOrder;
+    }
+
+    private void linkLast(Entry<K, V> p) {
+        Entry<K, V> last = tail;
+        tail = p;
+        if (last == null) {
+            head = p;
+        } else {
+            p.before = last;
+            last.after = p;
+        }
+    }
+
+    /** Puts {@code dst} in the place of {@code src} on the list. */
+    private void transferLinks(Entry<K, V> src, Entry<K, V> dst) {
+        Entry<K, V> b = dst.before = src.before;
+        Entry<K, V> a = dst.after = src.after;
+        if (b == null) {
+            head = dst;
+        } else {
+            b.after = dst;
+        }
+        if (a == null) {
+            tail = dst;
+        } else {
+            a.before = dst;
+        }
+    }
+
+    @Override
+    Custom_HashMap.Node<K, V> newNode(int hash, K key, V value, Custom_HashMap.Node<K, V> next) {
+        Entry<K, V> p = new Entry<>(hash, key, value, next);
+        linkLast(p);
+        return p;
+    }
+
+    @Override
+    TreeNode<K, V> newTreeNode(int hash, K key, V value) {
+        TreeNode<K, V> p = super.newTreeNode(hash, key, value);
+        linkLast(p);
+        return p;
+    }
+
+    @Override
+    Custom_HashMap.Node<K, V> replacementNode(Custom_HashMap.Node<K, V> p) {
+        Entry<K, V> q = new Entry<>(p.hash, p.key, p.value, null);
+        transferLinks((Entry<K, V>) p, q);
+        return q;
+    }
+
+    @Override
+    TreeNode<K, V> replacementTreeNode(Custom_HashMap.Node<K, V> p) {
+        TreeNode<K, V> q = super.replacementTreeNode(p);
+        transferLinks((Entry<K, V>) p, q);
+        return q;
+    }
+
+    @Override
+    void afterNodeAccess(Custom_HashMap.Node<K, V> e) {
+        Entry<K, V> p = (Entry<K, V>) e;
+        if (!accessOrder || p == tail) {
+            return;
+        }
+        Entry<K, V> b = p.before;
+        Entry<K, V> a = p.after;
+        p.after = null;
+        if (b == null) {
+            head = a;
+        } else {
+            b.after = a;
+        }
+        // p is not the tail, so it has a successor
+        a.before = b;
+        p.before = tail;
+        tail.after = p;
+        tail = p;
+        modCount++;
+    }
+
+    @Override
+    void afterNodeInsertion() {
+        Entry<K, V> first = head;
+        if (first != null && removeEldestEntry(first)) {
+            removeNode(first.key);
+        }
+    }
+
+    @Override
+    void afterNodeRemoval(Custom_HashMap.Node<K, V> e) {
+        Entry<K, V> p = (Entry<K, V>) e;
+        Entry<K, V> b = p.before;
+        Entry<K, V> a = p.after;
+        p.before = null;
+        p.after = null;
+        if (b == null) {
+            head = a;
+        } else {
+            b.after = a;
+        }
+        if (a == null) {
+            tail = b;
+        } else {
+            a.before = b;
+        }
+    }
+
+    @Override
+    boolean hasIterationOrder() {
+        return true;
+    }
+
+    @Override
+    Custom_HashMap.Node<K, V> firstInOrder() {
+        return head;
+    }
+
+    @Override
+    Custom_HashMap.Node<K, V> nextInOrder(Custom_HashMap.Node<K, V> p) {
+        return ((Entry<K, V>) p).after;
+    }
+
+    /**
+     * Removes all key-value mappings from this map. The table keeps its capacity.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        head = null;
+        tail = null;
+    }
+
+    /**
+     * Performs the given action for each entry in this map, in iteration order.
+     *
+     * @param action the action to be performed for each key-value pair
+     * @throws java.util.ConcurrentModificationException if the action structurally
+     *                                                   modifies the map
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action, "action must not be null");
+        int mc = modCount;
+        for (Entry<K, V> p = head; p != null; p = p.after) {
+            action.accept(p.key, p.value);
+            checkNotModified(mc);
+        }
+    }
+
+    /**
+     * Returns an ordered spliterator over the entries of this map. Unlike the spliterator
+     * of {@link Custom_HashMap} it does not split efficiently, since the list can only be
+     * walked from its head.
+     *
+     * @return a spliterator over the entries, in iteration order
+     */
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return Spliterators.spliterator(entryIterator(), size(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * Returns a string representation of this map, in iteration order, in the form:
+     * <pre>
+     * {key1=value1, key2=value2, ...}
+     * </pre>
+     *
+     * @return a string representing the map entries
+     */
+    @Override
+    public String toString() {
+        if (head == null) {
+            return "{}";
+        }
+        StringBuilder sb = new StringBuilder("{");
+        for (Entry<K, V> p = head; p != null; p = p.after) {
+            if (p != head) {
+                sb.append(", ");
+            }
+            sb.append(p.key).append("=").append(p.value);
+        }
+        return sb.append("}").toString();
+    }
+}
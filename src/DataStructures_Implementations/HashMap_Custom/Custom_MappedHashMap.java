@@ -0,0 +1,675 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An off-heap hash map of fixed-size records stored in a memory-mapped file.
+ * <p>
+ * Keys and values are converted to bytes by a {@link FixedSizeCodec} and kept in a file
+ * mapped with {@link FileChannel#map}, so the table lives outside the Java heap and is
+ * neither scanned by the garbage collector nor limited by the heap size. The file is the
+ * map: opening an existing file only maps it, so a table with hundreds of millions of
+ * entries is available immediately after a restart and its pages are loaded by the
+ * operating system as they are touched.
+ * </p>
+ * <p>
+ * The file starts with a small header (format version, record layout, capacity and size)
+ * followed by a power-of-two number of slots. Each slot holds the 32-bit hash of the
+ * key, where {@code 0} marks a free slot, followed by the encoded key and value.
+ * Collisions are resolved by linear probing, and removal shifts the following entries
+ * back instead of leaving tombstones, so the table never degrades under churn. Keys are
+ * hashed and compared by their encoded bytes. Because a single mapping cannot exceed
+ * 2 GB, large tables are mapped as several chunks of whole slots.
+ * </p>
+ * <p>
+ * When the table is three quarters full it is rehashed into a file of twice the capacity,
+ * which then atomically replaces the old one. Writes go to the page cache and reach the
+ * disk when the operating system flushes them; {@link #force()} and {@link #close()}
+ * flush them explicitly. If the process exits without closing the map, the entry count
+ * is recomputed when the file is next opened, but an update interrupted by a machine crash
+ * may be lost or leave a stale entry behind.
+ * </p>
+ * <p>
+ * This class is not thread-safe, and a file must not be opened by more than one map at a
+ * time. {@code null} keys and values are not supported.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *   <li>Key-value mapping with unique keys</li>
+ *   <li>Off-heap storage in a memory-mapped file that survives restarts</li>
+ *   <li>Open addressing with linear probing and backward-shift deletion</li>
+ *   <li>Automatic resizing when {@code size > capacity * 3 / 4}</li>
+ *   <li>Tables larger than 2 GB, mapped in chunks</li>
+ * </ul>
+ *
+ * <p><strong>Time Complexity (Average Case):</strong> O(1) for insertion, lookup and
+ * deletion, plus the cost of faulting in the touched page on first access.</p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public final class Custom_MappedHashMap<K, V> implements HashMap_CustomInterface<K, V>, Closeable {
+
+    /** Identifies a file written by this class ("CUSTHASH"). */
+    private static final long MAGIC = 0x4355535448415348L;
+
+    /** Version of the file layout. */
+    private static final int VERSION = 1;
+
+    /** Size of the file header; the slots start right after it. */
+    private static final int HEADER_BYTES = 64;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 8;
+    private static final int KEY_SIZE_OFFSET = 12;
+    private static final int VALUE_SIZE_OFFSET = 16;
+    private static final int CAPACITY_OFFSET = 20;
+    private static final int SIZE_OFFSET = 24;
+    private static final int CLEAN_OFFSET = 28;
+
+    /** Bytes taken by the stored hash at the start of every slot. */
+    private static final int HASH_BYTES = Integer.BYTES;
+
+    /** Capacity of a new file when no expected size is given. */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /** Largest number of slots. */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** Largest size of a single mapped chunk. */
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+
+    private final Path file;
+    private final FixedSizeCodec<K> keyCodec;
+    private final FixedSizeCodec<V> valueCodec;
+    private final int keySize;
+    private final int slotBytes;
+
+    /** log2 of the number of slots in a full chunk. */
+    private final int chunkShift;
+
+    /** Mask extracting the slot number within its chunk. */
+    private final int chunkMask;
+
+    /** Heap buffer the key being looked up is encoded into. */
+    private final ByteBuffer keyBuffer;
+
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer[] chunks;
+    private int capacity;
+    private int mask;
+    private int size;
+
+    /** Whether the file has been modified since it was last marked clean. */
+    private boolean dirty;
+
+    private Custom_MappedHashMap(Path file, FixedSizeCodec<K> keyCodec, FixedSizeCodec<V> valueCodec) {
+        this.file = file;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.keySize = keyCodec.size();
+        if (keySize <= 0 || valueCodec.size() <= 0) {
+            throw new IllegalArgumentException("codec sizes must be positive");
+        }
+        long slot = (long) HASH_BYTES + keySize + valueCodec.size();
+        if (slot > MAX_CHUNK_BYTES) {
+            throw new IllegalArgumentException("record of " + slot + " bytes is too large");
+        }
+        this.slotBytes = (int) slot;
+        int slotsPerChunk = Integer.highestOneBit(MAX_CHUNK_BYTES / slotBytes);
+        this.chunkShift = Integer.numberOfTrailingZeros(slotsPerChunk);
+        this.chunkMask = slotsPerChunk - 1;
+        this.keyBuffer = ByteBuffer.allocate(keySize);
+    }
+
+    /**
+     * Opens the map stored in the given file, creating an empty one if the file does not
+     * exist or is empty.
+     *
+     * @param file       the file holding the table
+     * @param keyCodec   the codec for keys
+     * @param valueCodec the codec for values
+     * @param <K>        the type of keys
+     * @param <V>        the type of values
+     * @return the opened map
+     * @throws IOException if the file cannot be opened or was written with another layout
+     */
+    public static <K, V> Custom_MappedHashMap<K, V> open(Path file, FixedSizeCodec<K> keyCodec,
+                                                        FixedSizeCodec<V> valueCodec) throws IOException {
+        return open(file, keyCodec, valueCodec, 0);
+    }
+
+    /**
+     * Opens the map stored in the given file. A new file is sized to hold
+     * {@code expectedSize} entries without resizing; for an existing file the argument is
+     * ignored.
+     *
+     * @param file         the file holding the table
+     * @param keyCodec     the codec for keys
+     * @param valueCodec   the codec for values
+     * @param expectedSize the number of entries a new table should hold without resizing
+     * @param <K>          the type of keys
+     * @param <V>          the type of values
+     * @return the opened map
+     * @throws IOException              if the file cannot be opened or was written with
+     *                                  another layout
+     * @throws IllegalArgumentException if {@code expectedSize} is negative
+     */
+    public static <K, V> Custom_MappedHashMap<K, V> open(Path file, FixedSizeCodec<K> keyCodec,
+                                                        FixedSizeCodec<V> valueCodec, int expectedSize) throws IOException {
+        Objects.requireNonNull(file, "file must not be null");
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+        }
+        Custom_MappedHashMap<K, V> map = new Custom_MappedHashMap<>(file, keyCodec, valueCodec);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                map.create(channel, tableSizeFor(expectedSize));
+            } else {
+                map.load(channel);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return map;
+    }
+
+    /**
+     * Returns the smallest power-of-two capacity that holds {@code expectedSize} entries
+     * without exceeding three quarters of the slots.
+     */
+    private static int tableSizeFor(int expectedSize) {
+        if (expectedSize == 0) {
+            return DEFAULT_CAPACITY;
+        }
+        long needed = (expectedSize * 4L + 2) / 3;
+        if (needed >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Math.max(16, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    private void create(FileChannel channel, int capacity) throws IOException {
+        MappedByteBuffer newHeader = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        MappedByteBuffer[] newChunks = mapChunks(channel, capacity);
+        writeHeader(newHeader, capacity, 0);
+        newHeader.force();
+        install(channel, newHeader, newChunks, capacity);
+        this.size = 0;
+    }
+
+    private void load(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_BYTES) {
+            throw new IOException(file + " is not a Custom_MappedHashMap file");
+        }
+        MappedByteBuffer fileHeader = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        if (fileHeader.getLong(MAGIC_OFFSET) != MAGIC) {
+            throw new IOException(file + " is not a Custom_MappedHashMap file");
+        }
+        int version = fileHeader.getInt(VERSION_OFFSET);
+        if (version != VERSION) {
+            throw new IOException(file + " has unsupported version " + version);
+        }
+        int fileKeySize = fileHeader.getInt(KEY_SIZE_OFFSET);
+        int fileValueSize = fileHeader.getInt(VALUE_SIZE_OFFSET);
+        if (fileKeySize != keySize || fileValueSize != valueCodec.size()) {
+            throw new IOException(file + " holds " + fileKeySize + "-byte keys and " + fileValueSize
+                    + "-byte values, but the codecs use " + keySize + " and " + valueCodec.size());
+        }
+        int fileCapacity = fileHeader.getInt(CAPACITY_OFFSET);
+        if (fileCapacity <= 0 || Integer.bitCount(fileCapacity) != 1
+                || channel.size() < HEADER_BYTES + (long) fileCapacity * slotBytes) {
+            throw new IOException(file + " is truncated or corrupt");
+        }
+        install(channel, fileHeader, mapChunks(channel, fileCapacity), fileCapacity);
+        if (fileHeader.getInt(CLEAN_OFFSET) != 0) {
+            this.size = fileHeader.getInt(SIZE_OFFSET);
+        } else {
+            // The map was not closed; the stored count may be stale
+            this.size = countEntries();
+            fileHeader.putInt(SIZE_OFFSET, size);
+            this.dirty = true;
+        }
+    }
+
+    private void install(FileChannel channel, MappedByteBuffer header, MappedByteBuffer[] chunks, int capacity) {
+        this.channel = channel;
+        this.header = header;
+        this.chunks = chunks;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    private void writeHeader(MappedByteBuffer buffer, int capacity, int size) {
+        buffer.putLong(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(KEY_SIZE_OFFSET, keySize);
+        buffer.putInt(VALUE_SIZE_OFFSET, valueCodec.size());
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        buffer.putInt(SIZE_OFFSET, size);
+        buffer.putInt(CLEAN_OFFSET, 1);
+    }
+
+    /**
+     * Maps the slot region of a table with the given capacity, extending the file as
+     * needed. Every chunk holds a power-of-two number of whole slots.
+     */
+    private MappedByteBuffer[] mapChunks(FileChannel channel, int capacity) throws IOException {
+        int slotsPerChunk = Math.min(capacity, chunkMask + 1);
+        long chunkBytes = (long) slotsPerChunk * slotBytes;
+        MappedByteBuffer[] mapped = new MappedByteBuffer[capacity / slotsPerChunk];
+        for (int i = 0; i < mapped.length; i++) {
+            mapped[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + i * chunkBytes, chunkBytes);
+        }
+        return mapped;
+    }
+
+    private int offset(int slot) {
+        return (slot & chunkMask) * slotBytes;
+    }
+
+    private int countEntries() {
+        int count = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (chunks[slot >>> chunkShift].getInt(offset(slot)) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Hashes {@code length} bytes starting at {@code index}. Never returns {@code 0},
+     * which marks a free slot.
+     */
+    private static int hash(ByteBuffer buffer, int index, int length) {
+        long h = 0x9E3779B97F4A7C15L ^ length;
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            h = (h ^ buffer.getLong(index + i)) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        for (; i < length; i++) {
+            h = (h ^ buffer.get(index + i)) * 0x94D049BB133111EBL;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        int result = (int) h;
+        return (result == 0) ? 1 : result;
+    }
+
+    /**
+     * Encodes the key into {@link #keyBuffer} and returns its hash.
+     */
+    private int encodeKey(K key) {
+        Objects.requireNonNull(key, "key must not be null");
+        keyCodec.encode(key, keyBuffer, 0);
+        return hash(keyBuffer, 0, keySize);
+    }
+
+    /**
+     * Compares the key in {@link #keyBuffer} with the key stored at {@code index}.
+     */
+    private boolean keyEquals(ByteBuffer chunk, int index) {
+        ByteBuffer key = keyBuffer;
+        int i = 0;
+        for (; i + Long.BYTES <= keySize; i += Long.BYTES) {
+            if (chunk.getLong(index + i) != key.getLong(i)) return false;
+        }
+        for (; i < keySize; i++) {
+            if (chunk.get(index + i) != key.get(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Looks up the key in {@link #keyBuffer}.
+     *
+     * @return the slot holding the key, or {@code -(slot + 1)} for the free slot that ends
+     *         its probe sequence
+     */
+    private int findSlot(int h) {
+        int slot = h & mask;
+        while (true) {
+            ByteBuffer chunk = chunks[slot >>> chunkShift];
+            int offset = offset(slot);
+            int stored = chunk.getInt(offset);
+            if (stored == 0) {
+                return -slot - 1;
+            }
+            if (stored == h && keyEquals(chunk, offset + HASH_BYTES)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void ensureOpen() {
+        if (chunks == null) {
+            throw new IllegalStateException("map is closed");
+        }
+    }
+
+    /**
+     * Marks the file as modified before its first change since it was last flushed.
+     */
+    private void markDirty() {
+        if (!dirty) {
+            header.putInt(CLEAN_OFFSET, 0);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     * @throws NullPointerException  if the key or value is {@code null}
+     * @throws IllegalStateException if the map is closed or cannot grow any further
+     * @throws UncheckedIOException  if resizing the file fails
+     */
+    @Override
+    public void put(K key, V value) {
+        ensureOpen();
+        Objects.requireNonNull(value, "value must not be null");
+        int h = encodeKey(key);
+        int slot = findSlot(h);
+        markDirty();
+        if (slot >= 0) {
+            valueCodec.encode(value, chunks[slot >>> chunkShift], offset(slot) + HASH_BYTES + keySize);
+            return;
+        }
+        if (size + 1 > capacity / 4 * 3) {
+            grow();
+            slot = findSlot(h);
+        }
+        slot = -slot - 1;
+        ByteBuffer chunk = chunks[slot >>> chunkShift];
+        int offset = offset(slot);
+        // The hash goes in last: until then the slot still reads as free
+        valueCodec.encode(value, chunk, offset + HASH_BYTES + keySize);
+        chunk.put(offset + HASH_BYTES, keyBuffer, 0, keySize);
+        chunk.putInt(offset, h);
+        size++;
+        header.putInt(SIZE_OFFSET, size);
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code null} if no mapping exists.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the key, or {@code null} if none exists
+     * @throws NullPointerException  if the key is {@code null}
+     * @throws IllegalStateException if the map is closed
+     */
+    @Override
+    public V get(K key) {
+        ensureOpen();
+        int slot = findSlot(encodeKey(key));
+        if (slot < 0) {
+            return null;
+        }
+        return valueCodec.decode(chunks[slot >>> chunkShift], offset(slot) + HASH_BYTES + keySize);
+    }
+
+    /**
+     * Removes the mapping for the specified key if present. The entries following it in
+     * its probe sequence are shifted back, so no tombstone is left.
+     *
+     * @param key the key to remove
+     * @return the previous value associated with the key, or {@code null} if none
+     * @throws NullPointerException  if the key is {@code null}
+     * @throws IllegalStateException if the map is closed
+     */
+    @Override
+    public V remove(K key) {
+        ensureOpen();
+        int slot = findSlot(encodeKey(key));
+        if (slot < 0) {
+            return null;
+        }
+        V oldValue = valueCodec.decode(chunks[slot >>> chunkShift], offset(slot) + HASH_BYTES + keySize);
+        markDirty();
+        deleteSlot(slot);
+        size--;
+        header.putInt(SIZE_OFFSET, size);
+        return oldValue;
+    }
+
+    /**
+     * Empties a slot, moving back each following entry whose home slot lies at or before
+     * the hole so that every entry stays reachable from its home slot.
+     */
+    private void deleteSlot(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            ByteBuffer chunk = chunks[slot >>> chunkShift];
+            int offset = offset(slot);
+            int stored = chunk.getInt(offset);
+            if (stored == 0) {
+                break;
+            }
+            int home = stored & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                chunks[hole >>> chunkShift].put(offset(hole), chunk, offset, slotBytes);
+                hole = slot;
+            }
+        }
+        chunks[hole >>> chunkShift].putInt(offset(hole), 0);
+    }
+
+    /**
+     * Rehashes every entry into a new file of twice the capacity, flushes it and moves it
+     * over the current file.
+     */
+    private void grow() {
+        if (capacity == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("map cannot grow beyond " + MAXIMUM_CAPACITY + " slots");
+        }
+        int newCapacity = capacity * 2;
+        int newMask = newCapacity - 1;
+        Path temp = file.resolveSibling(file.getFileName() + ".resize");
+        try {
+            FileChannel newChannel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                MappedByteBuffer newHeader = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                MappedByteBuffer[] newChunks = mapChunks(newChannel, newCapacity);
+                for (int slot = 0; slot < capacity; slot++) {
+                    ByteBuffer chunk = chunks[slot >>> chunkShift];
+                    int offset = offset(slot);
+                    int stored = chunk.getInt(offset);
+                    if (stored == 0) {
+                        continue;
+                    }
+                    int target = stored & newMask;
+                    while (newChunks[target >>> chunkShift].getInt(offset(target)) != 0) {
+                        target = (target + 1) & newMask;
+                    }
+                    newChunks[target >>> chunkShift].put(offset(target), chunk, offset, slotBytes);
+                }
+                for (MappedByteBuffer chunk : newChunks) {
+                    chunk.force();
+                }
+                writeHeader(newHeader, newCapacity, size);
+                newHeader.putInt(CLEAN_OFFSET, 0);
+                newHeader.force();
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                channel.close();
+                install(newChannel, newHeader, newChunks, newCapacity);
+            } catch (IOException | RuntimeException e) {
+                newChannel.close();
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to resize " + file, e);
+        }
+    }
+
+    /**
+     * Checks if this map contains a mapping for the specified key.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key exists, otherwise {@code false}
+     * @throws NullPointerException  if the key is {@code null}
+     * @throws IllegalStateException if the map is closed
+     */
+    @Override
+    public boolean containsKey(K key) {
+        ensureOpen();
+        return findSlot(encodeKey(key)) >= 0;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the current size of the map
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if empty, otherwise {@code false}
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all key-value mappings from this map by freeing every slot. The file keeps
+     * its size.
+     *
+     * @throws IllegalStateException if the map is closed
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        markDirty();
+        for (int slot = 0; slot < capacity; slot++) {
+            chunks[slot >>> chunkShift].putInt(offset(slot), 0);
+        }
+        size = 0;
+        header.putInt(SIZE_OFFSET, 0);
+    }
+
+    /**
+     * Returns the number of slots in the table.
+     *
+     * @return the current capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Performs the given action for each entry in this map, in slot order.
+     *
+     * @param action the action to be performed for each key-value pair
+     * @throws IllegalStateException if the map is closed
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action, "action must not be null");
+        ensureOpen();
+        for (int slot = 0; slot < capacity; slot++) {
+            ByteBuffer chunk = chunks[slot >>> chunkShift];
+            int offset = offset(slot);
+            if (chunk.getInt(offset) != 0) {
+                action.accept(keyCodec.decode(chunk, offset + HASH_BYTES),
+                        valueCodec.decode(chunk, offset + HASH_BYTES + keySize));
+            }
+        }
+    }
+
+    /**
+     * Writes all changes to the storage device and marks the file as cleanly written.
+     *
+     * @throws IOException           if flushing the file fails
+     * @throws IllegalStateException if the map is closed
+     */
+    public void force() throws IOException {
+        ensureOpen();
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+        header.putInt(CLEAN_OFFSET, 1);
+        header.force();
+        dirty = false;
+    }
+
+    /**
+     * Flushes all changes and releases the file. Further operations other than
+     * {@code size}, {@code isEmpty} and {@code close} throw {@link IllegalStateException}.
+     * Closing a closed map has no effect.
+     *
+     * @throws IOException if flushing or closing the file fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (chunks == null) {
+            return;
+        }
+        try {
+            force();
+        } finally {
+            chunks = null;
+            header = null;
+            channel.close();
+        }
+    }
+
+    /**
+     * Returns a string representation of this map in the form:
+     * <pre>
+     * {key1=value1, key2=value2, ...}
+     * </pre>
+     * Byte array keys and values are shown by content.
+     *
+     * @return a string representing the map entries
+     */
+    @Override
+    public String toString() {
+        if (chunks == null) {
+            return "Custom_MappedHashMap[closed]";
+        }
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(display(k)).append("=").append(display(v));
+        });
+        return sb.append("}").toString();
+    }
+
+    private static String display(Object value) {
+        return (value instanceof byte[]) ? Arrays.toString((byte[]) value) : String.valueOf(value);
+    }
+}
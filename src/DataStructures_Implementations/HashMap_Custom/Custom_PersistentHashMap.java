@@ -0,0 +1,658 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable, persistent hash map based on a hash array mapped trie (HAMT).
+ * <p>
+ * A map is never modified: {@link #put(Object, Object)} and {@link #remove(Object)}
+ * return a new version and leave the receiver unchanged. The trie consumes the key's
+ * hash five bits per level, and each node stores only the slots that are in use,
+ * located through a 32-bit bitmap and {@link Integer#bitCount(int)}. An update copies
+ * just the nodes on the path from the root to the key, at most seven small arrays,
+ * and shares every other node with the previous version.
+ * </p>
+ * <p>
+ * Since versions are immutable and all fields are final, a version can be read by any
+ * number of threads without locking and always presents a consistent snapshot. A
+ * typical use publishes the current version through a {@code volatile} field or an
+ * {@link java.util.concurrent.atomic.AtomicReference}; readers take the reference once
+ * and query it, while a writer builds the next version and swaps the reference.
+ * </p>
+ * <p>
+ * Nodes keep entries inline and sub-tries in separate bitmaps (the "CHAMP" layout), and
+ * removal collapses a sub-trie left with one entry back into its parent, so the shape of
+ * the trie depends only on its contents. Keys whose full 32-bit hashes are equal share a
+ * collision node that is searched linearly.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *   <li>Updates return new versions that share structure with the old one</li>
+ *   <li>Lock-free reads of consistent snapshots from any thread</li>
+ *   <li>Supports {@code null} keys and values</li>
+ * </ul>
+ *
+ * <p><strong>Time Complexity:</strong> O(log<sub>32</sub> n) for lookup, insertion and
+ * deletion; the trie is at most seven levels deep.</p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public final class Custom_PersistentHashMap<K, V> implements ReadOnlyHashMap_CustomInterface<K, V> {
+
+    /** Number of hash bits consumed per trie level. */
+    private static final int BITS_PER_LEVEL = 5;
+
+    /** Mask selecting one level's worth of hash bits. */
+    private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+
+    /** Shift at which the hash bits are exhausted and keys can only be told apart by {@code equals}. */
+    private static final int HASH_BITS = 32;
+
+    /** Maximum depth of the trie, used to size iterator stacks. */
+    private static final int MAX_DEPTH = (HASH_BITS + BITS_PER_LEVEL - 1) / BITS_PER_LEVEL + 1;
+
+    /** Marker returned by lookups for an absent key, since {@code null} is a valid value. */
+    private static final Object NOT_FOUND = new Object();
+
+    private static final Custom_PersistentHashMap<?, ?> EMPTY =
+            new Custom_PersistentHashMap<>(BitmapNode.EMPTY_NODE, 0);
+
+    /** Root of the trie, a bitmap node for the first five hash bits. */
+    private final BitmapNode<K, V> root;
+
+    /** Number of key-value mappings in this version. */
+    private final int size;
+
+    private Custom_PersistentHashMap(BitmapNode<K, V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map.
+     *
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     * @return the shared empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> Custom_PersistentHashMap<K, V> empty() {
+        return (Custom_PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Records what an update did to the trie, so the map can adjust its size and the
+     * caller can learn the previous value.
+     */
+    private static final class Change {
+        boolean added;
+        boolean removed;
+    }
+
+    /**
+     * Computes the hash of a key ({@code 0} for {@code null}). Every bit is used by some
+     * trie level, so no spreading is needed.
+     */
+    private static int hash(Object key) {
+        return (key == null) ? 0 : key.hashCode();
+    }
+
+    /**
+     * Returns the bit of a node's bitmap that corresponds to a hash at the given shift.
+     */
+    private static int bitpos(int hash, int shift) {
+        return 1 << ((hash >>> shift) & LEVEL_MASK);
+    }
+
+    /**
+     * Returns the position among the set bits of {@code bitmap} of the given bit.
+     */
+    private static int index(int bitmap, int bit) {
+        return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    private static boolean keysEqual(Object a, Object b) {
+        return a == b || (a != null && a.equals(b));
+    }
+
+    /**
+     * A trie node. Implementations are immutable; updates return a modified copy, or the
+     * node itself when nothing changed.
+     */
+    private abstract static class Node<K, V> {
+        /** Returns the value mapped to the key, or {@link #NOT_FOUND}. */
+        abstract Object find(Object key, int hash, int shift);
+
+        abstract Node<K, V> put(K key, V value, int hash, int shift, Change change);
+
+        abstract Node<K, V> remove(Object key, int hash, int shift, Change change);
+
+        /** Whether this node holds exactly one entry and no sub-tries, so it can be inlined. */
+        abstract boolean isSingleEntry();
+
+        /** Number of entries stored inline in this node. */
+        abstract int payloadArity();
+
+        abstract K keyAt(int i);
+
+        abstract V valueAt(int i);
+
+        /** Number of sub-tries referenced by this node. */
+        abstract int nodeArity();
+
+        abstract Node<K, V> nodeAt(int i);
+    }
+
+    /**
+     * Node with up to 32 slots, each either an inline entry (a bit of {@code dataMap}) or
+     * a sub-trie (a bit of {@code nodeMap}). The array holds the key/value pairs first,
+     * in bit order, then the sub-tries, in bit order.
+     */
+    private static final class BitmapNode<K, V> extends Node<K, V> {
+        static final BitmapNode<Object, Object> EMPTY_NODE = new BitmapNode<>(0, 0, new Object[0]);
+
+        final int dataMap;
+        final int nodeMap;
+        final Object[] content;
+
+        BitmapNode(int dataMap, int nodeMap, Object[] content) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        @Override
+        int payloadArity() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        int nodeArity() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        K keyAt(int i) {
+            return (K) content[2 * i];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V valueAt(int i) {
+            return (V) content[2 * i + 1];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<K, V> nodeAt(int i) {
+            return (Node<K, V>) content[2 * payloadArity() + i];
+        }
+
+        @Override
+        boolean isSingleEntry() {
+            return nodeMap == 0 && Integer.bitCount(dataMap) == 1;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = index(dataMap, bit);
+                return keysEqual(key, content[2 * i]) ? content[2 * i + 1] : NOT_FOUND;
+            }
+            if ((nodeMap & bit) != 0) {
+                return nodeAt(index(nodeMap, bit)).find(key, hash, shift + BITS_PER_LEVEL);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node<K, V> put(K key, V value, int hash, int shift, Change change) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = index(dataMap, bit);
+                K existing = keyAt(i);
+                if (keysEqual(key, existing)) {
+                    if (content[2 * i + 1] == value) {
+                        return this;
+                    }
+                    Object[] copy = content.clone();
+                    copy[2 * i + 1] = value;
+                    return new BitmapNode<>(dataMap, nodeMap, copy);
+                }
+                change.added = true;
+                Node<K, V> sub = mergeEntries(existing, valueAt(i), hash(existing),
+                        key, value, hash, shift + BITS_PER_LEVEL);
+                return inlineToNode(bit, sub);
+            }
+            if ((nodeMap & bit) != 0) {
+                int j = index(nodeMap, bit);
+                Node<K, V> sub = nodeAt(j);
+                Node<K, V> newSub = sub.put(key, value, hash, shift + BITS_PER_LEVEL, change);
+                return (newSub == sub) ? this : withNode(j, newSub);
+            }
+            change.added = true;
+            int i = index(dataMap, bit);
+            Object[] copy = new Object[content.length + 2];
+            System.arraycopy(content, 0, copy, 0, 2 * i);
+            copy[2 * i] = key;
+            copy[2 * i + 1] = value;
+            System.arraycopy(content, 2 * i, copy, 2 * i + 2, content.length - 2 * i);
+            return new BitmapNode<>(dataMap | bit, nodeMap, copy);
+        }
+
+        @Override
+        Node<K, V> remove(Object key, int hash, int shift, Change change) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = index(dataMap, bit);
+                if (!keysEqual(key, content[2 * i])) {
+                    return this;
+                }
+                change.removed = true;
+                Object[] copy = new Object[content.length - 2];
+                System.arraycopy(content, 0, copy, 0, 2 * i);
+                System.arraycopy(content, 2 * i + 2, copy, 2 * i, content.length - 2 * i - 2);
+                return new BitmapNode<>(dataMap ^ bit, nodeMap, copy);
+            }
+            if ((nodeMap & bit) != 0) {
+                int j = index(nodeMap, bit);
+                Node<K, V> sub = nodeAt(j);
+                Node<K, V> newSub = sub.remove(key, hash, shift + BITS_PER_LEVEL, change);
+                if (newSub == sub) {
+                    return this;
+                }
+                if (!newSub.isSingleEntry()) {
+                    return withNode(j, newSub);
+                }
+                if (dataMap == 0 && Integer.bitCount(nodeMap) == 1 && shift > 0) {
+                    // This node would only wrap one entry; let the parent inline it
+                    return newSub;
+                }
+                return nodeToInline(bit, newSub.keyAt(0), newSub.valueAt(0));
+            }
+            return this;
+        }
+
+        /** Returns a copy with sub-trie {@code j} replaced. */
+        private BitmapNode<K, V> withNode(int j, Node<K, V> sub) {
+            Object[] copy = content.clone();
+            copy[2 * payloadArity() + j] = sub;
+            return new BitmapNode<>(dataMap, nodeMap, copy);
+        }
+
+        /** Returns a copy in which the inline entry at {@code bit} is replaced by a sub-trie. */
+        private BitmapNode<K, V> inlineToNode(int bit, Node<K, V> sub) {
+            int i = index(dataMap, bit);
+            int dataEnd = 2 * payloadArity();
+            int j = index(nodeMap, bit);
+            Object[] copy = new Object[content.length - 1];
+            System.arraycopy(content, 0, copy, 0, 2 * i);
+            System.arraycopy(content, 2 * i + 2, copy, 2 * i, dataEnd - 2 * i - 2);
+            int nodeStart = dataEnd - 2;
+            System.arraycopy(content, dataEnd, copy, nodeStart, j);
+            copy[nodeStart + j] = sub;
+            System.arraycopy(content, dataEnd + j, copy, nodeStart + j + 1, content.length - dataEnd - j);
+            return new BitmapNode<>(dataMap ^ bit, nodeMap | bit, copy);
+        }
+
+        /** Returns a copy in which the sub-trie at {@code bit} is replaced by an inline entry. */
+        private BitmapNode<K, V> nodeToInline(int bit, K key, V value) {
+            int i = index(dataMap, bit);
+            int dataEnd = 2 * payloadArity();
+            int j = index(nodeMap, bit);
+            Object[] copy = new Object[content.length + 1];
+            System.arraycopy(content, 0, copy, 0, 2 * i);
+            copy[2 * i] = key;
+            copy[2 * i + 1] = value;
+            System.arraycopy(content, 2 * i, copy, 2 * i + 2, dataEnd - 2 * i);
+            int nodeStart = dataEnd + 2;
+            System.arraycopy(content, dataEnd, copy, nodeStart, j);
+            System.arraycopy(content, dataEnd + j + 1, copy, nodeStart + j, content.length - dataEnd - j - 1);
+            return new BitmapNode<>(dataMap | bit, nodeMap ^ bit, copy);
+        }
+    }
+
+    /**
+     * Node holding keys whose 32-bit hashes are all equal, searched linearly.
+     */
+    private static final class CollisionNode<K, V> extends Node<K, V> {
+        final int hash;
+        final Object[] content;
+
+        CollisionNode(int hash, Object[] content) {
+            this.hash = hash;
+            this.content = content;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < content.length; i += 2) {
+                if (keysEqual(key, content[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        int payloadArity() {
+            return content.length / 2;
+        }
+
+        @Override
+        int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        K keyAt(int i) {
+            return (K) content[2 * i];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V valueAt(int i) {
+            return (V) content[2 * i + 1];
+        }
+
+        @Override
+        Node<K, V> nodeAt(int i) {
+            throw new IndexOutOfBoundsException(i);
+        }
+
+        @Override
+        boolean isSingleEntry() {
+            return content.length == 2;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int i = indexOf(key);
+            return (i < 0) ? NOT_FOUND : content[i + 1];
+        }
+
+        @Override
+        Node<K, V> put(K key, V value, int hash, int shift, Change change) {
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (content[i + 1] == value) {
+                    return this;
+                }
+                Object[] copy = content.clone();
+                copy[i + 1] = value;
+                return new CollisionNode<>(this.hash, copy);
+            }
+            change.added = true;
+            Object[] copy = new Object[content.length + 2];
+            System.arraycopy(content, 0, copy, 0, content.length);
+            copy[content.length] = key;
+            copy[content.length + 1] = value;
+            return new CollisionNode<>(this.hash, copy);
+        }
+
+        @Override
+        Node<K, V> remove(Object key, int hash, int shift, Change change) {
+            int i = indexOf(key);
+            if (i < 0) {
+                return this;
+            }
+            change.removed = true;
+            Object[] copy = new Object[content.length - 2];
+            System.arraycopy(content, 0, copy, 0, i);
+            System.arraycopy(content, i + 2, copy, i, content.length - i - 2);
+            return new CollisionNode<>(this.hash, copy);
+        }
+    }
+
+    /**
+     * Builds the smallest sub-trie holding two entries with distinct keys, descending
+     * until their hash bits differ or a collision node is needed.
+     */
+    private static <K, V> Node<K, V> mergeEntries(K key0, V value0, int hash0,
+                                                  K key1, V value1, int hash1, int shift) {
+        if (shift >= HASH_BITS) {
+            return new CollisionNode<>(hash0, new Object[]{key0, value0, key1, value1});
+        }
+        int bit0 = bitpos(hash0, shift);
+        int bit1 = bitpos(hash1, shift);
+        if (bit0 == bit1) {
+            Node<K, V> sub = mergeEntries(key0, value0, hash0, key1, value1, hash1, shift + BITS_PER_LEVEL);
+            return new BitmapNode<>(0, bit0, new Object[]{sub});
+        }
+        Object[] content = (Integer.compareUnsigned(bit0, bit1) < 0)
+                ? new Object[]{key0, value0, key1, value1}
+                : new Object[]{key1, value1, key0, value0};
+        return new BitmapNode<>(bit0 | bit1, 0, content);
+    }
+
+    /**
+     * Returns a map with the given mapping added or replaced. This map is not modified;
+     * the result shares every node off the key's path with it.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     * @return the new version, or this map if it already maps the key to {@code value}
+     */
+    public Custom_PersistentHashMap<K, V> put(K key, V value) {
+        Change change = new Change();
+        BitmapNode<K, V> newRoot = (BitmapNode<K, V>) root.put(key, value, hash(key), 0, change);
+        if (newRoot == root) {
+            return this;
+        }
+        return new Custom_PersistentHashMap<>(newRoot, change.added ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without the mapping for the given key. This map is not modified.
+     *
+     * @param key the key whose mapping is to be removed
+     * @return the new version, or this map if the key was not present
+     */
+    public Custom_PersistentHashMap<K, V> remove(K key) {
+        Change change = new Change();
+        BitmapNode<K, V> newRoot = (BitmapNode<K, V>) root.remove(key, hash(key), 0, change);
+        if (!change.removed) {
+            return this;
+        }
+        return (size == 1) ? empty() : new Custom_PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code null} if no mapping exists.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the key, or {@code null} if none exists
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Object value = root.find(key, hash(key), 0);
+        return (value == NOT_FOUND) ? null : (V) value;
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code defaultValue} if no mapping
+     * exists. The trie is searched only once.
+     *
+     * @param key          the key whose associated value is to be returned
+     * @param defaultValue the value to return when no mapping exists
+     * @return the associated value, or {@code defaultValue}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(K key, V defaultValue) {
+        Object value = root.find(key, hash(key), 0);
+        return (value == NOT_FOUND) ? defaultValue : (V) value;
+    }
+
+    /**
+     * Checks if this map contains a mapping for the specified key.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key exists, otherwise {@code false}
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return root.find(key, hash(key), 0) != NOT_FOUND;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the size of the map
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if empty, otherwise {@code false}
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Performs the given action for each entry in this map.
+     *
+     * @param action the action to be performed for each key-value pair
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        forEach(root, action);
+    }
+
+    private static <K, V> void forEach(Node<K, V> node, BiConsumer<? super K, ? super V> action) {
+        for (int i = 0, n = node.payloadArity(); i < n; i++) {
+            action.accept(node.keyAt(i), node.valueAt(i));
+        }
+        for (int i = 0, n = node.nodeArity(); i < n; i++) {
+            forEach(node.nodeAt(i), action);
+        }
+    }
+
+    /**
+     * Returns an iterator over the entries of this version. Since the map never changes,
+     * the iterator is never invalidated; it does not support removal.
+     *
+     * @return an iterator over immutable entries
+     */
+    public Iterator<Map.Entry<K, V>> entryIterator() {
+        return new EntryIterator<>(root);
+    }
+
+    /**
+     * Depth-first iterator keeping one (node, position) pair per trie level.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        @SuppressWarnings("unchecked")
+        private final Node<K, V>[] nodes = new Node[MAX_DEPTH];
+        private final int[] nodePositions = new int[MAX_DEPTH];
+        private int depth;
+        private Node<K, V> payloadNode;
+        private int payloadIndex;
+
+        EntryIterator(Node<K, V> root) {
+            nodes[0] = root;
+            payloadNode = root;
+        }
+
+        /** Moves {@code payloadNode} to the next node with entries left, if any. */
+        private boolean advance() {
+            while (payloadIndex >= payloadNode.payloadArity()) {
+                if (depth < 0) {
+                    return false;
+                }
+                Node<K, V> node = nodes[depth];
+                if (nodePositions[depth] < node.nodeArity()) {
+                    Node<K, V> child = node.nodeAt(nodePositions[depth]++);
+                    depth++;
+                    nodes[depth] = child;
+                    nodePositions[depth] = 0;
+                    payloadNode = child;
+                    payloadIndex = 0;
+                } else {
+                    depth--;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return advance();
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!advance()) {
+                throw new NoSuchElementException();
+            }
+            int i = payloadIndex++;
+            return new AbstractMap.SimpleImmutableEntry<>(payloadNode.keyAt(i), payloadNode.valueAt(i));
+        }
+    }
+
+    /**
+     * Compares the mappings of this map with another persistent map.
+     *
+     * @param o the object to compare with
+     * @return {@code true} if both maps hold equal mappings
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (!(o instanceof Custom_PersistentHashMap)) return false;
+        Custom_PersistentHashMap<?, ?> other = (Custom_PersistentHashMap<?, ?>) o;
+        if (other.size != size) return false;
+        for (Iterator<Map.Entry<K, V>> it = entryIterator(); it.hasNext(); ) {
+            Map.Entry<K, V> e = it.next();
+            Object value = other.root.find(e.getKey(), hash(e.getKey()), 0);
+            if (value == NOT_FOUND || !Objects.equals(value, e.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the sum of {@code hash(key) ^ hash(value)} over all entries, as
+     * {@link Map#hashCode()} does.
+     *
+     * @return the hash code of this map
+     */
+    @Override
+    public int hashCode() {
+        int[] h = new int[1];
+        forEach((k, v) -> h[0] += Objects.hashCode(k) ^ Objects.hashCode(v));
+        return h[0];
+    }
+
+    /**
+     * Returns a string representation of this map.
+     *
+     * @return a string of the form {@code {key1=value1, key2=value2}}
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+}
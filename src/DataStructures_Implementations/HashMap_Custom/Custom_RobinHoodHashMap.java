@@ -0,0 +1,317 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map using Robin Hood linear probing.
+ * <p>
+ * Keys, values and hash codes are stored in flat parallel arrays, so a lookup touches
+ * contiguous memory and no per-entry object is ever allocated. On insertion, an entry
+ * that has probed further from its home slot than the resident entry takes that slot
+ * ("steals from the rich"), which keeps probe sequences short and uniform. Removal uses
+ * backward-shift deletion instead of tombstones, so lookups never slow down after
+ * many removals.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *   <li>Key-value mapping with unique keys</li>
+ *   <li>Power-of-two capacity with linear probing</li>
+ *   <li>Early termination of unsuccessful lookups using probe distances</li>
+ *   <li>Automatic resizing when {@code size > capacity * LOAD_FACTOR}</li>
+ *   <li>Supports {@code null} keys and values</li>
+ * </ul>
+ *
+ * <p><strong>Time Complexity (Average Case):</strong> O(1) for insertion, lookup and deletion.</p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class Custom_RobinHoodHashMap<K, V> implements HashMap_CustomInterface<K, V> {
+
+    /** Default initial capacity of the hash table (must be a power of two). */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Load factor threshold beyond which resizing occurs. */
+    private static final float LOAD_FACTOR = 0.80f;
+
+    /** Placeholder stored in the key array for the {@code null} key. */
+    private static final Object NULL_KEY = new Object();
+
+    /** Hash codes of the stored keys; {@code 0} marks an empty slot. */
+    private int[] hashes;
+
+    /** Keys of the stored entries, with {@code null} replaced by {@link #NULL_KEY}. */
+    private Object[] keys;
+
+    /** Values of the stored entries. */
+    private Object[] values;
+
+    /** Current number of key-value mappings in the map. */
+    private int size;
+
+    /** Current capacity of the hash table. */
+    private int capacity;
+
+    /** Bit mask used to turn a hash into a slot index ({@code capacity - 1}). */
+    private int mask;
+
+    /**
+     * Constructs an empty map with the default capacity ({@value DEFAULT_CAPACITY}).
+     */
+    public Custom_RobinHoodHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Allocates empty arrays of the given capacity.
+     */
+    private void allocate(int newCapacity) {
+        this.capacity = newCapacity;
+        this.mask = newCapacity - 1;
+        this.hashes = new int[newCapacity];
+        this.keys = new Object[newCapacity];
+        this.values = new Object[newCapacity];
+    }
+
+    /**
+     * Computes a well-mixed, non-zero hash for a key.
+     *
+     * @param key the key (already mapped to {@link #NULL_KEY} if {@code null})
+     * @return the hash, never {@code 0}
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        h ^= (h >>> 16);
+        return (h == 0) ? 1 : h;
+    }
+
+    private static Object maskNull(Object key) {
+        return (key == null) ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K unmaskNull(Object key) {
+        return (key == NULL_KEY) ? null : (K) key;
+    }
+
+    /**
+     * Returns how far the entry in the given slot sits from its home slot.
+     */
+    private int probeDistance(int index) {
+        return (index - (hashes[index] & mask)) & mask;
+    }
+
+    /**
+     * Finds the slot holding the given key.
+     *
+     * @param key the key (already masked)
+     * @return the slot index, or {@code -1} if the key is not present
+     */
+    private int findIndex(Object key) {
+        int h = hash(key);
+        int index = h & mask;
+        for (int dist = 0; ; dist++) {
+            int slotHash = hashes[index];
+            // An empty slot, or a resident closer to home than we are, ends the search
+            if (slotHash == 0 || probeDistance(index) < dist) {
+                return -1;
+            }
+            if (slotHash == h && keys[index].equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Doubles the capacity and re-inserts all entries.
+     */
+    private void resize() {
+        int[] oldHashes = hashes;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        allocate(capacity * 2);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != 0) {
+                insertNew(oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Places an entry known to be absent using Robin Hood displacement.
+     */
+    private void insertNew(int h, Object key, Object value) {
+        int index = h & mask;
+        int dist = 0;
+        while (hashes[index] != 0) {
+            int residentDist = probeDistance(index);
+            if (residentDist < dist) {
+                // Swap with the richer resident and carry it forward instead
+                int tmpHash = hashes[index];
+                Object tmpKey = keys[index];
+                Object tmpValue = values[index];
+                hashes[index] = h;
+                keys[index] = key;
+                values[index] = value;
+                h = tmpHash;
+                key = tmpKey;
+                value = tmpValue;
+                dist = residentDist;
+            }
+            index = (index + 1) & mask;
+            dist++;
+        }
+        hashes[index] = h;
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * <p>
+     * If the key already exists, its value is updated. If the load factor
+     * threshold is exceeded, the table is resized.
+     * </p>
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     */
+    @Override
+    public void put(K key, V value) {
+        Object k = maskNull(key);
+        int index = findIndex(k);
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+        if (size + 1 > capacity * LOAD_FACTOR) {
+            resize();
+        }
+        insertNew(hash(k), k, value);
+        size++;
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code null} if no mapping exists.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the key, or {@code null} if none exists
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) {
+        int index = findIndex(maskNull(key));
+        return (index < 0) ? null : (V) values[index];
+    }
+
+    /**
+     * Removes the mapping for the specified key if present.
+     * <p>
+     * Entries following the removed slot are shifted back by one until an empty slot
+     * or an entry already in its home slot is reached, so no tombstones are left behind.
+     * </p>
+     *
+     * @param key the key to remove
+     * @return the previous value associated with the key, or {@code null} if none
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(K key) {
+        int index = findIndex(maskNull(key));
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = (V) values[index];
+
+        int next = (index + 1) & mask;
+        while (hashes[next] != 0 && probeDistance(next) > 0) {
+            hashes[index] = hashes[next];
+            keys[index] = keys[next];
+            values[index] = values[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        hashes[index] = 0;
+        keys[index] = null;
+        values[index] = null;
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * Checks if this map contains a mapping for the specified key.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key exists, otherwise {@code false}
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return findIndex(maskNull(key)) >= 0;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the current size of the map
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if empty, otherwise {@code false}
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes all key-value mappings from this map, keeping the current capacity.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(hashes, 0);
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        this.size = 0;
+    }
+
+    /**
+     * Returns a string representation of this map in the form:
+     * <pre>
+     * {key1=value1, key2=value2, ...}
+     * </pre>
+     *
+     * @return a string representing the map entries
+     */
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "{}";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        boolean firstEntry = true;
+
+        for (int i = 0; i < capacity; i++) {
+            if (hashes[i] == 0) continue;
+            if (!firstEntry) {
+                sb.append(", ");
+            }
+            K key = unmaskNull(keys[i]);
+            sb.append(key).append("=").append(values[i]);
+            firstEntry = false;
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+}
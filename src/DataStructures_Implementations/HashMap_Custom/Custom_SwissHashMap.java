@@ -0,0 +1,407 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map in the style of SwissTable, probing groups of eight slots
+ * through a separate array of one-byte control tags.
+ * <p>
+ * Every slot has a control byte: {@code EMPTY}, {@code DELETED}, or, for an occupied slot,
+ * seven bits of the key's hash (its "tag"). The control bytes of a group of
+ * {@value GROUP_SIZE} slots are packed into one {@code long}, and a lookup compares the
+ * tag against all of them at once with SWAR ("SIMD within a register") bit tricks. Only
+ * slots whose tag matches are compared by {@code equals}, which on average is one slot
+ * per hit and 1/128 per group for a miss, so most misses are rejected without reading the
+ * key array at all. A group that still has an {@code EMPTY} slot ends the probe sequence.
+ * </p>
+ * <p>
+ * Groups are probed quadratically (by triangular numbers), which visits every group
+ * of the power-of-two table. Removal leaves a {@code DELETED} tombstone only when the
+ * group is full, since only then can a probe for another key have passed through it;
+ * tombstones are purged when the table is rebuilt.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *   <li>Key-value mapping with unique keys</li>
+ *   <li>Eight control bytes matched per {@code long} operation</li>
+ *   <li>Automatic resizing at a load of {@value MAX_LOAD_NUMERATOR}/{@value GROUP_SIZE}, counting tombstones</li>
+ *   <li>Supports {@code null} keys and values</li>
+ * </ul>
+ *
+ * <p><strong>Time Complexity (Average Case):</strong> O(1) for insertion, lookup and deletion.</p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class Custom_SwissHashMap<K, V> implements HashMap_CustomInterface<K, V> {
+
+    /** Number of slots in a group, one control byte each in a {@code long}. */
+    private static final int GROUP_SIZE = 8;
+
+    /** Default initial capacity (a power of two, at least {@value GROUP_SIZE}). */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Occupied plus deleted slots may fill at most {@code MAX_LOAD_NUMERATOR / 8} of the table. */
+    private static final int MAX_LOAD_NUMERATOR = 7;
+
+    /** Control byte of a slot that was never used. */
+    private static final int EMPTY = 0x80;
+
+    /** Control byte of a slot whose entry was removed. */
+    private static final int DELETED = 0xFE;
+
+    /** A group whose eight slots are all {@link #EMPTY}. */
+    private static final long EMPTY_GROUP = 0x8080808080808080L;
+
+    /** The lowest bit of every byte. */
+    private static final long LSBS = 0x0101010101010101L;
+
+    /** The highest bit of every byte. */
+    private static final long MSBS = 0x8080808080808080L;
+
+    /** Placeholder stored in the key array for the {@code null} key. */
+    private static final Object NULL_KEY = new Object();
+
+    /** Control bytes, eight per group. */
+    private long[] ctrl;
+
+    /** Keys of the stored entries, with {@code null} replaced by {@link #NULL_KEY}. */
+    private Object[] keys;
+
+    /** Values of the stored entries. */
+    private Object[] values;
+
+    /** Full hashes of the stored keys, read only when the table is rebuilt. */
+    private int[] hashes;
+
+    /** Current number of key-value mappings in the map. */
+    private int size;
+
+    /** Current capacity of the table. */
+    private int capacity;
+
+    /** Bit mask turning a hash into a group index ({@code capacity / GROUP_SIZE - 1}). */
+    private int groupMask;
+
+    /** Number of {@link #EMPTY} slots that can still be filled before the table is rebuilt. */
+    private int growthLeft;
+
+    /**
+     * Constructs an empty map with the default capacity ({@value DEFAULT_CAPACITY}).
+     */
+    public Custom_SwissHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Allocates an empty table of the given capacity.
+     */
+    private void allocate(int newCapacity) {
+        this.capacity = newCapacity;
+        this.groupMask = newCapacity / GROUP_SIZE - 1;
+        this.ctrl = new long[newCapacity / GROUP_SIZE];
+        Arrays.fill(ctrl, EMPTY_GROUP);
+        this.keys = new Object[newCapacity];
+        this.values = new Object[newCapacity];
+        this.hashes = new int[newCapacity];
+        this.growthLeft = newCapacity / GROUP_SIZE * MAX_LOAD_NUMERATOR;
+    }
+
+    /**
+     * Computes a well-mixed hash for a key (the MurmurHash3 finalizer). The low seven bits
+     * become the tag and the remaining bits choose the first group, so both must be good.
+     *
+     * @param key the key (already mapped to {@link #NULL_KEY} if {@code null})
+     * @return the hash
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private static Object maskNull(Object key) {
+        return (key == null) ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K unmaskNull(Object key) {
+        return (key == NULL_KEY) ? null : (K) key;
+    }
+
+    /**
+     * Returns the seven-bit tag stored in the control byte of a key's slot.
+     */
+    private static int tag(int h) {
+        return h & 0x7F;
+    }
+
+    /**
+     * Returns a mask with the high bit set in each byte of {@code group} equal to
+     * {@code tag}. A byte just above a real match may be reported falsely (the borrow of
+     * the subtraction), which costs one extra {@code equals}; matches are never missed.
+     */
+    private static long matchTag(long group, int tag) {
+        long x = group ^ (LSBS * tag);
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * Returns a mask with the high bit set in each {@link #EMPTY} byte: those with the high
+     * bit set and bit 1 clear, which tells {@code EMPTY} apart from {@code DELETED}.
+     */
+    private static long matchEmpty(long group) {
+        return group & (~group << 6) & MSBS;
+    }
+
+    /**
+     * Returns a mask with the high bit set in each {@link #EMPTY} or {@link #DELETED} byte.
+     */
+    private static long matchFree(long group) {
+        return group & MSBS;
+    }
+
+    /**
+     * Returns the slot of the lowest byte flagged in a match mask.
+     */
+    private static int slotOf(int group, long match) {
+        return group * GROUP_SIZE + (Long.numberOfTrailingZeros(match) >>> 3);
+    }
+
+    private void setCtrl(int slot, int value) {
+        int shift = (slot & (GROUP_SIZE - 1)) << 3;
+        int group = slot / GROUP_SIZE;
+        ctrl[group] = (ctrl[group] & ~(0xFFL << shift)) | ((long) value << shift);
+    }
+
+    /**
+     * Finds the slot holding the given key.
+     *
+     * @param key the key (already masked)
+     * @return the slot index, or {@code -1} if the key is not present
+     */
+    private int findIndex(int h, Object key) {
+        int tag = tag(h);
+        int group = (h >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long word = ctrl[group];
+            for (long match = matchTag(word, tag); match != 0; match &= match - 1) {
+                int slot = slotOf(group, match);
+                Object candidate = keys[slot];
+                if (candidate == key || key.equals(candidate)) {
+                    return slot;
+                }
+            }
+            if (matchEmpty(word) != 0) {
+                return -1;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Returns the first {@link #EMPTY} or {@link #DELETED} slot on the probe sequence of
+     * a hash. The load limit guarantees that one exists.
+     */
+    private int findFreeSlot(int h) {
+        int group = (h >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long free = matchFree(ctrl[group]);
+            if (free != 0) {
+                return slotOf(group, free);
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Rebuilds the table, doubling it unless most of the used slots are tombstones, in
+     * which case it is rebuilt at the same capacity to purge them.
+     */
+    private void rehash() {
+        long[] oldCtrl = ctrl;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+
+        int newCapacity = (size >= capacity / GROUP_SIZE * MAX_LOAD_NUMERATOR / 2) ? capacity * 2 : capacity;
+        allocate(newCapacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            int c = (int) (oldCtrl[slot / GROUP_SIZE] >>> ((slot & (GROUP_SIZE - 1)) << 3)) & 0xFF;
+            if (c < EMPTY) {
+                int h = oldHashes[slot];
+                int target = findFreeSlot(h);
+                setCtrl(target, tag(h));
+                keys[target] = oldKeys[slot];
+                values[target] = oldValues[slot];
+                hashes[target] = h;
+                growthLeft--;
+            }
+        }
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * <p>
+     * If the key already exists, its value is updated. A new entry reuses a tombstone
+     * when its probe sequence meets one first; the table is rebuilt once no more
+     * {@code EMPTY} slots may be filled.
+     * </p>
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     */
+    @Override
+    public void put(K key, V value) {
+        Object k = maskNull(key);
+        int h = hash(k);
+        int slot = findIndex(h, k);
+        if (slot >= 0) {
+            values[slot] = value;
+            return;
+        }
+        slot = findFreeSlot(h);
+        boolean wasEmpty = ((ctrl[slot / GROUP_SIZE] >>> ((slot & (GROUP_SIZE - 1)) << 3)) & 0xFF) == EMPTY;
+        if (wasEmpty && growthLeft == 0) {
+            rehash();
+            slot = findFreeSlot(h);
+            wasEmpty = true;
+        }
+        if (wasEmpty) {
+            growthLeft--;
+        }
+        setCtrl(slot, tag(h));
+        keys[slot] = k;
+        values[slot] = value;
+        hashes[slot] = h;
+        size++;
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code null} if no mapping exists.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the key, or {@code null} if none exists
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) {
+        Object k = maskNull(key);
+        int slot = findIndex(hash(k), k);
+        return (slot < 0) ? null : (V) values[slot];
+    }
+
+    /**
+     * Removes the mapping for the specified key if present.
+     * <p>
+     * The slot becomes {@code EMPTY} again if its group has another empty slot, since
+     * then no probe sequence continues past this group; otherwise it becomes a
+     * {@code DELETED} tombstone.
+     * </p>
+     *
+     * @param key the key to remove
+     * @return the previous value associated with the key, or {@code null} if none
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(K key) {
+        Object k = maskNull(key);
+        int slot = findIndex(hash(k), k);
+        if (slot < 0) {
+            return null;
+        }
+        V oldValue = (V) values[slot];
+        if (matchEmpty(ctrl[slot / GROUP_SIZE]) != 0) {
+            setCtrl(slot, EMPTY);
+            growthLeft++;
+        } else {
+            setCtrl(slot, DELETED);
+        }
+        keys[slot] = null;
+        values[slot] = null;
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * Checks if this map contains a mapping for the specified key.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key exists, otherwise {@code false}
+     */
+    @Override
+    public boolean containsKey(K key) {
+        Object k = maskNull(key);
+        return findIndex(hash(k), k) >= 0;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the current size of the map
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if empty, otherwise {@code false}
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes all key-value mappings from this map, keeping the current capacity.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(ctrl, EMPTY_GROUP);
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        this.growthLeft = capacity / GROUP_SIZE * MAX_LOAD_NUMERATOR;
+        this.size = 0;
+    }
+
+    /**
+     * Returns a string representation of this map in the form:
+     * <pre>
+     * {key1=value1, key2=value2, ...}
+     * </pre>
+     *
+     * @return a string representing the map entries
+     */
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "{}";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        boolean firstEntry = true;
+
+        for (int group = 0; group < ctrl.length; group++) {
+            for (long full = ~ctrl[group] & MSBS; full != 0; full &= full - 1) {
+                int slot = slotOf(group, full);
+                if (!firstEntry) {
+                    sb.append(", ");
+                }
+                K key = unmaskNull(keys[slot]);
+                sb.append(key).append("=").append(values[slot]);
+                firstEntry = false;
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+}
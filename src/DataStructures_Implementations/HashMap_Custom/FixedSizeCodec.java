@@ -0,0 +1,144 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts values of one type to and from a fixed number of bytes, so they can be stored
+ * in the fixed-width records of {@link Custom_MappedHashMap}.
+ * <p>
+ * A codec reads and writes at an absolute index and must not change the position or limit
+ * of the buffer. Two values are treated as equal keys exactly when their encodings are
+ * equal, so {@code encode} must map equal values to identical bytes.
+ * </p>
+ * <p>
+ * Codecs for {@code int}, {@code long} and {@code double} values and for byte arrays of a
+ * given length are provided; other record types can implement this interface directly.
+ * </p>
+ *
+ * @param <T> the type of values handled by this codec
+ */
+public interface FixedSizeCodec<T> {
+
+    /** Codec for {@link Integer} values, 4 bytes. */
+    FixedSizeCodec<Integer> INT = new FixedSizeCodec<>() {
+        @Override
+        public int size() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer value, ByteBuffer buffer, int index) {
+            buffer.putInt(index, value);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer, int index) {
+            return buffer.getInt(index);
+        }
+    };
+
+    /** Codec for {@link Long} values, 8 bytes. */
+    FixedSizeCodec<Long> LONG = new FixedSizeCodec<>() {
+        @Override
+        public int size() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long value, ByteBuffer buffer, int index) {
+            buffer.putLong(index, value);
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer, int index) {
+            return buffer.getLong(index);
+        }
+    };
+
+    /**
+     * Codec for {@link Double} values, 8 bytes. Values are stored by their raw bits, so
+     * {@code 0.0} and {@code -0.0} are different keys while all NaNs of the same bit
+     * pattern are one key.
+     */
+    FixedSizeCodec<Double> DOUBLE = new FixedSizeCodec<>() {
+        @Override
+        public int size() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void encode(Double value, ByteBuffer buffer, int index) {
+            buffer.putLong(index, Double.doubleToRawLongBits(value));
+        }
+
+        @Override
+        public Double decode(ByteBuffer buffer, int index) {
+            return Double.longBitsToDouble(buffer.getLong(index));
+        }
+    };
+
+    /**
+     * Returns a codec for byte arrays of exactly {@code length} bytes. Keys are compared by
+     * content, not identity.
+     *
+     * @param length the length of every array
+     * @return a codec for arrays of that length
+     * @throws IllegalArgumentException if {@code length} is not positive
+     */
+    static FixedSizeCodec<byte[]> bytes(int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("length must be positive: " + length);
+        }
+        return new FixedSizeCodec<>() {
+            @Override
+            public int size() {
+                return length;
+            }
+
+            @Override
+            public void encode(byte[] value, ByteBuffer buffer, int index) {
+                if (value.length != length) {
+                    throw new IllegalArgumentException("expected " + length + " bytes but got " + value.length);
+                }
+                buffer.put(index, value);
+            }
+
+            @Override
+            public byte[] decode(ByteBuffer buffer, int index) {
+                byte[] value = new byte[length];
+                buffer.get(index, value);
+                return value;
+            }
+
+            @Override
+            public String toString() {
+                return "bytes(" + length + ")";
+            }
+        };
+    }
+
+    /**
+     * Returns the number of bytes every encoded value occupies.
+     *
+     * @return the encoded size, at least {@code 1}
+     */
+    int size();
+
+    /**
+     * Writes the encoding of {@code value} into {@code size()} bytes starting at {@code index}.
+     *
+     * @param value  the value to encode, never {@code null}
+     * @param buffer the buffer to write to
+     * @param index  the absolute index of the first byte
+     */
+    void encode(T value, ByteBuffer buffer, int index);
+
+    /**
+     * Reads a value from the {@code size()} bytes starting at {@code index}.
+     *
+     * @param buffer the buffer to read from
+     * @param index  the absolute index of the first byte
+     * @return the decoded value
+     */
+    T decode(ByteBuffer buffer, int index);
+}
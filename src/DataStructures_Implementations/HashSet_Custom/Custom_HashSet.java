@@ -1,5 +1,8 @@
 package DataStructures_Implementations.HashSet_Custom;
 
+import DataStructures_Implementations.HashMap_Custom.HashTableStats;
+import DataStructures_Implementations.HashMap_Custom.SeededHasher;
+
 import java.util.Arrays;
 
 /**
@@ -9,12 +12,15 @@ import java.util.Arrays;
  */
 public class Custom_HashSet<E> implements HashSet_CustomInterface<E> {
 
-    /** Default initial capacity of the HashSet */
+    /** Default initial capacity of the HashSet (must be a power of two) */
     private final int DEFAULT_SIZE = 16;
 
     /** Load factor threshold for resizing */
     private final float LOAD_FACTOR = 0.70f;
 
+    /** Estimated size of a node: header, hash, element and next */
+    private static final int NODE_BYTES = 24;
+
     /** Current capacity of the backing array */
     private int capacity;
 
@@ -24,14 +30,33 @@ public class Custom_HashSet<E> implements HashSet_CustomInterface<E> {
     /** Backing array of linked list buckets */
     private Node<E>[] set;
 
+    /** Keyed hash function of the flood-resistant mode, or null to use hashCode() */
+    private final SeededHasher hasher;
+
+    /** Activity counters while stats are recorded, or null when they are not */
+    private StatsCounters stats;
+
+    /**
+     * Activity counters kept while stats are recorded.
+     */
+    private static final class StatsCounters {
+        long resizeCount;
+        long resizeNanos;
+        long getCount;
+        long probeCount;
+    }
+
     /**
      * Node class used for chaining in buckets
      */
     private static class Node<E> {
+        /** Cached {@link #spread(Object) spread} hash of the element. */
+        final int hash;
         E element;
         Node<E> next;
 
-        public Node(E element) {
+        public Node(int hash, E element) {
+            this.hash = hash;
             this.element = element;
         }
     }
@@ -39,32 +64,58 @@ public class Custom_HashSet<E> implements HashSet_CustomInterface<E> {
     /**
      * Constructs an empty Custom_HashSet with default capacity.
      */
-    @SuppressWarnings("unchecked")
     public Custom_HashSet() {
+        this(null);
+    }
+
+    /**
+     * Constructs an empty Custom_HashSet that places elements with the given keyed hash
+     * function, so that colliding elements cannot be crafted without knowing its seed.
+     *
+     * @param hasher the seeded hash function (usually {@code new SeededHasher()}), or
+     *               {@code null} to hash elements by {@code hashCode()}
+     */
+    @SuppressWarnings("unchecked")
+    public Custom_HashSet(SeededHasher hasher) {
         this.capacity = DEFAULT_SIZE;
         this.size = 0;
         this.set = (Node<E>[]) new Node[capacity];
+        this.hasher = hasher;
     }
 
     /**
-     * Computes hash index for an element using current capacity.
+     * Computes the hash of an element ({@code 0} for {@code null}). It is cached in the
+     * node, so resizing never calls {@code hashCode()} again and a chain walk calls
+     * {@code equals} only on elements with the same hash. The high half of the hash code
+     * is folded into the low half, since bucket indexes only use the low bits. In
+     * flood-resistant mode the {@link SeededHasher} computes the hash instead.
      */
-    private int hash(E e) {
-        return (e == null) ? 0 : Math.abs(e.hashCode() % capacity);
+    private int spread(Object e) {
+        if (hasher != null) {
+            return hasher.hash(e);
+        }
+        int h;
+        return (e == null) ? 0 : (h = e.hashCode()) ^ (h >>> 16);
     }
 
     /**
-     * Computes hash index for an element with a given capacity.
+     * Computes the bucket index of a hash by masking; the capacity is always a power of two.
      */
-    private int hash(E e, int newCapacity) {
-        return (e == null) ? 0 : Math.abs(e.hashCode() % newCapacity);
+    private int indexFor(int h) {
+        return h & (capacity - 1);
     }
 
     /**
      * Resizes the backing array when load factor threshold is crossed.
+     * <p>
+     * Doubling the capacity sends each node of bucket {@code i} either to bucket {@code i}
+     * or to bucket {@code i + oldCapacity}, depending only on the hash bit
+     * {@code hash & oldCapacity}, so each chain is split in place into these two halves.
+     * </p>
      */
     @SuppressWarnings("unchecked")
     private void resize() {
+        long start = (stats == null) ? 0 : System.nanoTime();
         Node<E>[] oldSet = set;
         int oldCapacity = capacity;
 
@@ -72,16 +123,29 @@ public class Custom_HashSet<E> implements HashSet_CustomInterface<E> {
         capacity *= 2;
         set = (Node<E>[]) new Node[capacity];
 
-        // Rehash all existing elements
+        // Split every chain into its lo and hi halves, keeping the order
         for (int i = 0; i < oldCapacity; i++) {
-            Node<E> node = oldSet[i];
-            while (node != null) {
-                Node<E> next = node.next;
-                int newIndex = hash(node.element, capacity);
-                node.next = set[newIndex];
-                set[newIndex] = node;
-                node = next;
+            Node<E> loHead = null, loTail = null, hiHead = null, hiTail = null;
+            for (Node<E> node = oldSet[i]; node != null; node = node.next) {
+                if ((node.hash & oldCapacity) == 0) {
+                    if (loTail == null) loHead = node;
+                    else loTail.next = node;
+                    loTail = node;
+                } else {
+                    if (hiTail == null) hiHead = node;
+                    else hiTail.next = node;
+                    hiTail = node;
+                }
             }
+            if (loTail != null) loTail.next = null;
+            if (hiTail != null) hiTail.next = null;
+            set[i] = loHead;
+            set[i + oldCapacity] = hiHead;
+        }
+
+        if (stats != null) {
+            stats.resizeCount++;
+            stats.resizeNanos += System.nanoTime() - start;
         }
     }
 
@@ -110,19 +174,20 @@ public class Custom_HashSet<E> implements HashSet_CustomInterface<E> {
      */
     @Override
     public boolean add(E e) {
-        int index = hash(e);
+        int h = spread(e);
+        int index = indexFor(h);
         Node<E> temp = set[index];
 
         // Check if element already exists
         while (temp != null) {
-            if ((temp.element == null && e == null) || (temp.element != null && temp.element.equals(e))) {
+            if (temp.hash == h && (temp.element == e || (e != null && e.equals(temp.element)))) {
                 return false; // Duplicate
             }
             temp = temp.next;
         }
 
         // Insert new node at head of chain
-        Node<E> newNode = new Node<>(e);
+        Node<E> newNode = new Node<>(h, e);
         newNode.next = set[index];
         set[index] = newNode;
         size++;
@@ -143,12 +208,13 @@ public class Custom_HashSet<E> implements HashSet_CustomInterface<E> {
      */
     @Override
     public boolean remove(E e) {
-        int index = hash(e);
+        int h = spread(e);
+        int index = indexFor(h);
         Node<E> temp = set[index];
         Node<E> prev = null;
 
         while (temp != null) {
-            if ((temp.element == null && e == null) || (temp.element != null && temp.element.equals(e))) {
+            if (temp.hash == h && (temp.element == e || (e != null && e.equals(temp.element)))) {
                 if (prev == null) {
                     set[index] = temp.next; // Remove head
                 } else {
@@ -172,16 +238,60 @@ public class Custom_HashSet<E> implements HashSet_CustomInterface<E> {
      */
     @Override
     public boolean contains(E e) {
-        int index = hash(e);
+        int h = spread(e);
+        int index = indexFor(h);
         Node<E> temp = set[index];
+        int probes = 0;
 
         while (temp != null) {
-            if ((temp.element == null && e == null) || (temp.element != null && temp.element.equals(e))) {
-                return true;
+            probes++;
+            if (temp.hash == h && (temp.element == e || (e != null && e.equals(temp.element)))) {
+                break;
             }
             temp = temp.next;
         }
-        return false;
+        if (stats != null) {
+            stats.getCount++;
+            stats.probeCount += probes;
+        }
+        return temp != null;
+    }
+
+    /**
+     * Starts or stops recording the activity counters reported by {@link #stats()}: the
+     * number of resizes and the time spent in them, and the number of {@code contains}
+     * calls and the elements they compared. Starting resets the counters. While recording
+     * is off, the only cost left on the hot paths is a {@code null} check.
+     *
+     * @param enabled whether to record
+     */
+    public void recordStats(boolean enabled) {
+        this.stats = enabled ? new StatsCounters() : null;
+    }
+
+    /**
+     * Returns a snapshot of the table's shape and, if recording, its activity. The chain
+     * lengths and estimated size are measured by walking every bucket, so this takes time
+     * proportional to the capacity. Lookups are calls to {@code contains}.
+     *
+     * @return the statistics
+     */
+    public HashTableStats stats() {
+        long[] histogram = new long[1];
+        long bytes = ((16 + 4L * set.length + 7) & ~7L) + (long) size * NODE_BYTES;
+        for (Node<E> first : set) {
+            int length = 0;
+            for (Node<E> node = first; node != null; node = node.next) {
+                length++;
+            }
+            if (length >= histogram.length) {
+                histogram = Arrays.copyOf(histogram, length + 1);
+            }
+            histogram[length]++;
+        }
+        StatsCounters counters = (stats == null) ? new StatsCounters() : stats;
+        return new HashTableStats(size, capacity, LOAD_FACTOR, histogram, 0, counters.resizeCount,
+                counters.resizeNanos, counters.getCount, counters.probeCount, bytes);
     }
 
     /**
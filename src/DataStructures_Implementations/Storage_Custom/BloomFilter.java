@@ -0,0 +1,159 @@
+package DataStructures_Implementations.Storage_Custom;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A Bloom filter over byte-array keys: a compact set that answers "definitely absent" or
+ * "possibly present".
+ * <p>
+ * Each key sets {@code k} bits of a bit array chosen by double hashing one 64-bit hash of
+ * the key, so adding or testing a key reads the key once regardless of {@code k}. The
+ * array and {@code k} are sized for an expected number of keys and a target false
+ * positive rate; adding more keys than expected raises the false positive rate but never
+ * causes false negatives. {@link Custom_LSMStore} keeps one filter per sorted run so that
+ * most lookups of absent keys skip the run without reading the disk.
+ * </p>
+ * <p>
+ * <strong>Space:</strong> about {@code -ln(p) / ln(2)^2} bits per expected key, for example
+ * 9.6 bits at a 1% false positive rate.
+ * </p>
+ */
+public final class BloomFilter {
+
+    /** Upper bound on the number of bits set per key. */
+    private static final int MAX_HASHES = 30;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int numHashes;
+
+    /**
+     * Constructs a filter sized for the given number of keys and false positive rate.
+     *
+     * @param expectedInsertions the number of keys expected to be added
+     * @param falsePositiveRate  the target probability that an absent key tests present
+     * @throws IllegalArgumentException if {@code expectedInsertions} is negative or the rate
+     *                                  is not strictly between {@code 0} and {@code 1}
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 0) {
+            throw new IllegalArgumentException("expectedInsertions must not be negative: " + expectedInsertions);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1: " + falsePositiveRate);
+        }
+        long n = Math.max(1, expectedInsertions);
+        double optimalBits = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long words = Math.max(1, Math.min((long) Math.ceil(optimalBits / Long.SIZE), Integer.MAX_VALUE - 8));
+        this.bits = new long[(int) words];
+        this.bitCount = words * Long.SIZE;
+        this.numHashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) bitCount / n * Math.log(2))));
+    }
+
+    private BloomFilter(long[] bits, int numHashes) {
+        this.bits = bits;
+        this.bitCount = (long) bits.length * Long.SIZE;
+        this.numHashes = numHashes;
+    }
+
+    /**
+     * Adds a key to the filter.
+     *
+     * @param key the key to add
+     */
+    public void add(byte[] key) {
+        long hash = hash(key);
+        long step = Long.rotateLeft(hash, 32) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Long.remainderUnsigned(hash, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+            hash += step;
+        }
+    }
+
+    /**
+     * Returns {@code false} if the key was definitely never added, {@code true} if it may
+     * have been.
+     *
+     * @param key the key to test
+     * @return whether the key may be in the filter
+     */
+    public boolean mightContain(byte[] key) {
+        long hash = hash(key);
+        long step = Long.rotateLeft(hash, 32) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Long.remainderUnsigned(hash, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+            hash += step;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeTo} writes.
+     *
+     * @return the serialized size in bytes
+     */
+    public int serializedSize() {
+        return 2 * Integer.BYTES + bits.length * Long.BYTES;
+    }
+
+    /**
+     * Writes the filter at the buffer's position: the number of hashes, the number of
+     * 64-bit words and the words.
+     *
+     * @param buffer the buffer to write to, with at least {@link #serializedSize()} bytes remaining
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(numHashes).putInt(bits.length);
+        for (long word : bits) {
+            buffer.putLong(word);
+        }
+    }
+
+    /**
+     * Reads a filter written by {@link #writeTo} at the buffer's position.
+     *
+     * @param buffer the buffer to read from
+     * @return the filter
+     * @throws IllegalArgumentException if the buffer does not hold a valid filter
+     */
+    public static BloomFilter readFrom(ByteBuffer buffer) {
+        int numHashes = buffer.getInt();
+        int words = buffer.getInt();
+        if (numHashes < 1 || numHashes > MAX_HASHES || words < 1 || words > buffer.remaining() / Long.BYTES) {
+            throw new IllegalArgumentException("not a serialized Bloom filter");
+        }
+        long[] bits = new long[words];
+        for (int i = 0; i < words; i++) {
+            bits[i] = buffer.getLong();
+        }
+        return new BloomFilter(bits, numHashes);
+    }
+
+    /**
+     * 64-bit hash of the whole array, eight bytes at a time.
+     */
+    private static long hash(byte[] key) {
+        long h = 0x9E3779B97F4A7C15L ^ key.length;
+        int i = 0;
+        for (; i + Long.BYTES <= key.length; i += Long.BYTES) {
+            h = Long.rotateLeft(h ^ ((long) LONGS.get(key, i) * 0xC2B2AE3D27D4EB4FL), 31) * 0x9E3779B97F4A7C15L;
+        }
+        for (; i < key.length; i++) {
+            h = Long.rotateLeft(h ^ ((key[i] & 0xFFL) * 0xC2B2AE3D27D4EB4FL), 23) * 0x9E3779B97F4A7C15L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,998 @@
+package DataStructures_Implementations.Storage_Custom;
+
+import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+import DataStructures_Implementations.HashMap_Custom.HashMap_CustomInterface;
+import DataStructures_Implementations.HashMap_Custom.SnapshotCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+/**
+ * A thread-safe embedded key-value store for data sets larger than memory, built as a
+ * log-structured merge tree in a directory.
+ * <p>
+ * Updates go to an in-memory <em>memtable</em>, a {@link Custom_HashMap} in which removed
+ * keys are marked with a tombstone. Once the encoded size of the memtable reaches a limit
+ * (see {@link #open(Path, SnapshotCodec, SnapshotCodec, long)}), its entries are sorted by
+ * their encoded keys and written sequentially to a new immutable {@link SortedRun} file,
+ * so writes never update data on disk in place. A lookup checks the memtable and then the
+ * runs from newest to oldest, stopping at the first one that mentions the key. Each run
+ * keeps a {@link BloomFilter} and a sparse index of its 4 KB blocks in memory, so a run
+ * that does not hold the key is usually skipped without any I/O, and a run that does
+ * costs a single block read.
+ * </p>
+ * <p>
+ * A background thread keeps the number of runs small by merging them. Runs are grouped
+ * into size tiers, each four times larger than the one before; when four neighbouring
+ * runs share a tier they are merged into one run of the next tier, the newest value of
+ * each key winning. Every record is therefore rewritten about once per tier, and the
+ * number of runs grows only logarithmically with the size of the store. Tombstones are
+ * dropped when a merge includes the oldest run. {@link #compact()} merges all runs at
+ * once.
+ * </p>
+ * <p>
+ * A {@code MANIFEST} file lists the live runs and is atomically replaced whenever they
+ * change, so a crash during a flush or merge leaves the previous set of runs, and files
+ * it does not mention are deleted on open. Updates still in the memtable are <em>not</em>
+ * written ahead to a log: they are lost if the process dies before the memtable is
+ * flushed, either because it filled up or by {@link #flush()} or {@link #close()}.
+ * </p>
+ * <p>
+ * Keys are ordered and compared on disk by their encodings, so equal keys must have equal
+ * encodings, as is the case for the provided codecs. To keep {@link #size()} exact, every
+ * {@code put} first looks the key up; for new keys the Bloom filters usually answer
+ * without reading the disk. {@code null} keys and values are not supported.
+ * </p>
+ *
+ * <h2>Features:</h2>
+ * <ul>
+ *   <li>Key-value mapping with unique keys, through {@link HashMap_CustomInterface}</li>
+ *   <li>Sequential writes of sorted, checksummed run files</li>
+ *   <li>Per-run Bloom filters and sparse block indexes</li>
+ *   <li>Size-tiered compaction on a background thread</li>
+ *   <li>Crash-safe run set through an atomically replaced manifest</li>
+ * </ul>
+ *
+ * <p><strong>Time Complexity:</strong> O(1) average for an update plus an amortized
+ * O(log n) of sequential run writing; a lookup costs O(1) in the memtable plus, per run,
+ * a Bloom filter test and an O(log b) index search over its {@code b} blocks, and at most
+ * one block read for each run whose filter matches.</p>
+ *
+ * @param <K> the type of keys maintained by this store
+ * @param <V> the type of mapped values
+ */
+public final class Custom_LSMStore<K, V> implements HashMap_CustomInterface<K, V>, Closeable {
+
+    /** Memtable size at which it is flushed when no limit is given. */
+    private static final long DEFAULT_MEMTABLE_BYTES = 4L << 20;
+
+    /** Number of runs in one tier that triggers a merge. */
+    private static final int COMPACTION_THRESHOLD = 4;
+
+    /** Size ratio between neighbouring tiers. */
+    private static final int TIER_RATIO = 4;
+
+    /** Bytes a record adds to a run besides its key and value. */
+    private static final int RECORD_OVERHEAD_BYTES = 8;
+
+    /** Identifies a manifest file ("CUSTLSMM"). */
+    private static final long MANIFEST_MAGIC = 0x435553544C534D4DL;
+
+    /** Version of the manifest layout. */
+    private static final int MANIFEST_VERSION = 1;
+
+    private static final String MANIFEST_FILE = "MANIFEST";
+    private static final String RUN_PREFIX = "run-";
+    private static final String RUN_SUFFIX = ".sst";
+
+    /** Memtable value marking a removed key. */
+    private static final Object TOMBSTONE = new Object();
+
+    private static final SortedRun[] NO_RUNS = new SortedRun[0];
+
+    private final Path directory;
+    private final SnapshotCodec<K> keyCodec;
+    private final SnapshotCodec<V> valueCodec;
+    private final long memtableLimit;
+    private final ExecutorService compactor;
+
+    /** Guards the memtable, the run list and the counters below. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Held for the whole of a merge, so merges run one at a time, and by anything that closes
+     * live runs, so no merge is still reading them; taken before {@link #lock}.
+     */
+    private final ReentrantLock compactionLock = new ReentrantLock();
+
+    private Custom_HashMap<K, Object> memtable = new Custom_HashMap<>();
+
+    /** Estimated encoded size of the memtable. */
+    private long memtableBytes;
+
+    /** The live runs, newest first; replaced, never modified, when the runs change. */
+    private SortedRun[] runs = NO_RUNS;
+
+    /** Number of live keys. */
+    private long size;
+
+    /** Number of live keys in the runs as of the last flush, which is what the manifest records. */
+    private long persistedSize;
+
+    private long nextSequence = 1;
+
+    /** Whether a background merge has been submitted and has not finished. */
+    private boolean compactionScheduled;
+
+    /** Failure of a background merge; once set, no further merges are scheduled. */
+    private volatile IOException compactionFailure;
+
+    private volatile boolean closed;
+
+    private Custom_LSMStore(Path directory, SnapshotCodec<K> keyCodec, SnapshotCodec<V> valueCodec,
+                            long memtableLimit) {
+        this.directory = directory;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.memtableLimit = memtableLimit;
+        this.compactor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "lsm-compaction " + directory.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens the store kept in the given directory, creating it if necessary, with a 4 MB
+     * memtable.
+     *
+     * @param directory  the directory holding the manifest and the run files
+     * @param keyCodec   the codec for keys
+     * @param valueCodec the codec for values
+     * @param <K>        the type of keys
+     * @param <V>        the type of values
+     * @return the opened store
+     * @throws IOException if the directory cannot be read or a run file is corrupt
+     */
+    public static <K, V> Custom_LSMStore<K, V> open(Path directory, SnapshotCodec<K> keyCodec,
+                                                   SnapshotCodec<V> valueCodec) throws IOException {
+        return open(directory, keyCodec, valueCodec, DEFAULT_MEMTABLE_BYTES);
+    }
+
+    /**
+     * Opens the store kept in the given directory, creating it if necessary.
+     *
+     * @param directory     the directory holding the manifest and the run files
+     * @param keyCodec      the codec for keys
+     * @param valueCodec    the codec for values
+     * @param memtableBytes the encoded memtable size at which it is flushed to a new run
+     * @param <K>           the type of keys
+     * @param <V>           the type of values
+     * @return the opened store
+     * @throws IOException              if the directory cannot be read or a run file is
+     *                                  corrupt
+     * @throws IllegalArgumentException if {@code memtableBytes} is not positive
+     */
+    public static <K, V> Custom_LSMStore<K, V> open(Path directory, SnapshotCodec<K> keyCodec,
+                                                   SnapshotCodec<V> valueCodec, long memtableBytes) throws IOException {
+        Objects.requireNonNull(keyCodec, "keyCodec must not be null");
+        Objects.requireNonNull(valueCodec, "valueCodec must not be null");
+        if (memtableBytes <= 0) {
+            throw new IllegalArgumentException("memtableBytes must be positive: " + memtableBytes);
+        }
+        Files.createDirectories(directory);
+        Custom_LSMStore<K, V> store = new Custom_LSMStore<>(directory, keyCodec, valueCodec, memtableBytes);
+        try {
+            store.recover();
+        } catch (IOException | RuntimeException e) {
+            store.compactor.shutdown();
+            throw e;
+        }
+        store.lock.writeLock().lock();
+        try {
+            store.scheduleCompactionIfNeeded();
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        return store;
+    }
+
+    /**
+     * Opens the runs listed in the manifest and deletes run files it does not mention,
+     * which a crash during a flush or merge may have left behind.
+     */
+    private void recover() throws IOException {
+        long[] sequences = new long[0];
+        Path manifest = directory.resolve(MANIFEST_FILE);
+        if (Files.exists(manifest)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(manifest));
+            try {
+                CRC32C checksum = new CRC32C();
+                checksum.update(buffer.array(), 0, buffer.limit() - Integer.BYTES);
+                if (buffer.getLong() != MANIFEST_MAGIC || buffer.getInt() != MANIFEST_VERSION
+                        || (int) checksum.getValue() != buffer.getInt(buffer.limit() - Integer.BYTES)) {
+                    throw new IOException(manifest + " is corrupt");
+                }
+                nextSequence = buffer.getLong();
+                persistedSize = size = buffer.getLong();
+                int count = buffer.getInt();
+                if (count < 0 || count > buffer.remaining() / Long.BYTES) {
+                    throw new IOException(manifest + " is corrupt");
+                }
+                sequences = new long[count];
+                for (int i = 0; i < count; i++) {
+                    sequences[i] = buffer.getLong();
+                }
+            } catch (RuntimeException e) {
+                throw new IOException(manifest + " is corrupt", e);
+            }
+        }
+
+        SortedRun[] opened = new SortedRun[sequences.length];
+        try {
+            for (int i = 0; i < sequences.length; i++) {
+                opened[i] = SortedRun.open(runFile(sequences[i]), sequences[i]);
+            }
+        } catch (IOException | RuntimeException e) {
+            for (SortedRun run : opened) {
+                if (run != null) {
+                    run.close();
+                }
+            }
+            throw e;
+        }
+        runs = opened;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, RUN_PREFIX + "*" + RUN_SUFFIX)) {
+            for (Path file : files) {
+                if (!isLive(file)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        Files.deleteIfExists(directory.resolve(MANIFEST_FILE + ".tmp"));
+    }
+
+    private boolean isLive(Path file) {
+        for (SortedRun run : runs) {
+            if (run.file().getFileName().equals(file.getFileName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Path runFile(long sequence) {
+        return directory.resolve(RUN_PREFIX + sequence + RUN_SUFFIX);
+    }
+
+    /**
+     * Atomically replaces the manifest with one listing the given runs. The caller holds
+     * the write lock, and calls {@link #syncDirectory()} before deleting any run the old
+     * manifest listed.
+     */
+    private void writeManifest(SortedRun[] liveRuns, long liveSize) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 3 + Integer.BYTES * 3 + Long.BYTES * liveRuns.length);
+        buffer.putLong(MANIFEST_MAGIC).putInt(MANIFEST_VERSION).putLong(nextSequence).putLong(liveSize)
+                .putInt(liveRuns.length);
+        for (SortedRun run : liveRuns) {
+            buffer.putLong(run.sequence());
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) checksum.getValue()).flip();
+
+        Path manifest = directory.resolve(MANIFEST_FILE);
+        Path temp = directory.resolve(MANIFEST_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, manifest, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Forces the directory entries to disk, so the renamed manifest and the run files it
+     * lists survive a crash. Until then the old manifest may reappear, and its runs must
+     * still exist.
+     */
+    private void syncDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("store is closed");
+        }
+    }
+
+    private static <T> byte[] encode(SnapshotCodec<T> codec, T value) {
+        int length = codec.encodedSize(value);
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        codec.encode(value, buffer);
+        if (buffer.position() != length) {
+            throw new IllegalStateException("codec wrote " + buffer.position() + " bytes but reported " + length);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Finds the current value of a key. The caller holds the read or write lock.
+     *
+     * @return the value, or {@code null} if the key is absent or removed
+     */
+    @SuppressWarnings("unchecked")
+    private V lookup(K key) throws IOException {
+        Object value = memtable.get(key);
+        if (value != null) {
+            return (value == TOMBSTONE) ? null : (V) value;
+        }
+        if (runs.length == 0) {
+            return null;
+        }
+        byte[] encodedKey = encode(keyCodec, key);
+        for (SortedRun run : runs) {
+            byte[] bytes = run.get(encodedKey);
+            if (bytes == SortedRun.DELETED) {
+                return null;
+            }
+            if (bytes != null) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                try {
+                    V decoded = valueCodec.decode(buffer);
+                    if (!buffer.hasRemaining()) {
+                        return decoded;
+                    }
+                } catch (RuntimeException e) {
+                    throw new IOException(run.file() + " has a corrupt value", e);
+                }
+                throw new IOException(run.file() + " has a corrupt value");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Flushes the memtable once it has reached its limit. The caller holds the write lock.
+     */
+    private void flushIfFull() throws IOException {
+        if (memtableBytes >= memtableLimit) {
+            flushMemtable();
+        }
+    }
+
+    /**
+     * Writes the memtable to a new run and records it in the manifest. The caller holds the
+     * write lock. If writing fails, the memtable is kept and the next flush retries.
+     */
+    private void flushMemtable() throws IOException {
+        if (memtable.isEmpty()) {
+            return;
+        }
+        // With no older runs there is nothing for a tombstone to hide
+        boolean keepTombstones = runs.length > 0;
+        byte[][] keys = new byte[memtable.size()][];
+        Object[] values = new Object[keys.length];
+        int count = 0;
+        Custom_HashMap<K, Object>.Cursor cursor = memtable.cursor();
+        while (cursor.advance()) {
+            Object value = cursor.value();
+            if (value != TOMBSTONE || keepTombstones) {
+                keys[count] = encode(keyCodec, cursor.key());
+                values[count] = value;
+                count++;
+            }
+        }
+        if (count > 0) {
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(keys[a], keys[b]));
+
+            long sequence = nextSequence++;
+            SortedRun.Writer writer = new SortedRun.Writer(runFile(sequence), sequence, count);
+            SortedRun run;
+            try {
+                for (int i : order) {
+                    @SuppressWarnings("unchecked")
+                    byte[] value = (values[i] == TOMBSTONE) ? null : encode(valueCodec, (V) values[i]);
+                    writer.add(keys[i], value);
+                }
+                run = writer.finish();
+            } catch (IOException | RuntimeException e) {
+                writer.abort();
+                throw e;
+            }
+            SortedRun[] flushed = new SortedRun[runs.length + 1];
+            flushed[0] = run;
+            System.arraycopy(runs, 0, flushed, 1, runs.length);
+            try {
+                writeManifest(flushed, size);
+            } catch (IOException | RuntimeException e) {
+                run.delete();
+                throw e;
+            }
+            runs = flushed;
+            persistedSize = size;
+            syncDirectory();
+        }
+        memtable = new Custom_HashMap<>();
+        memtableBytes = 0;
+        scheduleCompactionIfNeeded();
+    }
+
+    /**
+     * Returns the range of {@link #runs} to merge next, or {@code null} if no tier holds
+     * enough neighbouring runs. The caller holds the lock.
+     */
+    private int[] pickCompaction() {
+        int start = 0;
+        for (int i = 1; i <= runs.length; i++) {
+            if (i == runs.length || tier(runs[i]) != tier(runs[start])) {
+                if (i - start >= COMPACTION_THRESHOLD) {
+                    return new int[]{start, i};
+                }
+                start = i;
+            }
+        }
+        return null;
+    }
+
+    private int tier(SortedRun run) {
+        int tier = 0;
+        for (long units = run.sizeBytes() / memtableLimit; units >= TIER_RATIO; units /= TIER_RATIO) {
+            tier++;
+        }
+        return tier;
+    }
+
+    /**
+     * Submits a background merge if one is due. The caller holds the write lock.
+     */
+    private void scheduleCompactionIfNeeded() {
+        if (!compactionScheduled && !closed && compactionFailure == null && pickCompaction() != null) {
+            compactionScheduled = true;
+            compactor.execute(this::compactInBackground);
+        }
+    }
+
+    /**
+     * Merges tiers until none is due. Runs on the compaction thread.
+     */
+    private void compactInBackground() {
+        while (true) {
+            compactionLock.lock();
+            try {
+                SortedRun[] group;
+                boolean includesOldest;
+                lock.writeLock().lock();
+                try {
+                    int[] range = closed ? null : pickCompaction();
+                    if (range == null) {
+                        compactionScheduled = false;
+                        return;
+                    }
+                    group = Arrays.copyOfRange(runs, range[0], range[1]);
+                    includesOldest = range[1] == runs.length;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                merge(group, includesOldest);
+            } catch (IOException | RuntimeException e) {
+                compactionFailure = (e instanceof IOException) ? (IOException) e : new IOException(e);
+                lock.writeLock().lock();
+                try {
+                    compactionScheduled = false;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                return;
+            } finally {
+                compactionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Merges neighbouring runs into one and swaps it in for them. The caller holds
+     * {@link #compactionLock} but not {@link #lock}, so reads and writes continue while the
+     * merged run is written.
+     *
+     * @param group          the runs to merge, newest first
+     * @param dropTombstones whether the group includes the oldest run
+     */
+    private void merge(SortedRun[] group, boolean dropTombstones) throws IOException {
+        long sequence;
+        lock.writeLock().lock();
+        try {
+            sequence = nextSequence++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        SortedRun merged = mergeInto(group, dropTombstones, sequence);
+
+        lock.writeLock().lock();
+        try {
+            // Only flushes can change the runs meanwhile, and they add newer runs in front
+            int start = 0;
+            while (runs[start] != group[0]) {
+                start++;
+            }
+            int mergedCount = (merged == null) ? 0 : 1;
+            SortedRun[] replaced = new SortedRun[runs.length - group.length + mergedCount];
+            System.arraycopy(runs, 0, replaced, 0, start);
+            if (merged != null) {
+                replaced[start] = merged;
+            }
+            System.arraycopy(runs, start + group.length, replaced, start + mergedCount,
+                    runs.length - start - group.length);
+            try {
+                writeManifest(replaced, persistedSize);
+            } catch (IOException | RuntimeException e) {
+                if (merged != null) {
+                    merged.delete();
+                }
+                throw e;
+            }
+            runs = replaced;
+            syncDirectory();
+            // Readers hold the read lock for a whole lookup, so none is still using the old runs
+            for (SortedRun run : group) {
+                discard(run);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the newest record of every key in the group to a new run.
+     *
+     * @return the new run, or {@code null} if no record survived the merge
+     */
+    private SortedRun mergeInto(SortedRun[] group, boolean dropTombstones, long sequence) throws IOException {
+        long expectedEntries = 0;
+        for (SortedRun run : group) {
+            expectedEntries += run.entryCount();
+        }
+        SortedRun.Writer writer = new SortedRun.Writer(runFile(sequence), sequence, expectedEntries);
+        try {
+            SortedRun.Scanner[] scanners = new SortedRun.Scanner[group.length];
+            int live = 0;
+            for (int i = 0; i < group.length; i++) {
+                SortedRun.Scanner scanner = group[i].scanner(i);
+                if (scanner.advance()) {
+                    scanners[live++] = scanner;
+                }
+            }
+            long written = 0;
+            while (live > 0) {
+                // Smallest key; among equal keys the newest run wins
+                int best = 0;
+                for (int i = 1; i < live; i++) {
+                    int order = Arrays.compareUnsigned(scanners[i].key(), scanners[best].key());
+                    if (order < 0 || (order == 0 && scanners[i].rank() < scanners[best].rank())) {
+                        best = i;
+                    }
+                }
+                byte[] key = scanners[best].key();
+                byte[] value = scanners[best].value();
+                if (value != null || !dropTombstones) {
+                    writer.add(key, value);
+                    written++;
+                }
+                for (int i = 0; i < live; ) {
+                    if (Arrays.equals(scanners[i].key(), key) && !scanners[i].advance()) {
+                        scanners[i] = scanners[--live];
+                    } else {
+                        i++;
+                    }
+                }
+            }
+            if (written == 0) {
+                writer.abort();
+                return null;
+            }
+            return writer.finish();
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes a run that is no longer live; a file that cannot be deleted now is removed on
+     * the next open.
+     */
+    private static void discard(SortedRun run) {
+        try {
+            run.delete();
+        } catch (IOException ignored) {
+            // Not listed in the manifest, so it is deleted on the next open
+        }
+    }
+
+    /**
+     * Associates the specified value with the specified key, flushing the memtable if it is
+     * full.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     * @throws NullPointerException  if the key or value is {@code null}
+     * @throws UncheckedIOException  if reading the runs or flushing the memtable fails
+     * @throws IllegalStateException if the store is closed
+     */
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(value, "value must not be null");
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            if (lookup(key) == null) {
+                size++;
+            }
+            memtable.put(key, value);
+            memtableBytes += RECORD_OVERHEAD_BYTES + keyCodec.encodedSize(key) + valueCodec.encodedSize(value);
+            flushIfFull();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the mapping for the specified key if present, by recording a tombstone that
+     * hides the key in older runs.
+     *
+     * @param key the key to remove
+     * @return the previous value associated with the key, or {@code null} if none
+     * @throws NullPointerException  if the key is {@code null}
+     * @throws UncheckedIOException  if reading the runs or flushing the memtable fails
+     * @throws IllegalStateException if the store is closed
+     */
+    @Override
+    public V remove(K key) {
+        Objects.requireNonNull(key, "key must not be null");
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            V oldValue = lookup(key);
+            if (oldValue == null) {
+                return null;
+            }
+            if (runs.length == 0) {
+                memtable.remove(key);
+            } else {
+                memtable.put(key, TOMBSTONE);
+                memtableBytes += RECORD_OVERHEAD_BYTES + keyCodec.encodedSize(key);
+            }
+            size--;
+            flushIfFull();
+            return oldValue;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all mappings and deletes every run file, waiting for a running merge to finish
+     * first.
+     *
+     * @throws UncheckedIOException  if the manifest cannot be written
+     * @throws IllegalStateException if the store is closed
+     */
+    @Override
+    public void clear() {
+        compactionLock.lock();
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            writeManifest(NO_RUNS, 0);
+            SortedRun[] previous = runs;
+            runs = NO_RUNS;
+            memtable = new Custom_HashMap<>();
+            memtableBytes = 0;
+            size = 0;
+            persistedSize = 0;
+            syncDirectory();
+            for (SortedRun run : previous) {
+                discard(run);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+            compactionLock.unlock();
+        }
+    }
+
+    /**
+     * Atomically stores the value if the key is absent.
+     *
+     * @param key   the key with which the value is to be associated
+     * @param value the value to be associated
+     * @return the current value, or {@code null} if the value was stored
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        lock.writeLock().lock();
+        try {
+            return HashMap_CustomInterface.super.putIfAbsent(key, value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Atomically computes a value for an absent key.
+     *
+     * @param key             the key whose value is to be computed
+     * @param mappingFunction the function computing the value
+     * @return the current or computed value
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        lock.writeLock().lock();
+        try {
+            return HashMap_CustomInterface.super.computeIfAbsent(key, mappingFunction);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Atomically recomputes the value of a present key.
+     *
+     * @param key               the key whose value is to be recomputed
+     * @param remappingFunction the function computing the new value
+     * @return the new value, or {@code null} if the mapping was removed or absent
+     */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        lock.writeLock().lock();
+        try {
+            return HashMap_CustomInterface.super.computeIfPresent(key, remappingFunction);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Atomically computes a new value for the key.
+     *
+     * @param key               the key whose value is to be computed
+     * @param remappingFunction the function computing the new value
+     * @return the new value, or {@code null} if the mapping was removed
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        lock.writeLock().lock();
+        try {
+            return HashMap_CustomInterface.super.compute(key, remappingFunction);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Atomically merges the value into the key's mapping.
+     *
+     * @param key               the key to merge into
+     * @param value             the value to merge
+     * @param remappingFunction the function combining the old and new values
+     * @return the new value, or {@code null} if the mapping was removed
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        lock.writeLock().lock();
+        try {
+            return HashMap_CustomInterface.super.merge(key, value, remappingFunction);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or {@code null} if no mapping exists.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value associated with the key, or {@code null} if none exists
+     * @throws NullPointerException  if the key is {@code null}
+     * @throws UncheckedIOException  if reading a run fails
+     * @throws IllegalStateException if the store is closed
+     */
+    @Override
+    public V get(K key) {
+        Objects.requireNonNull(key, "key must not be null");
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            return lookup(key);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if this store contains a mapping for the specified key.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key exists, otherwise {@code false}
+     * @throws NullPointerException  if the key is {@code null}
+     * @throws UncheckedIOException  if reading a run fails
+     * @throws IllegalStateException if the store is closed
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this store, or {@link Integer#MAX_VALUE}
+     * if there are more.
+     *
+     * @return the current size of the store
+     */
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return (int) Math.min(size, Integer.MAX_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns {@code true} if this store contains no key-value mappings.
+     *
+     * @return {@code true} if empty, otherwise {@code false}
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Writes the memtable to a new run, so that every update made so far survives a crash.
+     *
+     * @throws UncheckedIOException  if writing the run fails
+     * @throws IllegalStateException if the store is closed
+     */
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            flushMemtable();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes the memtable and merges every run into a single one without tombstones. Reads
+     * and writes continue while the merged run is written.
+     *
+     * @throws UncheckedIOException  if writing a run fails
+     * @throws IllegalStateException if the store is closed
+     */
+    public void compact() {
+        compactionLock.lock();
+        try {
+            SortedRun[] group;
+            lock.writeLock().lock();
+            try {
+                ensureOpen();
+                flushMemtable();
+                group = runs;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (group.length > 0) {
+                merge(group, true);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of run files currently live.
+     *
+     * @return the number of runs
+     */
+    public int runCount() {
+        lock.readLock().lock();
+        try {
+            return runs.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits for a running background merge, flushes the memtable and closes every run.
+     * Closing a closed store has no effect.
+     *
+     * @throws IOException if flushing fails, or a background merge failed earlier
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        compactor.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (compactor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        // A compact() call on another thread may still be merging
+        compactionLock.lock();
+        lock.writeLock().lock();
+        try {
+            try {
+                flushMemtable();
+            } finally {
+                for (SortedRun run : runs) {
+                    run.close();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+            compactionLock.unlock();
+        }
+        if (compactionFailure != null) {
+            throw new IOException("background compaction failed", compactionFailure);
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package DataStructures_Implementations.Storage_Custom;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * An immutable file of key-value records sorted by key, one of the runs of a
+ * {@link Custom_LSMStore}.
+ * <p>
+ * Keys and values are byte arrays and keys are ordered by
+ * {@link Arrays#compareUnsigned(byte[], byte[])}. A {@code null} value is a tombstone: it
+ * records that the key was removed, hiding any value in an older run. Records are grouped
+ * into blocks of about 4 KB, each protected by a CRC-32C checksum. The sparse index holds
+ * the first key, position and checksum of every block, and is loaded into memory together
+ * with a {@link BloomFilter} of every key when the run is opened. A lookup tests the
+ * filter, binary-searches the index for the one block that could hold the key and reads
+ * just that block with a positional read, so runs can be read by several threads at once.
+ * </p>
+ * <p>
+ * File layout: an 8-byte magic number and a 4-byte format version; the blocks; the index
+ * (the block count, then per block its first key's length and bytes, its offset, length
+ * and checksum); the Bloom filter; and a 36-byte footer holding the offsets of the index
+ * and the filter, the record count, a checksum of everything from the index up to it, and
+ * the magic number again. A record is its 4-byte key length, its 4-byte value length
+ * ({@code -1} for a tombstone), the key and the value.
+ * </p>
+ */
+final class SortedRun implements Closeable {
+
+    /** Returned by {@link #get} when the run holds a tombstone for the key. */
+    static final byte[] DELETED = new byte[0];
+
+    /** Identifies a run file ("CUSTLSMR"). */
+    private static final long MAGIC = 0x435553544C534D52L;
+
+    /** Version of the file layout. */
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 12;
+    private static final int FOOTER_BYTES = 36;
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    /** Size at which a block is closed and a new one started. */
+    private static final int BLOCK_BYTES = 4096;
+
+    /** Size of the buffer blocks are written from. */
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    /** False positive rate of the per-run Bloom filters. */
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final Path file;
+    private final long sequence;
+    private final FileChannel channel;
+    private final byte[][] firstKeys;
+    private final long[] blockOffsets;
+    private final int[] blockLengths;
+    private final int[] blockChecksums;
+    private final BloomFilter bloom;
+    private final long entryCount;
+    private final long fileBytes;
+
+    private SortedRun(Path file, long sequence, FileChannel channel, byte[][] firstKeys, long[] blockOffsets,
+                      int[] blockLengths, int[] blockChecksums, BloomFilter bloom, long entryCount, long fileBytes) {
+        this.file = file;
+        this.sequence = sequence;
+        this.channel = channel;
+        this.firstKeys = firstKeys;
+        this.blockOffsets = blockOffsets;
+        this.blockLengths = blockLengths;
+        this.blockChecksums = blockChecksums;
+        this.bloom = bloom;
+        this.entryCount = entryCount;
+        this.fileBytes = fileBytes;
+    }
+
+    /**
+     * Opens an existing run file, loading its index and Bloom filter.
+     *
+     * @param file     the run file
+     * @param sequence the sequence number the store assigned to the run
+     * @return the opened run
+     * @throws IOException if reading fails or the file is not a valid run
+     */
+    static SortedRun open(Path file, long sequence) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_BYTES + FOOTER_BYTES) {
+                throw new IOException(file + " is truncated");
+            }
+            ByteBuffer header = readFully(channel, 0, HEADER_BYTES, file);
+            if (header.getLong() != MAGIC) {
+                throw new IOException(file + " is not a run file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(file + " has unsupported version " + version);
+            }
+            ByteBuffer footer = readFully(channel, size - FOOTER_BYTES, FOOTER_BYTES, file);
+            long indexOffset = footer.getLong();
+            long bloomOffset = footer.getLong();
+            long entryCount = footer.getLong();
+            int metaChecksum = footer.getInt();
+            if (footer.getLong() != MAGIC || indexOffset < HEADER_BYTES || bloomOffset < indexOffset
+                    || bloomOffset > size - FOOTER_BYTES || size - FOOTER_BYTES - indexOffset > Integer.MAX_VALUE
+                    || entryCount < 0) {
+                throw new IOException(file + " has a corrupt footer");
+            }
+            ByteBuffer meta = readFully(channel, indexOffset, (int) (size - FOOTER_BYTES - indexOffset), file);
+            CRC32C checksum = new CRC32C();
+            checksum.update(meta);
+            checksum.update(footer.array(), 0, 3 * Long.BYTES);
+            if ((int) checksum.getValue() != metaChecksum) {
+                throw new IOException(file + " failed its checksum");
+            }
+            meta.rewind();
+            try {
+                int blocks = meta.getInt();
+                if (blocks < 0 || blocks > meta.remaining() / (Integer.BYTES + Long.BYTES + 2 * Integer.BYTES)) {
+                    throw new IOException(file + " has a corrupt index");
+                }
+                byte[][] firstKeys = new byte[blocks][];
+                long[] blockOffsets = new long[blocks];
+                int[] blockLengths = new int[blocks];
+                int[] blockChecksums = new int[blocks];
+                for (int i = 0; i < blocks; i++) {
+                    firstKeys[i] = new byte[meta.getInt()];
+                    meta.get(firstKeys[i]);
+                    blockOffsets[i] = meta.getLong();
+                    blockLengths[i] = meta.getInt();
+                    blockChecksums[i] = meta.getInt();
+                    if (blockOffsets[i] < HEADER_BYTES || blockLengths[i] < RECORD_HEADER_BYTES
+                            || blockOffsets[i] + blockLengths[i] > indexOffset) {
+                        throw new IOException(file + " has a corrupt index");
+                    }
+                }
+                BloomFilter bloom = BloomFilter.readFrom(meta.position((int) (bloomOffset - indexOffset)));
+                return new SortedRun(file, sequence, channel, firstKeys, blockOffsets, blockLengths,
+                        blockChecksums, bloom, entryCount, size);
+            } catch (RuntimeException e) {
+                throw new IOException(file + " has a corrupt index", e);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException(file + " is truncated");
+            }
+        }
+        return buffer.flip();
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the number of records, tombstones included.
+     */
+    long entryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Returns the size of the file in bytes.
+     */
+    long sizeBytes() {
+        return fileBytes;
+    }
+
+    /**
+     * Looks up a key.
+     *
+     * @param key the encoded key
+     * @return the encoded value, {@link #DELETED} if the run holds a tombstone for the key,
+     *         or {@code null} if the run does not mention the key
+     * @throws IOException if reading fails or the block is corrupt
+     */
+    byte[] get(byte[] key) throws IOException {
+        if (!bloom.mightContain(key)) {
+            return null;
+        }
+        // Last block whose first key is not greater than the key
+        int low = 0;
+        int high = firstKeys.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (Arrays.compareUnsigned(firstKeys[mid], key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (high < 0) {
+            return null;
+        }
+        ByteBuffer block = readBlock(high);
+        byte[] bytes = block.array();
+        while (block.hasRemaining()) {
+            int keyLength = block.getInt();
+            int valueLength = block.getInt();
+            int keyStart = block.position();
+            checkRecord(block, keyLength, valueLength);
+            int order = Arrays.compareUnsigned(bytes, keyStart, keyStart + keyLength, key, 0, key.length);
+            if (order == 0) {
+                return (valueLength < 0) ? DELETED
+                        : Arrays.copyOfRange(bytes, keyStart + keyLength, keyStart + keyLength + valueLength);
+            }
+            if (order > 0) {
+                return null;
+            }
+            block.position(keyStart + keyLength + Math.max(0, valueLength));
+        }
+        return null;
+    }
+
+    /**
+     * Reads block {@code i} and verifies its checksum.
+     */
+    private ByteBuffer readBlock(int i) throws IOException {
+        ByteBuffer block = readFully(channel, blockOffsets[i], blockLengths[i], file);
+        CRC32C checksum = new CRC32C();
+        checksum.update(block.array(), 0, block.limit());
+        if ((int) checksum.getValue() != blockChecksums[i]) {
+            throw new IOException(file + " has a corrupt block at offset " + blockOffsets[i]);
+        }
+        return block;
+    }
+
+    private void checkRecord(ByteBuffer block, int keyLength, int valueLength) throws IOException {
+        if (keyLength < 0 || valueLength < -1 || keyLength + (long) Math.max(0, valueLength) > block.remaining()) {
+            throw new IOException(file + " has a corrupt record");
+        }
+    }
+
+    /**
+     * Returns a scanner over every record in key order.
+     *
+     * @param rank the rank reported by the scanner, used to order runs while merging
+     * @return a scanner positioned before the first record
+     */
+    Scanner scanner(int rank) {
+        return new Scanner(rank);
+    }
+
+    /**
+     * Closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Closes and deletes the file.
+     */
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    @Override
+    public String toString() {
+        return file.getFileName() + "[" + entryCount + " records, " + fileBytes + " bytes]";
+    }
+
+    /**
+     * Reads the records of a run in key order, one block at a time.
+     */
+    final class Scanner {
+        private final int rank;
+        private int blockIndex = -1;
+        private ByteBuffer block;
+        private byte[] key;
+        private byte[] value;
+
+        private Scanner(int rank) {
+            this.rank = rank;
+        }
+
+        /**
+         * Moves to the next record.
+         *
+         * @return {@code false} if there are no more records
+         */
+        boolean advance() throws IOException {
+            while (block == null || !block.hasRemaining()) {
+                if (++blockIndex >= blockOffsets.length) {
+                    key = null;
+                    value = null;
+                    return false;
+                }
+                block = readBlock(blockIndex);
+            }
+            int keyLength = block.getInt();
+            int valueLength = block.getInt();
+            checkRecord(block, keyLength, valueLength);
+            key = new byte[keyLength];
+            block.get(key);
+            if (valueLength < 0) {
+                value = null;
+            } else {
+                value = new byte[valueLength];
+                block.get(value);
+            }
+            return true;
+        }
+
+        byte[] key() {
+            return key;
+        }
+
+        /**
+         * Returns the value of the current record, or {@code null} for a tombstone.
+         */
+        byte[] value() {
+            return value;
+        }
+
+        int rank() {
+            return rank;
+        }
+    }
+
+    /**
+     * Writes a new run file from records added in strictly increasing key order.
+     */
+    static final class Writer {
+        private final Path file;
+        private final long sequence;
+        private final FileChannel channel;
+        private final BloomFilter bloom;
+        private final CRC32C checksum = new CRC32C();
+        private ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private ByteBuffer block = ByteBuffer.allocate(2 * BLOCK_BYTES);
+        private byte[] lastKey;
+        private byte[] blockFirstKey;
+        private long written = HEADER_BYTES;
+        private long entryCount;
+        private byte[][] firstKeys = new byte[16][];
+        private long[] blockOffsets = new long[16];
+        private int[] blockLengths = new int[16];
+        private int[] blockChecksums = new int[16];
+        private int blocks;
+
+        /**
+         * Creates the file, replacing any previous one.
+         *
+         * @param file            the file to write
+         * @param sequence        the sequence number of the run
+         * @param expectedEntries the expected number of records, used to size the Bloom filter
+         */
+        Writer(Path file, long sequence, long expectedEntries) throws IOException {
+            this.file = file;
+            this.sequence = sequence;
+            this.bloom = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            out.putLong(MAGIC).putInt(VERSION);
+        }
+
+        /**
+         * Appends a record.
+         *
+         * @param key   the encoded key, greater than every key added before
+         * @param value the encoded value, or {@code null} for a tombstone
+         * @throws IllegalArgumentException if the key is not greater than the previous one
+         */
+        void add(byte[] key, byte[] value) throws IOException {
+            if (lastKey != null && Arrays.compareUnsigned(lastKey, key) >= 0) {
+                throw new IllegalArgumentException("keys must be added in increasing order");
+            }
+            int length = RECORD_HEADER_BYTES + key.length + ((value == null) ? 0 : value.length);
+            if (block.position() > 0 && block.position() + length > BLOCK_BYTES) {
+                finishBlock();
+            }
+            if (block.position() == 0) {
+                blockFirstKey = key;
+                if (length > block.capacity()) {
+                    // A record larger than a block gets a block of its own
+                    block = ByteBuffer.allocate(length);
+                }
+            }
+            block.putInt(key.length).putInt((value == null) ? -1 : value.length).put(key);
+            if (value != null) {
+                block.put(value);
+            }
+            bloom.add(key);
+            lastKey = key;
+            entryCount++;
+        }
+
+        private void finishBlock() throws IOException {
+            if (blocks == firstKeys.length) {
+                int capacity = blocks * 2;
+                firstKeys = Arrays.copyOf(firstKeys, capacity);
+                blockOffsets = Arrays.copyOf(blockOffsets, capacity);
+                blockLengths = Arrays.copyOf(blockLengths, capacity);
+                blockChecksums = Arrays.copyOf(blockChecksums, capacity);
+            }
+            checksum.reset();
+            checksum.update(block.array(), 0, block.position());
+            firstKeys[blocks] = blockFirstKey;
+            blockOffsets[blocks] = written;
+            blockLengths[blocks] = block.position();
+            blockChecksums[blocks] = (int) checksum.getValue();
+            blocks++;
+            write(block.flip());
+            if (block.capacity() > 2 * BLOCK_BYTES) {
+                block = ByteBuffer.allocate(2 * BLOCK_BYTES);
+            }
+            block.clear();
+        }
+
+        /**
+         * Copies bytes to the output buffer, writing it to the file whenever it fills.
+         */
+        private void write(ByteBuffer bytes) throws IOException {
+            written += bytes.remaining();
+            while (bytes.hasRemaining()) {
+                if (!out.hasRemaining()) {
+                    drain();
+                }
+                int chunk = Math.min(out.remaining(), bytes.remaining());
+                out.put(out.position(), bytes, bytes.position(), chunk);
+                out.position(out.position() + chunk);
+                bytes.position(bytes.position() + chunk);
+            }
+        }
+
+        private void drain() throws IOException {
+            out.flip();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            out.clear();
+        }
+
+        /**
+         * Writes the index, Bloom filter and footer, flushes the file to the storage device
+         * and opens it for reading.
+         *
+         * @return the finished run
+         */
+        SortedRun finish() throws IOException {
+            if (block.position() > 0) {
+                finishBlock();
+            }
+            long indexOffset = written;
+            int indexBytes = Integer.BYTES;
+            for (int i = 0; i < blocks; i++) {
+                indexBytes += Integer.BYTES + firstKeys[i].length + Long.BYTES + 2 * Integer.BYTES;
+            }
+            ByteBuffer meta = ByteBuffer.allocate(indexBytes + bloom.serializedSize());
+            meta.putInt(blocks);
+            for (int i = 0; i < blocks; i++) {
+                meta.putInt(firstKeys[i].length).put(firstKeys[i]).putLong(blockOffsets[i])
+                        .putInt(blockLengths[i]).putInt(blockChecksums[i]);
+            }
+            bloom.writeTo(meta);
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_BYTES);
+            footer.putLong(indexOffset).putLong(indexOffset + indexBytes).putLong(entryCount);
+            checksum.reset();
+            checksum.update(meta.array(), 0, meta.position());
+            checksum.update(footer.array(), 0, footer.position());
+            footer.putInt((int) checksum.getValue()).putLong(MAGIC);
+            write(meta.flip());
+            write(footer.flip());
+            drain();
+            channel.force(true);
+            channel.close();
+            return open(file, sequence);
+        }
+
+        /**
+         * Abandons the run, deleting the partly written file.
+         */
+        void abort() {
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // The store deletes stray run files when it is next opened
+            }
+        }
+    }
+}
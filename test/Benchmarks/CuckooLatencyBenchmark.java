@@ -0,0 +1,88 @@
+package Benchmarks;
+
+import DataStructures_Implementations.HashMap_Custom.Custom_CuckooHashMap;
+import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+import DataStructures_Implementations.HashMap_Custom.HashMap_CustomInterface;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares the read latency distribution of Custom_CuckooHashMap and Custom_HashMap.
+ * <p>
+ * Every {@code get} is timed on its own with {@link System#nanoTime()}, and the
+ * percentiles of those samples are reported after subtracting the median cost of an
+ * empty timing. Cuckoo hashing inspects at most two buckets and the stash, so its tail
+ * stays close to its median, while chaining pays for whatever chain the key landed in.
+ * Half of the lookups are for absent keys, which walk a whole chain in Custom_HashMap.
+ * </p>
+ * <p>
+ * Run with {@code java Benchmarks.CuckooLatencyBenchmark [keyCount] [lookups]}.
+ * </p>
+ */
+public class CuckooLatencyBenchmark {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    public static void main(String[] args) {
+        int keyCount = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        int lookups = (args.length > 1) ? Integer.parseInt(args[1]) : 2_000_000;
+
+        Random random = new Random(7);
+        String[] keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "key-" + random.nextLong();
+        }
+        String[] probes = new String[lookups];
+        for (int i = 0; i < lookups; i++) {
+            probes[i] = random.nextBoolean()
+                    ? keys[random.nextInt(keyCount)]
+                    : "miss-" + random.nextLong();
+        }
+
+        long overhead = timerOverhead();
+        System.out.printf("%d String keys, %d lookups (50%% misses), timer overhead %d ns%n",
+                keyCount, lookups, overhead);
+        System.out.printf("%-16s %8s %8s %8s %8s %8s %8s%n",
+                "map", "p50", "p90", "p99", "p99.9", "p99.99", "max");
+        for (int round = 1; round <= 3; round++) {
+            run("Custom_HashMap", new Custom_HashMap<>(), keys, probes, overhead);
+            run("Custom_Cuckoo", new Custom_CuckooHashMap<>(), keys, probes, overhead);
+        }
+    }
+
+    private static void run(String name, HashMap_CustomInterface<String, Integer> map,
+                            String[] keys, String[] probes, long overhead) {
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        long[] samples = new long[probes.length];
+        long found = 0;
+        for (int i = 0; i < probes.length; i++) {
+            long start = System.nanoTime();
+            Integer value = map.get(probes[i]);
+            samples[i] = System.nanoTime() - start - overhead;
+            if (value != null) found++;
+        }
+        Arrays.sort(samples);
+
+        StringBuilder line = new StringBuilder(String.format("%-16s", name));
+        for (double p : PERCENTILES) {
+            int index = (int) Math.min(samples.length - 1, Math.ceil(p / 100 * samples.length) - 1);
+            line.append(String.format(" %8d", Math.max(0, samples[index])));
+        }
+        line.append(String.format(" %8d", samples[samples.length - 1]));
+        System.out.println(line + "   (found " + found + ")");
+    }
+
+    /** Returns the median time of an empty {@code nanoTime} pair. */
+    private static long timerOverhead() {
+        long[] samples = new long[1_000_000];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+}
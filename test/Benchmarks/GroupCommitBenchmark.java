@@ -0,0 +1,59 @@
+package Benchmarks;
+
+import DataStructures_Implementations.HashMap_Custom.Custom_DurableHashMap;
+import DataStructures_Implementations.HashMap_Custom.SnapshotCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Measures the durable put throughput of Custom_DurableHashMap for a growing number of
+ * writer threads.
+ * <p>
+ * Every put returns only after its log record is flushed, so a single writer is limited
+ * by the latency of one {@code fsync}. With group commit, writers that arrive during a
+ * flush share the next one, and throughput should rise with the thread count until the
+ * device's write bandwidth or the map lock becomes the limit.
+ * </p>
+ * <p>
+ * Run with {@code java Benchmarks.GroupCommitBenchmark [putsPerThread]}.
+ * </p>
+ */
+public class GroupCommitBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int putsPerThread = (args.length > 0) ? Integer.parseInt(args[0]) : 2_000;
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32}) {
+            Path dir = Files.createTempDirectory("group-commit-benchmark");
+            try (Custom_DurableHashMap<String, Long> map =
+                         Custom_DurableHashMap.open(dir, SnapshotCodec.STRING, SnapshotCodec.LONG)) {
+                Thread[] workers = new Thread[threads];
+                for (int t = 0; t < threads; t++) {
+                    int id = t;
+                    workers[t] = new Thread(() -> {
+                        for (int i = 0; i < putsPerThread; i++) {
+                            map.put("writer" + id + ":" + i, (long) i);
+                        }
+                    });
+                }
+                long start = System.nanoTime();
+                for (Thread worker : workers) worker.start();
+                for (Thread worker : workers) worker.join();
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%2d threads  %9.0f durable puts/s%n", threads, threads * putsPerThread / seconds);
+            }
+            delete(dir);
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package Benchmarks;
+
+import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+import DataStructures_Implementations.HashSet_Custom.Custom_HashSet;
+
+/**
+ * Measures Custom_HashMap and Custom_HashSet with keys whose {@code hashCode} and
+ * {@code equals} are expensive, and counts how often each is called.
+ * <p>
+ * Since nodes cache their key's hash, growing the table from 16 buckets to fit all keys
+ * calls {@code hashCode()} exactly once per inserted key instead of once per key per
+ * resize, and lookups call {@code equals} only on the key that actually matches.
+ * </p>
+ * <p>
+ * Run with {@code java Benchmarks.HashCodeCachingBenchmark [keyCount] [keyLength]}.
+ * </p>
+ */
+public class HashCodeCachingBenchmark {
+
+    private static long hashCodeCalls;
+    private static long equalsCalls;
+
+    /**
+     * A key that, like a long string or a composite record, recomputes its hash on every
+     * call to {@code hashCode}.
+     */
+    private static final class ExpensiveKey {
+        private final char[] chars;
+
+        ExpensiveKey(String s) {
+            this.chars = s.toCharArray();
+        }
+
+        @Override
+        public int hashCode() {
+            hashCodeCalls++;
+            int h = 0;
+            for (char c : chars) {
+                h = 31 * h + c;
+            }
+            return h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            equalsCalls++;
+            if (!(o instanceof ExpensiveKey)) return false;
+            char[] other = ((ExpensiveKey) o).chars;
+            if (other.length != chars.length) return false;
+            for (int i = 0; i < chars.length; i++) {
+                if (chars[i] != other[i]) return false;
+            }
+            return true;
+        }
+    }
+
+    public static void main(String[] args) {
+        int keyCount = (args.length > 0) ? Integer.parseInt(args[0]) : 200_000;
+        int keyLength = (args.length > 1) ? Integer.parseInt(args[1]) : 256;
+
+        ExpensiveKey[] keys = new ExpensiveKey[keyCount];
+        StringBuilder padding = new StringBuilder();
+        while (padding.length() < keyLength) {
+            padding.append("composite-record-field/");
+        }
+        String prefix = padding.substring(0, keyLength);
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = new ExpensiveKey(prefix + i);
+        }
+
+        System.out.printf("%d keys of ~%d chars%n", keyCount, keyLength);
+        for (int round = 1; round <= 5; round++) {
+            System.out.printf("-- round %d%n", round);
+            runMap(keys);
+            runSet(keys);
+        }
+    }
+
+    private static void runMap(ExpensiveKey[] keys) {
+        resetCounters();
+        long start = System.nanoTime();
+        Custom_HashMap<ExpensiveKey, Integer> map = new Custom_HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        report("HashMap put (with resizes)", start, keys.length);
+
+        resetCounters();
+        start = System.nanoTime();
+        long sum = 0;
+        for (ExpensiveKey key : keys) {
+            sum += map.get(key);
+        }
+        report("HashMap get", start, keys.length);
+        if (sum < 0) System.out.println(sum);
+    }
+
+    private static void runSet(ExpensiveKey[] keys) {
+        resetCounters();
+        long start = System.nanoTime();
+        Custom_HashSet<ExpensiveKey> set = new Custom_HashSet<>();
+        for (ExpensiveKey key : keys) {
+            set.add(key);
+        }
+        report("HashSet add (with resizes)", start, keys.length);
+
+        resetCounters();
+        start = System.nanoTime();
+        int found = 0;
+        for (ExpensiveKey key : keys) {
+            if (set.contains(key)) found++;
+        }
+        report("HashSet contains", start, keys.length);
+        if (found != keys.length) System.out.println("missing keys: " + (keys.length - found));
+    }
+
+    private static void resetCounters() {
+        hashCodeCalls = 0;
+        equalsCalls = 0;
+    }
+
+    private static void report(String name, long start, int ops) {
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-28s %8.1f ns/op   hashCode/op %.2f   equals/op %.2f%n",
+                name, (double) elapsed / ops, (double) hashCodeCalls / ops, (double) equalsCalls / ops);
+    }
+}
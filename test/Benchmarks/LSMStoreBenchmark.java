@@ -0,0 +1,89 @@
+package Benchmarks;
+
+import DataStructures_Implementations.HashMap_Custom.SnapshotCodec;
+import DataStructures_Implementations.Storage_Custom.Custom_LSMStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Measures the write and lookup throughput of a Custom_LSMStore holding more data than its
+ * memtable.
+ * <p>
+ * Random keys are written with 100-byte values, so the memtable is flushed many times and
+ * the background thread merges runs while the writes continue. The store is then
+ * compacted, and random lookups of present keys and of absent keys are timed: a present
+ * key costs one block read per run it is found in, while an absent key is normally
+ * rejected by the Bloom filters without touching the disk. The run files stay in the page
+ * cache, so the figures show a warm store.
+ * </p>
+ * <p>
+ * Run with {@code java Benchmarks.LSMStoreBenchmark [entryCount]}.
+ * </p>
+ */
+public class LSMStoreBenchmark {
+
+    private static final int LOOKUPS = 200_000;
+
+    public static void main(String[] args) throws IOException {
+        int entryCount = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        Path dir = Files.createTempDirectory("lsm-benchmark");
+        String value = "v".repeat(100);
+        Random random = new Random(24);
+
+        try (Custom_LSMStore<Long, String> store = Custom_LSMStore.open(dir, SnapshotCodec.LONG, SnapshotCodec.STRING)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < entryCount; i++) {
+                store.put(random.nextLong() & Long.MAX_VALUE, value);
+            }
+            long written = System.nanoTime();
+            System.out.printf("put     %,10.0f ops/s   %d runs%n",
+                    entryCount / ((written - start) / 1e9), store.runCount());
+
+            store.compact();
+            System.out.printf("compact %10.1f ms      %d run, %d MB%n", (System.nanoTime() - written) / 1e6,
+                    store.runCount(), directorySize(dir) >> 20);
+
+            for (int round = 1; round <= 3; round++) {
+                Random replay = new Random(24);
+                long[] present = new long[LOOKUPS];
+                for (int i = 0; i < LOOKUPS; i++) {
+                    present[i] = replay.nextLong() & Long.MAX_VALUE;
+                }
+                long found = 0;
+                start = System.nanoTime();
+                for (long key : present) {
+                    if (store.get(key) != null) found++;
+                }
+                long hits = System.nanoTime();
+                for (int i = 0; i < LOOKUPS; i++) {
+                    // Negative keys are never written
+                    if (store.get(-1L - random.nextInt(Integer.MAX_VALUE)) != null) found++;
+                }
+                long misses = System.nanoTime();
+                System.out.printf("get hit %8.2f us/op   get miss %6.2f us/op   (%d found)%n",
+                        (hits - start) / 1e3 / LOOKUPS, (misses - hits) / 1e3 / LOOKUPS, found);
+            }
+        }
+
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static long directorySize(Path dir) throws IOException {
+        long total = 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                total += Files.size(file);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,83 @@
+package Benchmarks;
+
+import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+import DataStructures_Implementations.HashMap_Custom.Custom_MappedHashMap;
+import DataStructures_Implementations.HashMap_Custom.FixedSizeCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Compares the warm-start time of a Custom_MappedHashMap with reloading the same entries
+ * into a Custom_HashMap, and the lookup throughput of both once loaded.
+ * <p>
+ * The mapped table is built once and closed. Each round then reopens the file and serves
+ * a batch of random lookups, against inserting every entry into a fresh
+ * {@code Custom_HashMap}, which is what a restart costs without a persistent table. The
+ * file stays in the page cache between rounds, so the figures show a warm restart; a cold
+ * start additionally pays for reading the touched pages from disk.
+ * </p>
+ * <p>
+ * Run with {@code java Benchmarks.MappedStartupBenchmark [entryCount]}.
+ * </p>
+ */
+public class MappedStartupBenchmark {
+
+    private static final int LOOKUPS = 1_000_000;
+
+    public static void main(String[] args) throws IOException {
+        int entryCount = (args.length > 0) ? Integer.parseInt(args[0]) : 2_000_000;
+        Path dir = Files.createTempDirectory("mapped-benchmark");
+        Path file = dir.resolve("table.map");
+
+        long start = System.nanoTime();
+        try (Custom_MappedHashMap<Long, Long> map = Custom_MappedHashMap.open(
+                file, FixedSizeCodec.LONG, FixedSizeCodec.LONG, entryCount)) {
+            for (long i = 0; i < entryCount; i++) {
+                map.put(i * 31, i);
+            }
+        }
+        System.out.printf("%d entries, built mapped file of %d MB in %d ms%n", entryCount,
+                Files.size(file) >> 20, (System.nanoTime() - start) / 1_000_000);
+
+        Random random = new Random(21);
+        long[] probes = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            probes[i] = random.nextInt(entryCount) * 31L;
+        }
+
+        for (int round = 1; round <= 3; round++) {
+            start = System.nanoTime();
+            long sum = 0;
+            try (Custom_MappedHashMap<Long, Long> map =
+                         Custom_MappedHashMap.open(file, FixedSizeCodec.LONG, FixedSizeCodec.LONG)) {
+                long opened = System.nanoTime();
+                for (long key : probes) {
+                    sum += map.get(key);
+                }
+                long done = System.nanoTime();
+                System.out.printf("Custom_MappedHashMap  open %8.2f ms   get %6.1f ns/op%n",
+                        (opened - start) / 1e6, (double) (done - opened) / LOOKUPS);
+            }
+
+            start = System.nanoTime();
+            Custom_HashMap<Long, Long> heap = new Custom_HashMap<>();
+            for (long i = 0; i < entryCount; i++) {
+                heap.put(i * 31, i);
+            }
+            long loaded = System.nanoTime();
+            for (long key : probes) {
+                sum += heap.get(key);
+            }
+            long done = System.nanoTime();
+            System.out.printf("Custom_HashMap        load %8.2f ms   get %6.1f ns/op%n",
+                    (loaded - start) / 1e6, (double) (done - loaded) / LOOKUPS);
+            if (sum == 42) System.out.println(sum);
+        }
+
+        Files.delete(file);
+        Files.delete(dir);
+    }
+}
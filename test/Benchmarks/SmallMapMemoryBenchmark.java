@@ -0,0 +1,77 @@
+package Benchmarks;
+
+import DataStructures_Implementations.HashMap_Custom.Custom_CompactHashMap;
+import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+import DataStructures_Implementations.HashMap_Custom.HashMap_CustomInterface;
+
+import java.util.function.Supplier;
+
+/**
+ * Measures the heap used by many small maps and the time to read them, comparing
+ * Custom_CompactHashMap with Custom_HashMap.
+ * <p>
+ * Keys and values are shared constants, so the reported bytes per map are the overhead of
+ * the map structure itself: the table and nodes of Custom_HashMap against the single flat
+ * array of the compact map. Heap usage is sampled after explicit garbage collections, so
+ * the figures are approximate.
+ * </p>
+ * <p>
+ * Run with {@code java Benchmarks.SmallMapMemoryBenchmark [mapCount] [entriesPerMap]}.
+ * </p>
+ */
+public class SmallMapMemoryBenchmark {
+
+    private static final String[] KEYS = {"id", "name", "owner", "color", "size", "weight", "tag", "zone"};
+
+    public static void main(String[] args) {
+        int mapCount = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        int entries = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+        if (entries > KEYS.length) {
+            throw new IllegalArgumentException("at most " + KEYS.length + " entries per map");
+        }
+
+        System.out.printf("%d maps of %d entries%n", mapCount, entries);
+        for (int round = 1; round <= 3; round++) {
+            run("Custom_HashMap", Custom_HashMap::new, mapCount, entries);
+            run("Custom_CompactHashMap", Custom_CompactHashMap::new, mapCount, entries);
+        }
+    }
+
+    private static void run(String name, Supplier<HashMap_CustomInterface<String, Integer>> factory,
+                            int mapCount, int entries) {
+        long before = usedHeap();
+        @SuppressWarnings("unchecked")
+        HashMap_CustomInterface<String, Integer>[] maps =
+                (HashMap_CustomInterface<String, Integer>[]) new HashMap_CustomInterface<?, ?>[mapCount];
+        long arrayBytes = usedHeap() - before;
+        for (int m = 0; m < mapCount; m++) {
+            HashMap_CustomInterface<String, Integer> map = factory.get();
+            for (int e = 0; e < entries; e++) {
+                map.put(KEYS[e], e);
+            }
+            maps[m] = map;
+        }
+        long bytes = usedHeap() - before - arrayBytes;
+
+        long start = System.nanoTime();
+        long sum = 0;
+        for (HashMap_CustomInterface<String, Integer> map : maps) {
+            for (int e = 0; e < entries; e++) {
+                sum += map.get(KEYS[e]);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-22s %6.1f bytes/map   get %5.1f ns/op%n",
+                name, (double) bytes / mapCount, (double) elapsed / ((long) mapCount * entries));
+        if (sum < 0) System.out.println(sum);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,60 @@
+package Benchmarks;
+
+import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+import DataStructures_Implementations.HashMap_Custom.HashMapSnapshot;
+import DataStructures_Implementations.HashMap_Custom.SnapshotCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures how fast HashMapSnapshot writes and restores a String-to-Long Custom_HashMap,
+ * against rebuilding the map entry by entry into a table that starts at the default size.
+ * <p>
+ * Throughput is reported in MB of snapshot file per second. The file is written to a temp
+ * directory and usually stays in the page cache, so restore figures show the decoding and
+ * insertion cost rather than the disk.
+ * </p>
+ * <p>
+ * Run with {@code java Benchmarks.SnapshotBenchmark [entryCount]}.
+ * </p>
+ */
+public class SnapshotBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int entryCount = (args.length > 0) ? Integer.parseInt(args[0]) : 2_000_000;
+        String[] keys = new String[entryCount];
+        Custom_HashMap<String, Long> map = new Custom_HashMap<>();
+        for (int i = 0; i < entryCount; i++) {
+            keys[i] = "account:" + i;
+            map.put(keys[i], (long) i);
+        }
+        Path dir = Files.createTempDirectory("snapshot-benchmark");
+        Path file = dir.resolve("map.snap");
+
+        System.out.printf("%d entries%n", entryCount);
+        for (int round = 1; round <= 3; round++) {
+            long start = System.nanoTime();
+            HashMapSnapshot.write(map, file, SnapshotCodec.STRING, SnapshotCodec.LONG);
+            long written = System.nanoTime();
+            Custom_HashMap<String, Long> restored = HashMapSnapshot.restore(file, SnapshotCodec.STRING, SnapshotCodec.LONG);
+            long restoredAt = System.nanoTime();
+            Custom_HashMap<String, Long> rebuilt = new Custom_HashMap<>();
+            for (int i = 0; i < entryCount; i++) {
+                rebuilt.put(keys[i], (long) i);
+            }
+            long rebuiltAt = System.nanoTime();
+
+            double mb = Files.size(file) / (1024.0 * 1024.0);
+            System.out.printf("write %7.1f ms (%6.1f MB/s)   restore %7.1f ms (%6.1f MB/s)   put loop %7.1f ms%n",
+                    (written - start) / 1e6, mb / ((written - start) / 1e9),
+                    (restoredAt - written) / 1e6, mb / ((restoredAt - written) / 1e9),
+                    (rebuiltAt - restoredAt) / 1e6);
+            if (restored.size() != rebuilt.size()) throw new AssertionError();
+        }
+
+        Files.delete(file);
+        Files.delete(dir);
+    }
+}
@@ -0,0 +1,88 @@
+package Benchmarks;
+
+import DataStructures_Implementations.HashMap_Custom.Custom_CuckooHashMap;
+import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+import DataStructures_Implementations.HashMap_Custom.Custom_RobinHoodHashMap;
+import DataStructures_Implementations.HashMap_Custom.Custom_SwissHashMap;
+import DataStructures_Implementations.HashMap_Custom.HashMap_CustomInterface;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Measures the lookup throughput of the String-keyed map implementations, separately for
+ * hits and misses.
+ * <p>
+ * Miss keys are distinct String objects, so a map can only reject them by hash; the
+ * SwissTable-style map usually does so from its control bytes without reading a key.
+ * Hit keys are fresh copies of the stored keys, so every hit pays a real
+ * {@code String.equals}.
+ * </p>
+ * <p>
+ * Run with {@code java Benchmarks.StringLookupBenchmark [keyCount]}.
+ * </p>
+ */
+public class StringLookupBenchmark {
+
+    public static void main(String[] args) {
+        int keyCount = (args.length > 0) ? Integer.parseInt(args[0]) : 500_000;
+
+        Random random = new Random(11);
+        String[] keys = new String[keyCount];
+        String[] hits = new String[keyCount];
+        String[] misses = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "user:" + random.nextInt(Integer.MAX_VALUE) + ":" + i;
+            hits[i] = new String(keys[random.nextInt(i + 1)]);
+            misses[i] = "user:" + random.nextInt(Integer.MAX_VALUE) + ":miss";
+        }
+        // Warm the cached String hash codes so every map sees the same cost
+        for (int i = 0; i < keyCount; i++) {
+            keys[i].hashCode();
+            hits[i].hashCode();
+            misses[i].hashCode();
+        }
+
+        System.out.printf("%d String keys%n", keyCount);
+        for (int round = 1; round <= 5; round++) {
+            System.out.printf("-- round %d%n", round);
+            run("Custom_HashMap", Custom_HashMap::new, keys, hits, misses);
+            run("Custom_RobinHoodHashMap", Custom_RobinHoodHashMap::new, keys, hits, misses);
+            run("Custom_CuckooHashMap", Custom_CuckooHashMap::new, keys, hits, misses);
+            run("Custom_SwissHashMap", Custom_SwissHashMap::new, keys, hits, misses);
+        }
+    }
+
+    private static void run(String name, Supplier<HashMap_CustomInterface<String, Integer>> factory,
+                            String[] keys, String[] hits, String[] misses) {
+        HashMap_CustomInterface<String, Integer> map = factory.get();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+
+        // Small maps are scanned repeatedly so every measurement runs long enough
+        int passes = Math.max(1, 5_000_000 / keys.length);
+        long start = System.nanoTime();
+        long sum = 0;
+        for (int pass = 0; pass < passes; pass++) {
+            for (String key : hits) {
+                sum += map.get(key);
+            }
+        }
+        long hitNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int found = 0;
+        for (int pass = 0; pass < passes; pass++) {
+            for (String key : misses) {
+                if (map.containsKey(key)) found++;
+            }
+        }
+        long missNanos = System.nanoTime() - start;
+
+        long ops = (long) passes * keys.length;
+        System.out.printf("%-24s hit %6.1f ns/op   miss %6.1f ns/op%n",
+                name, (double) hitNanos / ops, (double) missNanos / ops);
+        if (sum < 0 || found > 0) System.out.println(sum + " " + found);
+    }
+}
@@ -0,0 +1,170 @@
+package Utils_Tests.Cache_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import DataStructures_Implementations.Cache_Custom.Custom_ExpiringHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+class Custom_ExpiringHashMapTest {
+    private long now;
+    private List<String> expired;
+    private Custom_ExpiringHashMap<String, Integer> map;
+
+    @BeforeEach
+    void setUp() {
+        now = 1_000L;
+        expired = new ArrayList<>();
+        map = new Custom_ExpiringHashMap<>(10, TimeUnit.SECONDS, (k, v) -> expired.add(k), 2, () -> now);
+    }
+
+    private void advanceSeconds(long seconds) {
+        now += TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    @Test
+    void testEntriesVisibleUntilDeadline() {
+        map.put("a", 1);
+        map.put("b", 2, 1, TimeUnit.HOURS);
+        advanceSeconds(9);
+        assertEquals(1, map.get("a"));
+        assertTrue(map.containsKey("a"));
+
+        advanceSeconds(1);
+        assertNull(map.get("a"));
+        assertFalse(map.containsKey("a"));
+        assertEquals(2, map.get("b"));
+        assertEquals(List.of("a"), expired);
+        assertEquals(1, map.size());
+        assertEquals("{b=2}", map.toString());
+    }
+
+    @Test
+    void testPutReplacesDeadline() {
+        map.put("a", 1);
+        advanceSeconds(8);
+        map.put("a", 2);
+        advanceSeconds(8);
+        assertEquals(2, map.get("a"));
+        assertEquals(1, map.size());
+        advanceSeconds(2);
+        assertNull(map.get("a"));
+    }
+
+    @Test
+    void testSweepIsBounded() {
+        for (int i = 0; i < 5; i++) {
+            map.put("k" + i, i);
+        }
+        advanceSeconds(11);
+        assertEquals(5, map.size());
+        assertEquals(2, map.sweep());
+        assertEquals(2, map.sweep());
+        assertEquals(1, map.sweep());
+        assertEquals(0, map.sweep());
+        assertTrue(map.isEmpty());
+        assertEquals(5, map.expiredCount());
+        assertEquals(5, expired.size());
+    }
+
+    @Test
+    void testHierarchicalLevelsCascade() {
+        map.put("second", 1, 3, TimeUnit.SECONDS);
+        map.put("minute", 2, 5, TimeUnit.MINUTES);
+        map.put("hour", 3, 3, TimeUnit.HOURS);
+        map.put("day", 4, 2, TimeUnit.DAYS);
+        map.put("week", 5, 10, TimeUnit.DAYS);
+
+        long[] checkpoints = {4, 5 * 60 + 1, 3 * 3600 + 1, 2 * 86400 + 1, 10 * 86400 + 1};
+        long elapsed = 0;
+        for (int i = 0; i < checkpoints.length; i++) {
+            // Advance in coarse steps, sweeping as a background task would
+            while (elapsed < checkpoints[i]) {
+                long step = Math.min(checkpoints[i] - elapsed, 1 + elapsed / 10);
+                advanceSeconds(step);
+                elapsed += step;
+                map.sweep();
+            }
+            assertEquals(i + 1, expired.size(), "after " + elapsed + "s: " + expired);
+            assertEquals(4 - i, map.size());
+        }
+        assertEquals(List.of("second", "minute", "hour", "day", "week"), expired);
+    }
+
+    @Test
+    void testRemoveAndClear() {
+        map.put("a", 1);
+        map.put("b", 2);
+        assertEquals(1, map.remove("a"));
+        assertNull(map.remove("a"));
+        map.clear();
+        assertTrue(map.isEmpty());
+        advanceSeconds(20);
+        assertEquals(0, map.sweep());
+        assertTrue(expired.isEmpty());
+
+        map.put("c", 3);
+        advanceSeconds(11);
+        assertNull(map.remove("c"));
+        assertEquals(List.of("c"), expired);
+    }
+
+    @Test
+    void testCompoundOperationsSeeExpiry() {
+        map.put("a", 1);
+        assertEquals(1, map.getOrDefault("a", -1));
+        advanceSeconds(10);
+        assertEquals(-1, map.getOrDefault("a", -1));
+        assertNull(map.putIfAbsent("a", 2));
+        assertEquals(3, map.merge("a", 1, Integer::sum));
+        advanceSeconds(10);
+        assertNull(map.computeIfPresent("a", (k, v) -> v + 1));
+        assertEquals(5, map.computeIfAbsent("a", k -> 5));
+        assertEquals(6, map.compute("a", (k, v) -> v + 1));
+    }
+
+    @Test
+    void testConcurrentMergesAreAtomic() throws InterruptedException {
+        Custom_ExpiringHashMap<String, Integer> counts = new Custom_ExpiringHashMap<>(1, TimeUnit.HOURS);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counts.merge("hits", 1, Integer::sum);
+                    counts.compute("calls", (k, v) -> (v == null) ? 1 : v + 1);
+                }
+            }));
+        }
+        for (Thread worker : workers) worker.start();
+        for (Thread worker : workers) worker.join();
+        assertEquals(40_000, counts.get("hits"));
+        assertEquals(40_000, counts.get("calls"));
+    }
+
+    @Test
+    void testScheduledSweepWithRealClock() throws Exception {
+        Custom_ExpiringHashMap<Integer, Integer> real = new Custom_ExpiringHashMap<>(10, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 100; i++) {
+            real.put(i, i);
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            ScheduledFuture<?> sweeper = real.scheduleSweep(executor, 5, TimeUnit.MILLISECONDS);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!real.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            sweeper.cancel(false);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(real.isEmpty());
+        assertEquals(100, real.expiredCount());
+    }
+}
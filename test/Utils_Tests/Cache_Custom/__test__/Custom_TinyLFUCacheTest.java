@@ -0,0 +1,107 @@
+package Utils_Tests.Cache_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import DataStructures_Implementations.Cache_Custom.CacheStats;
+import DataStructures_Implementations.Cache_Custom.Custom_LRUCache;
+import DataStructures_Implementations.Cache_Custom.Custom_TinyLFUCache;
+import DataStructures_Implementations.Cache_Custom.FrequencySketch;
+
+class Custom_TinyLFUCacheTest {
+    private Custom_TinyLFUCache<Integer, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new Custom_TinyLFUCache<>(100);
+    }
+
+    @Test
+    void testPutGetAndRemove() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        assertEquals("one", cache.get(1));
+        assertEquals("two", cache.get(2));
+        assertNull(cache.get(3));
+        cache.put(1, "uno");
+        assertEquals("uno", cache.get(1));
+        assertEquals(2, cache.size());
+
+        assertEquals("uno", cache.remove(1));
+        assertNull(cache.remove(1));
+        assertFalse(cache.containsKey(1));
+        cache.clear();
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    void testNeverExceedsMaxSize() {
+        int[] evictions = {0};
+        Custom_TinyLFUCache<Integer, Integer> small = new Custom_TinyLFUCache<>(10, (k, v) -> evictions[0]++);
+        for (int i = 0; i < 1000; i++) {
+            small.put(i % 37, i);
+            small.get(i % 11);
+            assertTrue(small.size() <= 10);
+        }
+        assertEquals(small.stats().evictionCount(), evictions[0]);
+        assertTrue(evictions[0] > 0);
+    }
+
+    @Test
+    void testHotSetSurvivesScan() {
+        Custom_LRUCache<Integer, String> lru = new Custom_LRUCache<>(100);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.put(i, "hot");
+                lru.put(i, "hot");
+            }
+        }
+        for (int i = 1000; i < 3000; i++) {
+            cache.put(i, "scan");
+            lru.put(i, "scan");
+        }
+
+        int tinyLfuHits = 0;
+        int lruHits = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get(i) != null) tinyLfuHits++;
+            if (lru.get(i) != null) lruHits++;
+        }
+        assertEquals(0, lruHits);
+        assertTrue(tinyLfuHits >= 45, "hot keys kept: " + tinyLfuHits);
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    void testStatistics() {
+        cache.put(1, "one");
+        cache.get(1);
+        cache.get(2);
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(0.5, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void testFrequencySketchCountsAndAges() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        assertEquals(0, sketch.frequency("a"));
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("a");
+        }
+        assertTrue(sketch.frequency("a") >= 5);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("a");
+        }
+        assertEquals(15, sketch.frequency("a"));
+
+        // Recording a full sample of other keys halves the counters
+        for (int i = 0; i < 640; i++) {
+            sketch.increment(i);
+        }
+        assertTrue(sketch.frequency("a") < 15);
+        sketch.clear();
+        assertEquals(0, sketch.frequency("a"));
+    }
+}
@@ -0,0 +1,97 @@
+package Utils_Tests.Cache_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import DataStructures_Implementations.Cache_Custom.CacheStats;
+import DataStructures_Implementations.Cache_Custom.Custom_LRUCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TestMain {
+    private Custom_LRUCache<Integer, String> cache;
+    private List<Integer> evicted;
+
+    @BeforeEach
+    void setUp() {
+        evicted = new ArrayList<>();
+        cache = new Custom_LRUCache<>(3, (k, v) -> evicted.add(k));
+    }
+
+    @Test
+    void testPutAndGet() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        assertEquals("one", cache.get(1));
+        assertEquals("two", cache.get(2));
+        assertNull(cache.get(3));
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.maxSize());
+
+        cache.put(1, "uno");
+        assertEquals("uno", cache.get(1));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+        cache.get(1);
+        cache.put(4, "four");
+
+        assertEquals(List.of(2), evicted);
+        assertFalse(cache.containsKey(2));
+        assertEquals(3, cache.size());
+        assertEquals("{3=three, 1=one, 4=four}", cache.toString());
+
+        cache.put(3, "drei");
+        cache.put(5, "five");
+        assertEquals(List.of(2, 1), evicted);
+        assertEquals("{4=four, 3=drei, 5=five}", cache.toString());
+    }
+
+    @Test
+    void testRemoveAndClearDoNotNotifyListener() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        assertEquals("one", cache.remove(1));
+        assertNull(cache.remove(1));
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertTrue(evicted.isEmpty());
+        assertEquals("{}", cache.toString());
+
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, "v" + i);
+        }
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), evicted);
+        assertEquals("{7=v7, 8=v8, 9=v9}", cache.toString());
+    }
+
+    @Test
+    void testStatistics() {
+        cache.put(1, "one");
+        cache.get(1);
+        cache.get(1);
+        cache.get(2);
+        for (int i = 2; i <= 5; i++) {
+            cache.put(i, "v" + i);
+        }
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(2, stats.evictionCount());
+        assertEquals(3, stats.requestCount());
+        assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new Custom_LRUCache<Integer, String>(0));
+        assertThrows(NullPointerException.class, () -> cache.put(null, "x"));
+        assertThrows(NullPointerException.class, () -> cache.put(1, null));
+    }
+}
@@ -0,0 +1,161 @@
+package Utils_Tests.HashMap_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import DataStructures_Implementations.HashMap_Custom.Custom_CompactHashMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class Custom_CompactHashMapTest {
+    private Custom_CompactHashMap<String, Integer> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new Custom_CompactHashMap<>(4);
+    }
+
+    @Test
+    void testCompactOperationsKeepInsertionOrder() {
+        map.put("c", 3);
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("a", 10);
+        assertTrue(map.isCompact());
+        assertEquals(3, map.size());
+        assertEquals(10, map.get("a"));
+        assertEquals("{c=3, a=10, b=2}", map.toString());
+
+        assertEquals(3, map.remove("c"));
+        assertNull(map.remove("c"));
+        assertEquals("{a=10, b=2}", map.toString());
+        assertFalse(map.containsKey("c"));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals("{}", map.toString());
+        assertNull(map.get("a"));
+    }
+
+    @Test
+    void testNullKeyAndValue() {
+        map.put(null, 1);
+        map.put("nullValue", null);
+        assertEquals(1, map.get(null));
+        assertTrue(map.containsKey("nullValue"));
+        assertEquals(-1, map.getOrDefault("missing", -1));
+        assertEquals(1, map.remove(null));
+        assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    void testUpgradesPastLimitAndDowngradesWithHysteresis() {
+        for (int i = 0; i < 4; i++) {
+            map.put("k" + i, i);
+        }
+        assertTrue(map.isCompact());
+        map.put("k4", 4);
+        assertFalse(map.isCompact());
+        assertEquals(5, map.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, map.get("k" + i));
+        }
+
+        map.remove("k0");
+        map.remove("k1");
+        assertFalse(map.isCompact());
+        assertNull(map.remove("missing"));
+        map.remove("k2");
+        assertTrue(map.isCompact());
+        assertEquals(2, map.size());
+        assertEquals(3, map.get("k3"));
+        assertEquals(4, map.get("k4"));
+        map.put("k5", 5);
+        assertEquals(5, map.get("k5"));
+        assertTrue(map.isCompact());
+    }
+
+    @Test
+    void testUpgradeAndDowngradeKeepInsertionOrder() {
+        String[] keys = {"q", "w", "e", "r", "t", "y", "u"};
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        assertFalse(map.isCompact());
+        assertEquals("{q=0, w=1, e=2, r=3, t=4, y=5, u=6}", map.toString());
+
+        map.remove("w");
+        map.remove("r");
+        map.remove("y");
+        map.remove("q");
+        map.remove("u");
+        assertTrue(map.isCompact());
+        assertEquals("{e=2, t=4}", map.toString());
+        map.put("w", 7);
+        map.put("q", 8);
+        map.put("r", 9);
+        assertFalse(map.isCompact());
+        assertEquals("{e=2, t=4, w=7, q=8, r=9}", map.toString());
+    }
+
+    @Test
+    void testForEachVisitsEveryEntry() {
+        Map<String, Integer> seen = new LinkedHashMap<>();
+        map.put("x", 1);
+        map.put("y", 2);
+        map.forEach(seen::put);
+        assertEquals(Map.of("x", 1, "y", 2), seen);
+
+        for (int i = 0; i < 10; i++) {
+            map.put("k" + i, i);
+        }
+        seen.clear();
+        map.forEach(seen::put);
+        assertEquals(12, seen.size());
+    }
+
+    @Test
+    void testSizeHoveringAroundLimitDoesNotConvert() {
+        for (int i = 0; i < 5; i++) {
+            map.put("k" + i, i);
+        }
+        assertFalse(map.isCompact());
+        // Between half the limit and the limit the hashed form stays in place
+        for (int round = 0; round < 10; round++) {
+            map.remove("k0");
+            map.remove("k1");
+            assertFalse(map.isCompact());
+            map.put("k0", 0);
+            map.put("k1", 1);
+            assertFalse(map.isCompact());
+        }
+        map.remove("k0");
+        map.remove("k1");
+        map.remove("k2");
+        assertTrue(map.isCompact());
+        // Back in the compact form, refilling up to the limit stays compact
+        map.put("k0", 0);
+        map.put("k1", 1);
+        assertTrue(map.isCompact());
+        assertEquals("{k3=3, k4=4, k0=0, k1=1}", map.toString());
+        map.put(null, -1);
+        assertFalse(map.isCompact());
+        assertEquals(-1, map.get(null));
+        assertEquals("{k3=3, k4=4, k0=0, k1=1, null=-1}", map.toString());
+    }
+
+    @Test
+    void testRejectsInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new Custom_CompactHashMap<>(0));
+        Custom_CompactHashMap<String, Integer> single = new Custom_CompactHashMap<>(1);
+        single.put("a", 1);
+        single.put("b", 2);
+        assertFalse(single.isCompact());
+        single.remove("a");
+        single.remove("b");
+        assertTrue(single.isCompact());
+        assertTrue(single.isEmpty());
+        single.put("c", 3);
+        assertEquals(3, single.get("c"));
+    }
+}
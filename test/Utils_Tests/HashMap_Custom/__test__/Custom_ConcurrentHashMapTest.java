@@ -0,0 +1,152 @@
+package Utils_Tests.HashMap_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import DataStructures_Implementations.HashMap_Custom.Custom_ConcurrentHashMap;
+
+class Custom_ConcurrentHashMapTest {
+    private Custom_ConcurrentHashMap<Integer, Integer> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new Custom_ConcurrentHashMap<>();
+    }
+
+    /** Runs the task on the given number of threads and waits for all of them. */
+    private static void runConcurrently(int threads, IntConsumer task) throws InterruptedException {
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers.add(new Thread(() -> task.accept(id)));
+        }
+        for (Thread worker : workers) worker.start();
+        for (Thread worker : workers) worker.join();
+    }
+
+    @Test
+    void testSingleThreadedOperations() {
+        map.put(1, 10);
+        map.put(2, 20);
+        map.put(1, 11);
+        assertEquals(11, map.get(1));
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey(2));
+        assertEquals(20, map.remove(2));
+        assertNull(map.remove(2));
+        assertEquals("{1=11}", map.toString());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testNullsRejected() {
+        assertThrows(NullPointerException.class, () -> map.put(null, 1));
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+        assertThrows(NullPointerException.class, () -> map.get(null));
+    }
+
+    @Test
+    void testRecursiveUpdateOfReservedBinFails() {
+        // 1 and 33 share a bin of the 32-bin default table, which is empty and so gets reserved
+        assertThrows(IllegalStateException.class, () -> map.computeIfAbsent(1, k -> {
+            map.put(33, 33);
+            return 1;
+        }));
+        assertThrows(IllegalStateException.class, () -> map.compute(1, (k, v) -> map.computeIfAbsent(33, x -> 33)));
+        assertThrows(IllegalStateException.class, () -> map.compute(1, (k, v) -> {
+            map.remove(33);
+            return 1;
+        }));
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        assertNull(map.get(33));
+
+        // Updating another bin from inside the function is allowed
+        assertEquals(1, map.computeIfAbsent(1, k -> {
+            map.put(2, 2);
+            return 1;
+        }));
+        assertEquals(2, map.size());
+        assertEquals(2, map.get(2));
+    }
+
+    @Test
+    void testConcurrentPutsAcrossResizes() throws InterruptedException {
+        int threads = 8;
+        int perThread = 20000;
+
+        runConcurrently(threads, id -> {
+            for (int i = 0; i < perThread; i++) {
+                int key = id * perThread + i;
+                map.put(key, key);
+            }
+        });
+
+        assertEquals(threads * perThread, map.size());
+        for (int key = 0; key < threads * perThread; key++) {
+            assertEquals(key, map.get(key));
+        }
+    }
+
+    @Test
+    void testReadersSeeStableKeysDuringWrites() throws InterruptedException {
+        int stable = 1000;
+        for (int i = 0; i < stable; i++) {
+            map.put(-i - 1, i);
+        }
+        AtomicInteger misses = new AtomicInteger();
+
+        runConcurrently(6, id -> {
+            if (id < 3) {
+                for (int i = 0; i < 30000; i++) {
+                    map.put(id * 30000 + i, i);
+                    if (i % 2 == 0) map.remove(id * 30000 + i);
+                }
+            } else {
+                for (int round = 0; round < 50; round++) {
+                    for (int i = 0; i < stable; i++) {
+                        Integer value = map.get(-i - 1);
+                        if (value == null || value != i) misses.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        assertEquals(0, misses.get());
+        assertEquals(stable + 3 * 15000, map.size());
+    }
+
+    @Test
+    void testConcurrentMergeAndComputeIfAbsent() throws InterruptedException {
+        int threads = 6;
+        int increments = 20000;
+        AtomicInteger computations = new AtomicInteger();
+
+        runConcurrently(threads, id -> {
+            for (int i = 0; i < increments; i++) {
+                map.merge(i % 100, 1, Integer::sum);
+                map.computeIfAbsent(-(i % 500) - 1, k -> {
+                    computations.incrementAndGet();
+                    return k;
+                });
+            }
+        });
+
+        for (int key = 0; key < 100; key++) {
+            assertEquals(threads * increments / 100, map.get(key));
+        }
+        // Each absent key is computed exactly once
+        assertEquals(500, computations.get());
+        assertEquals(600, map.size());
+
+        assertEquals(-1, map.putIfAbsent(-1, 5));
+        assertNull(map.compute(-1, (k, v) -> null));
+        assertEquals(42, map.getOrDefault(-1, 42));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+package Utils_Tests.HashMap_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import DataStructures_Implementations.HashMap_Custom.Custom_CuckooHashMap;
+import Utils_Tests.HashMap_Custom.__test__.HashMapTestSupport.CollidingKey;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class Custom_CuckooHashMapTest {
+    private Custom_CuckooHashMap<String, Integer> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new Custom_CuckooHashMap<>();
+    }
+
+    @Test
+    void testBasicOperations() {
+        map.put("one", 1);
+        map.put("two", 2);
+        map.put("one", 11);
+        assertEquals(2, map.size());
+        assertEquals(11, map.get("one"));
+        assertTrue(map.containsKey("two"));
+        assertNull(map.get("three"));
+        assertEquals(2, map.remove("two"));
+        assertNull(map.remove("two"));
+        assertEquals("{one=11}", map.toString());
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals("{}", map.toString());
+    }
+
+    @Test
+    void testNullKeyAndValue() {
+        map.put(null, 5);
+        map.put("nullValue", null);
+        assertEquals(5, map.get(null));
+        assertTrue(map.containsKey("nullValue"));
+        assertEquals(-1, map.getOrDefault("missing", -1));
+        assertEquals(5, map.remove(null));
+        assertFalse(map.containsKey(null));
+    }
+
+    /**
+     * Returns Integer keys whose two candidate buckets are 0 and 1 while the table has
+     * its default four buckets, following the map's hash mixing.
+     */
+    private static List<Integer> keysForFirstTwoBuckets(int count) {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; keys.size() < count; i++) {
+            int h = i * 0x9E3779B9;
+            h ^= (h >>> 16);
+            int b1 = h & 3;
+            int b2 = (h * 0x85EBCA6B) >>> 30;
+            if (b2 == b1) b2 ^= 1;
+            if (h != 0 && b1 == 0 && b2 == 1) {
+                keys.add(i);
+            }
+        }
+        return keys;
+    }
+
+    /** Returns the keys in the order {@code toString} lists them: table slots, then the stash. */
+    private static List<Integer> order(Custom_CuckooHashMap<Integer, Integer> cuckoo) {
+        List<Integer> keys = new ArrayList<>();
+        String s = cuckoo.toString();
+        for (String entry : s.substring(1, s.length() - 1).split(", ")) {
+            keys.add(Integer.valueOf(entry.substring(0, entry.indexOf('='))));
+        }
+        return keys;
+    }
+
+    @Test
+    void testFullBucketPairStashesAfterBoundedKicks() {
+        List<Integer> keys = keysForFirstTwoBuckets(13);
+        Custom_CuckooHashMap<Integer, Integer> cuckoo = new Custom_CuckooHashMap<>();
+        // Eight keys fill buckets 0 and 1; every kick after that lands back in them
+        for (int i = 0; i < 12; i++) {
+            cuckoo.put(keys.get(i), i);
+        }
+        assertEquals(12, cuckoo.size());
+        for (int i = 0; i < 12; i++) {
+            assertEquals(i, cuckoo.get(keys.get(i)));
+        }
+
+        // Slots 0-7 are printed first and the four stashed keys last
+        List<Integer> before = order(cuckoo);
+        assertEquals(12, before.size());
+        assertTrue(before.containsAll(keys.subList(0, 12)));
+
+        // The freed slot takes the first stashed key, and the last stashed key fills its place
+        Integer removed = before.get(2);
+        assertEquals(keys.indexOf(removed), cuckoo.remove(removed));
+        List<Integer> after = new ArrayList<>(before.subList(0, 8));
+        after.set(2, before.get(8));
+        after.addAll(List.of(before.get(11), before.get(9), before.get(10)));
+        assertEquals(after, order(cuckoo));
+
+        // A fifth stashed key overflows the stash, and the grown table spreads the keys out
+        cuckoo.put(removed, keys.indexOf(removed));
+        cuckoo.put(keys.get(12), 12);
+        assertEquals(13, cuckoo.size());
+        for (int i = 0; i < 13; i++) {
+            assertEquals(i, cuckoo.get(keys.get(i)));
+        }
+        assertNotEquals(after.subList(0, 8), order(cuckoo).subList(0, 8));
+    }
+
+    @Test
+    void testLookupInspectsTwoBucketsAndTheStash() {
+        // Keys with equal hash codes share one bucket pair: eight fit and four are stashed
+        int[] comparisons = new int[1];
+        Custom_CuckooHashMap<Object, Integer> cuckoo = new Custom_CuckooHashMap<>();
+        for (int i = 0; i < 12; i++) {
+            cuckoo.put(new Object() {
+                @Override
+                public int hashCode() {
+                    return 42;
+                }
+
+                @Override
+                public boolean equals(Object o) {
+                    comparisons[0]++;
+                    return o == this;
+                }
+            }, i);
+        }
+        comparisons[0] = 0;
+        assertNull(cuckoo.get(new CollidingKey(0)));
+        assertEquals(12, comparisons[0]);
+    }
+
+    @Test
+    void testFillsTableToHighLoad() {
+        Custom_CuckooHashMap<Integer, Integer> cuckoo = new Custom_CuckooHashMap<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            cuckoo.put(i, i);
+        }
+        assertEquals(1_000_000, cuckoo.size());
+        for (int i = 0; i < 1_000_000; i++) {
+            assertEquals(i, cuckoo.get(i));
+        }
+        assertFalse(cuckoo.containsKey(-1));
+    }
+
+    @Test
+    void testKeysWithEqualHashCodesOverflowIntoStash() {
+        Custom_CuckooHashMap<CollidingKey, Integer> cuckoo = new Custom_CuckooHashMap<>();
+        for (int i = 0; i < 40; i++) {
+            cuckoo.put(new CollidingKey(i), i);
+        }
+        assertEquals(40, cuckoo.size());
+        for (int i = 0; i < 40; i++) {
+            assertEquals(i, cuckoo.get(new CollidingKey(i)));
+        }
+        for (int i = 0; i < 40; i += 2) {
+            assertEquals(i, cuckoo.remove(new CollidingKey(i)));
+        }
+        for (int i = 0; i < 40; i++) {
+            assertEquals((i % 2 == 0) ? null : Integer.valueOf(i), cuckoo.get(new CollidingKey(i)));
+        }
+        assertEquals(20, cuckoo.size());
+    }
+}
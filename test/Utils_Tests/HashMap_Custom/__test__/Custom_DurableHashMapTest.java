@@ -0,0 +1,196 @@
+package Utils_Tests.HashMap_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import DataStructures_Implementations.HashMap_Custom.Custom_DurableHashMap;
+import DataStructures_Implementations.HashMap_Custom.SnapshotCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+class Custom_DurableHashMapTest {
+
+    @TempDir
+    Path dir;
+
+    private Custom_DurableHashMap<String, Integer> open() throws IOException {
+        return Custom_DurableHashMap.open(dir, SnapshotCodec.STRING, SnapshotCodec.INT);
+    }
+
+    @Test
+    void testUpdatesSurviveReopen() throws IOException {
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            map.put("a", 1);
+            map.put("b", 2);
+            map.put("a", 10);
+            map.put(null, 0);
+            map.put("nothing", null);
+            assertEquals(2, map.remove("b"));
+            assertNull(map.remove("missing"));
+            assertEquals(3, map.size());
+        }
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            assertEquals(3, map.size());
+            assertEquals(10, map.get("a"));
+            assertEquals(0, map.get(null));
+            assertTrue(map.containsKey("nothing"));
+            assertFalse(map.containsKey("b"));
+            map.clear();
+            map.put("c", 3);
+        }
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            assertEquals("{c=3}", map.toString());
+        }
+    }
+
+    @Test
+    void testDurableWithoutClose() throws IOException {
+        Custom_DurableHashMap<String, Integer> crashed = open();
+        for (int i = 0; i < 100; i++) {
+            crashed.put("k" + i, i);
+        }
+        // Every update is flushed before it returns, so a second instance sees them all
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            assertEquals(100, map.size());
+            assertEquals(42, map.get("k42"));
+        }
+    }
+
+    @Test
+    void testCompoundUpdatesAreLogged() throws IOException {
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            assertNull(map.putIfAbsent("p", 1));
+            assertEquals(1, map.putIfAbsent("p", 2));
+            assertEquals(5, map.computeIfAbsent("c", k -> 5));
+            assertEquals(7, map.merge("c", 2, Integer::sum));
+            assertEquals(8, map.compute("p", (k, v) -> v + 7));
+            assertNull(map.computeIfPresent("p", (k, v) -> null));
+            assertNull(map.computeIfPresent("missing", (k, v) -> 1));
+        }
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            assertEquals("{c=7}", map.toString());
+        }
+    }
+
+    @Test
+    void testTornRecordIsCutOff() throws IOException {
+        long logSize;
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            map.put("a", 1);
+            map.put("b", 2);
+            logSize = map.logSize();
+        }
+        Path log = dir.resolve("wal.log");
+        // A record whose length points past the end of the file, as left by a crash
+        Files.write(log, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            assertEquals(2, map.size());
+            assertEquals(logSize, map.logSize());
+            map.put("c", 3);
+        }
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            assertEquals(3, map.size());
+        }
+
+        byte[] bytes = Files.readAllBytes(log);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(log, bytes);
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            assertEquals(2, map.size());
+            assertFalse(map.containsKey("c"));
+        }
+    }
+
+    @Test
+    void testCheckpointTruncatesLogAndReplayIsIdempotent() throws IOException {
+        Path log = dir.resolve("wal.log");
+        Path savedLog = dir.resolve("saved.log");
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            for (int i = 0; i < 50; i++) {
+                map.put("k" + (i % 20), i);
+            }
+            map.remove("k3");
+            Files.copy(log, savedLog);
+            map.checkpoint();
+            assertEquals(0, map.logSize());
+            assertEquals(0, Files.size(log));
+            map.put("after", 1);
+        }
+        assertTrue(Files.exists(dir.resolve("checkpoint.snap")));
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            assertEquals(20, map.size());
+            assertEquals(49, map.get("k9"));
+            assertNull(map.get("k3"));
+        }
+
+        // A crash after writing the checkpoint but before truncating the log
+        Files.copy(savedLog, log, StandardCopyOption.REPLACE_EXISTING);
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            assertEquals(19, map.size());
+            assertEquals(49, map.get("k9"));
+            assertNull(map.get("k3"));
+        }
+    }
+
+    @Test
+    void testCheckpointsAutomaticallyWhenLogIsLarge() throws IOException {
+        try (Custom_DurableHashMap<String, Integer> map =
+                     Custom_DurableHashMap.open(dir, SnapshotCodec.STRING, SnapshotCodec.INT, 1000)) {
+            for (int i = 0; i < 500; i++) {
+                map.put("key" + (i % 30), i);
+                assertTrue(map.logSize() < 1000);
+            }
+        }
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            assertEquals(30, map.size());
+            assertEquals(499, map.get("key19"));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> Custom_DurableHashMap.open(dir, SnapshotCodec.STRING, SnapshotCodec.INT, 0));
+    }
+
+    @Test
+    void testConcurrentWritersAreAllDurable() throws Exception {
+        int threads = 8;
+        int perThread = 300;
+        try (Custom_DurableHashMap<String, Integer> map = Custom_DurableHashMap.open(
+                dir, SnapshotCodec.STRING, SnapshotCodec.INT, 20_000)) {
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                workers.add(new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        map.put(id + ":" + i, i);
+                        map.merge("total", 1, Integer::sum);
+                    }
+                }));
+            }
+            workers.forEach(Thread::start);
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            assertEquals(threads * perThread + 1, map.size());
+        }
+        try (Custom_DurableHashMap<String, Integer> map = open()) {
+            assertEquals(threads * perThread + 1, map.size());
+            assertEquals(threads * perThread, map.get("total"));
+            assertEquals(perThread - 1, map.get("7:" + (perThread - 1)));
+        }
+    }
+
+    @Test
+    void testClosedMapRejectsUpdates() throws IOException {
+        Custom_DurableHashMap<String, Integer> map = open();
+        map.put("a", 1);
+        map.close();
+        map.close();
+        assertThrows(IllegalStateException.class, () -> map.put("b", 2));
+        assertEquals(1, map.get("a"));
+    }
+}
@@ -0,0 +1,196 @@
+package Utils_Tests.HashMap_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+import DataStructures_Implementations.HashMap_Custom.Custom_LinkedHashMap;
+import Utils_Tests.HashMap_Custom.__test__.HashMapTestSupport.CollidingKey;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+class Custom_LinkedHashMapTest {
+
+    private static <K, V> List<K> keys(Custom_HashMap<K, V> map) {
+        List<K> keys = new ArrayList<>();
+        Iterator<K> it = map.keyIterator();
+        while (it.hasNext()) {
+            keys.add(it.next());
+        }
+        return keys;
+    }
+
+    @Test
+    void testIterationFollowsInsertionOrder() {
+        Custom_LinkedHashMap<String, Integer> map = new Custom_LinkedHashMap<>();
+        map.put("c", 3);
+        map.put("a", 1);
+        map.put(null, 0);
+        map.put("b", 2);
+        map.put("a", 10);
+        assertEquals("{c=3, a=10, null=0, b=2}", map.toString());
+
+        map.remove("c");
+        map.put("c", 30);
+        assertEquals(List.of("a", "null", "b", "c"),
+                keys(map).stream().map(String::valueOf).collect(Collectors.toList()));
+
+        List<String> seen = new ArrayList<>();
+        map.forEach((k, v) -> seen.add(k + "=" + v));
+        assertEquals(List.of("a=10", "null=0", "b=2", "c=30"), seen);
+
+        map.clear();
+        assertEquals("{}", map.toString());
+        assertFalse(map.entryIterator().hasNext());
+        map.put("z", 26);
+        assertEquals("{z=26}", map.toString());
+    }
+
+    @Test
+    void testOrderSurvivesResizeShrinkAndTreeification() {
+        Custom_LinkedHashMap<Object, Integer> map = new Custom_LinkedHashMap<>();
+        List<Object> expected = new ArrayList<>();
+        Random random = new Random(20);
+        for (int i = 0; i < 2000; i++) {
+            // Every tenth key collides, so one bucket is treeified along the way
+            Object key = (i % 10 == 0) ? new CollidingKey(i) : Integer.valueOf(random.nextInt());
+            if (map.containsKey(key)) {
+                continue;
+            }
+            map.put(key, i);
+            expected.add(key);
+        }
+        assertEquals(expected, keys(map));
+
+        // Removing most colliding keys untreeifies their bucket and shrinks the table
+        for (int i = 0; i < 2000; i += 10) {
+            if (i >= 40) {
+                map.remove(new CollidingKey(i));
+            }
+        }
+        int capacity = map.capacity();
+        for (int i = expected.size() - 1; i >= 100; i--) {
+            map.remove(expected.get(i));
+        }
+        assertTrue(map.capacity() < capacity);
+        expected.removeIf(k -> !map.containsKey(k));
+        assertEquals(expected, keys(map));
+
+        map.trimToSize();
+        assertEquals(expected, keys(map));
+    }
+
+    @Test
+    void testAccessOrderMovesReadEntriesToTheEnd() {
+        Custom_LinkedHashMap<String, Integer> map = new Custom_LinkedHashMap<>(true);
+        assertTrue(map.isAccessOrder());
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        map.get("a");
+        assertEquals("{b=2, c=3, a=1}", map.toString());
+        map.put("b", 20);
+        assertEquals("{c=3, a=1, b=20}", map.toString());
+        map.getOrDefault("c", 0);
+        map.getOrDefault("missing", 0);
+        assertEquals("{a=1, b=20, c=3}", map.toString());
+        map.merge("a", 5, Integer::sum);
+        assertEquals("{b=20, c=3, a=6}", map.toString());
+
+        Iterator<String> it = map.keyIterator();
+        it.next();
+        map.get("b");
+        assertThrows(ConcurrentModificationException.class, it::next);
+
+        Custom_LinkedHashMap<String, Integer> insertion = new Custom_LinkedHashMap<>();
+        insertion.put("a", 1);
+        insertion.put("b", 2);
+        insertion.get("a");
+        assertEquals("{a=1, b=2}", insertion.toString());
+    }
+
+    @Test
+    void testRemoveEldestEntryBoundsTheMap() {
+        Custom_LinkedHashMap<Integer, Integer> cache = new Custom_LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > 3;
+            }
+        };
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        cache.get(1);
+        cache.put(4, 4);
+        assertEquals(3, cache.size());
+        assertFalse(cache.containsKey(2));
+        assertEquals("{3=3, 1=1, 4=4}", cache.toString());
+        cache.computeIfAbsent(5, k -> k);
+        assertEquals("{1=1, 4=4, 5=5}", cache.toString());
+    }
+
+    @Test
+    void testIteratorAndCursorRemoveKeepOrder() {
+        Custom_LinkedHashMap<CollidingKey, Integer> map = new Custom_LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(new CollidingKey(99 - i), i);
+        }
+        // Removing every other entry dissolves the tree bucket part way through
+        Iterator<Map.Entry<CollidingKey, Integer>> it = map.entryIterator();
+        int index = 0;
+        while (it.hasNext()) {
+            Map.Entry<CollidingKey, Integer> entry = it.next();
+            assertEquals(index, entry.getValue());
+            if (index % 2 == 0 || index > 10) {
+                it.remove();
+            }
+            index++;
+        }
+        assertEquals(100, index);
+        assertEquals("{K98=1, K96=3, K94=5, K92=7, K90=9}", map.toString());
+
+        Custom_HashMap<CollidingKey, Integer>.Cursor cursor = map.cursor();
+        List<Integer> values = new ArrayList<>();
+        while (cursor.advance()) {
+            values.add(cursor.value());
+            if (cursor.value() == 3) {
+                cursor.remove();
+            }
+        }
+        assertEquals(List.of(1, 3, 5, 7, 9), values);
+        assertEquals(List.of(1, 5, 7, 9), StreamSupport.stream(map.spliterator(), false)
+                .map(Map.Entry::getValue).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testMatchesJavaLinkedHashMapUnderRandomOperations() {
+        for (boolean accessOrder : new boolean[]{false, true}) {
+            Random random = new Random(accessOrder ? 2 : 1);
+            Custom_LinkedHashMap<Integer, Integer> map = new Custom_LinkedHashMap<>(0, 0.75f, accessOrder);
+            Map<Integer, Integer> expected = new LinkedHashMap<>(16, 0.75f, accessOrder);
+            for (int op = 0; op < 50_000; op++) {
+                Integer key = random.nextInt(300);
+                switch (random.nextInt(4)) {
+                    case 0 -> assertEquals(expected.remove(key), map.remove(key));
+                    case 1 -> assertEquals(expected.get(key), map.get(key));
+                    case 2 -> assertEquals(expected.computeIfAbsent(key, k -> -k), map.computeIfAbsent(key, k -> -k));
+                    default -> {
+                        expected.put(key, op);
+                        map.put(key, op);
+                    }
+                }
+                if (op % 1000 == 0) {
+                    assertEquals(new ArrayList<>(expected.keySet()), keys(map));
+                }
+            }
+            assertEquals(expected.toString(), map.toString());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package Utils_Tests.HashMap_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import DataStructures_Implementations.HashMap_Custom.Custom_MappedHashMap;
+import DataStructures_Implementations.HashMap_Custom.FixedSizeCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+class Custom_MappedHashMapTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testBasicOperations() throws IOException {
+        try (Custom_MappedHashMap<Long, Long> map =
+                     Custom_MappedHashMap.open(dir.resolve("basic.map"), FixedSizeCodec.LONG, FixedSizeCodec.LONG)) {
+            assertTrue(map.isEmpty());
+            map.put(1L, 10L);
+            map.put(2L, 20L);
+            map.put(1L, 11L);
+            assertEquals(2, map.size());
+            assertEquals(11L, map.get(1L));
+            assertNull(map.get(3L));
+            assertTrue(map.containsKey(2L));
+            assertEquals(-1L, map.getOrDefault(3L, -1L));
+            assertEquals(20L, map.remove(2L));
+            assertNull(map.remove(2L));
+            assertEquals("{1=11}", map.toString());
+            assertThrows(NullPointerException.class, () -> map.put(null, 1L));
+            assertThrows(NullPointerException.class, () -> map.put(1L, null));
+            map.clear();
+            assertTrue(map.isEmpty());
+            assertNull(map.get(1L));
+        }
+    }
+
+    @Test
+    void testEntriesSurviveReopenAndResize() throws IOException {
+        Path file = dir.resolve("grow.map");
+        try (Custom_MappedHashMap<Integer, Long> map =
+                     Custom_MappedHashMap.open(file, FixedSizeCodec.INT, FixedSizeCodec.LONG)) {
+            int capacity = map.capacity();
+            for (int i = 0; i < 10_000; i++) {
+                map.put(i, i * 3L);
+            }
+            assertTrue(map.capacity() > capacity);
+        }
+        assertFalse(Files.exists(dir.resolve("grow.map.resize")));
+
+        try (Custom_MappedHashMap<Integer, Long> map =
+                     Custom_MappedHashMap.open(file, FixedSizeCodec.INT, FixedSizeCodec.LONG)) {
+            assertEquals(10_000, map.size());
+            for (int i = 0; i < 10_000; i++) {
+                assertEquals(i * 3L, map.get(i));
+            }
+            long[] sum = {0};
+            map.forEach((k, v) -> sum[0] += v);
+            assertEquals(3L * 9_999 * 10_000 / 2, sum[0]);
+        }
+    }
+
+    @Test
+    void testPresizedMapDoesNotGrow() throws IOException {
+        try (Custom_MappedHashMap<Integer, Integer> map = Custom_MappedHashMap.open(
+                dir.resolve("sized.map"), FixedSizeCodec.INT, FixedSizeCodec.INT, 3000)) {
+            int capacity = map.capacity();
+            for (int i = 0; i < 3000; i++) {
+                map.put(i, i);
+            }
+            assertEquals(capacity, map.capacity());
+        }
+        assertThrows(IllegalArgumentException.class, () -> Custom_MappedHashMap.open(
+                dir.resolve("bad.map"), FixedSizeCodec.INT, FixedSizeCodec.INT, -1));
+    }
+
+    @Test
+    void testByteArrayKeysCompareByContent() throws IOException {
+        try (Custom_MappedHashMap<byte[], Integer> map = Custom_MappedHashMap.open(
+                dir.resolve("bytes.map"), FixedSizeCodec.bytes(12), FixedSizeCodec.INT)) {
+            map.put("abcdefghijkl".getBytes(), 1);
+            assertEquals(1, map.get("abcdefghijkl".getBytes()));
+            assertNull(map.get("abcdefghijkm".getBytes()));
+            assertThrows(IllegalArgumentException.class, () -> map.put(new byte[3], 2));
+            assertEquals(1, map.size());
+        }
+    }
+
+    @Test
+    void testRejectsFilesWithAnotherLayout() throws IOException {
+        Path file = dir.resolve("layout.map");
+        Custom_MappedHashMap.open(file, FixedSizeCodec.LONG, FixedSizeCodec.LONG).close();
+        assertThrows(IOException.class, () -> Custom_MappedHashMap.open(file, FixedSizeCodec.INT, FixedSizeCodec.LONG));
+
+        Path garbage = dir.resolve("garbage.map");
+        Files.write(garbage, new byte[100]);
+        assertThrows(IOException.class, () -> Custom_MappedHashMap.open(garbage, FixedSizeCodec.LONG, FixedSizeCodec.LONG));
+    }
+
+    @Test
+    void testRecountsEntriesAfterUncleanShutdown() throws IOException {
+        Path file = dir.resolve("unclean.map");
+        Custom_MappedHashMap<Integer, Integer> abandoned =
+                Custom_MappedHashMap.open(file, FixedSizeCodec.INT, FixedSizeCodec.INT);
+        for (int i = 0; i < 100; i++) {
+            abandoned.put(i, i);
+        }
+        abandoned.remove(7);
+        // Reopening without closing sees the file through the shared page cache
+        try (Custom_MappedHashMap<Integer, Integer> map =
+                     Custom_MappedHashMap.open(file, FixedSizeCodec.INT, FixedSizeCodec.INT)) {
+            assertEquals(99, map.size());
+            assertNull(map.get(7));
+            assertEquals(42, map.get(42));
+        }
+    }
+
+    @Test
+    void testClosedMapRejectsOperations() throws IOException {
+        Custom_MappedHashMap<Long, Long> map =
+                Custom_MappedHashMap.open(dir.resolve("closed.map"), FixedSizeCodec.LONG, FixedSizeCodec.LONG);
+        map.put(1L, 1L);
+        map.close();
+        map.close();
+        assertThrows(IllegalStateException.class, () -> map.get(1L));
+        assertThrows(IllegalStateException.class, () -> map.put(2L, 2L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testRemovalsAndUpdatesSurviveSuccessiveReopens() throws IOException {
+        Path file = dir.resolve("sessions.map");
+        int capacity;
+        try (Custom_MappedHashMap<Long, Double> map =
+                     Custom_MappedHashMap.open(file, FixedSizeCodec.LONG, FixedSizeCodec.DOUBLE)) {
+            capacity = map.capacity();
+            for (long k = 0; k < 700; k++) {
+                map.put(k, k / 2.0);
+            }
+            // Removals shift later entries of a probe run back into the freed slots
+            for (long k = 0; k < 700; k += 3) {
+                map.remove(k);
+            }
+        }
+
+        try (Custom_MappedHashMap<Long, Double> map =
+                     Custom_MappedHashMap.open(file, FixedSizeCodec.LONG, FixedSizeCodec.DOUBLE)) {
+            assertEquals(capacity, map.capacity());
+            assertEquals(466, map.size());
+            for (long k = 0; k < 700; k++) {
+                assertEquals((k % 3 == 0) ? null : Double.valueOf(k / 2.0), map.get(k));
+            }
+            for (long k = 0; k < 700; k += 3) {
+                map.put(k, -1.0);
+            }
+            for (long k = 1; k < 700; k += 3) {
+                map.remove(k);
+            }
+        }
+
+        try (Custom_MappedHashMap<Long, Double> map =
+                     Custom_MappedHashMap.open(file, FixedSizeCodec.LONG, FixedSizeCodec.DOUBLE)) {
+            assertEquals(capacity, map.capacity());
+            assertEquals(467, map.size());
+            Map<Long, Double> actual = new HashMap<>();
+            map.forEach(actual::put);
+            assertEquals(467, actual.size());
+            for (long k = 0; k < 700; k++) {
+                Double expected = switch ((int) (k % 3)) {
+                    case 0 -> -1.0;
+                    case 1 -> null;
+                    default -> k / 2.0;
+                };
+                assertEquals(expected, actual.get(k));
+                assertEquals(expected, map.get(k));
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package Utils_Tests.HashMap_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import DataStructures_Implementations.HashMap_Custom.Custom_PersistentHashMap;
+import DataStructures_Implementations.HashMap_Custom.ReadOnlyHashMap_CustomInterface;
+import Utils_Tests.HashMap_Custom.__test__.HashMapTestSupport.CollidingKey;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+class Custom_PersistentHashMapTest {
+
+    @Test
+    void testUpdatesReturnNewVersions() {
+        Custom_PersistentHashMap<String, Integer> empty = Custom_PersistentHashMap.empty();
+        Custom_PersistentHashMap<String, Integer> one = empty.put("a", 1);
+        Custom_PersistentHashMap<String, Integer> two = one.put("b", 2);
+        Custom_PersistentHashMap<String, Integer> updated = two.put("a", 10);
+
+        assertTrue(empty.isEmpty());
+        assertEquals(1, one.size());
+        assertEquals(1, one.get("a"));
+        assertNull(one.get("b"));
+        assertEquals(2, two.size());
+        assertEquals(1, two.get("a"));
+        assertEquals(10, updated.get("a"));
+        assertEquals(2, updated.size());
+
+        Custom_PersistentHashMap<String, Integer> removed = updated.remove("a");
+        assertFalse(removed.containsKey("a"));
+        assertEquals(1, removed.size());
+        assertEquals(10, updated.get("a"));
+        assertTrue(updated.remove("b").remove("a").isEmpty());
+    }
+
+    @Test
+    void testUnchangedUpdatesReturnSameInstance() {
+        Integer value = 1000;
+        Custom_PersistentHashMap<String, Integer> map = Custom_PersistentHashMap.<String, Integer>empty()
+                .put("a", value);
+        assertSame(map, map.put("a", value));
+        assertSame(map, map.remove("missing"));
+    }
+
+    @Test
+    void testNullKeysAndValues() {
+        Custom_PersistentHashMap<String, Integer> map = Custom_PersistentHashMap.<String, Integer>empty()
+                .put(null, 1)
+                .put("nullValue", null);
+        assertEquals(1, map.get(null));
+        assertTrue(map.containsKey("nullValue"));
+        assertNull(map.get("nullValue"));
+        assertEquals(7, map.getOrDefault("missing", 7));
+        assertNull(map.getOrDefault("nullValue", 7));
+        assertFalse(map.remove(null).containsKey(null));
+    }
+
+    @Test
+    void testFullHashCollisions() {
+        Custom_PersistentHashMap<CollidingKey, Integer> map = Custom_PersistentHashMap.empty();
+        for (int i = 0; i < 20; i++) {
+            map = map.put(new CollidingKey(i), i);
+        }
+        map = map.put(new CollidingKey(5), 50);
+        assertEquals(20, map.size());
+        assertEquals(50, map.get(new CollidingKey(5)));
+        for (int i = 0; i < 19; i++) {
+            map = map.remove(new CollidingKey(i));
+        }
+        assertEquals(1, map.size());
+        assertEquals(19, map.get(new CollidingKey(19)));
+        assertFalse(map.containsKey(new CollidingKey(0)));
+    }
+
+    @Test
+    void testRemovalCollapsesSubTries() {
+        // Entries stored inline in a node are iterated before its sub-tries, so the order
+        // shows whether a sub-trie left with one entry was pulled back into its parent
+        Custom_PersistentHashMap<Integer, String> base = Custom_PersistentHashMap.<Integer, String>empty()
+                .put(2, "b").put(1, "a");
+        assertEquals("{1=a, 2=b}", base.toString());
+
+        // 33 shares its low five hash bits with 1, so both move into a level-one sub-trie
+        Custom_PersistentHashMap<Integer, String> split = base.put(33, "c");
+        assertEquals("{2=b, 1=a, 33=c}", split.toString());
+        assertEquals("{1=a, 2=b}", split.remove(33).toString());
+
+        // 1 + 2^25 shares 25 bits with 1: the path is five levels deep and collapses at once
+        Custom_PersistentHashMap<Integer, String> deep = base.put(1 + (1 << 25), "d");
+        assertEquals("{2=b, 1=a, 33554433=d}", deep.toString());
+        assertEquals("{1=a, 2=b}", deep.remove(1 + (1 << 25)).toString());
+        assertEquals("{33554433=d, 2=b}", deep.remove(1).toString());
+
+        // A collision node left with one key is pulled up as well
+        Custom_PersistentHashMap<Object, Integer> colliding = Custom_PersistentHashMap.<Object, Integer>empty()
+                .put(50, 50).put(new CollidingKey(0), 0);
+        assertEquals("{K0=0, 50=50}", colliding.toString());
+        Custom_PersistentHashMap<Object, Integer> withCollision = colliding.put(new CollidingKey(1), 1);
+        assertEquals("{50=50, K0=0, K1=1}", withCollision.toString());
+        assertEquals(colliding.toString(), withCollision.remove(new CollidingKey(1)).toString());
+        assertEquals(colliding, withCollision.remove(new CollidingKey(1)));
+    }
+
+    @Test
+    void testVersionsShareStructure() {
+        Custom_PersistentHashMap<Integer, Integer> base = Custom_PersistentHashMap.empty();
+        for (int i = 0; i < 100_000; i++) {
+            base = base.put(i, i);
+        }
+        // Copying the map per update would need billions of slots; sharing needs a path each
+        @SuppressWarnings("unchecked")
+        Custom_PersistentHashMap<Integer, Integer>[] versions = new Custom_PersistentHashMap[20_000];
+        for (int v = 0; v < versions.length; v++) {
+            versions[v] = (v % 2 == 0) ? base.put(v * 5, -v) : base.remove(v * 5);
+        }
+        for (int v = 0; v < versions.length; v++) {
+            Custom_PersistentHashMap<Integer, Integer> version = versions[v];
+            assertEquals((v % 2 == 0) ? 100_000 : 99_999, version.size());
+            assertEquals((v % 2 == 0) ? Integer.valueOf(-v) : null, version.get(v * 5));
+            assertEquals(v * 5 + 1, version.get(v * 5 + 1));
+        }
+        assertEquals(100_000, base.size());
+        assertEquals(10, base.get(10));
+
+        Map<Integer, Integer> visited = new HashMap<>();
+        versions[1].forEach(visited::put);
+        assertEquals(99_999, visited.size());
+        int iterated = 0;
+        for (Iterator<Map.Entry<Integer, Integer>> it = versions[1].entryIterator(); it.hasNext(); it.next()) {
+            iterated++;
+        }
+        assertEquals(99_999, iterated);
+        assertThrows(NoSuchElementException.class, () -> Custom_PersistentHashMap.empty().entryIterator().next());
+    }
+
+    @Test
+    void testEqualityIgnoresInsertionOrder() {
+        Custom_PersistentHashMap<Integer, String> a = Custom_PersistentHashMap.empty();
+        Custom_PersistentHashMap<Integer, String> b = Custom_PersistentHashMap.empty();
+        for (int i = 0; i < 500; i++) {
+            a = a.put(i, "v" + i);
+            b = b.put(499 - i, "v" + (499 - i));
+        }
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, b.put(3, "x"));
+        assertEquals("{1=one}", Custom_PersistentHashMap.<Integer, String>empty().put(1, "one").toString());
+    }
+
+    @Test
+    void testReadersSeeConsistentSnapshots() throws InterruptedException {
+        AtomicReference<Custom_PersistentHashMap<Integer, Integer>> published =
+                new AtomicReference<>(Custom_PersistentHashMap.empty());
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                ReadOnlyHashMap_CustomInterface<Integer, Integer> snapshot = published.get();
+                // The writer always stores version n under every key below n
+                int n = snapshot.size();
+                for (int k = 0; k < n; k++) {
+                    Integer v = snapshot.get(k);
+                    if (v == null || v != n) {
+                        failure.set("version " + n + " has " + k + "=" + v);
+                        return;
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int n = 1; n <= 300; n++) {
+            Custom_PersistentHashMap<Integer, Integer> next = published.get();
+            for (int k = 0; k < n; k++) {
+                next = next.put(k, n);
+            }
+            published.set(next);
+        }
+        done.set(true);
+        reader.join();
+        assertNull(failure.get());
+    }
+}
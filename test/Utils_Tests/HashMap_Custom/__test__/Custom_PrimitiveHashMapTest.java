@@ -0,0 +1,107 @@
+package Utils_Tests.HashMap_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import DataStructures_Implementations.HashMap_Custom.Custom_IntIntHashMap;
+import DataStructures_Implementations.HashMap_Custom.Custom_IntObjectHashMap;
+import DataStructures_Implementations.HashMap_Custom.Custom_LongLongHashMap;
+import DataStructures_Implementations.HashMap_Custom.Custom_LongObjectHashMap;
+
+class Custom_PrimitiveHashMapTest {
+
+    @Test
+    void testIntIntBasicOperations() {
+        Custom_IntIntHashMap map = new Custom_IntIntHashMap(-1);
+        assertEquals(-1, map.get(42));
+
+        map.put(42, 420);
+        map.put(0, 7); // zero key is stored outside the table
+        map.put(-3, 30);
+        assertEquals(420, map.get(42));
+        assertEquals(7, map.get(0));
+        assertEquals(30, map.get(-3));
+        assertEquals(3, map.size());
+
+        map.put(42, 421);
+        assertEquals(421, map.get(42));
+        assertEquals(3, map.size());
+
+        assertEquals(7, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.remove(0));
+        assertEquals(5, map.getOrDefault(0, 5));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testIntIntRemovalKeepsClustersReachable() {
+        Custom_IntIntHashMap map = new Custom_IntIntHashMap();
+        int count = 20000;
+        for (int i = 1; i <= count; i++) {
+            map.put(i * 16, i);
+        }
+        for (int i = 1; i <= count; i += 2) {
+            assertEquals(i, map.remove(i * 16));
+        }
+        assertEquals(count / 2, map.size());
+        for (int i = 1; i <= count; i++) {
+            assertEquals(i % 2 == 0, map.containsKey(i * 16));
+        }
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals("{}", map.toString());
+    }
+
+    @Test
+    void testIntObjectOperations() {
+        Custom_IntObjectHashMap<String> map = new Custom_IntObjectHashMap<>();
+        map.put(1, "one");
+        map.put(0, "zero");
+        map.put(2, null);
+
+        assertEquals("one", map.get(1));
+        assertEquals("zero", map.get(0));
+        assertNull(map.get(2));
+        assertTrue(map.containsKey(2));
+        assertNull(map.get(3));
+        assertEquals("none", map.getOrDefault(3, "none"));
+
+        assertEquals("one", map.remove(1));
+        assertNull(map.remove(1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testLongLongOperations() {
+        Custom_LongLongHashMap map = new Custom_LongLongHashMap();
+        long base = 1L << 40;
+        for (long i = 0; i < 5000; i++) {
+            map.put(base + i, i * 2);
+        }
+        assertEquals(5000, map.size());
+        for (long i = 0; i < 5000; i++) {
+            assertEquals(i * 2, map.get(base + i));
+        }
+        assertEquals(0L, map.get(base - 1));
+        assertEquals(8L, map.remove(base + 4));
+        assertFalse(map.containsKey(base + 4));
+    }
+
+    @Test
+    void testLongObjectOperations() {
+        Custom_LongObjectHashMap<String> map = new Custom_LongObjectHashMap<>();
+        map.put(Long.MIN_VALUE, "min");
+        map.put(Long.MAX_VALUE, "max");
+        map.put(0L, "zero");
+
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertEquals("max", map.get(Long.MAX_VALUE));
+        assertEquals("zero", map.get(0L));
+        assertEquals(3, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(Long.MAX_VALUE));
+    }
+}
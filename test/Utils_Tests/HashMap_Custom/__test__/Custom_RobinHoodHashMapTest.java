@@ -0,0 +1,79 @@
+package Utils_Tests.HashMap_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import DataStructures_Implementations.HashMap_Custom.Custom_RobinHoodHashMap;
+
+class Custom_RobinHoodHashMapTest {
+    private Custom_RobinHoodHashMap<Integer, String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new Custom_RobinHoodHashMap<>();
+    }
+
+    @Test
+    void testPutGetAndUpdate() {
+        map.put(1, "one");
+        map.put(2, "two");
+        assertEquals("one", map.get(1));
+        assertEquals("two", map.get(2));
+        assertEquals(2, map.size());
+
+        map.put(1, "uno");
+        assertEquals("uno", map.get(1));
+        assertEquals(2, map.size());
+        assertNull(map.get(3));
+    }
+
+    @Test
+    void testNullKeyAndValue() {
+        map.put(null, "null-key");
+        map.put(5, null);
+        assertEquals("null-key", map.get(null));
+        assertTrue(map.containsKey(null));
+        assertTrue(map.containsKey(5));
+        assertNull(map.get(5));
+
+        assertEquals("null-key", map.remove(null));
+        assertFalse(map.containsKey(null));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testBackwardShiftDeletion() {
+        // Keys sharing a home slot form a probe cluster that removals must keep intact
+        int count = 2000;
+        for (int i = 0; i < count; i++) {
+            map.put(i * 1024, "v" + i);
+        }
+        for (int i = 0; i < count; i += 2) {
+            assertEquals("v" + i, map.remove(i * 1024));
+        }
+        assertEquals(count / 2, map.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 == 1, map.containsKey(i * 1024));
+        }
+        assertNull(map.remove(0));
+    }
+
+    @Test
+    void testLargeDataSetAndClear() {
+        for (int i = -5000; i < 5000; i++) {
+            map.put(i, "v" + i);
+        }
+        assertEquals(10000, map.size());
+        for (int i = -5000; i < 5000; i++) {
+            assertEquals("v" + i, map.get(i));
+        }
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals("{}", map.toString());
+        assertNull(map.get(10));
+
+        map.put(10, "ten");
+        assertEquals("{10=ten}", map.toString());
+    }
+}
@@ -0,0 +1,189 @@
+package Utils_Tests.HashMap_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import DataStructures_Implementations.HashMap_Custom.Custom_SwissHashMap;
+import Utils_Tests.HashMap_Custom.__test__.HashMapTestSupport.CollidingKey;
+
+class Custom_SwissHashMapTest {
+
+    /**
+     * Key placed by its hash: the map mixes {@code hashCode()} with the MurmurHash3
+     * finalizer, so the key's hash code is that finalizer inverted. The low seven bits of
+     * the mixed hash are the tag and the bits above choose the first group. Lookups call
+     * {@code equals} on the key they search for, which {@link #comparisons} counts.
+     */
+    private static final class PlacedKey {
+        private final String name;
+        private final int hashCode;
+        private int comparisons;
+
+        PlacedKey(String name, int group, int tag) {
+            this.name = name;
+            this.hashCode = unmix(group << 7 | tag);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            comparisons++;
+            return o instanceof PlacedKey && ((PlacedKey) o).name.equals(name);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static int inverse(int odd) {
+        int inverse = odd;
+        for (int i = 0; i < 4; i++) {
+            inverse *= 2 - odd * inverse;
+        }
+        return inverse;
+    }
+
+    /** Inverts the map's hash mixing step by step. */
+    private static int unmix(int h) {
+        h ^= h >>> 16;
+        h *= inverse(0xC2B2AE35);
+        h ^= (h >>> 13) ^ (h >>> 26);
+        h *= inverse(0x85EBCA6B);
+        return h ^ (h >>> 16);
+    }
+
+    @Test
+    void testMatchTagFalsePositiveOnlyCostsAnEqualsCall() {
+        // The default table has two groups; both keys land in group 0, in slots 0 and 1
+        Custom_SwissHashMap<PlacedKey, Integer> swiss = new Custom_SwissHashMap<>();
+        swiss.put(new PlacedKey("a", 0, 0x24), 1);
+        swiss.put(new PlacedKey("b", 0, 0x25), 2);
+
+        // Tag 0x24 matches slot 0; the subtraction's borrow also flags slot 1, one tag higher
+        PlacedKey missWithLowerTag = new PlacedKey("x", 0, 0x24);
+        assertNull(swiss.get(missWithLowerTag));
+        assertEquals(2, missWithLowerTag.comparisons);
+
+        // No borrow reaches slot 0 from above, so tag 0x25 is compared once
+        PlacedKey missWithHigherTag = new PlacedKey("y", 0, 0x25);
+        assertNull(swiss.get(missWithHigherTag));
+        assertEquals(1, missWithHigherTag.comparisons);
+
+        // A false positive must never hide the real match
+        assertEquals(1, swiss.get(new PlacedKey("a", 0, 0x24)));
+        assertEquals(2, swiss.get(new PlacedKey("b", 0, 0x25)));
+        PlacedKey otherTag = new PlacedKey("z", 0, 0x60);
+        assertNull(swiss.get(otherTag));
+        assertEquals(0, otherTag.comparisons);
+    }
+
+    @Test
+    void testRemovalFromFullGroupLeavesTombstone() {
+        Custom_SwissHashMap<PlacedKey, Integer> swiss = new Custom_SwissHashMap<>();
+        for (int i = 0; i < 8; i++) {
+            swiss.put(new PlacedKey("g" + i, 0, i), i);
+        }
+        swiss.put(new PlacedKey("next", 1, 0x64), 100);
+        assertEquals(3, swiss.remove(new PlacedKey("g3", 0, 3)));
+
+        // Group 0 has no EMPTY slot, so a miss probes on into group 1 and meets the same tag
+        PlacedKey miss = new PlacedKey("x", 0, 0x64);
+        assertFalse(swiss.containsKey(miss));
+        assertEquals(1, miss.comparisons);
+        assertEquals(100, swiss.get(new PlacedKey("next", 1, 0x64)));
+
+        // The tombstone is the first free slot on group 0's probe sequence, so it is reused
+        swiss.put(new PlacedKey("new", 0, 0x30), 30);
+        assertEquals("{g0=0, g1=1, g2=2, new=30, g4=4, g5=5, g6=6, g7=7, next=100}", swiss.toString());
+    }
+
+    @Test
+    void testRemovalFromGroupWithFreeSlotRestoresEmpty() {
+        // Group 0 keys move to group 2 once the table doubles; group 1 keys stay put
+        Custom_SwissHashMap<PlacedKey, Integer> swiss = new Custom_SwissHashMap<>();
+        for (int i = 0; i < 7; i++) {
+            swiss.put(new PlacedKey("a" + i, 2, i), i);
+            swiss.put(new PlacedKey("b" + i, 1, i), i);
+        }
+        // Fourteen of sixteen slots are used: no EMPTY slot may be filled without a rebuild
+        assertEquals(0, swiss.remove(new PlacedKey("a0", 2, 0)));
+
+        // An EMPTY slot gives back its growth, so group 1 can take its last slot in place
+        swiss.put(new PlacedKey("b7", 1, 7), 7);
+        assertEquals("{a1=1, a2=2, a3=3, a4=4, a5=5, a6=6, b0=0, b1=1, b2=2, b3=3, b4=4, b5=5, b6=6, b7=7}",
+                swiss.toString());
+
+        // The next EMPTY slot filled does force the rebuild, which reorders the groups
+        swiss.put(new PlacedKey("a7", 2, 7), 7);
+        assertEquals("{b0=0, b1=1, b2=2, b3=3, b4=4, b5=5, b6=6, b7=7, a1=1, a2=2, a3=3, a4=4, a5=5, a6=6, a7=7}",
+                swiss.toString());
+    }
+
+    @Test
+    void testNullKeySurvivesRebuilds() {
+        Custom_SwissHashMap<Integer, Integer> swiss = new Custom_SwissHashMap<>();
+        swiss.put(null, -1);
+        for (int i = 0; i < 1000; i++) {
+            swiss.put(i, i);
+        }
+        assertEquals(-1, swiss.get(null));
+        assertEquals(1001, swiss.size());
+        assertEquals(-1, swiss.remove(null));
+        assertFalse(swiss.containsKey(null));
+        assertNull(swiss.remove(null));
+        assertEquals(1000, swiss.size());
+    }
+
+    @Test
+    void testFillsTableAndRejectsMisses() {
+        Custom_SwissHashMap<Integer, Integer> swiss = new Custom_SwissHashMap<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            swiss.put(i, i);
+        }
+        assertEquals(1_000_000, swiss.size());
+        for (int i = 0; i < 1_000_000; i++) {
+            assertEquals(i, swiss.get(i));
+            assertFalse(swiss.containsKey(-1 - i));
+        }
+    }
+
+    @Test
+    void testChurnReusesTombstones() {
+        Custom_SwissHashMap<Integer, Integer> swiss = new Custom_SwissHashMap<>();
+        // A sliding window of live keys leaves a trail of tombstones behind it
+        for (int i = 0; i < 500_000; i++) {
+            swiss.put(i, i);
+            if (i >= 10) {
+                assertEquals(i - 10, swiss.remove(i - 10));
+            }
+        }
+        assertEquals(10, swiss.size());
+        for (int i = 500_000 - 10; i < 500_000; i++) {
+            assertEquals(i, swiss.get(i));
+        }
+        assertNull(swiss.get(0));
+    }
+
+    @Test
+    void testKeysWithEqualHashCodes() {
+        Custom_SwissHashMap<CollidingKey, Integer> swiss = new Custom_SwissHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            swiss.put(new CollidingKey(i), i);
+        }
+        assertEquals(100, swiss.size());
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(i, swiss.remove(new CollidingKey(i)));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals((i % 2 == 0) ? null : Integer.valueOf(i), swiss.get(new CollidingKey(i)));
+        }
+        swiss.put(new CollidingKey(0), -1);
+        assertEquals(-1, swiss.get(new CollidingKey(0)));
+        assertEquals(51, swiss.size());
+    }
+}
@@ -0,0 +1,149 @@
+package Utils_Tests.HashMap_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+import DataStructures_Implementations.HashMap_Custom.FixedSizeCodec;
+import DataStructures_Implementations.HashMap_Custom.HashMapSnapshot;
+import DataStructures_Implementations.HashMap_Custom.SnapshotCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+class HashMapSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private static <K, V> Map<K, V> contents(Custom_HashMap<K, V> map) {
+        Map<K, V> result = new HashMap<>();
+        map.forEach(result::put);
+        return result;
+    }
+
+    @Test
+    void testRoundTripWithNullsAndUnicode() throws IOException {
+        Custom_HashMap<String, String> map = new Custom_HashMap<>();
+        map.put("plain", "value");
+        map.put(null, "null key");
+        map.put("null value", null);
+        map.put("été", "漢字 😀");
+        map.put("lone \uD800 surrogate", "");
+        Path file = dir.resolve("strings.snap");
+        HashMapSnapshot.write(map, file, SnapshotCodec.STRING, SnapshotCodec.STRING);
+
+        Custom_HashMap<String, String> restored = HashMapSnapshot.restore(file, SnapshotCodec.STRING, SnapshotCodec.STRING);
+        assertEquals(5, restored.size());
+        assertEquals("null key", restored.get(null));
+        assertTrue(restored.containsKey("null value"));
+        assertNull(restored.get("null value"));
+        assertEquals("漢字 😀", restored.get("été"));
+        assertEquals("", restored.get("lone ? surrogate"));
+        assertFalse(Files.exists(dir.resolve("strings.snap.tmp")));
+    }
+
+    @Test
+    void testRestorePresizesTableAndKeepsLoadFactor() throws IOException {
+        Custom_HashMap<Long, Long> map = new Custom_HashMap<>(0, 0.5f);
+        for (long i = 0; i < 100_000; i++) {
+            map.put(i, i * i);
+        }
+        Path file = dir.resolve("longs.snap");
+        HashMapSnapshot.write(map, file, SnapshotCodec.LONG, SnapshotCodec.LONG);
+
+        Custom_HashMap<Long, Long> restored = HashMapSnapshot.restore(file, SnapshotCodec.LONG, SnapshotCodec.LONG);
+        assertEquals(0.5f, restored.loadFactor());
+        assertEquals(new Custom_HashMap<Long, Long>(100_000, 0.5f).capacity(), restored.capacity());
+        assertEquals(contents(map), contents(restored));
+        // Header, one 21-byte record per entry and the checksum
+        assertEquals(20 + 100_000 * 21 + 8, Files.size(file));
+    }
+
+    @Test
+    void testEmptyMapAndRecordsLargerThanTheBuffer() throws IOException {
+        Path file = dir.resolve("edge.snap");
+        HashMapSnapshot.write(new Custom_HashMap<>(), file, SnapshotCodec.INT, SnapshotCodec.STRING);
+        assertTrue(HashMapSnapshot.restore(file, SnapshotCodec.INT, SnapshotCodec.STRING).isEmpty());
+
+        Custom_HashMap<Integer, String> map = new Custom_HashMap<>();
+        String big = "x".repeat(3 << 20);
+        for (int i = 0; i < 5; i++) {
+            map.put(i, (i == 2) ? big : "small" + i);
+        }
+        HashMapSnapshot.write(map, file, SnapshotCodec.INT, SnapshotCodec.STRING);
+        assertEquals(contents(map), contents(HashMapSnapshot.restore(file, SnapshotCodec.INT, SnapshotCodec.STRING)));
+    }
+
+    @Test
+    void testFixedSizeCodecAdapter() throws IOException {
+        Custom_HashMap<byte[], Double> map = new Custom_HashMap<>();
+        map.put(new byte[]{1, 2, 3}, 1.5);
+        Path file = dir.resolve("fixed.snap");
+        HashMapSnapshot.write(map, file, SnapshotCodec.fixed(FixedSizeCodec.bytes(3)),
+                SnapshotCodec.fixed(FixedSizeCodec.DOUBLE));
+        Custom_HashMap<byte[], Double> restored = HashMapSnapshot.restore(file,
+                SnapshotCodec.fixed(FixedSizeCodec.bytes(3)), SnapshotCodec.fixed(FixedSizeCodec.DOUBLE));
+        restored.forEach((k, v) -> {
+            assertArrayEquals(new byte[]{1, 2, 3}, k);
+            assertEquals(1.5, v);
+        });
+        assertEquals(1, restored.size());
+    }
+
+    @Test
+    void testDetectsCorruptAndTruncatedFiles() throws IOException {
+        Custom_HashMap<Integer, String> map = new Custom_HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value" + i);
+        }
+        Path file = dir.resolve("corrupt.snap");
+        HashMapSnapshot.write(map, file, SnapshotCodec.INT, SnapshotCodec.STRING);
+        byte[] bytes = Files.readAllBytes(file);
+
+        byte[] flipped = bytes.clone();
+        flipped[bytes.length / 2] ^= 0x10;
+        Files.write(file, flipped);
+        assertThrows(IOException.class, () -> HashMapSnapshot.restore(file, SnapshotCodec.INT, SnapshotCodec.STRING));
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 30));
+        assertThrows(IOException.class, () -> HashMapSnapshot.restore(file, SnapshotCodec.INT, SnapshotCodec.STRING));
+
+        Files.write(file, new byte[64]);
+        assertThrows(IOException.class, () -> HashMapSnapshot.restore(file, SnapshotCodec.INT, SnapshotCodec.STRING));
+    }
+
+    @Test
+    void testFailedWriteKeepsPreviousSnapshot() throws IOException {
+        Custom_HashMap<Integer, Integer> map = new Custom_HashMap<>();
+        map.put(1, 1);
+        Path file = dir.resolve("keep.snap");
+        HashMapSnapshot.write(map, file, SnapshotCodec.INT, SnapshotCodec.INT);
+
+        SnapshotCodec<Integer> lying = new SnapshotCodec<>() {
+            @Override
+            public int encodedSize(Integer value) {
+                return 2;
+            }
+
+            @Override
+            public void encode(Integer value, ByteBuffer buffer) {
+                buffer.putInt(value);
+            }
+
+            @Override
+            public Integer decode(ByteBuffer buffer) {
+                return buffer.getInt();
+            }
+        };
+        map.put(2, 2);
+        assertThrows(IllegalStateException.class, () -> HashMapSnapshot.write(map, file, SnapshotCodec.INT, lying));
+        assertEquals(Map.of(1, 1), contents(HashMapSnapshot.restore(file, SnapshotCodec.INT, SnapshotCodec.INT)));
+        assertFalse(Files.exists(dir.resolve("keep.snap.tmp")));
+    }
+}
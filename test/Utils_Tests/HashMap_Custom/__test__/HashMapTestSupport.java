@@ -0,0 +1,39 @@
+package Utils_Tests.HashMap_Custom.__test__;
+
+/**
+ * Fixtures shared by the hash map tests.
+ */
+final class HashMapTestSupport {
+
+    private HashMapTestSupport() {
+    }
+
+    /** Key whose hash code is fixed so that every instance collides with every other. */
+    static final class CollidingKey implements Comparable<CollidingKey> {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int compareTo(CollidingKey other) {
+            return Integer.compare(id, other.id);
+        }
+
+        @Override
+        public String toString() {
+            return "K" + id;
+        }
+    }
+}
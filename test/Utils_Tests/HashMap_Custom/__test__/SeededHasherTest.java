@@ -0,0 +1,99 @@
+package Utils_Tests.HashMap_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+import DataStructures_Implementations.HashMap_Custom.SeededHasher;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+class SeededHasherTest {
+    private static final long K0 = 0x0706050403020100L;
+    private static final long K1 = 0x0f0e0d0c0b0a0908L;
+
+    /** Returns the 2^bits distinct strings made of "Aa"/"BB" blocks, which share one hashCode. */
+    private static String[] collidingStrings(int bits) {
+        String[] result = new String[1 << bits];
+        for (int i = 0; i < result.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int b = 0; b < bits; b++) {
+                sb.append(((i >>> b) & 1) == 0 ? "Aa" : "BB");
+            }
+            result[i] = sb.toString();
+        }
+        return result;
+    }
+
+    @Test
+    void testMatchesSipHash13ReferenceValues() {
+        SeededHasher hasher = new SeededHasher(K0, K1);
+        byte[] bytes = new byte[15];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        assertEquals(-6076480319675972388L, hasher.hashBytes(bytes, 0, 0));
+        assertEquals(3931806377309739662L, hasher.hashBytes(bytes, 0, 8));
+        assertEquals(-3233346569078990506L, hasher.hashBytes(bytes, 0, 15));
+        assertEquals(-5813364995673739270L, hasher.hashChars("hello world!"));
+    }
+
+    @Test
+    void testStringsHashAsTheirUtf16Bytes() {
+        SeededHasher hasher = new SeededHasher(K0, K1);
+        for (String s : new String[]{"", "a", "abc", "abcd", "abcde", "naïve ☃ text"}) {
+            byte[] utf16 = s.getBytes(StandardCharsets.UTF_16LE);
+            assertEquals(hasher.hashBytes(utf16, 0, utf16.length), hasher.hashChars(s));
+        }
+        assertEquals(hasher.hash("abc"), hasher.hash(new String("abc")));
+        assertEquals(0, hasher.hash(null));
+    }
+
+    @Test
+    void testSeedChangesHashes() {
+        SeededHasher a = new SeededHasher(K0, K1);
+        SeededHasher b = new SeededHasher(K0, K1 + 1);
+        assertEquals(a.hash("key"), new SeededHasher(K0, K1).hash("key"));
+        assertNotEquals(a.hash("key"), b.hash("key"));
+        assertNotEquals(a.hash(42), b.hash(42));
+        assertNotEquals(new SeededHasher().hashChars("key"), new SeededHasher().hashChars("key"));
+    }
+
+    @Test
+    void testSpreadsKeysWithCollidingHashCodes() {
+        String[] keys = collidingStrings(12);
+        assertEquals(1, Arrays.stream(keys).mapToInt(String::hashCode).distinct().count());
+
+        SeededHasher hasher = new SeededHasher();
+        Set<Integer> buckets = new HashSet<>();
+        for (String key : keys) {
+            buckets.add(hasher.hash(key) & 1023);
+        }
+        assertTrue(buckets.size() > 900, "buckets used: " + buckets.size());
+
+        Custom_HashMap<String, Integer> map = new Custom_HashMap<>(hasher);
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        assertEquals(keys.length, map.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, map.get(keys[i]));
+        }
+        map.put(null, -1);
+        assertEquals(-1, map.get(null));
+        assertEquals(0, map.remove(keys[0]));
+        assertFalse(map.containsKey(keys[0]));
+    }
+
+    @Test
+    void testArrayKeysKeepIdentitySemantics() {
+        Custom_HashMap<byte[], Integer> map = new Custom_HashMap<>(new SeededHasher());
+        byte[] key = {1, 2, 3};
+        map.put(key, 1);
+        key[0] = 9;
+        assertEquals(1, map.get(key));
+        assertNull(map.get(new byte[]{9, 2, 3}));
+    }
+}
@@ -4,6 +4,19 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import DataStructures_Implementations.HashMap_Custom.Custom_HashMap;
+import DataStructures_Implementations.HashMap_Custom.HashTableStats;
+import Utils_Tests.HashMap_Custom.__test__.HashMapTestSupport.CollidingKey;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.StreamSupport;
 
 class TestMain {
     private Custom_HashMap<String, Integer> map;
@@ -366,4 +379,625 @@ class TestMain {
         assertFalse(map.containsKey(" ")); // Space is different from empty
         assertEquals(4, map.size());
     }
-}
\ No newline at end of file
+
+    /** Colliding key without a natural ordering, forcing the tree to search both subtrees. */
+    private static class UnorderedKey {
+        private final int id;
+
+        UnorderedKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof UnorderedKey && ((UnorderedKey) o).id == id;
+        }
+    }
+
+    @Test
+    void testTreeifiedBucketOperations() {
+        Custom_HashMap<CollidingKey, Integer> treeMap = new Custom_HashMap<>();
+        int count = 200;
+
+        for (int i = 0; i < count; i++) {
+            treeMap.put(new CollidingKey(i), i);
+        }
+        assertEquals(count, treeMap.size());
+
+        // Update inside the tree bucket
+        treeMap.put(new CollidingKey(10), -10);
+        assertEquals(count, treeMap.size());
+        assertEquals(-10, treeMap.get(new CollidingKey(10)));
+
+        for (int i = 0; i < count; i++) {
+            assertTrue(treeMap.containsKey(new CollidingKey(i)));
+        }
+        assertFalse(treeMap.containsKey(new CollidingKey(count)));
+
+        // Shrink the bucket back below the untreeify threshold
+        for (int i = 0; i < count - 3; i++) {
+            assertNotNull(treeMap.remove(new CollidingKey(i)));
+        }
+        assertEquals(3, treeMap.size());
+        assertNull(treeMap.remove(new CollidingKey(0)));
+        for (int i = count - 3; i < count; i++) {
+            assertEquals(i, treeMap.get(new CollidingKey(i)));
+        }
+        assertTrue(treeMap.toString().contains("K" + (count - 1) + "=" + (count - 1)));
+    }
+
+    @Test
+    void testTreeifiedBucketWithUnorderedKeys() {
+        Custom_HashMap<UnorderedKey, Integer> treeMap = new Custom_HashMap<>();
+        int count = 100;
+
+        for (int i = 0; i < count; i++) {
+            treeMap.put(new UnorderedKey(i), i);
+        }
+        treeMap.put(null, -1);
+        assertEquals(count + 1, treeMap.size());
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, treeMap.get(new UnorderedKey(i)));
+        }
+        assertEquals(-1, treeMap.get(null));
+
+        for (int i = 0; i < count; i += 2) {
+            assertEquals(i, treeMap.remove(new UnorderedKey(i)));
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 == 1, treeMap.containsKey(new UnorderedKey(i)));
+        }
+        assertEquals(count / 2 + 1, treeMap.size());
+    }
+
+    @Test
+    void testIncrementalResize() {
+        Custom_HashMap<Integer, String> incremental = new Custom_HashMap<>(true);
+        int count = 5000;
+
+        for (int i = 0; i < count; i++) {
+            incremental.put(i, "value" + i);
+            // Lookups made while a resize is in progress must see old and new buckets
+            assertEquals("value" + (i / 2), incremental.get(i / 2));
+        }
+        assertEquals(count, incremental.size());
+
+        for (int i = 0; i < count; i += 3) {
+            assertEquals("value" + i, incremental.remove(i));
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 3 != 0, incremental.containsKey(i));
+        }
+
+        incremental.put(-1, "negative");
+        assertTrue(incremental.toString().contains("-1=negative"));
+        incremental.clear();
+        assertTrue(incremental.isEmpty());
+        assertNull(incremental.get(1));
+    }
+
+    @Test
+    void testIncrementalShrinkMigratesOverLaterOperations() {
+        Custom_HashMap<Integer, String> incremental = new Custom_HashMap<>(true);
+        for (int i = 0; i < 4096; i++) {
+            incremental.put(i, "value" + i);
+        }
+        incremental.forEach((k, v) -> { }); // finishes the last growth
+        assertEquals(8192, incremental.capacity());
+        incremental.recordStats(true);
+
+        // The removal leaving 1433 entries, under a quarter of the load factor, starts the shrink
+        for (int i = 4095; i >= 1433; i--) {
+            assertEquals("value" + i, incremental.remove(i));
+        }
+        assertEquals(4096, incremental.capacity());
+        assertEquals(1, incremental.stats().resizeCount());
+
+        // Each operation migrates its key's old bucket plus at most four more, so the
+        // 8192-bucket old table outlives the first 8191 / 5 operations
+        int operations = 0;
+        for (; operations < 8191 / 5; operations++) {
+            int key = operations % 1433;
+            assertEquals("value" + key, incremental.get(key));
+        }
+        assertEquals(4096 + 8192, Arrays.stream(incremental.stats().chainLengthHistogram()).sum());
+        for (; operations < 8192 / 4; operations++) {
+            assertFalse(incremental.containsKey(-1 - operations));
+        }
+        assertEquals(4096, Arrays.stream(incremental.stats().chainLengthHistogram()).sum());
+        assertEquals(1433, incremental.size());
+        for (int i = 0; i < 1433; i++) {
+            assertEquals("value" + i, incremental.get(i));
+        }
+    }
+
+    @Test
+    void testGetOrDefaultAndPutIfAbsent() {
+        assertEquals(-1, map.getOrDefault("missing", -1));
+        map.put("nullValue", null);
+        assertNull(map.getOrDefault("nullValue", -1)); // present, mapped to null
+
+        assertNull(map.putIfAbsent("a", 1));
+        assertEquals(1, map.putIfAbsent("a", 2));
+        assertEquals(1, map.get("a"));
+        assertNull(map.putIfAbsent("nullValue", 3)); // null value counts as absent
+        assertEquals(3, map.get("nullValue"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testComputeOperations() {
+        assertEquals(5, map.computeIfAbsent("five", String::length) + 1);
+        assertEquals(4, map.computeIfAbsent("five", k -> 100));
+        assertNull(map.computeIfAbsent("none", k -> null));
+        assertFalse(map.containsKey("none"));
+
+        assertEquals(40, map.computeIfPresent("five", (k, v) -> v * 10));
+        assertNull(map.computeIfPresent("missing", (k, v) -> 1));
+        assertNull(map.computeIfPresent("five", (k, v) -> null));
+        assertFalse(map.containsKey("five"));
+
+        assertEquals(1, map.compute("c", (k, v) -> v == null ? 1 : v + 1));
+        assertEquals(2, map.compute("c", (k, v) -> v == null ? 1 : v + 1));
+        assertNull(map.compute("c", (k, v) -> null));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testMergeCountsOccurrences() {
+        String[] words = {"a", "b", "a", "c", "a", "b"};
+        for (String word : words) {
+            map.merge(word, 1, Integer::sum);
+        }
+        assertEquals(3, map.get("a"));
+        assertEquals(2, map.get("b"));
+        assertEquals(1, map.get("c"));
+
+        assertNull(map.merge("c", 1, (oldValue, value) -> null));
+        assertFalse(map.containsKey("c"));
+        assertThrows(NullPointerException.class, () -> map.merge("a", null, Integer::sum));
+    }
+
+    @Test
+    void testComputeOnTreeifiedBucket() {
+        Custom_HashMap<CollidingKey, Integer> treeMap = new Custom_HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            treeMap.merge(new CollidingKey(i % 50), 1, Integer::sum);
+        }
+        assertEquals(50, treeMap.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(2, treeMap.get(new CollidingKey(i)));
+        }
+        for (int i = 0; i < 45; i++) {
+            assertNull(treeMap.compute(new CollidingKey(i), (k, v) -> null));
+        }
+        assertEquals(5, treeMap.size());
+        assertEquals(7, treeMap.computeIfAbsent(new CollidingKey(7), k -> 7));
+        assertEquals(6, treeMap.size());
+    }
+
+    @Test
+    void testForEachVisitsEveryEntry() {
+        for (int i = 0; i < 100; i++) {
+            intMap.put(i, "v" + i);
+        }
+        int[] sum = {0};
+        intMap.forEach((k, v) -> {
+            assertEquals("v" + k, v);
+            sum[0] += k;
+        });
+        assertEquals(4950, sum[0]);
+        assertThrows(ConcurrentModificationException.class, () -> intMap.forEach((k, v) -> intMap.put(k + 1000, v)));
+    }
+
+    @Test
+    void testIteratorsAndRemove() {
+        for (int i = 0; i < 50; i++) {
+            intMap.put(i, "v" + i);
+        }
+        Set<Integer> keys = new HashSet<>();
+        for (Iterator<Integer> it = intMap.keyIterator(); it.hasNext(); ) {
+            keys.add(it.next());
+        }
+        assertEquals(50, keys.size());
+
+        int values = 0;
+        for (Iterator<String> it = intMap.valueIterator(); it.hasNext(); it.next()) {
+            values++;
+        }
+        assertEquals(50, values);
+
+        for (Iterator<Map.Entry<Integer, String>> it = intMap.entryIterator(); it.hasNext(); ) {
+            Map.Entry<Integer, String> e = it.next();
+            if (e.getKey() % 2 == 0) {
+                it.remove();
+            } else {
+                e.setValue("odd");
+            }
+        }
+        assertEquals(25, intMap.size());
+        assertEquals("odd", intMap.get(1));
+        assertNull(intMap.get(2));
+
+        Iterator<Integer> it = intMap.keyIterator();
+        assertThrows(IllegalStateException.class, it::remove);
+        it.next();
+        intMap.put(500, "x");
+        assertThrows(ConcurrentModificationException.class, it::next);
+        Iterator<Integer> empty = new Custom_HashMap<Integer, String>().keyIterator();
+        assertThrows(NoSuchElementException.class, empty::next);
+    }
+
+    @Test
+    void testIteratorRemoveOnTreeifiedBucket() {
+        Custom_HashMap<CollidingKey, Integer> treeMap = new Custom_HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            treeMap.put(new CollidingKey(i), i);
+        }
+        int seen = 0;
+        for (Iterator<CollidingKey> it = treeMap.keyIterator(); it.hasNext(); ) {
+            it.next();
+            it.remove();
+            seen++;
+        }
+        assertEquals(100, seen);
+        assertTrue(treeMap.isEmpty());
+    }
+
+    @Test
+    void testCursorIsReusable() {
+        for (int i = 0; i < 20; i++) {
+            intMap.put(i, "v" + i);
+        }
+        Custom_HashMap<Integer, String>.Cursor cursor = intMap.cursor();
+        assertThrows(IllegalStateException.class, cursor::key);
+        int count = 0;
+        while (cursor.advance()) {
+            assertEquals("v" + cursor.key(), cursor.value());
+            if (cursor.key() >= 10) {
+                cursor.remove();
+            } else {
+                cursor.setValue("w");
+            }
+            count++;
+        }
+        assertEquals(20, count);
+        assertEquals(10, intMap.size());
+
+        cursor.reset();
+        count = 0;
+        while (cursor.advance()) {
+            assertEquals("w", cursor.value());
+            count++;
+        }
+        assertEquals(10, count);
+
+        cursor.reset();
+        intMap.remove(0);
+        assertThrows(ConcurrentModificationException.class, cursor::advance);
+    }
+
+    @Test
+    void testComputeDetectsModificationByFunction() {
+        assertThrows(ConcurrentModificationException.class,
+                () -> map.computeIfAbsent("a", k -> {
+                    map.put("b", 2);
+                    return 1;
+                }));
+    }
+
+    @Test
+    void testParallelBulkOperations() {
+        Custom_HashMap<Integer, Integer> big = new Custom_HashMap<>();
+        for (int i = 1; i <= 10_000; i++) {
+            big.put(i, i);
+        }
+        LongAdder sum = new LongAdder();
+        big.forEach(100, (k, v) -> sum.add(v));
+        assertEquals(50_005_000L, sum.sum());
+
+        assertEquals(50_005_000L, big.reduce(100, (k, v) -> (long) v, Long::sum));
+        assertEquals(50_005_000L, big.reduce(Long.MAX_VALUE, (k, v) -> (long) v, Long::sum));
+        assertEquals(5_000, big.reduce(1, (k, v) -> k % 2 == 0 ? 1 : null, Integer::sum));
+        assertNull(new Custom_HashMap<Integer, Integer>().reduce(1, (k, v) -> v, Integer::sum));
+
+        Integer found = big.search(100, (k, v) -> k == 4242 ? v : null);
+        assertEquals(4242, found);
+        assertNull(big.search(100, (k, v) -> k > 10_000 ? v : null));
+    }
+
+    @Test
+    void testSpliteratorStreams() {
+        Custom_HashMap<Integer, Integer> big = new Custom_HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            big.put(i, i * 2);
+        }
+        Spliterator<Map.Entry<Integer, Integer>> split = big.spliterator();
+        assertEquals(5_000, split.estimateSize());
+        assertTrue(split.hasCharacteristics(Spliterator.SIZED));
+        Spliterator<Map.Entry<Integer, Integer>> prefix = split.trySplit();
+        assertNotNull(prefix);
+        long[] count = {0};
+        prefix.forEachRemaining(e -> count[0]++);
+        split.forEachRemaining(e -> count[0]++);
+        assertEquals(5_000, count[0]);
+
+        long total = StreamSupport.stream(big.spliterator(), true).mapToLong(Map.Entry::getValue).sum();
+        assertEquals(24_995_000L, total);
+        assertEquals(5_000, StreamSupport.stream(big.spliterator(), true).map(Map.Entry::getKey).distinct().count());
+
+        Spliterator<Map.Entry<Integer, Integer>> stale = big.spliterator();
+        big.put(-1, 0);
+        assertThrows(ConcurrentModificationException.class, () -> stale.forEachRemaining(e -> { }));
+    }
+
+    @Test
+    void testHashCodeComputedOncePerKey() {
+        int[] hashCodeCalls = {0};
+        class CountingKey {
+            final int id;
+
+            CountingKey(int id) {
+                this.id = id;
+            }
+
+            @Override
+            public int hashCode() {
+                hashCodeCalls[0]++;
+                return id;
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                return o instanceof CountingKey && ((CountingKey) o).id == id;
+            }
+        }
+        Custom_HashMap<CountingKey, Integer> keys = new Custom_HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            keys.put(new CountingKey(i), i);
+        }
+        // Resizing reuses the cached hashes
+        assertEquals(1000, hashCodeCalls[0]);
+        assertEquals(500, keys.get(new CountingKey(500)));
+        assertEquals(1001, hashCodeCalls[0]);
+    }
+
+    @Test
+    void testKeysDifferingOnlyInHighBits() {
+        Custom_HashMap<Integer, Integer> highBits = new Custom_HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            highBits.put(i << 16, i);
+        }
+        highBits.put(Integer.MIN_VALUE, -1);
+        assertEquals(1001, highBits.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, highBits.get(i << 16));
+            assertEquals(i, highBits.remove(i << 16));
+        }
+        assertEquals(-1, highBits.get(Integer.MIN_VALUE));
+        assertEquals(1, highBits.size());
+    }
+
+    @Test
+    void testPresizedConstructor() {
+        Custom_HashMap<Integer, Integer> sized = new Custom_HashMap<>(1000, 0.75f);
+        assertEquals(2048, sized.capacity());
+        for (int i = 0; i < 1000; i++) {
+            sized.put(i, i);
+        }
+        assertEquals(2048, sized.capacity());
+        assertEquals(1, new Custom_HashMap<>(0, 0.75f).capacity());
+        assertEquals(8, new Custom_HashMap<>(12, 2.0f).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new Custom_HashMap<>(-1, 0.75f));
+        assertThrows(IllegalArgumentException.class, () -> new Custom_HashMap<>(10, 0f));
+        assertThrows(IllegalArgumentException.class, () -> new Custom_HashMap<>(10, Float.NaN));
+    }
+
+    @Test
+    void testShrinksAfterMassRemovalWithHysteresis() {
+        for (int i = 0; i < 10_000; i++) {
+            intMap.put(i, "v" + i);
+        }
+        assertEquals(16384, intMap.capacity());
+        for (int i = 0; i < 9_900; i++) {
+            intMap.remove(i);
+        }
+        assertEquals(100, intMap.size());
+        int capacity = intMap.capacity();
+        assertTrue(capacity < 1024 && capacity >= 16, "capacity " + capacity);
+        for (int i = 9_900; i < 10_000; i++) {
+            assertEquals("v" + i, intMap.get(i));
+        }
+
+        // Hovering around either threshold never resizes back and forth
+        for (int round = 0; round < 100; round++) {
+            intMap.put(-1, "x");
+            intMap.remove(-1);
+        }
+        assertEquals(capacity, intMap.capacity());
+
+        for (int i = 9_900; i < 10_000; i++) {
+            intMap.remove(i);
+        }
+        assertEquals(16, intMap.capacity());
+
+        Custom_HashMap<Integer, Integer> sized = new Custom_HashMap<>(1000, 0.7f);
+        for (int i = 0; i < 1000; i++) {
+            sized.put(i, i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            sized.remove(i);
+        }
+        assertEquals(2048, sized.capacity());
+    }
+
+    @Test
+    void testShrinkKeepsTreeifiedBuckets() {
+        Custom_HashMap<Object, Integer> mixed = new Custom_HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            mixed.put(new CollidingKey(i), i);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            mixed.put(i, i);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            mixed.remove(i);
+        }
+        assertEquals(512, mixed.capacity());
+        mixed.trimToSize();
+        assertEquals(256, mixed.capacity());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, mixed.get(new CollidingKey(i)));
+        }
+        for (int i = 0; i < 97; i++) {
+            assertEquals(i, mixed.remove(new CollidingKey(i)));
+        }
+        assertEquals(16, mixed.capacity());
+        assertEquals(3, mixed.size());
+        assertEquals(99, mixed.get(new CollidingKey(99)));
+    }
+
+    @Test
+    void testIteratorRemoveDoesNotShrinkMidIteration() {
+        for (int i = 0; i < 1000; i++) {
+            intMap.put(i, "v" + i);
+        }
+        int capacity = intMap.capacity();
+        Set<Integer> seen = new HashSet<>();
+        Iterator<Integer> it = intMap.keyIterator();
+        while (it.hasNext()) {
+            seen.add(it.next());
+            it.remove();
+        }
+        assertEquals(1000, seen.size());
+        assertTrue(intMap.isEmpty());
+        assertEquals(capacity, intMap.capacity());
+        intMap.trimToSize();
+        assertEquals(1, intMap.capacity());
+    }
+
+    @Test
+    void testTrimToSizeAndCapacityPreservingClear() {
+        for (int i = 0; i < 1000; i++) {
+            intMap.put(i, "v" + i);
+        }
+        int capacity = intMap.capacity();
+        intMap.clear();
+        assertEquals(capacity, intMap.capacity());
+        assertTrue(intMap.isEmpty());
+        assertNull(intMap.get(5));
+        for (int i = 0; i < 1000; i++) {
+            intMap.put(i, "w" + i);
+        }
+        assertEquals(capacity, intMap.capacity());
+
+        Custom_HashMap<Integer, String> sized = new Custom_HashMap<>(1000, 0.7f);
+        for (int i = 0; i < 10; i++) {
+            sized.put(i, "v" + i);
+        }
+        sized.trimToSize();
+        assertEquals(16, sized.capacity());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("v" + i, sized.get(i));
+        }
+        sized.clear();
+        sized.trimToSize();
+        assertEquals(1, sized.capacity());
+        sized.put(7, "seven");
+        assertEquals("seven", sized.get(7));
+    }
+
+    @Test
+    void testStatsReportChainsProbesAndResizes() {
+        Custom_HashMap<CollidingKey, Integer> colliding = new Custom_HashMap<>();
+        colliding.recordStats(true);
+        for (int i = 0; i < 3; i++) {
+            colliding.put(new CollidingKey(i), i);
+        }
+        // New nodes go to the head of the chain: the last key costs one probe, the first three
+        assertEquals(2, colliding.get(new CollidingKey(2)));
+        assertEquals(0, colliding.get(new CollidingKey(0)));
+        assertNull(colliding.get(new CollidingKey(9)));
+        // Only get is recorded
+        assertTrue(colliding.containsKey(new CollidingKey(1)));
+        assertEquals(1, colliding.getOrDefault(new CollidingKey(1), -1));
+        colliding.computeIfPresent(new CollidingKey(1), (k, v) -> v);
+        HashTableStats stats = colliding.stats();
+        assertEquals(3, stats.getCount());
+        assertEquals(7, stats.probeCount());
+        assertEquals(7 / 3.0, stats.averageProbesPerGet(), 1e-9);
+        assertEquals(3, stats.maxChainLength());
+        assertArrayEquals(new long[]{15, 0, 0, 1}, stats.chainLengthHistogram());
+
+        for (int i = 3; i < 20; i++) {
+            colliding.put(new CollidingKey(i), i);
+        }
+        stats = colliding.stats();
+        assertEquals(1, stats.treeBinCount());
+        assertEquals(20, stats.maxChainLength());
+        assertEquals(colliding.capacity() - 1, stats.chainLengthHistogram()[0]);
+        // A tree lookup probes the nodes on its path: the depths of the 20 nodes sum to 74,
+        // where charging the height of 5 would give 100. A miss runs down to a leaf.
+        colliding.recordStats(true);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, colliding.get(new CollidingKey(i)));
+        }
+        stats = colliding.stats();
+        assertEquals(20, stats.getCount());
+        assertEquals(74, stats.probeCount());
+        assertNull(colliding.get(new CollidingKey(99)));
+        assertEquals(79, colliding.stats().probeCount());
+
+        intMap.recordStats(true);
+        for (int i = 0; i < 1000; i++) {
+            intMap.put(i, "v" + i);
+        }
+        stats = intMap.stats();
+        assertEquals(2048, stats.capacity());
+        assertEquals(7, stats.resizeCount());
+        assertTrue(stats.resizeNanos() > 0);
+        assertEquals(1000 / 2048.0, stats.load(), 1e-9);
+        assertEquals(0.70f, stats.loadFactor());
+        // Bucket array plus one 32-byte node per entry
+        assertEquals(16 + 4 * 2048 + 1000 * 32, stats.estimatedBytes());
+        for (int i = 0; i < 1000; i++) {
+            intMap.remove(i);
+        }
+        assertTrue(intMap.stats().resizeCount() > 7);
+    }
+
+    @Test
+    void testStatsCountersAreOptIn() {
+        for (int i = 0; i < 100; i++) {
+            intMap.put(i, "v" + i);
+            intMap.get(i);
+        }
+        HashTableStats stats = intMap.stats();
+        assertEquals(100, stats.size());
+        assertEquals(0, stats.getCount());
+        assertEquals(0, stats.resizeCount());
+        assertEquals(0.0, stats.averageProbesPerGet());
+        long buckets = 0;
+        long entries = 0;
+        long[] histogram = stats.chainLengthHistogram();
+        for (int length = 0; length < histogram.length; length++) {
+            buckets += histogram[length];
+            entries += length * histogram[length];
+        }
+        assertEquals(stats.capacity(), buckets);
+        assertEquals(100, entries);
+
+        intMap.recordStats(true);
+        intMap.get(1);
+        assertEquals(1, intMap.stats().getCount());
+        intMap.recordStats(false);
+        intMap.get(1);
+        assertEquals(0, intMap.stats().getCount());
+    }
+}
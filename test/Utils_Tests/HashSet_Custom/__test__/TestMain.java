@@ -3,6 +3,8 @@ package Utils_Tests.HashSet_Custom.__test__;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import DataStructures_Implementations.HashMap_Custom.HashTableStats;
+import DataStructures_Implementations.HashMap_Custom.SeededHasher;
 import DataStructures_Implementations.HashSet_Custom.Custom_HashSet;
 
 class TestMain {
@@ -413,4 +415,92 @@ class TestMain {
             assertTrue(intSet.contains(i));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testHashCodeComputedOncePerElement() {
+        int[] hashCodeCalls = {0};
+        class CountingKey {
+            final int id;
+
+            CountingKey(int id) {
+                this.id = id;
+            }
+
+            @Override
+            public int hashCode() {
+                hashCodeCalls[0]++;
+                return id;
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                return o instanceof CountingKey && ((CountingKey) o).id == id;
+            }
+        }
+        Custom_HashSet<CountingKey> keys = new Custom_HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            keys.add(new CountingKey(i));
+        }
+        // Resizing reuses the cached hashes
+        assertEquals(1000, hashCodeCalls[0]);
+        assertTrue(keys.contains(new CountingKey(500)));
+        assertEquals(1001, hashCodeCalls[0]);
+    }
+
+    @Test
+    void testKeysDifferingOnlyInHighBits() {
+        Custom_HashSet<Integer> highBits = new Custom_HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(highBits.add(i << 16));
+        }
+        assertTrue(highBits.add(Integer.MIN_VALUE));
+        assertEquals(1001, highBits.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(highBits.contains(i << 16));
+            assertTrue(highBits.remove(i << 16));
+        }
+        assertTrue(highBits.contains(Integer.MIN_VALUE));
+        assertEquals(1, highBits.size());
+    }
+
+    @Test
+    void testSeededHashingMode() {
+        Custom_HashSet<String> seeded = new Custom_HashSet<>(new SeededHasher());
+        for (int i = 0; i < 500; i++) {
+            assertTrue(seeded.add("element" + i));
+        }
+        assertFalse(seeded.add("element7"));
+        assertTrue(seeded.add(null));
+        assertEquals(501, seeded.size());
+        for (int i = 0; i < 500; i++) {
+            assertTrue(seeded.contains("element" + i));
+        }
+        assertTrue(seeded.remove("element7"));
+        assertFalse(seeded.contains("element7"));
+        assertTrue(seeded.contains(null));
+    }
+
+    @Test
+    void testStats() {
+        intSet.recordStats(true);
+        for (int i = 0; i < 100; i++) {
+            intSet.add(i);
+        }
+        assertTrue(intSet.contains(5));
+        assertFalse(intSet.contains(1000));
+        HashTableStats stats = intSet.stats();
+        assertEquals(100, stats.size());
+        assertEquals(256, stats.capacity());
+        assertEquals(4, stats.resizeCount());
+        assertEquals(2, stats.getCount());
+        // Small integers spread into distinct buckets: one probe for the hit, none for the miss
+        assertEquals(1, stats.probeCount());
+        assertEquals(1, stats.maxChainLength());
+        assertArrayEquals(new long[]{156, 100}, stats.chainLengthHistogram());
+        assertEquals(16 + 4 * 256 + 100 * 24, stats.estimatedBytes());
+
+        intSet.recordStats(false);
+        intSet.contains(5);
+        assertEquals(0, intSet.stats().getCount());
+    }
+}
@@ -0,0 +1,50 @@
+package Utils_Tests.Storage_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import DataStructures_Implementations.Storage_Custom.BloomFilter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class BloomFilterTest {
+
+    private static byte[] key(int i) {
+        return ("key" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testNoFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(key(i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(key(i)));
+        }
+        int falsePositives = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain(key(i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testSerializationRoundTrip() {
+        BloomFilter filter = new BloomFilter(100, 0.05);
+        filter.add(new byte[0]);
+        filter.add(key(7));
+        ByteBuffer buffer = ByteBuffer.allocate(filter.serializedSize());
+        filter.writeTo(buffer);
+        assertFalse(buffer.hasRemaining());
+
+        BloomFilter read = BloomFilter.readFrom(buffer.flip());
+        assertTrue(read.mightContain(new byte[0]));
+        assertTrue(read.mightContain(key(7)));
+        assertEquals(filter.serializedSize(), read.serializedSize());
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.readFrom(ByteBuffer.allocate(8)));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1.0));
+    }
+}
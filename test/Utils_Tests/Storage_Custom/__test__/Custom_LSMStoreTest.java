@@ -0,0 +1,213 @@
+package Utils_Tests.Storage_Custom.__test__;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import DataStructures_Implementations.HashMap_Custom.SnapshotCodec;
+import DataStructures_Implementations.Storage_Custom.Custom_LSMStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+class Custom_LSMStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private Custom_LSMStore<Integer, String> open(long memtableBytes) throws IOException {
+        return Custom_LSMStore.open(dir, SnapshotCodec.INT, SnapshotCodec.STRING, memtableBytes);
+    }
+
+    private long runFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".sst")).count();
+        }
+    }
+
+    @Test
+    void testBasicOperationsInMemtable() throws IOException {
+        try (Custom_LSMStore<Integer, String> store = open(1 << 20)) {
+            store.put(1, "one");
+            store.put(2, "two");
+            store.put(1, "uno");
+            assertEquals("uno", store.get(1));
+            assertTrue(store.containsKey(2));
+            assertNull(store.get(3));
+            assertEquals(2, store.size());
+            assertEquals("two", store.remove(2));
+            assertNull(store.remove(2));
+            assertEquals(1, store.size());
+            assertEquals(0, store.runCount());
+            assertThrows(NullPointerException.class, () -> store.put(null, "x"));
+            assertThrows(NullPointerException.class, () -> store.put(4, null));
+        }
+    }
+
+    @Test
+    void testReadsThroughFlushedRunsAndTombstones() throws IOException {
+        try (Custom_LSMStore<Integer, String> store = open(1 << 20)) {
+            for (int i = 0; i < 1000; i++) {
+                store.put(i, "first" + i);
+            }
+            store.flush();
+            for (int i = 0; i < 1000; i += 2) {
+                store.put(i, "second" + i);
+            }
+            store.flush();
+            for (int i = 0; i < 1000; i += 3) {
+                assertNotNull(store.remove(i));
+            }
+            store.flush();
+            assertEquals(3, store.runCount());
+
+            for (int i = 0; i < 1000; i++) {
+                String expected = (i % 3 == 0) ? null : ((i % 2 == 0) ? "second" : "first") + i;
+                assertEquals(expected, store.get(i), "key " + i);
+            }
+            assertEquals(1000 - 334, store.size());
+
+            store.compact();
+            assertEquals(1, store.runCount());
+            assertEquals(1, runFiles());
+            assertEquals("first1", store.get(1));
+            assertNull(store.get(3));
+            assertEquals(1000 - 334, store.size());
+        }
+    }
+
+    @Test
+    void testReopenRestoresFlushedState() throws IOException {
+        try (Custom_LSMStore<Integer, String> store = open(4096)) {
+            for (int i = 0; i < 5000; i++) {
+                store.put(i, "value" + i);
+            }
+            store.remove(42);
+        }
+        try (Custom_LSMStore<Integer, String> store = open(4096)) {
+            assertEquals(4999, store.size());
+            assertEquals("value4999", store.get(4999));
+            assertNull(store.get(42));
+            store.clear();
+            assertTrue(store.isEmpty());
+            assertNull(store.get(1));
+            assertEquals(0, runFiles());
+        }
+        try (Custom_LSMStore<Integer, String> store = open(4096)) {
+            assertTrue(store.isEmpty());
+        }
+    }
+
+    @Test
+    void testBackgroundCompactionBoundsRunCount() throws Exception {
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(24);
+        try (Custom_LSMStore<Integer, String> store = open(2048)) {
+            for (int i = 0; i < 50_000; i++) {
+                int key = random.nextInt(20_000);
+                if (random.nextInt(4) == 0) {
+                    assertEquals(expected.remove(key), store.remove(key));
+                } else {
+                    store.put(key, "v" + i);
+                    expected.put(key, "v" + i);
+                }
+            }
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (store.runCount() >= 12 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            // Hundreds of flushes, merged down to a few runs per tier
+            assertTrue(store.runCount() < 12, "runs: " + store.runCount());
+            assertEquals(expected.size(), store.size());
+            for (int key = 0; key < 20_000; key++) {
+                assertEquals(expected.get(key), store.get(key));
+            }
+        }
+    }
+
+    @Test
+    void testClearWhileMerging() throws IOException {
+        for (int round = 0; round < 20; round++) {
+            try (Custom_LSMStore<Integer, String> store = open(16 << 10)) {
+                // Enough flushes that a background merge is usually running when clear() starts
+                for (int i = 0; i < 10_000; i++) {
+                    store.put(i, "first" + i);
+                }
+                store.clear();
+                assertTrue(store.isEmpty());
+                assertNull(store.get(1));
+                for (int i = 0; i < 10_000; i++) {
+                    store.put(i, "second" + i);
+                }
+                assertEquals("second9999", store.get(9999));
+                assertEquals(10_000, store.size());
+            }
+            try (Custom_LSMStore<Integer, String> store = open(16 << 10)) {
+                assertEquals(10_000, store.size());
+                assertEquals("second0", store.get(0));
+                store.clear();
+            }
+        }
+    }
+
+    @Test
+    void testCompoundOperations() throws IOException {
+        try (Custom_LSMStore<Integer, String> store = open(1 << 20)) {
+            store.put(1, "a");
+            store.flush();
+            assertEquals("a", store.putIfAbsent(1, "b"));
+            assertEquals("ab", store.merge(1, "b", String::concat));
+            assertEquals("c", store.computeIfAbsent(2, k -> "c"));
+            assertNull(store.computeIfPresent(2, (k, v) -> null));
+            assertFalse(store.containsKey(2));
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void testStrayRunFilesAreDeletedOnOpen() throws IOException {
+        try (Custom_LSMStore<Integer, String> store = open(1 << 20)) {
+            store.put(1, "one");
+        }
+        Files.write(dir.resolve("run-999.sst"), new byte[100]);
+        Files.write(dir.resolve("MANIFEST.tmp"), new byte[10]);
+        try (Custom_LSMStore<Integer, String> store = open(1 << 20)) {
+            assertEquals("one", store.get(1));
+        }
+        assertEquals(1, runFiles());
+        assertFalse(Files.exists(dir.resolve("MANIFEST.tmp")));
+    }
+
+    @Test
+    void testDetectsCorruptRunAndClosedStore() throws IOException {
+        Custom_LSMStore<Integer, String> store = open(1 << 20);
+        for (int i = 0; i < 100; i++) {
+            store.put(i, "value" + i);
+        }
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.get(1));
+        store.close();
+
+        Path run;
+        try (Stream<Path> files = Files.list(dir)) {
+            run = files.filter(f -> f.getFileName().toString().endsWith(".sst")).findFirst().orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(run);
+        bytes[40] ^= 0x10;
+        Files.write(run, bytes);
+        try (Custom_LSMStore<Integer, String> reopened = open(1 << 20)) {
+            // The record lives in the damaged block; the Bloom filter lets misses through untouched
+            assertThrows(UncheckedIOException.class, () -> reopened.get(0));
+            assertNull(reopened.get(-1));
+        }
+
+        bytes[bytes.length - 20] ^= 0x10;
+        Files.write(run, bytes);
+        assertThrows(IOException.class, () -> open(1 << 20));
+    }
+}